@@ -0,0 +1,251 @@
+package com.infernokun.infernoUptime.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a probe agent against a live core on localhost and checks the round trip: starts a {@link TargetFarm},
+ * creates monitors assigned to a fresh agent id through the REST API, launches the agent jar as a child process
+ * and then verifies that
+ * <ul>
+ *     <li>the assignment endpoint returns monitor specs only, without push tokens, status or other fields,</li>
+ *     <li>every monitor received about {@code duration / interval} checks from the agent, in timestamp order,</li>
+ *     <li>the checks the agent buffered when it was stopped were flushed to the core.</li>
+ * </ul>
+ * Exits with status 1 on any failure. Example:
+ * {@code gradle :load-harness:agentEndToEnd --args="--monitors=20 --interval=10 --duration=60s"}.
+ */
+@Slf4j
+public class AgentEndToEndCheck {
+
+    // Everything ProbeMonitorSpec serializes; any other field means the agent sees more of the monitor than it needs
+    private static final Set<String> SPEC_FIELDS = Set.of("id", "name", "url", "type", "checkInterval",
+            "timeoutSeconds", "maxRedirects", "httpVersion", "expectedStatusCodes", "keywordCheck", "customHeaders");
+
+    private final HarnessOptions options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient api;
+    private final List<String> failures = new ArrayList<>();
+
+    public AgentEndToEndCheck(HarnessOptions options) {
+        this.options = options;
+        this.api = HttpClient.create()
+                .baseUrl(options.getString("core-url", "http://localhost:8080/inferno-uptime-rest") + "/api/v1")
+                .headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, "application/json"))
+                .responseTimeout(Duration.ofSeconds(30));
+    }
+
+    public static void main(String[] args) throws Exception {
+        AgentEndToEndCheck check = new AgentEndToEndCheck(HarnessOptions.parse(args));
+        check.run();
+        if (!check.failures.isEmpty()) {
+            check.failures.forEach(failure -> log.error("FAILED: {}", failure));
+            System.exit(1);
+        }
+        log.info("Agent and core agree end to end");
+    }
+
+    public void run() throws Exception {
+        int monitorCount = options.getInt("monitors", 20);
+        int intervalSeconds = Math.max(10, options.getInt("interval", 10));
+        Duration duration = options.getDuration("duration", Duration.ofSeconds(60));
+        String agentId = options.getString("agent-id", "harness-" + Long.toString(System.currentTimeMillis(), 36));
+
+        TargetFarm.Config farmConfig = TargetFarm.Config.builder()
+                .port(options.getInt("farm-port", 18500))
+                .tlsEnabled(false)
+                .errorRate(options.getDouble("error-rate", 0))
+                .hangRate(0)
+                .slowBodyRate(0)
+                .build();
+
+        try (TargetFarm farm = new TargetFarm(farmConfig)) {
+            farm.start();
+            List<Long> monitorIds = createMonitors(farm, agentId, monitorCount, intervalSeconds);
+            log.info("Created {} monitors assigned to probe agent {}", monitorIds.size(), agentId);
+
+            try {
+                verifyAssignment(agentId, monitorIds);
+
+                LocalDateTime startedAt = LocalDateTime.now();
+                Process agent = startAgent(agentId);
+                try {
+                    Thread.sleep(duration.toMillis());
+                } finally {
+                    // A graceful stop flushes the results the agent still buffers
+                    agent.destroy();
+                    if (!agent.waitFor(30, TimeUnit.SECONDS)) {
+                        agent.destroyForcibly();
+                        failures.add("agent did not stop within 30s");
+                    }
+                }
+                Thread.sleep(2000); // write-behind flush on the core
+
+                long expected = duration.toSeconds() / intervalSeconds;
+                verifyChecks(monitorIds, startedAt, Math.max(1, expected - 1), farm.getRequests().sum());
+            } finally {
+                if (options.getBoolean("cleanup", true)) {
+                    deleteMonitors(monitorIds);
+                }
+            }
+        }
+    }
+
+    // ======================== Setup ========================
+
+    private List<Long> createMonitors(TargetFarm farm, String agentId, int count, int intervalSeconds) {
+        return Flux.range(0, count)
+                .flatMap(i -> {
+                    ObjectNode body = objectMapper.createObjectNode()
+                            .put("name", agentId + "-" + i)
+                            .put("url", farm.targetUrl(i, false))
+                            .put("type", "HTTP")
+                            .put("checkInterval", intervalSeconds)
+                            .put("timeoutSeconds", options.getInt("timeout", 10))
+                            .put("expectedStatusCodes", "200")
+                            .put("probeAgent", agentId);
+                    return post("/monitors", body).map(response -> response.path("data").path("id").asLong());
+                }, 8)
+                .collectList()
+                .blockOptional()
+                .orElse(Collections.emptyList());
+    }
+
+    private Process startAgent(String agentId) throws IOException {
+        String agentJar = options.getString("agent-jar", System.getProperty("inferno.harness.agent-jar"));
+        if (agentJar == null || !new File(agentJar).isFile()) {
+            throw new IllegalStateException("Probe agent jar not found: " + agentJar + " (build :probe-agent:bootJar)");
+        }
+
+        String javaBin = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        ProcessBuilder builder = new ProcessBuilder(javaBin, "-jar", agentJar)
+                .redirectErrorStream(true)
+                .redirectOutput(new File(options.getString("agent-log", "probe-agent-e2e.log")));
+        builder.environment().put("PROBE_AGENT_ID", agentId);
+        builder.environment().put("PROBE_AGENT_CORE_URL", options.getString("core-url", "http://localhost:8080/inferno-uptime-rest"));
+        builder.environment().put("PROBE_AGENT_TOKEN", options.getString("agent-token", ""));
+        builder.environment().put("PROBE_AGENT_SYNC_INTERVAL", "5s");
+        builder.environment().put("PROBE_AGENT_FLUSH_INTERVAL", options.getString("flush-interval", "2s"));
+
+        log.info("Starting probe agent {} from {}", agentId, agentJar);
+        return builder.start();
+    }
+
+    private void deleteMonitors(List<Long> monitorIds) {
+        log.info("Deactivating {} agent test monitors", monitorIds.size());
+        Flux.fromIterable(monitorIds)
+                .flatMap(id -> api.delete().uri("/monitors/" + id).response().then(), 8)
+                .blockLast();
+    }
+
+    // ======================== Verification ========================
+
+    private void verifyAssignment(String agentId, List<Long> monitorIds) {
+        HttpClient agentApi = api.headers(headers -> headers.set("X-Probe-Agent-Token", options.getString("agent-token", "")));
+        JsonNode specs = agentApi.get()
+                .uri("/probe-agents/" + agentId + "/monitors")
+                .responseSingle((response, body) -> body.asString())
+                .map(this::readJson)
+                .block(Duration.ofSeconds(30))
+                .path("data");
+
+        if (specs.size() != monitorIds.size()) {
+            failures.add("agent is assigned " + specs.size() + " monitors, expected " + monitorIds.size());
+        }
+        for (JsonNode spec : specs) {
+            for (Iterator<String> fields = spec.fieldNames(); fields.hasNext(); ) {
+                String field = fields.next();
+                if (!SPEC_FIELDS.contains(field)) {
+                    failures.add("assignment of monitor " + spec.path("id").asLong() + " exposes " + field);
+                }
+            }
+        }
+    }
+
+    private void verifyChecks(List<Long> monitorIds, LocalDateTime startedAt, long expectedPerMonitor, long farmRequests) {
+        long total = 0;
+        for (Long id : monitorIds) {
+            JsonNode checks = get("/monitors/" + id + "/checks?limit=1000&from=" + startedAt)
+                    .block(Duration.ofSeconds(30))
+                    .path("data");
+            total += checks.size();
+            if (checks.size() < expectedPerMonitor) {
+                failures.add("monitor " + id + " has " + checks.size() + " checks, expected at least " + expectedPerMonitor);
+            }
+
+            JsonNode recent = get("/monitors/" + id + "/checks/recent?limit=1000")
+                    .block(Duration.ofSeconds(30))
+                    .path("data").path("checks");
+            // Newest first
+            for (int i = 1; i < recent.size(); i++) {
+                if (isAfter(recent.get(i).path("timestamp"), recent.get(i - 1).path("timestamp"))) {
+                    failures.add("recent checks of monitor " + id + " are out of order at position " + i);
+                    break;
+                }
+            }
+        }
+
+        log.info("Targets served {} requests, core stored {} checks for {} monitors", farmRequests, total, monitorIds.size());
+        if (total < farmRequests) {
+            failures.add("core stored " + total + " checks for " + farmRequests + " target requests");
+        }
+    }
+
+    /**
+     * Whether timestamp {@code a} is after {@code b}; both are written as ISO strings or as
+     * {@code [year, month, day, hour, minute, second, nanos]} arrays depending on the core's Jackson settings.
+     */
+    private static boolean isAfter(JsonNode a, JsonNode b) {
+        if (a.isArray() && b.isArray()) {
+            for (int i = 0; i < Math.min(a.size(), b.size()); i++) {
+                if (a.get(i).asLong() != b.get(i).asLong()) {
+                    return a.get(i).asLong() > b.get(i).asLong();
+                }
+            }
+            return a.size() > b.size();
+        }
+        return LocalDateTime.parse(a.asText()).isAfter(LocalDateTime.parse(b.asText()));
+    }
+
+    // ======================== HTTP ========================
+
+    private Mono<JsonNode> get(String path) {
+        return api.get().uri(path).responseSingle((response, body) -> body.asString()).map(this::readJson);
+    }
+
+    private Mono<JsonNode> post(String path, JsonNode body) {
+        return api.post()
+                .uri(path)
+                .send(Mono.just(Unpooled.wrappedBuffer(body.toString().getBytes(StandardCharsets.UTF_8))))
+                .responseSingle((response, content) -> content.asString())
+                .map(this::readJson);
+    }
+
+    private JsonNode readJson(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected response: " + json, e);
+        }
+    }
+}
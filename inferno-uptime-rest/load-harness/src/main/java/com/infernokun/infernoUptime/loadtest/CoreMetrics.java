@@ -0,0 +1,69 @@
+package com.infernokun.infernoUptime.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Reads gauges of a live core from its actuator metrics endpoint.
+ */
+@Slf4j
+public class CoreMetrics {
+
+    public static final String CONNECTIONS_OPENED = "inferno.probe.connections.opened";
+    public static final String TLS_HANDSHAKES = "inferno.probe.tls.handshakes";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient actuator;
+
+    public CoreMetrics(String coreUrl) {
+        this.actuator = HttpClient.create()
+                .baseUrl(coreUrl + "/actuator/metrics")
+                .responseTimeout(Duration.ofSeconds(30));
+    }
+
+    /**
+     * The current value of a gauge, or -1 when the core does not expose it.
+     */
+    public double gauge(String name) {
+        try {
+            String json = actuator.get()
+                    .uri("/" + name)
+                    .responseSingle((response, body) -> response.status().code() == 200
+                            ? body.asString()
+                            : body.then().thenReturn(""))
+                    .block(Duration.ofSeconds(30));
+            if (json == null || json.isEmpty()) {
+                return -1;
+            }
+            JsonNode measurements = objectMapper.readTree(json).path("measurements");
+            return measurements.isEmpty() ? -1 : measurements.get(0).path("value").asDouble();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read metric {}: {}", name, e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Connection and TLS handshake counts of the core's HTTP probes at one point in time.
+     */
+    public record ProbeConnections(double connectionsOpened, double tlsHandshakes) {
+
+        public boolean available() {
+            return connectionsOpened >= 0 && tlsHandshakes >= 0;
+        }
+
+        public ProbeConnections minus(ProbeConnections before) {
+            return new ProbeConnections(connectionsOpened - before.connectionsOpened,
+                    tlsHandshakes - before.tlsHandshakes);
+        }
+    }
+
+    public ProbeConnections probeConnections() {
+        return new ProbeConnections(gauge(CONNECTIONS_OPENED), gauge(TLS_HANDSHAKES));
+    }
+}
@@ -0,0 +1,67 @@
+package com.infernokun.infernoUptime.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Minimal {@code --key=value} command line parser shared by the farm and the driver.
+ */
+public final class HarnessOptions {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    private HarnessOptions() {}
+
+    public static HarnessOptions parse(String[] args) {
+        HarnessOptions options = new HarnessOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                options.values.put(arg.substring(2), "true");
+            } else {
+                options.values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    public String getString(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        return values.containsKey(key) ? Integer.parseInt(values.get(key)) : defaultValue;
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        return values.containsKey(key) ? Double.parseDouble(values.get(key)) : defaultValue;
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        return values.containsKey(key) ? Boolean.parseBoolean(values.get(key)) : defaultValue;
+    }
+
+    /**
+     * Accepts plain seconds ({@code 90}) or a unit suffix ({@code 500ms}, {@code 30s}, {@code 10m}).
+     */
+    public Duration getDuration(String key, Duration defaultValue) {
+        String value = values.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+}
@@ -0,0 +1,120 @@
+package com.infernokun.infernoUptime.loadtest;
+
+import com.infernokun.infernoUptime.models.entity.Monitor;
+import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+import com.infernokun.infernoUptime.services.ingest.CheckBatchWriter;
+import com.infernokun.infernoUptime.services.ingest.CopyCheckBatchWriter;
+import com.infernokun.infernoUptime.services.ingest.JdbcCheckBatchWriter;
+import com.infernokun.infernoUptime.services.ingest.MonitorCheckIdAllocator;
+import com.infernokun.infernoUptime.services.storage.CheckMessageDictionaryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Measures rows/sec for the two ingestion backends ({@link JdbcCheckBatchWriter} and
+ * {@link CopyCheckBatchWriter}) against a local PostgreSQL with the application schema.
+ * <p>
+ * Example: {@code gradle :load-harness:ingestBenchmark --args="--rows=500000 --batch-size=1000"}.
+ * Rows are written for a temporary monitor which is removed again afterwards.
+ */
+@Slf4j
+public class IngestBenchmark {
+
+    public static void main(String[] args) {
+        HarnessOptions options = HarnessOptions.parse(args);
+        int rows = options.getInt("rows", 200000);
+        int batchSize = options.getInt("batch-size", 500);
+        int rounds = options.getInt("rounds", 3);
+
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setUrl(options.getString("jdbc-url",
+                "jdbc:postgresql://localhost:5432/inferno_uptime_dev?reWriteBatchedInserts=true"));
+        dataSource.setUser(options.getString("user", "amaterasu"));
+        dataSource.setPassword(options.getString("password", "amaterasu"));
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        MonitorCheckIdAllocator idAllocator = new MonitorCheckIdAllocator(jdbcTemplate);
+        CheckMessageDictionaryService messageDictionary =
+                new CheckMessageDictionaryService(jdbcTemplate, new SimpleMeterRegistry(), 10000);
+        JdbcCheckBatchWriter insertWriter = new JdbcCheckBatchWriter(jdbcTemplate, idAllocator, messageDictionary);
+        CopyCheckBatchWriter copyWriter = new CopyCheckBatchWriter(dataSource, insertWriter, idAllocator, messageDictionary);
+
+        Long monitorId = jdbcTemplate.queryForObject("""
+                INSERT INTO monitors (name, url, type, is_active, check_interval, created_at, updated_at)
+                VALUES ('ingest-benchmark', 'http://127.0.0.1/benchmark', 'HTTP', false, 30, now(), now())
+                RETURNING id
+                """, Long.class);
+        Monitor monitor = new Monitor();
+        monitor.setId(monitorId);
+
+        try {
+            // Warm up both paths (JIT, prepared statements, sequence cache)
+            run("warmup-insert", insertWriter, transactionTemplate, monitor, Math.min(rows, 20000), batchSize);
+            run("warmup-copy", copyWriter, transactionTemplate, monitor, Math.min(rows, 20000), batchSize);
+
+            for (int round = 1; round <= rounds; round++) {
+                report("INSERT batch", round, rows, run("insert", insertWriter, transactionTemplate, monitor, rows, batchSize));
+                report("COPY binary ", round, rows, run("copy", copyWriter, transactionTemplate, monitor, rows, batchSize));
+            }
+        } finally {
+            jdbcTemplate.update("DELETE FROM monitor_checks WHERE monitor_id = ?", monitorId);
+            jdbcTemplate.update("DELETE FROM monitors WHERE id = ?", monitorId);
+        }
+    }
+
+    private static long run(String label, CheckBatchWriter writer, TransactionTemplate transactionTemplate,
+                            Monitor monitor, int rows, int batchSize) {
+        List<List<MonitorCheck>> batches = new ArrayList<>();
+        for (int offset = 0; offset < rows; offset += batchSize) {
+            batches.add(generate(monitor, Math.min(batchSize, rows - offset)));
+        }
+
+        long start = System.nanoTime();
+        for (List<MonitorCheck> batch : batches) {
+            transactionTemplate.executeWithoutResult(status -> writer.write(batch));
+        }
+        long elapsed = System.nanoTime() - start;
+
+        log.debug("{}: {} rows in {}ms", label, rows, elapsed / 1_000_000);
+        return elapsed;
+    }
+
+    private static List<MonitorCheck> generate(Monitor monitor, int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime now = LocalDateTime.now();
+        List<MonitorCheck> checks = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            boolean up = random.nextDouble() > 0.02;
+            MonitorCheck check = new MonitorCheck(monitor, up, (long) random.nextInt(20, 800));
+            check.setTimestamp(now.minusNanos(random.nextLong(1_000_000_000_000L)));
+            check.setStatusCode(up ? 200 : 503);
+            check.setMessage(up ? "HTTP check successful" : "HTTP check failed");
+            check.setErrorDetails(up ? null : "Unexpected status code: 503");
+            check.setContentLength((long) random.nextInt(100, 50000));
+            check.setRedirectCount(0);
+            check.setFinalUrl("http://127.0.0.1/benchmark");
+            check.setRedirectLatencies(String.valueOf(check.getResponseTime()));
+            check.setProtocol("HTTP/1.1");
+            checks.add(check);
+        }
+        return checks;
+    }
+
+    private static void report(String backend, int round, int rows, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        log.info(String.format(Locale.ROOT, "%s round %d: %,d rows in %.2fs = %,.0f rows/s",
+                backend, round, rows, seconds, rows / seconds));
+    }
+}
@@ -0,0 +1,39 @@
+package com.infernokun.infernoUptime.loadtest;
+
+import java.util.Random;
+
+/**
+ * Response latency shapes a simulated target can have. All are parameterised by their mean.
+ */
+public enum LatencyDistribution {
+
+    FIXED {
+        @Override
+        public long sample(Random random, double meanMillis) {
+            return Math.round(meanMillis);
+        }
+    },
+    UNIFORM {
+        @Override
+        public long sample(Random random, double meanMillis) {
+            return Math.round(random.nextDouble() * 2 * meanMillis);
+        }
+    },
+    EXPONENTIAL {
+        @Override
+        public long sample(Random random, double meanMillis) {
+            return Math.round(-meanMillis * Math.log(1 - random.nextDouble()));
+        }
+    },
+    /** Long-tailed; sigma 1.0 puts p99 at roughly 6x the median. */
+    LOGNORMAL {
+        @Override
+        public long sample(Random random, double meanMillis) {
+            double sigma = 1.0;
+            double mu = Math.log(meanMillis) - sigma * sigma / 2;
+            return Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+        }
+    };
+
+    public abstract long sample(Random random, double meanMillis);
+}
@@ -0,0 +1,254 @@
+package com.infernokun.infernoUptime.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * End-to-end capacity run against a live core: starts a {@link TargetFarm}, creates N monitors pointing
+ * at it through the REST API and reports, per interval:
+ * <ul>
+ *     <li>checks/sec as observed by the targets,</li>
+ *     <li>scheduler lag: how much later than its check interval each target is polled again,</li>
+ *     <li>DB insert rate from the delta of the dashboard's checks-today counter,</li>
+ *     <li>WebSocket fan-out: updates/sec reaching one subscriber and their delivery delay.</li>
+ * </ul>
+ * The summary adds the connections and TLS handshakes the core's probes needed per check, read from its
+ * {@code inferno.probe.*} gauges; {@code --http-version} picks the probe protocol of the created monitors.
+ * Example: {@code gradle :load-harness:run --args="--monitors=2000 --interval=30 --duration=10m --csv=run.csv"}
+ */
+@Slf4j
+public class LoadDriver {
+
+    private static final String CSV_HEADER = "timestamp,elapsed_s,checks_per_s,lag_p50_ms,lag_p99_ms,lag_max_ms,"
+            + "db_inserts_per_s,ws_msgs_per_s,ws_delay_p50_ms,ws_delay_p99_ms,errors,hangs,slow_bodies";
+
+    private final HarnessOptions options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient api;
+    private final CoreMetrics coreMetrics;
+
+    public LoadDriver(HarnessOptions options) {
+        this.options = options;
+        this.api = HttpClient.create()
+                .baseUrl(options.getString("core-url", "http://localhost:8080/inferno-uptime-rest") + "/api/v1")
+                .headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, "application/json"))
+                .responseTimeout(Duration.ofSeconds(30));
+        this.coreMetrics = new CoreMetrics(options.getString("core-url", "http://localhost:8080/inferno-uptime-rest"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadDriver(HarnessOptions.parse(args)).run();
+    }
+
+    public void run() throws Exception {
+        int monitorCount = options.getInt("monitors", 100);
+        int intervalSeconds = options.getInt("interval", 30);
+        double tlsShare = options.getDouble("tls-share", 0.1);
+        Duration duration = options.getDuration("duration", Duration.ofMinutes(5));
+        Duration reportInterval = options.getDuration("report-interval", Duration.ofSeconds(10));
+        String csvPath = options.getString("csv", null);
+        String httpVersion = options.getString("http-version", "HTTP_1_1").toUpperCase();
+
+        try (TargetFarm farm = new TargetFarm(TargetFarm.Config.fromOptions(options));
+             WebSocketFanoutProbe fanout = new WebSocketFanoutProbe();
+             PrintWriter csv = csvPath != null ? new PrintWriter(Files.newBufferedWriter(Path.of(csvPath))) : null) {
+
+            farm.start();
+            List<Long> monitorIds = createMonitors(farm, monitorCount, intervalSeconds, tlsShare, httpVersion);
+            log.info("Created {} monitors ({}s interval, {}% TLS, {})", monitorIds.size(), intervalSeconds,
+                    Math.round(tlsShare * 100), httpVersion);
+
+            if (options.getBoolean("websocket", true)) {
+                fanout.connect(options.getString("core-url", "http://localhost:8080/inferno-uptime-rest"));
+            }
+            if (csv != null) {
+                csv.println(CSV_HEADER);
+            }
+
+            try {
+                sample(farm, fanout, csv, intervalSeconds, duration, reportInterval);
+            } finally {
+                if (options.getBoolean("cleanup", true)) {
+                    deleteMonitors(monitorIds);
+                }
+            }
+        }
+    }
+
+    // ======================== Setup ========================
+
+    private List<Long> createMonitors(TargetFarm farm, int count, int intervalSeconds, double tlsShare,
+                                      String httpVersion) {
+        int tlsEvery = tlsShare > 0 ? (int) Math.round(1 / tlsShare) : 0;
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        return Flux.range(0, count)
+                .flatMap(i -> {
+                    boolean tls = farm.getTruststore() != null && tlsEvery > 0 && i % tlsEvery == 0;
+                    ObjectNode body = objectMapper.createObjectNode()
+                            .put("name", "load-" + runId + "-" + i)
+                            .put("url", farm.targetUrl(i, tls))
+                            .put("type", tls ? "HTTPS" : "HTTP")
+                            .put("checkInterval", intervalSeconds)
+                            .put("timeoutSeconds", options.getInt("timeout", 10))
+                            .put("expectedStatusCodes", "200")
+                            .put("httpVersion", httpVersion);
+                    return post("/monitors", body).map(response -> response.path("data").path("id").asLong());
+                }, options.getInt("create-concurrency", 32))
+                .collectList()
+                .blockOptional()
+                .orElse(Collections.emptyList());
+    }
+
+    private void deleteMonitors(List<Long> monitorIds) {
+        log.info("Deactivating {} load-test monitors", monitorIds.size());
+        Flux.fromIterable(monitorIds)
+                .flatMap(id -> api.delete().uri("/monitors/" + id).response().then(), 32)
+                .blockLast();
+    }
+
+    // ======================== Sampling ========================
+
+    private void sample(TargetFarm farm, WebSocketFanoutProbe fanout, PrintWriter csv, int intervalSeconds,
+                        Duration duration, Duration reportInterval) throws InterruptedException {
+        long start = System.nanoTime();
+        long previousAt = start;
+        long previousRequests = farm.getRequests().sum();
+        long previousMessages = fanout.getMessages().sum();
+        long previousInserts = checksToday();
+        CoreMetrics.ProbeConnections connectionsBefore = coreMetrics.probeConnections();
+        long farmConnectionsBefore = farm.getConnections().sum();
+        long http2RequestsBefore = farm.getHttp2Requests().sum();
+
+        long totalChecks = 0;
+        double worstLagP99 = 0;
+
+        while (System.nanoTime() - start < duration.toNanos()) {
+            Thread.sleep(reportInterval.toMillis());
+
+            long now = System.nanoTime();
+            double seconds = (now - previousAt) / 1e9;
+
+            long requests = farm.getRequests().sum();
+            long messages = fanout.getMessages().sum();
+            long inserts = checksToday();
+
+            long[] lag = lagSamples(farm.getInterArrivalMillis().drain(), intervalSeconds);
+            long[] wsDelay = fanout.getDeliveryDelayMillis().drain();
+
+            double checksPerSecond = (requests - previousRequests) / seconds;
+            double insertsPerSecond = inserts >= previousInserts ? (inserts - previousInserts) / seconds : 0;
+            double messagesPerSecond = (messages - previousMessages) / seconds;
+            long elapsed = Duration.ofNanos(now - start).toSeconds();
+
+            log.info(String.format(Locale.ROOT,
+                    "t=%4ds checks/s=%8.1f lag p50=%6dms p99=%6dms max=%6dms db inserts/s=%8.1f ws msgs/s=%8.1f "
+                            + "ws delay p50=%5dms p99=%5dms",
+                    elapsed, checksPerSecond,
+                    SampleWindow.percentile(lag, 50), SampleWindow.percentile(lag, 99), SampleWindow.percentile(lag, 100),
+                    insertsPerSecond, messagesPerSecond,
+                    SampleWindow.percentile(wsDelay, 50), SampleWindow.percentile(wsDelay, 99)));
+
+            if (csv != null) {
+                csv.println(String.format(Locale.ROOT, "%s,%d,%.1f,%d,%d,%d,%.1f,%.1f,%d,%d,%d,%d,%d",
+                        LocalDateTime.now(), elapsed, checksPerSecond,
+                        SampleWindow.percentile(lag, 50), SampleWindow.percentile(lag, 99), SampleWindow.percentile(lag, 100),
+                        insertsPerSecond, messagesPerSecond,
+                        SampleWindow.percentile(wsDelay, 50), SampleWindow.percentile(wsDelay, 99),
+                        farm.getErrors().sum(), farm.getHangs().sum(), farm.getSlowBodies().sum()));
+                csv.flush();
+            }
+
+            totalChecks += requests - previousRequests;
+            worstLagP99 = Math.max(worstLagP99, SampleWindow.percentile(lag, 99));
+            previousAt = now;
+            previousRequests = requests;
+            previousMessages = messages;
+            previousInserts = inserts;
+        }
+
+        double totalSeconds = (System.nanoTime() - start) / 1e9;
+        log.info(String.format(Locale.ROOT, "Summary: %d checks in %.0fs (%.1f checks/s), worst lag p99 %.0fms",
+                totalChecks, totalSeconds, totalChecks / totalSeconds, worstLagP99));
+
+        long farmConnections = farm.getConnections().sum() - farmConnectionsBefore;
+        long http2Requests = farm.getHttp2Requests().sum() - http2RequestsBefore;
+        CoreMetrics.ProbeConnections connectionsAfter = coreMetrics.probeConnections();
+        if (connectionsBefore.available() && connectionsAfter.available()) {
+            CoreMetrics.ProbeConnections opened = connectionsAfter.minus(connectionsBefore);
+            log.info(String.format(Locale.ROOT,
+                    "Connections: core opened %.0f (%.3f per check), %.0f TLS handshakes (%.3f per check); "
+                            + "targets accepted %d, %d of %d requests over HTTP/2",
+                    opened.connectionsOpened(), opened.connectionsOpened() / Math.max(1, totalChecks),
+                    opened.tlsHandshakes(), opened.tlsHandshakes() / Math.max(1, totalChecks),
+                    farmConnections, http2Requests, totalChecks));
+        } else {
+            log.info("Connections: targets accepted {}, {} of {} requests over HTTP/2 (core probe gauges unavailable)",
+                    farmConnections, http2Requests, totalChecks);
+        }
+    }
+
+    /**
+     * Lag is how much later than its interval a target was polled again; early polls count as zero.
+     */
+    private static long[] lagSamples(long[] interArrivals, int intervalSeconds) {
+        long expected = intervalSeconds * 1000L;
+        long[] lag = new long[interArrivals.length];
+        for (int i = 0; i < interArrivals.length; i++) {
+            lag[i] = Math.max(0, interArrivals[i] - expected);
+        }
+        return lag;
+    }
+
+    private long checksToday() {
+        try {
+            return get("/monitors/dashboard/summary")
+                    .map(response -> response.path("data").path("totalChecksToday").asLong())
+                    .blockOptional(Duration.ofSeconds(30))
+                    .orElse(0L);
+        } catch (Exception e) {
+            log.warn("Could not read dashboard summary: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    // ======================== HTTP ========================
+
+    private Mono<JsonNode> get(String path) {
+        return api.get().uri(path).responseSingle((response, body) -> body.asString()).map(this::readJson);
+    }
+
+    private Mono<JsonNode> post(String path, JsonNode body) {
+        return api.post()
+                .uri(path)
+                .send(Mono.just(Unpooled.wrappedBuffer(body.toString().getBytes(StandardCharsets.UTF_8))))
+                .responseSingle((response, content) -> content.asString())
+                .map(this::readJson);
+    }
+
+    private JsonNode readJson(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected response: " + json, e);
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package com.infernokun.infernoUptime.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infernokun.infernoUptime.models.entity.Monitor;
+import com.infernokun.infernoUptime.repositories.MonitorCheckRepository;
+import com.infernokun.infernoUptime.repositories.MonitorRepository;
+import com.infernokun.infernoUptime.services.archive.CheckHistoryService;
+import com.infernokun.infernoUptime.services.storage.CheckMessageDictionaryService;
+import com.infernokun.infernoUptime.services.storage.CheckPartitionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.orm.hibernate5.SpringBeanContainer;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Plan-regression check for the hot {@code monitor_checks} queries of the core.
+ * <p>
+ * Migrates a scratch schema with the application's Flyway migrations, fills it with a generated check history
+ * (rows in timestamp order, as ingestion writes them), then calls the real {@code MonitorCheckRepository} and
+ * {@code CheckHistoryService} methods that run on every dashboard, list or detail request. The statements they
+ * send are captured with their bind values (see {@link StatementCapture}) and replayed under
+ * {@code EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON)}; the check exits with status 1 if any of them reads
+ * {@code monitor_checks} with a sequential scan of more than {@code --seq-scan-rows} rows that an index would beat.
+ * Queries whose window covers most of the table (e.g. "this month") are deliberately not listed.
+ * <p>
+ * Each layout in {@code --layouts} gets a fresh schema: {@code plain} is the table as migrated, {@code partitioned}
+ * is converted by the core's {@code CheckPartitionService} first and holds the history in one partition per day,
+ * as a core has it after running partitioned for {@code --days}.
+ * <p>
+ * Example: {@code gradle :load-harness:planCheck --args="--monitors=200 --days=30"}. The schema is dropped
+ * afterwards unless {@code --keep=true}. {@code PlanRegressionCheckTest} runs the same check as part of
+ * {@code gradle check}.
+ */
+@Slf4j
+public class PlanRegressionCheck {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Pattern PARTITION_NAME = Pattern.compile("monitor_checks_p\\d{8}");
+
+    public record PlanResult(String layout, String query, String access, double millis, boolean regression) {
+    }
+
+    private final HarnessOptions options;
+    private final String schema;
+    private final int monitors;
+    private final int days;
+    private final int intervalSeconds;
+    private final long seqScanRows;
+
+    public PlanRegressionCheck(HarnessOptions options) {
+        this.options = options;
+        this.schema = options.getString("schema", "plan_check");
+        this.monitors = options.getInt("monitors", 100);
+        this.days = options.getInt("days", 14);
+        this.intervalSeconds = options.getInt("interval-seconds", 60);
+        this.seqScanRows = options.getInt("seq-scan-rows", 1000);
+    }
+
+    public static void main(String[] args) throws Exception {
+        HarnessOptions options = HarnessOptions.parse(args);
+        PlanRegressionCheck check = new PlanRegressionCheck(options);
+
+        List<PlanResult> results = new ArrayList<>();
+        for (String layout : options.getString("layouts", "plain,partitioned").split(",")) {
+            results.addAll(check.run(layout.trim()));
+        }
+
+        long regressions = results.stream().filter(PlanResult::regression).count();
+        results.forEach(result -> log.info(String.format(Locale.ROOT, "%-6s %-12s %-36s %8.2fms  %s",
+                result.regression() ? "SEQ" : "ok", result.layout(), result.query(), result.millis(), result.access())));
+
+        if (regressions > 0) {
+            log.error("{} of {} hot queries fall back to sequential scans on monitor_checks", regressions, results.size());
+            System.exit(1);
+        }
+        log.info("All {} hot queries use indexes", results.size());
+    }
+
+    /**
+     * Checks the hot queries on a fresh schema with the given layout, {@code plain} or {@code partitioned}.
+     */
+    public List<PlanResult> run(String layout) throws SQLException, InterruptedException {
+        if (!layout.equals("plain") && !layout.equals("partitioned")) {
+            throw new IllegalArgumentException("Unknown layout " + layout + ", expected plain or partitioned");
+        }
+
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setUrl(options.getString("jdbc-url", "jdbc:postgresql://localhost:5432/inferno_uptime_dev"));
+        dataSource.setUser(options.getString("user", "amaterasu"));
+        dataSource.setPassword(options.getString("password", "amaterasu"));
+        dataSource.setCurrentSchema(schema);
+
+        try (Connection connection = dataSource.getConnection()) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+            jdbcTemplate.execute("CREATE SCHEMA " + schema);
+
+            StatementCapture capture = new StatementCapture();
+            try {
+                Flyway.configure()
+                        .dataSource(dataSource)
+                        .schemas(schema)
+                        .locations("classpath:db/migration")
+                        // As in the core: CREATE INDEX CONCURRENTLY would wait for a transaction-scoped lock forever
+                        .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                        .load()
+                        .migrate();
+
+                try (AnnotationConfigApplicationContext core = coreContext(capture.wrap(dataSource))) {
+                    if (layout.equals("partitioned")) {
+                        partition(core.getBean(CheckPartitionService.class), jdbcTemplate);
+                    }
+                    generate(jdbcTemplate);
+
+                    List<PlanResult> results = new ArrayList<>();
+                    for (Map.Entry<String, Runnable> query : hotQueries(core).entrySet()) {
+                        List<StatementCapture.CapturedStatement> statements = capture.capture(query.getValue()).stream()
+                                .filter(statement -> statement.sql().contains("monitor_checks"))
+                                .toList();
+                        if (statements.isEmpty()) {
+                            throw new IllegalStateException(query.getKey() + " sent no statement on monitor_checks");
+                        }
+                        for (int i = 0; i < statements.size(); i++) {
+                            String name = statements.size() > 1 ? query.getKey() + "#" + (i + 1) : query.getKey();
+                            results.add(explain(connection, layout, name, statements.get(i)));
+                        }
+                    }
+                    return results;
+                }
+            } finally {
+                if (!options.getBoolean("keep", false)) {
+                    jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+                }
+            }
+        }
+    }
+
+    // ======================== Core ========================
+
+    /**
+     * The parts of the core that read {@code monitor_checks}, wired as the application wires them but without
+     * its web, cache and scheduling infrastructure.
+     */
+    private static AnnotationConfigApplicationContext coreContext(DataSource dataSource) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("plan-check", Map.of(
+                "inferno.uptime.partitions.enabled", "true",
+                "inferno.uptime.partitions.period", "DAY",
+                "inferno.uptime.archive.enabled", "false")));
+        context.registerBean(DataSource.class, () -> dataSource);
+        context.register(CoreRepositories.class, CheckMessageDictionaryService.class, CheckPartitionService.class);
+        context.scan(CheckHistoryService.class.getPackageName());
+        context.refresh();
+        return context;
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableJpaRepositories(basePackageClasses = MonitorCheckRepository.class)
+    static class CoreRepositories {
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource,
+                                                                   ConfigurableListableBeanFactory beanFactory) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(Monitor.class.getPackageName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            // Spring Boot's defaults, so entities map to the same column names as in the core
+            factory.getJpaPropertyMap().put(AvailableSettings.PHYSICAL_NAMING_STRATEGY, new CamelCaseToUnderscoresNamingStrategy());
+            factory.getJpaPropertyMap().put(AvailableSettings.IMPLICIT_NAMING_STRATEGY, new SpringImplicitNamingStrategy());
+            // The check message converter gets its dictionary from the context
+            factory.getJpaPropertyMap().put(AvailableSettings.BEAN_CONTAINER, new SpringBeanContainer(beanFactory));
+            return factory;
+        }
+
+        @Bean
+        JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    /**
+     * Calls of the core that run on every dashboard, list or detail request, with the arguments the services pass.
+     */
+    private Map<String, Runnable> hotQueries(AnnotationConfigApplicationContext core) {
+        MonitorCheckRepository checks = core.getBean(MonitorCheckRepository.class);
+        CheckHistoryService history = core.getBean(CheckHistoryService.class);
+        long monitorId = monitors / 2;
+        Monitor monitor = core.getBean(MonitorRepository.class).findById(monitorId).orElseThrow();
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime dayAgo = now.minusDays(1);
+        LocalDateTime weekAgo = now.minusDays(7);
+        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findLatestCheckByMonitor", () -> checks.findLatestCheckByMonitor(monitor));
+        queries.put("findRecentChecksByMonitorId", () -> checks.findRecentChecksByMonitorId(monitorId, 100));
+        queries.put("checkHistoryPage", () -> history.findPage(monitorId, null, 100));
+        String nextCursor = history.findPage(monitorId, null, 100).getNextCursor();
+        queries.put("checkHistoryNextPage", () -> history.findPage(monitorId, nextCursor, 100));
+        queries.put("findByMonitorAndTimestampBetween", () -> checks.findByMonitorAndTimestampBetween(monitor, dayAgo, now));
+        queries.put("getTimeSeriesData", () -> checks.getTimeSeriesData(monitor, dayAgo));
+        queries.put("countTotalChecks", () -> checks.countTotalChecks(monitor, weekAgo));
+        queries.put("countSuccessfulChecks", () -> checks.countSuccessfulChecks(monitor, weekAgo));
+        queries.put("findAverageResponseTime", () -> checks.findAverageResponseTime(monitor, weekAgo));
+        queries.put("calculateUptimePercentage", () -> checks.calculateUptimePercentage(monitor, weekAgo));
+        queries.put("countChecksAfter", () -> checks.countChecksAfter(startOfDay));
+        queries.put("calculateOverallUptimePercentage", () -> checks.calculateOverallUptimePercentage(dayAgo));
+        queries.put("findOverallAverageResponseTime", () -> checks.findOverallAverageResponseTime(dayAgo));
+        queries.put("countFailedChecks", () -> checks.countFailedChecks(dayAgo));
+        return queries;
+    }
+
+    // ======================== Data ========================
+
+    /**
+     * Converts the empty table as the core does on startup, then adds the daily partitions the core would have
+     * created over the generated history.
+     */
+    private void partition(CheckPartitionService partitionService, JdbcTemplate jdbcTemplate) throws InterruptedException {
+        partitionService.initialize();
+        // The conversion and the partitions ahead are created on the service's own thread
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("check-partitioning")) {
+                thread.join(60_000);
+            }
+        }
+        if (!partitionService.isPartitioned()) {
+            throw new IllegalStateException("CheckPartitionService did not partition monitor_checks");
+        }
+
+        LocalDate today = LocalDate.now();
+        for (LocalDate day = today.minusDays(days); day.isBefore(today); day = day.plusDays(1)) {
+            jdbcTemplate.execute("CREATE TABLE monitor_checks_p" + day.format(DateTimeFormatter.BASIC_ISO_DATE)
+                    + " PARTITION OF monitor_checks FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')");
+        }
+        log.info("Partitioned monitor_checks by day from {}", today.minusDays(days));
+    }
+
+    private void generate(JdbcTemplate jdbcTemplate) {
+        long start = System.nanoTime();
+
+        jdbcTemplate.update("""
+                INSERT INTO monitors (name, url, type, is_active, check_interval, current_status, created_at, updated_at)
+                SELECT 'plan-check-' || m, 'http://127.0.0.1/' || m, 'HTTP', true, ?, 'UP', now(), now()
+                FROM generate_series(1, ?) m
+                """, intervalSeconds, monitors);
+
+        jdbcTemplate.update("INSERT INTO check_messages (text) VALUES ('HTTP check successful')");
+        int rows = jdbcTemplate.update("""
+                INSERT INTO monitor_checks (monitor_id, timestamp, response_time, status_code, is_up, message_id)
+                SELECT m.id, ts + (m.id % ?) * interval '1 second',
+                       (20 + random() * 500)::bigint,
+                       CASE WHEN random() < 0.02 THEN 503 ELSE 200 END,
+                       random() >= 0.02,
+                       (SELECT id FROM check_messages WHERE text = 'HTTP check successful')
+                FROM generate_series(now() - make_interval(days => ?), now(), make_interval(secs => ?)) ts
+                CROSS JOIN monitors m
+                ORDER BY 2
+                """, intervalSeconds, days, intervalSeconds);
+
+        jdbcTemplate.execute("VACUUM ANALYZE monitor_checks");
+        log.info("Generated {} checks for {} monitors over {} days in {}s",
+                rows, monitors, days, (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    // ======================== Plans ========================
+
+    /**
+     * Explains the statement as the core sends it. A sequential scan reading more than {@code seqScanRows} rows of
+     * the unpartitioned table is a regression. One of a partition is only accepted when no index could do better,
+     * as for partitions lying wholly within the queried window: the statement is explained again with sequential
+     * scans disabled, and it counts as a regression if it then still needs one or touches less than half the
+     * buffers.
+     */
+    private PlanResult explain(Connection connection, String layout, String name,
+                               StatementCapture.CapturedStatement statement) throws SQLException {
+        JsonNode plan = explainPlan(connection, statement);
+        List<String> access = new ArrayList<>();
+        List<String> seqScans = new ArrayList<>();
+        collectScans(plan.get("Plan"), access, seqScans);
+        boolean regression = seqScans.contains("monitor_checks");
+
+        if (!regression && !seqScans.isEmpty()) {
+            JsonNode indexPlan;
+            try (var disable = connection.createStatement()) {
+                disable.execute("SET enable_seqscan = off");
+                try {
+                    indexPlan = explainPlan(connection, statement);
+                } finally {
+                    disable.execute("RESET enable_seqscan");
+                }
+            }
+            List<String> indexSeqScans = new ArrayList<>();
+            collectScans(indexPlan.get("Plan"), new ArrayList<>(), indexSeqScans);
+            long blocks = blocks(plan);
+            long indexBlocks = blocks(indexPlan);
+            regression = !indexSeqScans.isEmpty() || indexBlocks * 2 < blocks;
+            access.add(String.format(Locale.ROOT, "(%d buffers, %d with indexes only)", blocks, indexBlocks));
+        }
+        return new PlanResult(layout, name, String.join(", ", access), plan.get("Execution Time").asDouble(), regression);
+    }
+
+    private static JsonNode explainPlan(Connection connection, StatementCapture.CapturedStatement statement)
+            throws SQLException {
+        try (var explain = statement.prepare(connection, "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) ");
+             ResultSet rs = explain.executeQuery()) {
+            rs.next();
+            return MAPPER.readTree(rs.getString(1)).get(0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read plan of " + statement.sql(), e);
+        }
+    }
+
+    private static long blocks(JsonNode plan) {
+        return plan.get("Plan").path("Shared Hit Blocks").asLong() + plan.get("Plan").path("Shared Read Blocks").asLong();
+    }
+
+    /**
+     * Collects how {@code monitor_checks} and its partitions are read, with partition names collapsed, and which of
+     * them are read by a sequential scan of more than {@code seqScanRows} rows.
+     */
+    private void collectScans(JsonNode node, List<String> access, List<String> seqScans) {
+        String type = node.get("Node Type").asText();
+        String relation = node.path("Relation Name").asText("");
+        String index = node.path("Index Name").asText("");
+
+        if (relation.startsWith("monitor_checks") || type.equals("Bitmap Index Scan")) {
+            String description = PARTITION_NAME.matcher(type + " " + (index.isEmpty() ? relation : index))
+                    .replaceAll("monitor_checks_p*");
+            if (!access.contains(description)) {
+                access.add(description);
+            }
+        }
+        if (relation.startsWith("monitor_checks") && type.endsWith("Seq Scan")) {
+            double rowsRead = (node.path("Actual Rows").asDouble() + node.path("Rows Removed by Filter").asDouble())
+                    * node.path("Actual Loops").asDouble(1);
+            if (rowsRead > seqScanRows) {
+                seqScans.add(relation);
+            }
+        }
+
+        for (JsonNode child : node.path("Plans")) {
+            collectScans(child, access, seqScans);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.infernokun.infernoUptime.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compares the connections and TLS handshakes the core's HTTP probes need per check in each probe protocol mode.
+ * <p>
+ * Starts a {@link TargetFarm} serving HTTP/1.1, h2c and h2, then runs one phase per {@code --http-versions}
+ * entry: creates monitors with that version against the farm (a share of them over TLS), lets them run for
+ * {@code --duration} and reads the delta of the core's {@code inferno.probe.connections.opened} and
+ * {@code inferno.probe.tls.handshakes} gauges along with the connections the farm accepted. Other active monitors
+ * on the core count towards the gauges too, so run it against an otherwise idle core. TLS targets need the core
+ * started with the farm's truststore (see {@link SelfSignedKeystore}). Example:
+ * {@code gradle :load-harness:protocolComparison --args="--monitors=200 --interval=10 --duration=60s"}.
+ */
+@Slf4j
+public class ProtocolComparison {
+
+    private record PhaseResult(String httpVersion, long checks, double connectionsOpened, double tlsHandshakes,
+                               long farmConnections, long http2Requests) {
+    }
+
+    private final HarnessOptions options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient api;
+    private final CoreMetrics coreMetrics;
+
+    public ProtocolComparison(HarnessOptions options) {
+        this.options = options;
+        String coreUrl = options.getString("core-url", "http://localhost:8080/inferno-uptime-rest");
+        this.api = HttpClient.create()
+                .baseUrl(coreUrl + "/api/v1")
+                .headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, "application/json"))
+                .responseTimeout(Duration.ofSeconds(30));
+        this.coreMetrics = new CoreMetrics(coreUrl);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new ProtocolComparison(HarnessOptions.parse(args)).run();
+    }
+
+    public void run() throws Exception {
+        int monitorCount = options.getInt("monitors", 200);
+        int intervalSeconds = Math.max(10, options.getInt("interval", 10));
+        double tlsShare = options.getDouble("tls-share", 0.5);
+        Duration duration = options.getDuration("duration", Duration.ofSeconds(60));
+        List<String> versions = Arrays.stream(options.getString("http-versions", "HTTP_1_1,HTTP_2,H2C").split(","))
+                .map(version -> version.trim().toUpperCase())
+                .toList();
+
+        if (!coreMetrics.probeConnections().available()) {
+            throw new IllegalStateException("The core does not expose " + CoreMetrics.CONNECTIONS_OPENED + " and "
+                    + CoreMetrics.TLS_HANDSHAKES + " on its actuator metrics endpoint");
+        }
+
+        TargetFarm.Config farmConfig = TargetFarm.Config.builder()
+                .port(options.getInt("farm-port", 18500))
+                .tlsPort(options.getInt("farm-tls-port", 18543))
+                .http2(true)
+                .errorRate(0)
+                .hangRate(0)
+                .slowBodyRate(0)
+                .meanLatencyMillis(options.getDouble("mean-latency-ms", 50))
+                .build();
+
+        List<PhaseResult> results = new ArrayList<>();
+        try (TargetFarm farm = new TargetFarm(farmConfig)) {
+            farm.start();
+            for (String version : versions) {
+                results.add(runPhase(farm, version, monitorCount, intervalSeconds, tlsShare, duration));
+            }
+        }
+
+        log.info(String.format(Locale.ROOT, "%-9s %8s %12s %10s %12s %10s %12s %12s",
+                "protocol", "checks", "connections", "per check", "handshakes", "per check", "farm conns", "h2 requests"));
+        for (PhaseResult result : results) {
+            long checks = Math.max(1, result.checks());
+            log.info(String.format(Locale.ROOT, "%-9s %8d %12.0f %10.3f %12.0f %10.3f %12d %12d",
+                    result.httpVersion(), result.checks(),
+                    result.connectionsOpened(), result.connectionsOpened() / checks,
+                    result.tlsHandshakes(), result.tlsHandshakes() / checks,
+                    result.farmConnections(), result.http2Requests()));
+        }
+    }
+
+    private PhaseResult runPhase(TargetFarm farm, String httpVersion, int monitorCount, int intervalSeconds,
+                                 double tlsShare, Duration duration) throws InterruptedException {
+        boolean tls = farm.getTruststore() != null && tlsShare > 0;
+        int tlsEvery = tls ? (int) Math.round(1 / tlsShare) : 0;
+
+        CoreMetrics.ProbeConnections before = coreMetrics.probeConnections();
+        long requestsBefore = farm.getRequests().sum();
+        long connectionsBefore = farm.getConnections().sum();
+        long http2Before = farm.getHttp2Requests().sum();
+
+        List<Long> monitorIds = createMonitors(farm, httpVersion, monitorCount, intervalSeconds, tlsEvery);
+        try {
+            // The core's scheduler picks new monitors up from its active monitor cache, which can take minutes
+            long deadline = System.nanoTime() + options.getDuration("start-timeout", Duration.ofMinutes(6)).toNanos();
+            while (farm.getRequests().sum() == requestsBefore && System.nanoTime() < deadline) {
+                Thread.sleep(1000);
+            }
+            log.info("Phase {}: {} monitors for {}", httpVersion, monitorIds.size(), duration);
+            Thread.sleep(duration.toMillis());
+        } finally {
+            deleteMonitors(monitorIds);
+        }
+        Thread.sleep(2000); // checks still in flight
+
+        CoreMetrics.ProbeConnections opened = coreMetrics.probeConnections().minus(before);
+        return new PhaseResult(httpVersion,
+                farm.getRequests().sum() - requestsBefore,
+                opened.connectionsOpened(),
+                opened.tlsHandshakes(),
+                farm.getConnections().sum() - connectionsBefore,
+                farm.getHttp2Requests().sum() - http2Before);
+    }
+
+    // ======================== Setup ========================
+
+    private List<Long> createMonitors(TargetFarm farm, String httpVersion, int count, int intervalSeconds,
+                                      int tlsEvery) {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        return Flux.range(0, count)
+                .flatMap(i -> {
+                    boolean tls = tlsEvery > 0 && i % tlsEvery == 0;
+                    ObjectNode body = objectMapper.createObjectNode()
+                            .put("name", "protocol-" + runId + "-" + i)
+                            .put("url", farm.targetUrl(i, tls))
+                            .put("type", tls ? "HTTPS" : "HTTP")
+                            .put("checkInterval", intervalSeconds)
+                            .put("timeoutSeconds", options.getInt("timeout", 10))
+                            .put("expectedStatusCodes", "200")
+                            .put("httpVersion", httpVersion);
+                    return post("/monitors", body).map(response -> response.path("data").path("id").asLong());
+                }, options.getInt("create-concurrency", 32))
+                .collectList()
+                .blockOptional()
+                .orElse(Collections.emptyList());
+    }
+
+    private void deleteMonitors(List<Long> monitorIds) {
+        Flux.fromIterable(monitorIds)
+                .flatMap(id -> api.delete().uri("/monitors/" + id).response().then(), 32)
+                .blockLast();
+    }
+
+    // ======================== HTTP ========================
+
+    private Mono<JsonNode> post(String path, JsonNode body) {
+        return api.post()
+                .uri(path)
+                .send(Mono.just(Unpooled.wrappedBuffer(body.toString().getBytes(StandardCharsets.UTF_8))))
+                .responseSingle((response, content) -> content.asString())
+                .map(this::readJson);
+    }
+
+    private JsonNode readJson(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected response: " + json, e);
+        }
+    }
+}
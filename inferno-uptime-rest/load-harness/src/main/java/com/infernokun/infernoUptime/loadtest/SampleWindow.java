@@ -0,0 +1,37 @@
+package com.infernokun.infernoUptime.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects long samples between two reports and summarises them as percentiles.
+ */
+public class SampleWindow {
+
+    private long[] samples = new long[1024];
+    private int size;
+
+    public synchronized void record(long value) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = value;
+    }
+
+    /**
+     * Returns the sorted samples recorded since the previous call and starts a new window.
+     */
+    public synchronized long[] drain() {
+        long[] drained = Arrays.copyOf(samples, size);
+        size = 0;
+        Arrays.sort(drained);
+        return drained;
+    }
+
+    public static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
@@ -0,0 +1,96 @@
+package com.infernokun.infernoUptime.loadtest;
+
+import javax.net.ssl.KeyManagerFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Generates a throwaway self-signed certificate for localhost with the JDK's keytool, so TLS targets
+ * work offline without extra crypto dependencies. A keystore left by an earlier run is reused while its
+ * certificate is valid, so a core started with its truststore keeps trusting restarted farms.
+ */
+public final class SelfSignedKeystore {
+
+    static final String PASSWORD = "inferno";
+
+    private final Path keystore;
+    private final Path truststore;
+
+    private SelfSignedKeystore(Path keystore, Path truststore) {
+        this.keystore = keystore;
+        this.truststore = truststore;
+    }
+
+    public static SelfSignedKeystore generate(Path directory) throws IOException, InterruptedException {
+        Files.createDirectories(directory);
+        Path keystore = directory.resolve("farm-keystore.p12");
+        Path certificate = directory.resolve("farm.crt");
+        Path truststore = directory.resolve("farm-truststore.p12");
+        if (Files.isRegularFile(truststore) && isValid(keystore)) {
+            return new SelfSignedKeystore(keystore, truststore);
+        }
+        for (Path path : List.of(keystore, certificate, truststore)) {
+            Files.deleteIfExists(path);
+        }
+
+        keytool("-genkeypair", "-alias", "farm", "-keyalg", "EC", "-groupname", "secp256r1",
+                "-dname", "CN=localhost", "-ext", "SAN=dns:localhost,ip:127.0.0.1", "-validity", "30",
+                "-storetype", "PKCS12", "-keystore", keystore.toString(), "-storepass", PASSWORD);
+        keytool("-exportcert", "-alias", "farm", "-keystore", keystore.toString(), "-storepass", PASSWORD,
+                "-rfc", "-file", certificate.toString());
+        keytool("-importcert", "-noprompt", "-alias", "farm", "-file", certificate.toString(),
+                "-storetype", "PKCS12", "-keystore", truststore.toString(), "-storepass", PASSWORD);
+
+        return new SelfSignedKeystore(keystore, truststore);
+    }
+
+    public KeyManagerFactory keyManagerFactory() throws Exception {
+        KeyStore store = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(keystore)) {
+            store.load(in, PASSWORD.toCharArray());
+        }
+        KeyManagerFactory factory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        factory.init(store, PASSWORD.toCharArray());
+        return factory;
+    }
+
+    /**
+     * Truststore the core must be started with to accept the farm's TLS targets.
+     */
+    public Path truststore() {
+        return truststore;
+    }
+
+    private static boolean isValid(Path keystore) {
+        try (InputStream in = Files.newInputStream(keystore)) {
+            KeyStore store = KeyStore.getInstance("PKCS12");
+            store.load(in, PASSWORD.toCharArray());
+            // Regenerate a day early rather than hand out a certificate that expires during the run
+            ((X509Certificate) store.getCertificate("farm"))
+                    .checkValidity(Date.from(Instant.now().plus(Duration.ofDays(1))));
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static void keytool(String... args) throws IOException, InterruptedException {
+        String[] command = new String[args.length + 1];
+        command[0] = Path.of(System.getProperty("java.home"), "bin", "keytool").toString();
+        System.arraycopy(args, 0, command, 1, args.length);
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes());
+        if (process.waitFor() != 0) {
+            throw new IOException("keytool failed: " + output);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.infernokun.infernoUptime.loadtest;
+
+import com.infernokun.infernoUptime.services.rollup.LatencySketch;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Accuracy and speed of rollup {@link LatencySketch} percentiles against exact percentiles of the raw values.
+ * <p>
+ * Generates a check history in memory (every monitor with its own {@link LatencyDistribution} and mean), folds it
+ * into hour and day sketches the way {@code CheckRollupWriter} does, then answers random queries over random
+ * monitor sets and hour-aligned ranges twice: exactly, by sorting every value in range, and by merging the day
+ * sketches the range contains plus the hour sketches at its edges, as {@code CheckRollupService} plans it.
+ * Exits with status 1 if any estimate is further from the exact value than the sketch's relative accuracy.
+ * <p>
+ * Example: {@code gradle :load-harness:sketchBenchmark --args="--monitors=200 --days=30 --queries=500"}.
+ */
+@Slf4j
+public class SketchAccuracyBenchmark {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.95, 0.99, 0.999, 1};
+
+    public static void main(String[] args) {
+        HarnessOptions options = HarnessOptions.parse(args);
+        int monitors = options.getInt("monitors", 100);
+        int days = options.getInt("days", 30);
+        int checksPerHour = 3600 / options.getInt("interval-seconds", 60);
+        int queries = options.getInt("queries", 200);
+        Random random = new Random(options.getInt("seed", 42));
+
+        int hours = days * 24;
+        long[][] values = generate(random, monitors, hours * checksPerHour);
+
+        long start = System.nanoTime();
+        LatencySketch[][] hourSketches = new LatencySketch[monitors][hours];
+        LatencySketch[][] daySketches = new LatencySketch[monitors][days];
+        long hourBytes = 0;
+        long dayBytes = 0;
+        for (int m = 0; m < monitors; m++) {
+            for (int h = 0; h < hours; h++) {
+                LatencySketch sketch = new LatencySketch();
+                for (int i = h * checksPerHour; i < (h + 1) * checksPerHour; i++) {
+                    sketch.add(values[m][i]);
+                }
+                hourSketches[m][h] = sketch;
+                hourBytes += storedBytes(sketch);
+            }
+            for (int d = 0; d < days; d++) {
+                LatencySketch sketch = new LatencySketch();
+                for (int h = d * 24; h < (d + 1) * 24; h++) {
+                    sketch.merge(hourSketches[m][h]);
+                }
+                daySketches[m][d] = sketch;
+                dayBytes += storedBytes(sketch);
+            }
+        }
+        log.info(String.format(Locale.ROOT, "Built %,d hour and %,d day sketches from %,d checks in %dms",
+                monitors * hours, monitors * days, (long) monitors * hours * checksPerHour,
+                (System.nanoTime() - start) / 1_000_000));
+        log.info(String.format(Locale.ROOT, "Keys and counts average %.0f bytes per hour (%d bytes of raw values), "
+                        + "%.0f bytes per day (%d bytes of raw values)",
+                hourBytes / (double) (monitors * hours), checksPerHour * Long.BYTES,
+                dayBytes / (double) (monitors * days), 24 * checksPerHour * Long.BYTES));
+
+        double[] maxError = new double[QUANTILES.length];
+        double[] sumError = new double[QUANTILES.length];
+        long exactNanos = 0;
+        long sketchNanos = 0;
+        long mergedSketches = 0;
+        long scannedValues = 0;
+        int violations = 0;
+
+        for (int q = 0; q < queries; q++) {
+            int[] monitorSet = monitorSet(random, monitors);
+            int fromHour = random.nextInt(hours);
+            int toHour = fromHour + 1 + random.nextInt(hours - fromHour);
+
+            long exactStart = System.nanoTime();
+            long[] exact = exactQuantiles(values, monitorSet, fromHour * checksPerHour, toHour * checksPerHour);
+            exactNanos += System.nanoTime() - exactStart;
+            scannedValues += (long) monitorSet.length * (toHour - fromHour) * checksPerHour;
+
+            long sketchStart = System.nanoTime();
+            LatencySketch merged = new LatencySketch();
+            mergedSketches += merge(merged, hourSketches, daySketches, monitorSet, fromHour, toHour);
+            long[] estimated = new long[QUANTILES.length];
+            for (int i = 0; i < QUANTILES.length; i++) {
+                estimated[i] = merged.quantile(QUANTILES[i]);
+            }
+            sketchNanos += System.nanoTime() - sketchStart;
+
+            for (int i = 0; i < QUANTILES.length; i++) {
+                double error = Math.abs(estimated[i] - exact[i]) / (double) Math.max(1, exact[i]);
+                maxError[i] = Math.max(maxError[i], error);
+                sumError[i] += error;
+                if (Math.abs(estimated[i] - exact[i]) > LatencySketch.RELATIVE_ACCURACY * exact[i] + 0.5) {
+                    violations++;
+                    log.warn("Query {}: q{} estimated {}ms, exact {}ms", q, QUANTILES[i], estimated[i], exact[i]);
+                }
+            }
+        }
+
+        for (int i = 0; i < QUANTILES.length; i++) {
+            log.info(String.format(Locale.ROOT, "q%-6s relative error mean %.4f%%  max %.4f%%",
+                    QUANTILES[i], sumError[i] / queries * 100, maxError[i] * 100));
+        }
+        log.info(String.format(Locale.ROOT, "Exact:  %,d values sorted in %dms (%.2fms per query)",
+                scannedValues, exactNanos / 1_000_000, exactNanos / 1e6 / queries));
+        log.info(String.format(Locale.ROOT, "Sketch: %,d sketches merged in %dms (%.3fms per query, %.0f per query), %.0fx faster",
+                mergedSketches, sketchNanos / 1_000_000, sketchNanos / 1e6 / queries,
+                mergedSketches / (double) queries, exactNanos / (double) Math.max(1, sketchNanos)));
+
+        if (violations > 0) {
+            log.error("{} estimates exceed the {}% relative accuracy", violations, LatencySketch.RELATIVE_ACCURACY * 100);
+            System.exit(1);
+        }
+        log.info("All estimates within {}% of the exact percentiles", LatencySketch.RELATIVE_ACCURACY * 100);
+    }
+
+    private static long storedBytes(LatencySketch sketch) {
+        return sketch.keys().length * (long) (Short.BYTES + Long.BYTES);
+    }
+
+    private static long[][] generate(Random random, int monitors, int checks) {
+        LatencyDistribution[] shapes = LatencyDistribution.values();
+        long[][] values = new long[monitors][checks];
+        for (int m = 0; m < monitors; m++) {
+            LatencyDistribution shape = shapes[m % shapes.length];
+            double mean = 20 + random.nextDouble() * 780;
+            for (int i = 0; i < checks; i++) {
+                values[m][i] = shape.sample(random, mean);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * A single monitor for half of the queries, a random subset of up to all monitors for the rest.
+     */
+    private static int[] monitorSet(Random random, int monitors) {
+        if (random.nextBoolean()) {
+            return new int[]{random.nextInt(monitors)};
+        }
+        int[] all = new int[monitors];
+        for (int m = 0; m < monitors; m++) {
+            all[m] = m;
+        }
+        for (int m = monitors - 1; m > 0; m--) {
+            int swap = random.nextInt(m + 1);
+            int tmp = all[m];
+            all[m] = all[swap];
+            all[swap] = tmp;
+        }
+        return Arrays.copyOf(all, 1 + random.nextInt(monitors));
+    }
+
+    private static long[] exactQuantiles(long[][] values, int[] monitorSet, int from, int to) {
+        long[] range = new long[monitorSet.length * (to - from)];
+        for (int i = 0; i < monitorSet.length; i++) {
+            System.arraycopy(values[monitorSet[i]], from, range, i * (to - from), to - from);
+        }
+        Arrays.sort(range);
+
+        long[] quantiles = new long[QUANTILES.length];
+        for (int i = 0; i < QUANTILES.length; i++) {
+            quantiles[i] = range[(int) (QUANTILES[i] * (range.length - 1))];
+        }
+        return quantiles;
+    }
+
+    /**
+     * Merges the whole days inside {@code [fromHour, toHour)} and the hours around them; returns the sketch count.
+     */
+    private static int merge(LatencySketch target, LatencySketch[][] hourSketches, LatencySketch[][] daySketches,
+                             int[] monitorSet, int fromHour, int toHour) {
+        int firstDay = (fromHour + 23) / 24;
+        int endDay = toHour / 24;
+        int merged = 0;
+
+        for (int m : monitorSet) {
+            if (firstDay < endDay) {
+                for (int h = fromHour; h < firstDay * 24; h++, merged++) {
+                    target.merge(hourSketches[m][h]);
+                }
+                for (int d = firstDay; d < endDay; d++, merged++) {
+                    target.merge(daySketches[m][d]);
+                }
+                for (int h = endDay * 24; h < toHour; h++, merged++) {
+                    target.merge(hourSketches[m][h]);
+                }
+            } else {
+                for (int h = fromHour; h < toHour; h++, merged++) {
+                    target.merge(hourSketches[m][h]);
+                }
+            }
+        }
+        return merged;
+    }
+}
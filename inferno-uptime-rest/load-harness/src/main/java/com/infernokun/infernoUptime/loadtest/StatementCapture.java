@@ -0,0 +1,103 @@
+package com.infernokun.infernoUptime.loadtest;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the prepared statements executed through a {@link DataSource} together with their bind values, so the
+ * SQL that Hibernate or a {@code JdbcTemplate} actually sends can be replayed, e.g. under {@code EXPLAIN}.
+ */
+public class StatementCapture {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate");
+
+    /**
+     * One {@code setXxx(index, value...)} call on a prepared statement.
+     */
+    public record Bind(Method setter, Object[] args) {
+    }
+
+    public record CapturedStatement(String sql, List<Bind> binds) {
+
+        /**
+         * Prepares {@code prefix + sql} on the connection with the same bind values.
+         */
+        public PreparedStatement prepare(Connection connection, String prefix) throws SQLException {
+            PreparedStatement statement = connection.prepareStatement(prefix + sql);
+            for (Bind bind : binds) {
+                try {
+                    bind.setter().invoke(statement, bind.args());
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    statement.close();
+                    throw new SQLException("Could not replay " + bind.setter().getName() + " on " + sql, e);
+                }
+            }
+            return statement;
+        }
+    }
+
+    private final List<CapturedStatement> statements = new CopyOnWriteArrayList<>();
+
+    public DataSource wrap(DataSource target) {
+        return proxy(DataSource.class, target, (method, args, result) ->
+                method.getName().equals("getConnection") ? wrap((Connection) result) : result);
+    }
+
+    /**
+     * Runs the operation and returns the statements it executed, in order.
+     */
+    public List<CapturedStatement> capture(Runnable operation) {
+        statements.clear();
+        operation.run();
+        return new ArrayList<>(statements);
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (method, args, result) ->
+                method.getName().equals("prepareStatement") ? wrap((PreparedStatement) result, (String) args[0]) : result);
+    }
+
+    private PreparedStatement wrap(PreparedStatement statement, String sql) {
+        List<Bind> binds = new ArrayList<>();
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length >= 2
+                            && method.getParameterTypes()[0] == int.class) {
+                        binds.add(new Bind(method, args.clone()));
+                    } else if (name.equals("clearParameters")) {
+                        binds.clear();
+                    } else if (EXECUTE_METHODS.contains(name) && args == null) {
+                        statements.add(new CapturedStatement(sql, List.copyOf(binds)));
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private interface ResultWrapper {
+        Object wrap(Method method, Object[] args, Object result);
+    }
+
+    private <T> T proxy(Class<T> type, T target, ResultWrapper wrapper) {
+        return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> wrapper.wrap(method, args, invoke(target, method, args))));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
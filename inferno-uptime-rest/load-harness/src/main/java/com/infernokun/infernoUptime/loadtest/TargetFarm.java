@@ -0,0 +1,210 @@
+package com.infernokun.infernoUptime.loadtest;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.Http11SslContextSpec;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.tcp.SslProvider;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embedded Netty server simulating thousands of monitor targets at {@code /t/{id}}.
+ * <p>
+ * Each target has a stable mean latency (the configured mean scaled by 0.5-1.5x, seeded by its id) sampled
+ * from the configured distribution. A request can instead fail with a 5xx, hang until the client gives up,
+ * or stream its body slowly. The same routes are served over TLS on a second port.
+ * <p>
+ * With {@code http2} enabled the cleartext port also accepts h2c (prior knowledge or upgrade) and the TLS port
+ * offers h2 through ALPN, both next to HTTP/1.1. The farm counts the connections clients open and the requests
+ * that arrived over HTTP/2, so probe runs with different protocol modes can be compared.
+ */
+@Slf4j
+public class TargetFarm implements AutoCloseable {
+
+    @Getter
+    @Builder
+    public static class Config {
+        @Builder.Default private int port = 18500;
+        @Builder.Default private int tlsPort = 18543;
+        @Builder.Default private boolean tlsEnabled = true;
+        @Builder.Default private boolean http2 = true;
+        @Builder.Default private LatencyDistribution distribution = LatencyDistribution.LOGNORMAL;
+        @Builder.Default private double meanLatencyMillis = 50;
+        @Builder.Default private double errorRate = 0.01;
+        @Builder.Default private double hangRate = 0.001;
+        @Builder.Default private double slowBodyRate = 0.01;
+        @Builder.Default private Duration slowBodyDuration = Duration.ofSeconds(2);
+        @Builder.Default private Path workDirectory = Path.of(System.getProperty("java.io.tmpdir"), "inferno-target-farm");
+
+        public static Config fromOptions(HarnessOptions options) {
+            return Config.builder()
+                    .port(options.getInt("farm-port", 18500))
+                    .tlsPort(options.getInt("farm-tls-port", 18543))
+                    .tlsEnabled(options.getBoolean("farm-tls", true))
+                    .http2(options.getBoolean("farm-http2", true))
+                    .distribution(LatencyDistribution.valueOf(options.getString("latency", "LOGNORMAL").toUpperCase()))
+                    .meanLatencyMillis(options.getDouble("mean-latency-ms", 50))
+                    .errorRate(options.getDouble("error-rate", 0.01))
+                    .hangRate(options.getDouble("hang-rate", 0.001))
+                    .slowBodyRate(options.getDouble("slow-body-rate", 0.01))
+                    .slowBodyDuration(options.getDuration("slow-body-duration", Duration.ofSeconds(2)))
+                    .build();
+        }
+    }
+
+    private final Config config;
+    private final Map<Integer, Double> targetMeans = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> lastArrival = new ConcurrentHashMap<>();
+
+    @Getter private final LongAdder requests = new LongAdder();
+    @Getter private final LongAdder errors = new LongAdder();
+    @Getter private final LongAdder hangs = new LongAdder();
+    @Getter private final LongAdder slowBodies = new LongAdder();
+    @Getter private final LongAdder connections = new LongAdder();
+    @Getter private final LongAdder http2Requests = new LongAdder();
+    @Getter private final SampleWindow interArrivalMillis = new SampleWindow();
+
+    private DisposableServer server;
+    private DisposableServer tlsServer;
+    @Getter private Path truststore;
+
+    public TargetFarm(Config config) {
+        this.config = config;
+    }
+
+    public void start() throws Exception {
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(config.getPort())
+                .protocol(config.isHttp2()
+                        ? new HttpProtocol[]{HttpProtocol.HTTP11, HttpProtocol.H2C}
+                        : new HttpProtocol[]{HttpProtocol.HTTP11})
+                .doOnChannelInit((observer, channel, remoteAddress) -> connections.increment())
+                .route(routes -> routes.get("/t/{id}", this::handle))
+                .bindNow();
+        log.info("Target farm listening on http://127.0.0.1:{}/t/{id}{}", config.getPort(),
+                config.isHttp2() ? " (HTTP/1.1 and h2c)" : "");
+
+        if (config.isTlsEnabled()) {
+            SelfSignedKeystore keystore = SelfSignedKeystore.generate(config.getWorkDirectory());
+            truststore = keystore.truststore();
+            SslProvider.GenericSslContextSpec<?> sslSpec = config.isHttp2()
+                    ? Http2SslContextSpec.forServer(keystore.keyManagerFactory())
+                    : Http11SslContextSpec.forServer(keystore.keyManagerFactory());
+            tlsServer = HttpServer.create()
+                    .host("127.0.0.1")
+                    .port(config.getTlsPort())
+                    .protocol(config.isHttp2()
+                            ? new HttpProtocol[]{HttpProtocol.HTTP11, HttpProtocol.H2}
+                            : new HttpProtocol[]{HttpProtocol.HTTP11})
+                    .secure(spec -> spec.sslContext(sslSpec))
+                    .doOnChannelInit((observer, channel, remoteAddress) -> connections.increment())
+                    .route(routes -> routes.get("/t/{id}", this::handle))
+                    .bindNow();
+            log.info("TLS targets on https://localhost:{}/t/{id} (start the core with "
+                    + "-Djavax.net.ssl.trustStore={} -Djavax.net.ssl.trustStorePassword={})",
+                    config.getTlsPort(), truststore, SelfSignedKeystore.PASSWORD);
+        }
+    }
+
+    public String targetUrl(int id, boolean tls) {
+        return tls
+                ? "https://localhost:" + config.getTlsPort() + "/t/" + id
+                : "http://127.0.0.1:" + config.getPort() + "/t/" + id;
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.disposeNow();
+        }
+        if (tlsServer != null) {
+            tlsServer.disposeNow();
+        }
+    }
+
+    private Publisher<Void> handle(HttpServerRequest request, HttpServerResponse response) {
+        int id;
+        try {
+            id = Integer.parseInt(request.param("id"));
+        } catch (NumberFormatException e) {
+            return response.status(HttpResponseStatus.BAD_REQUEST).send();
+        }
+
+        long now = System.currentTimeMillis();
+        requests.increment();
+        if (request.version().majorVersion() == 2) {
+            http2Requests.increment();
+        }
+        Long previous = lastArrival.put(id, now);
+        if (previous != null) {
+            interArrivalMillis.record(now - previous);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double roll = random.nextDouble();
+        Duration latency = Duration.ofMillis(config.getDistribution().sample(random, meanFor(id)));
+
+        if (roll < config.getHangRate()) {
+            hangs.increment();
+            return Mono.never();
+        }
+        roll -= config.getHangRate();
+
+        if (roll < config.getErrorRate()) {
+            errors.increment();
+            HttpResponseStatus status = random.nextBoolean()
+                    ? HttpResponseStatus.INTERNAL_SERVER_ERROR
+                    : HttpResponseStatus.SERVICE_UNAVAILABLE;
+            return Mono.delay(latency).then(response.status(status).sendString(Mono.just("error")).then());
+        }
+        roll -= config.getErrorRate();
+
+        if (roll < config.getSlowBodyRate()) {
+            slowBodies.increment();
+            int chunks = 10;
+            Duration perChunk = config.getSlowBodyDuration().dividedBy(chunks);
+            return Mono.delay(latency).then(response
+                    .header("Content-Type", "text/plain")
+                    .sendString(Flux.interval(perChunk).take(chunks).map(i -> "chunk-" + i + "\n"))
+                    .then());
+        }
+
+        return Mono.delay(latency).then(response
+                .header("Content-Type", "text/plain")
+                .sendString(Mono.just("OK"))
+                .then());
+    }
+
+    private double meanFor(int id) {
+        return targetMeans.computeIfAbsent(id,
+                key -> config.getMeanLatencyMillis() * (0.5 + new Random(key).nextDouble()));
+    }
+
+    public static void main(String[] args) throws Exception {
+        HarnessOptions options = HarnessOptions.parse(args);
+        try (TargetFarm farm = new TargetFarm(Config.fromOptions(options))) {
+            farm.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(farm::close));
+            new CountDownLatch(1).await();
+        }
+    }
+}
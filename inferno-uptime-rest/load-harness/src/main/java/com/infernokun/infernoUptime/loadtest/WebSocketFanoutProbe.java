@@ -0,0 +1,99 @@
+package com.infernokun.infernoUptime.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Subscribes to the core's monitor update topic over plain STOMP-over-WebSocket and measures how many
+ * updates reach a client and how long after the check they arrive.
+ */
+@Slf4j
+public class WebSocketFanoutProbe implements AutoCloseable {
+
+    private static final String TOPIC = "/topic/monitors/updates";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Getter private final LongAdder messages = new LongAdder();
+    @Getter private final SampleWindow deliveryDelayMillis = new SampleWindow();
+
+    private Disposable connection;
+
+    public void connect(String coreUrl) {
+        String wsUrl = coreUrl.replaceFirst("^http", "ws") + "/ws/websocket";
+
+        connection = HttpClient.create()
+                .websocket()
+                .uri(wsUrl)
+                .handle((inbound, outbound) -> outbound
+                        .sendString(Flux.just(
+                                "CONNECT\naccept-version:1.2\nhost:localhost\nheart-beat:0,0\n\n\0",
+                                "SUBSCRIBE\nid:load-driver\ndestination:" + TOPIC + "\n\n\0"))
+                        .then()
+                        .thenMany(inbound.receive().asString().doOnNext(this::onFrame)))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(10)))
+                .subscribe(null, e -> log.warn("WebSocket probe stopped: {}", e.getMessage()));
+
+        log.info("Subscribed to {} via {}", TOPIC, wsUrl);
+    }
+
+    private void onFrame(String frame) {
+        if (!frame.startsWith("MESSAGE")) {
+            return;
+        }
+        messages.increment();
+
+        int bodyStart = frame.indexOf("\n\n");
+        if (bodyStart < 0) {
+            return;
+        }
+        String body = frame.substring(bodyStart + 2).replace("\0", "");
+        try {
+            LocalDateTime checkedAt = parseTimestamp(objectMapper.readTree(body).findValue("timestamp"));
+            if (checkedAt != null) {
+                deliveryDelayMillis.record(Duration.between(checkedAt, LocalDateTime.now()).toMillis());
+            }
+        } catch (Exception e) {
+            log.debug("Could not parse update: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Accepts ISO strings, Jackson's array form and type-wrapped values ({@code ["java.time.LocalDateTime", ...]}).
+     */
+    private static LocalDateTime parseTimestamp(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        if (node.isTextual()) {
+            return LocalDateTime.parse(node.asText());
+        }
+        if (node.isArray() && node.size() == 2 && node.get(0).isTextual()) {
+            return parseTimestamp(node.get(1));
+        }
+        if (node.isArray() && node.size() >= 6) {
+            return LocalDateTime.of(node.get(0).asInt(), node.get(1).asInt(), node.get(2).asInt(),
+                    node.get(3).asInt(), node.get(4).asInt(), node.get(5).asInt(),
+                    node.size() > 6 ? node.get(6).asInt() : 0);
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        if (connection != null) {
+            connection.dispose();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.infernokun.infernoUptime.loadtest;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs {@link PlanRegressionCheck} on both table layouts and fails on any hot query that falls back to a
+ * sequential scan. Uses a PostgreSQL 16 container, or the database given by the
+ * {@code inferno.harness.plan.jdbc-url}, {@code .user} and {@code .password} system properties (see the
+ * {@code test} task); it is skipped when neither is available.
+ */
+class PlanRegressionCheckTest {
+
+    private static PostgreSQLContainer<?> postgres;
+    private static PlanRegressionCheck check;
+
+    @BeforeAll
+    static void startDatabase() {
+        String jdbcUrl = System.getProperty("inferno.harness.plan.jdbc-url");
+        String user = System.getProperty("inferno.harness.plan.user", "amaterasu");
+        String password = System.getProperty("inferno.harness.plan.password", "amaterasu");
+
+        if (jdbcUrl == null) {
+            assumeTrue(DockerClientFactory.instance().isDockerAvailable(),
+                    "Docker is not available and inferno.harness.plan.jdbc-url is not set");
+            postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+            postgres.start();
+            jdbcUrl = postgres.getJdbcUrl();
+            user = postgres.getUsername();
+            password = postgres.getPassword();
+        }
+
+        check = new PlanRegressionCheck(HarnessOptions.parse(new String[]{
+                "--jdbc-url=" + jdbcUrl, "--user=" + user, "--password=" + password, "--schema=plan_check_test"}));
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"plain", "partitioned"})
+    void hotQueriesUseIndexes(String layout) throws Exception {
+        List<PlanRegressionCheck.PlanResult> results = check.run(layout);
+
+        assertThat(results).isNotEmpty();
+        assertThat(results)
+                .as("hot queries reading monitor_checks with a sequential scan on the %s layout", layout)
+                .filteredOn(PlanRegressionCheck.PlanResult::regression)
+                .isEmpty();
+    }
+}
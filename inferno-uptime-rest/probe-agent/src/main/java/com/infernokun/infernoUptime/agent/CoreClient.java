@@ -0,0 +1,87 @@
+package com.infernokun.infernoUptime.agent;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infernokun.infernoUptime.models.dto.ProbeMonitorSpec;
+import com.infernokun.infernoUptime.models.dto.ProbeResult;
+import com.infernokun.infernoUptime.models.entity.Monitor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * HTTP client for the core's probe-agent endpoints.
+ */
+@Slf4j
+@Component
+public class CoreClient {
+
+    private static final String TOKEN_HEADER = "X-Probe-Agent-Token";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final TypeReference<List<ProbeMonitorSpec>> MONITOR_LIST = new TypeReference<>() {};
+
+    private final ProbeAgentProperties properties;
+    private final ObjectMapper objectMapper;
+    private final WebClient webClient;
+
+    public CoreClient(ProbeAgentProperties properties, ObjectMapper objectMapper, WebClient.Builder webClientBuilder) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.webClient = webClientBuilder.clone()
+                .baseUrl(properties.getCoreUrl() + "/api/v1/probe-agents/" + properties.getId())
+                .defaultHeader(TOKEN_HEADER, properties.getToken())
+                .build();
+    }
+
+    public List<Monitor> fetchAssignedMonitors() {
+        JsonNode response = webClient.get()
+                .uri("/monitors")
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .block(REQUEST_TIMEOUT);
+
+        if (response == null || !response.hasNonNull("data")) {
+            return List.of();
+        }
+        List<ProbeMonitorSpec> specs = objectMapper.convertValue(response.get("data"), MONITOR_LIST);
+        return specs.stream().map(ProbeMonitorSpec::toMonitor).toList();
+    }
+
+    /**
+     * Ships a batch as one gzip-compressed JSON request.
+     */
+    public void uploadResults(List<ProbeResult> results) {
+        byte[] body = compress(results);
+
+        webClient.post()
+                .uri("/results")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .bodyValue(body)
+                .retrieve()
+                .toBodilessEntity()
+                .block(REQUEST_TIMEOUT);
+
+        log.debug("Uploaded {} results ({} bytes compressed)", results.size(), body.length);
+    }
+
+    private byte[] compress(List<ProbeResult> results) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            objectMapper.writeValue(gzip, results);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode result batch", e);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,31 @@
+package com.infernokun.infernoUptime.agent;
+
+import com.infernokun.infernoUptime.services.HttpProbeClientService;
+import com.infernokun.infernoUptime.services.checks.CheckDispatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Standalone probe that runs the shared check engine close to the targets and ships results to the core.
+ */
+@EnableScheduling
+@EnableConfigurationProperties(ProbeAgentProperties.class)
+@Import(HttpProbeClientService.class)
+@SpringBootApplication(scanBasePackageClasses = {ProbeAgentApplication.class, CheckDispatcher.class})
+public class ProbeAgentApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ProbeAgentApplication.class, args);
+    }
+
+    @Bean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+}
@@ -0,0 +1,32 @@
+package com.infernokun.infernoUptime.agent;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "inferno.agent")
+public class ProbeAgentProperties {
+
+    /** Agent id; monitors whose {@code probeAgent} matches are checked by this agent. */
+    private String id = "local";
+
+    /** Base URL of the REST core, including the servlet context path. */
+    private String coreUrl = "http://localhost:8080/inferno-uptime-rest";
+
+    /** Shared secret sent as {@code X-Probe-Agent-Token}; empty when the core does not require one. */
+    private String token = "";
+
+    /** How often the monitor assignment is pulled from the core. */
+    private Duration syncInterval = Duration.ofSeconds(60);
+
+    /** Maximum time a result waits in the buffer before it is shipped. */
+    private Duration flushInterval = Duration.ofSeconds(5);
+
+    /** Maximum number of results per upload. */
+    private int batchSize = 1000;
+
+    /** Results kept while the core is unreachable; the oldest are dropped beyond this. */
+    private int bufferCapacity = 50000;
+}
@@ -0,0 +1,138 @@
+package com.infernokun.infernoUptime.agent;
+
+import com.infernokun.infernoUptime.models.dto.ProbeResult;
+import com.infernokun.infernoUptime.models.entity.Monitor;
+import com.infernokun.infernoUptime.services.checks.CheckDispatcher;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the assignment in sync with the core, runs each monitor on its interval through the shared
+ * {@link CheckDispatcher} and ships buffered results in batches.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProbeAgentRunner {
+
+    private final ProbeAgentProperties properties;
+    private final CoreClient coreClient;
+    private final CheckDispatcher checkDispatcher;
+
+    private volatile Map<Long, Monitor> assignedMonitors = Map.of();
+    private final Map<Long, Long> nextRunAt = new ConcurrentHashMap<>();
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicLong droppedResults = new AtomicLong();
+    private BlockingQueue<ProbeResult> buffer;
+    // A batch the core did not accept, resent before anything newer so results arrive in order
+    private List<ProbeResult> failedBatch;
+
+    @PostConstruct
+    public void initialize() {
+        buffer = new ArrayBlockingQueue<>(properties.getBufferCapacity());
+    }
+
+    // ======================== Assignment ========================
+
+    @Scheduled(fixedDelayString = "${inferno.agent.sync-interval:60s}")
+    public void syncAssignments() {
+        try {
+            List<Monitor> monitors = coreClient.fetchAssignedMonitors();
+            assignedMonitors = monitors.stream()
+                    .collect(Collectors.toMap(Monitor::getId, Function.identity(), (a, b) -> b));
+            nextRunAt.keySet().retainAll(assignedMonitors.keySet());
+
+            log.info("Probe agent {} assigned {} monitors", properties.getId(), monitors.size());
+        } catch (Exception e) {
+            log.warn("Failed to sync assignments from core, keeping {} monitors: {}",
+                    assignedMonitors.size(), e.getMessage());
+        }
+    }
+
+    // ======================== Check Execution ========================
+
+    @Scheduled(fixedRate = 1000, initialDelay = 1000)
+    public void runDueChecks() {
+        long now = System.currentTimeMillis();
+
+        for (Monitor monitor : assignedMonitors.values()) {
+            Long due = nextRunAt.get(monitor.getId());
+            if (due != null && due > now) {
+                continue;
+            }
+            // Skip while the previous check of this monitor is still running
+            if (!inFlight.add(monitor.getId())) {
+                continue;
+            }
+
+            nextRunAt.put(monitor.getId(), now + monitor.getCheckInterval() * 1000L);
+            Instant timestamp = Instant.ofEpochMilli(now);
+
+            checkDispatcher.dispatch(monitor)
+                    .doFinally(signal -> inFlight.remove(monitor.getId()))
+                    .subscribe(result -> enqueue(ProbeResult.builder()
+                            .monitorId(monitor.getId())
+                            .timestamp(timestamp)
+                            .result(result)
+                            .build()));
+        }
+    }
+
+    private void enqueue(ProbeResult result) {
+        while (!buffer.offer(result)) {
+            // Core unreachable for a long time: keep the newest results
+            if (buffer.poll() != null) {
+                droppedResults.incrementAndGet();
+            }
+        }
+    }
+
+    // ======================== Result Shipping ========================
+
+    @Scheduled(fixedDelayString = "${inferno.agent.flush-interval:5s}")
+    public synchronized void flushResults() {
+        while (failedBatch != null || !buffer.isEmpty()) {
+            List<ProbeResult> batch = failedBatch;
+            if (batch == null) {
+                batch = new ArrayList<>(Math.min(buffer.size(), properties.getBatchSize()));
+                buffer.drainTo(batch, properties.getBatchSize());
+            }
+
+            try {
+                coreClient.uploadResults(batch);
+                failedBatch = null;
+            } catch (Exception e) {
+                log.warn("Failed to upload {} results, will retry: {}", batch.size(), e.getMessage());
+                failedBatch = batch;
+                return;
+            }
+        }
+
+        long dropped = droppedResults.getAndSet(0);
+        if (dropped > 0) {
+            log.warn("Dropped {} results because the buffer was full", dropped);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Flushing buffered results before shutdown");
+        flushResults();
+    }
+}
@@ -0,0 +1,65 @@
+package com.infernokun.infernoUptime.models.dto;
+
+import com.infernokun.infernoUptime.models.entity.Monitor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * What a remote probe agent needs to run a monitor's checks. Deliberately leaves out everything else of the
+ * monitor, in particular its push token, status and history.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProbeMonitorSpec {
+    private Long id;
+    private String name;
+    private String url;
+    private Monitor.MonitorType type;
+    private Integer checkInterval;
+    private Integer timeoutSeconds;
+    private Integer maxRedirects;
+    private Monitor.HttpVersion httpVersion;
+    private String expectedStatusCodes;
+    private String keywordCheck;
+    private String customHeaders;
+
+    public static ProbeMonitorSpec from(Monitor monitor) {
+        return ProbeMonitorSpec.builder()
+                .id(monitor.getId())
+                .name(monitor.getName())
+                .url(monitor.getUrl())
+                .type(monitor.getType())
+                .checkInterval(monitor.getCheckInterval())
+                .timeoutSeconds(monitor.getTimeoutSeconds())
+                .maxRedirects(monitor.getMaxRedirects())
+                .httpVersion(monitor.getHttpVersion())
+                .expectedStatusCodes(monitor.getExpectedStatusCodes())
+                .keywordCheck(monitor.getKeywordCheck())
+                .customHeaders(monitor.getCustomHeaders())
+                .build();
+    }
+
+    /**
+     * A detached monitor for the {@code CheckDispatcher}, carrying only the fields of this spec.
+     */
+    public Monitor toMonitor() {
+        return Monitor.builder()
+                .id(id)
+                .name(name)
+                .url(url)
+                .type(type)
+                .checkInterval(checkInterval)
+                .timeoutSeconds(timeoutSeconds)
+                .maxRedirects(maxRedirects)
+                .httpVersion(httpVersion)
+                .expectedStatusCodes(expectedStatusCodes)
+                .keywordCheck(keywordCheck)
+                .customHeaders(customHeaders)
+                .isActive(true)
+                .build();
+    }
+}
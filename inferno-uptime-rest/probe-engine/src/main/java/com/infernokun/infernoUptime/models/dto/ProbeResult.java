@@ -0,0 +1,23 @@
+package com.infernokun.infernoUptime.models.dto;
+
+import com.infernokun.infernoUptime.services.checks.CheckResult;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One check executed by a remote probe agent, as shipped to the core in a result batch. The timestamp is an
+ * {@link Instant} so agents in other time zones than the core agree on when a check ran.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProbeResult {
+    private Long monitorId;
+    private Instant timestamp;
+    private CheckResult result;
+}
@@ -0,0 +1,28 @@
+package com.infernokun.infernoUptime.models.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps {@link MonitorCheck#getMessage()} and {@link MonitorCheck#getErrorDetails()} to their dictionary ids.
+ * Instantiated by the JPA provider through the application's bean container, which supplies the dictionary.
+ */
+@Converter
+public class CheckMessageConverter implements AttributeConverter<String, Integer> {
+
+    private final CheckMessageDictionary dictionary;
+
+    public CheckMessageConverter(CheckMessageDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(String text) {
+        return dictionary.idOf(text);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer id) {
+        return dictionary.textOf(id);
+    }
+}
@@ -0,0 +1,17 @@
+package com.infernokun.infernoUptime.models.entity;
+
+/**
+ * Interned check message texts. {@code monitor_checks} stores the id of a message instead of its text.
+ */
+public interface CheckMessageDictionary {
+
+    /**
+     * Id of the text, interning it if it is new. Null for a null text.
+     */
+    Integer idOf(String text);
+
+    /**
+     * Text of an interned message, null for a null or unknown id.
+     */
+    String textOf(Integer id);
+}
@@ -27,8 +27,7 @@ public class Monitor {
     @Column(nullable = false)
     private String name;
 
-    @NotBlank(message = "URL is required")
-    @Column(nullable = false)
+    // Null for PUSH monitors, which have nothing to probe
     private String url;
 
     @Enumerated(EnumType.STRING)
@@ -70,6 +69,17 @@ public class Monitor {
     @Builder.Default
     private Integer maxRedirects = 5;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "http_version")
+    @Builder.Default
+    private HttpVersion httpVersion = HttpVersion.HTTP_1_1;
+
+    @Column(name = "probe_agent", length = 64)
+    private String probeAgent; // remote agent id; null means the core scheduler runs the check
+
+    @Column(name = "push_token", length = 64, unique = true)
+    private String pushToken; // only set for PUSH monitors
+
     @Column(columnDefinition = "TEXT")
     private String description;
 
@@ -79,19 +89,34 @@ public class Monitor {
     @Column(name = "keyword_check")
     private String keywordCheck;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "check_storage", nullable = false)
+    @Builder.Default
+    private CheckStorage checkStorage = CheckStorage.FULL;
+
     @OneToMany(mappedBy = "monitor", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnore
     @Builder.Default
     private List<MonitorCheck> checks = new ArrayList<>();
 
     public enum MonitorType {
-        HTTP, HTTPS, TCP, PING, DNS
+        HTTP, HTTPS, TCP, PING, DNS,
+        PUSH // passive heartbeat: the target calls us, no outbound probe
     }
 
     public enum MonitorStatus {
         UP, DOWN, PENDING, MAINTENANCE
     }
 
+    public enum HttpVersion {
+        HTTP_1_1, HTTP_2, H2C
+    }
+
+    public enum CheckStorage {
+        FULL,   // every check is stored as a row
+        SAMPLED // only state changes, failures, latency anomalies and periodic samples; rollups still see all checks
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
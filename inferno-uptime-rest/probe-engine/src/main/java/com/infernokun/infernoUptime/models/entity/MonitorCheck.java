@@ -2,6 +2,7 @@ package com.infernokun.infernoUptime.models.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -13,8 +14,8 @@ import java.time.LocalDateTime;
 @Table(name = "monitor_checks")
 public class MonitorCheck {
 
+    // Assigned from the table's sequence by MonitorCheckIdAllocator when the check is written, never by Hibernate
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -34,21 +35,53 @@ public class MonitorCheck {
     @Column(name = "is_up")
     private Boolean isUp;
 
-    @Column(columnDefinition = "TEXT")
+    @Column(name = "message_id")
+    @Convert(converter = CheckMessageConverter.class)
     private String message;
 
-    @Column(name = "error_details", columnDefinition = "TEXT")
+    @Column(name = "error_details_id")
+    @Convert(converter = CheckMessageConverter.class)
     private String errorDetails;
 
+    // Texts of checks written before V9 whose ids the backfill has not assigned yet; dropped with the columns
+    @Column(name = "message", columnDefinition = "TEXT", insertable = false, updatable = false)
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String legacyMessage;
+
+    @Column(name = "error_details", columnDefinition = "TEXT", insertable = false, updatable = false)
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String legacyErrorDetails;
+
     @Column(name = "ssl_expiry")
     private LocalDateTime sslExpiry;
 
     @Column(name = "redirect_count")
     private Integer redirectCount;
 
+    @Column(name = "final_url", columnDefinition = "TEXT")
+    private String finalUrl;
+
+    @Column(name = "redirect_latencies")
+    private String redirectLatencies; // per-hop latency in milliseconds, comma separated
+
     @Column(name = "content_length")
     private Long contentLength;
 
+    @Column(name = "protocol", length = 16)
+    private String protocol; // negotiated HTTP version, e.g. HTTP/1.1 or HTTP/2.0
+
+    public String getMessage() {
+        return message != null ? message : legacyMessage;
+    }
+
+    public String getErrorDetails() {
+        return errorDetails != null ? errorDetails : legacyErrorDetails;
+    }
+
     @PrePersist
     protected void onCreate() {
         if (timestamp == null) {
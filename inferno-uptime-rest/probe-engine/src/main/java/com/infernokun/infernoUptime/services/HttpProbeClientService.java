@@ -0,0 +1,129 @@
+package com.infernokun.infernoUptime.services;
+
+import com.infernokun.infernoUptime.models.entity.Monitor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.handler.ssl.SslHandler;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Owns the shared Reactor Netty clients used by HTTP probes.
+ * <p>
+ * One pooled client exists per {@link Monitor.HttpVersion}, so checks against the same origin reuse
+ * connections instead of opening a new one per check. With HTTP/2 (ALPN over TLS) or h2c (cleartext, upgraded
+ * from HTTP/1.1) concurrent checks to one origin are multiplexed as streams over a single connection; targets
+ * that support neither keep being probed over HTTP/1.1. Their pools allow only a few connections per origin:
+ * below that cap, checks starting together would each open a connection of their own before the first one is
+ * ready to take more streams.
+ */
+@Slf4j
+@Service
+public class HttpProbeClientService {
+
+    private static final String PROTOCOL_CONTEXT_KEY = HttpProbeClientService.class.getName() + ".protocol";
+    private static final int MAX_IN_MEMORY_SIZE = 1024 * 1024; // 1MB limit
+
+    private final Map<Monitor.HttpVersion, WebClient> clients = new EnumMap<>(Monitor.HttpVersion.class);
+    private final Map<Monitor.HttpVersion, ConnectionProvider> providers = new EnumMap<>(Monitor.HttpVersion.class);
+
+    private final AtomicLong connectionsOpened = new AtomicLong();
+    private final AtomicLong tlsHandshakes = new AtomicLong();
+
+    public HttpProbeClientService(WebClient.Builder webClientBuilder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${inferno.uptime.probe.max-connections:500}") int maxConnections,
+                                  @Value("${inferno.uptime.probe.max-http2-connections:4}") int maxHttp2Connections,
+                                  @Value("${inferno.uptime.probe.max-idle-time:90s}") Duration maxIdleTime) {
+        for (Monitor.HttpVersion version : Monitor.HttpVersion.values()) {
+            String poolName = "inferno-probe-" + version.name().toLowerCase();
+            ConnectionProvider.Builder providerBuilder = ConnectionProvider.builder(poolName)
+                    .maxConnections(maxConnections)
+                    .maxIdleTime(maxIdleTime);
+            if (version != Monitor.HttpVersion.HTTP_1_1) {
+                // Checks wait for a stream on one of the few connections; the check timeout bounds the wait
+                providerBuilder.maxConnections(maxHttp2Connections).pendingAcquireMaxCount(-1);
+            }
+            ConnectionProvider provider = providerBuilder.build();
+
+            HttpClient httpClient = HttpClient.create(provider)
+                    .protocol(toNettyProtocols(version))
+                    .doOnChannelInit((observer, channel, remoteAddress) -> {
+                        connectionsOpened.incrementAndGet();
+                        SslHandler sslHandler = channel.pipeline().get(SslHandler.class);
+                        if (sslHandler != null) {
+                            sslHandler.handshakeFuture().addListener(future -> {
+                                if (future.isSuccess()) {
+                                    tlsHandshakes.incrementAndGet();
+                                }
+                            });
+                        }
+                    })
+                    .doOnResponse((response, connection) -> response.currentContextView()
+                            .<AtomicReference<String>>getOrEmpty(PROTOCOL_CONTEXT_KEY)
+                            .ifPresent(holder -> holder.set(response.version().text())));
+
+            providers.put(version, provider);
+            clients.put(version, webClientBuilder.clone()
+                    .clientConnector(new ReactorClientHttpConnector(httpClient))
+                    .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(MAX_IN_MEMORY_SIZE))
+                    .build());
+        }
+
+        Gauge.builder("inferno.probe.connections.opened", connectionsOpened, AtomicLong::get)
+                .description("Physical connections opened by HTTP probes")
+                .register(meterRegistry);
+        Gauge.builder("inferno.probe.tls.handshakes", tlsHandshakes, AtomicLong::get)
+                .description("Successful TLS handshakes performed by HTTP probes")
+                .register(meterRegistry);
+
+        log.info("Initialized HTTP probe clients for {} with max {} connections per pool",
+                clients.keySet(), maxConnections);
+    }
+
+    public WebClient client(Monitor.HttpVersion version) {
+        return clients.get(version != null ? version : Monitor.HttpVersion.HTTP_1_1);
+    }
+
+    /**
+     * Records the protocol the server actually negotiated (e.g. "HTTP/2.0" or "HTTP/1.1") into the given holder.
+     */
+    public <T> Mono<T> captureProtocol(Mono<T> request, AtomicReference<String> protocol) {
+        return request.contextWrite(context -> context.put(PROTOCOL_CONTEXT_KEY, protocol));
+    }
+
+    public long getConnectionsOpened() {
+        return connectionsOpened.get();
+    }
+
+    public long getTlsHandshakes() {
+        return tlsHandshakes.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        providers.values().forEach(ConnectionProvider::dispose);
+    }
+
+    private HttpProtocol[] toNettyProtocols(Monitor.HttpVersion version) {
+        return switch (version) {
+            case HTTP_1_1 -> new HttpProtocol[]{HttpProtocol.HTTP11};
+            case HTTP_2 -> new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11};
+            case H2C -> new HttpProtocol[]{HttpProtocol.H2C, HttpProtocol.HTTP11};
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.infernokun.infernoUptime.services.checks;
+
+import com.infernokun.infernoUptime.models.entity.Monitor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routes each monitor to the {@link CheckExecutor} registered for its type and picks the execution
+ * strategy: non-blocking executors are subscribed in place behind a permit gate, blocking ones get a bounded
+ * pool of their own, both sized from {@link CheckExecutor#resources()} so a slow probe type cannot starve the others.
+ */
+@Slf4j
+@Service
+public class CheckDispatcher {
+
+    private static final Duration TIMEOUT_GRACE = Duration.ofSeconds(5);
+    private static final int DEFAULT_TIMEOUT_SECONDS = 30;
+
+    private final Map<Monitor.MonitorType, CheckExecutor> executors = new EnumMap<>(Monitor.MonitorType.class);
+    private final Map<CheckExecutor, Scheduler> blockingSchedulers = new IdentityHashMap<>();
+    private final Map<CheckExecutor, CheckPermits> nonBlockingPermits = new IdentityHashMap<>();
+
+    public CheckDispatcher(List<CheckExecutor> checkExecutors) {
+        for (CheckExecutor executor : checkExecutors) {
+            for (Monitor.MonitorType type : executor.supportedTypes()) {
+                CheckExecutor existing = executors.putIfAbsent(type, executor);
+                if (existing != null) {
+                    throw new IllegalStateException("Monitor type " + type + " is claimed by both "
+                            + existing.getClass().getSimpleName() + " and " + executor.getClass().getSimpleName());
+                }
+            }
+
+            CheckResources resources = executor.resources();
+            if (executor.executionMode() == CheckExecutionMode.BLOCKING) {
+                blockingSchedulers.put(executor, Schedulers.newBoundedElastic(
+                        resources.maxConcurrency(),
+                        resources.queueCapacity(),
+                        "check-" + executor.getClass().getSimpleName()));
+            } else {
+                nonBlockingPermits.put(executor, new CheckPermits(executor.getClass().getSimpleName(), resources));
+            }
+
+            log.info("Registered {} ({}, {}) for types {}", executor.getClass().getSimpleName(),
+                    executor.executionMode(), executor.resources(), executor.supportedTypes());
+        }
+    }
+
+    public boolean supports(Monitor.MonitorType type) {
+        return executors.containsKey(type);
+    }
+
+    /**
+     * Runs a check for the monitor. Never signals an error: failures, timeouts and unsupported types
+     * are all reported as a DOWN {@link CheckResult}.
+     */
+    public Mono<CheckResult> dispatch(Monitor monitor) {
+        return Mono.defer(() -> {
+            long startTime = System.currentTimeMillis();
+
+            CheckExecutor executor = executors.get(monitor.getType());
+
+            Mono<CheckResult> check;
+            if (executor == null) {
+                check = Mono.error(new UnsupportedOperationException("Monitor type not supported: " + monitor.getType()));
+            } else if (executor.executionMode() == CheckExecutionMode.BLOCKING) {
+                check = executor.execute(monitor).subscribeOn(blockingSchedulers.get(executor));
+            } else {
+                check = nonBlockingPermits.get(executor).limit(executor.execute(monitor));
+            }
+
+            int timeoutSeconds = monitor.getTimeoutSeconds() != null ? monitor.getTimeoutSeconds() : DEFAULT_TIMEOUT_SECONDS;
+            return check.timeout(Duration.ofSeconds(timeoutSeconds).plus(TIMEOUT_GRACE))
+                    .onErrorResume(e -> {
+                        log.error("Error performing check for monitor {}: {}", monitor.getName(), e.getMessage());
+                        return Mono.just(CheckResult.failure(e, System.currentTimeMillis() - startTime));
+                    });
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        blockingSchedulers.values().forEach(Scheduler::dispose);
+    }
+}
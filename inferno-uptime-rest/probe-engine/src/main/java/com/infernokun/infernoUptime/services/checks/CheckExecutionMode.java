@@ -0,0 +1,19 @@
+package com.infernokun.infernoUptime.services.checks;
+
+/**
+ * How a {@link CheckExecutor} spends threads while a check is in flight.
+ */
+public enum CheckExecutionMode {
+    /**
+     * The check holds a thread for its whole duration (socket connect, ICMP, DNS resolver).
+     * The dispatcher runs it on a bounded pool sized from {@link CheckResources#maxConcurrency()}.
+     */
+    BLOCKING,
+
+    /**
+     * The check is driven by an event loop and returns immediately. The dispatcher subscribes to it
+     * directly and no thread is parked while waiting for the target; {@link CheckResources#maxConcurrency()}
+     * still caps how many are in flight, with further checks waiting for a slot.
+     */
+    NON_BLOCKING
+}
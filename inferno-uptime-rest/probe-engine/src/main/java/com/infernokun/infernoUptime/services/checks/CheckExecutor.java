@@ -0,0 +1,29 @@
+package com.infernokun.infernoUptime.services.checks;
+
+import com.infernokun.infernoUptime.models.entity.Monitor;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * SPI for a probe type. Implementations are discovered as Spring beans by {@link CheckDispatcher};
+ * adding a new check type only requires a new bean, not changes to the core check flow.
+ */
+public interface CheckExecutor {
+
+    /**
+     * Monitor types this executor handles. Each type must be claimed by exactly one executor.
+     */
+    Set<Monitor.MonitorType> supportedTypes();
+
+    CheckExecutionMode executionMode();
+
+    CheckResources resources();
+
+    /**
+     * Runs one check against the monitor's target. The returned Mono must be lazy; the dispatcher decides
+     * where it is subscribed based on {@link #executionMode()}. Errors are turned into a failed
+     * {@link CheckResult} by the dispatcher, so implementations may simply signal them.
+     */
+    Mono<CheckResult> execute(Monitor monitor);
+}
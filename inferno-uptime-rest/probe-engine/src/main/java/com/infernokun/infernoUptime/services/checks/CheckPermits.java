@@ -0,0 +1,77 @@
+package com.infernokun.infernoUptime.services.checks;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Enforces the {@link CheckResources} of a non-blocking {@link CheckExecutor} without parking threads: at most
+ * {@code maxConcurrency} checks are subscribed at once, up to {@code queueCapacity} more wait for a slot and
+ * anything beyond that is rejected, like a full blocking pool rejects its tasks.
+ */
+final class CheckPermits {
+
+    private final String name;
+    private final CheckResources resources;
+    private final Queue<MonoSink<Boolean>> waiting = new ArrayDeque<>();
+    private int inFlight;
+
+    CheckPermits(String name, CheckResources resources) {
+        this.name = name;
+        this.resources = resources;
+    }
+
+    /**
+     * Subscribes to the check once a slot is free and frees it when the check completes, fails or is cancelled.
+     * Time spent waiting counts towards the caller's timeout.
+     */
+    <T> Mono<T> limit(Mono<T> check) {
+        // A slot handed to a waiter that was cancelled at the same moment is discarded rather than delivered
+        Mono<Boolean> permit = acquire().doOnDiscard(Boolean.class, discarded -> releaseSlot());
+        return Mono.usingWhen(permit, granted -> check,
+                granted -> release(), (granted, error) -> release(), granted -> release());
+    }
+
+    private Mono<Boolean> acquire() {
+        return Mono.create(sink -> {
+            synchronized (this) {
+                if (inFlight < resources.maxConcurrency()) {
+                    inFlight++;
+                } else if (waiting.size() < resources.queueCapacity()) {
+                    waiting.add(sink);
+                    sink.onCancel(() -> {
+                        synchronized (this) {
+                            waiting.remove(sink);
+                        }
+                    });
+                    return;
+                } else {
+                    sink.error(new RejectedExecutionException(name + " has " + inFlight + " checks in flight and "
+                            + waiting.size() + " waiting"));
+                    return;
+                }
+            }
+            sink.success(true);
+        });
+    }
+
+    private Mono<Void> release() {
+        return Mono.fromRunnable(this::releaseSlot);
+    }
+
+    private void releaseSlot() {
+        MonoSink<Boolean> next;
+        synchronized (this) {
+            next = waiting.poll();
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+        }
+        // The slot passes straight to the next waiter
+        next.success(true);
+    }
+}
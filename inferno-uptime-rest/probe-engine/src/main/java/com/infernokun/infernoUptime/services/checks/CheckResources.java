@@ -0,0 +1,23 @@
+package com.infernokun.infernoUptime.services.checks;
+
+/**
+ * Resource needs declared by a {@link CheckExecutor}.
+ *
+ * @param maxConcurrency maximum number of checks of this executor allowed in flight at once
+ * @param queueCapacity  checks allowed to wait for a slot before new ones are rejected
+ */
+public record CheckResources(int maxConcurrency, int queueCapacity) {
+
+    public CheckResources {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("queueCapacity cannot be negative: " + queueCapacity);
+        }
+    }
+
+    public static CheckResources of(int maxConcurrency) {
+        return new CheckResources(maxConcurrency, maxConcurrency * 100);
+    }
+}
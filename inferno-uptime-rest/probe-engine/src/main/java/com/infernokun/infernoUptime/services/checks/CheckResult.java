@@ -0,0 +1,58 @@
+package com.infernokun.infernoUptime.services.checks;
+
+import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a single check, common to every {@link CheckExecutor}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckResult {
+
+    private Boolean isUp;
+    private Long responseTime;
+    private Integer statusCode;
+    private String message;
+    private String errorDetails;
+    private Long contentLength;
+    private LocalDateTime sslExpiry;
+    private Integer redirectCount;
+    private String finalUrl;
+    private String redirectLatencies;
+    private String protocol;
+
+    public static CheckResult failure(Throwable error, long responseTime) {
+        String message = error instanceof java.util.concurrent.TimeoutException
+                ? "Request timeout"
+                : "Check failed: " + error.getMessage();
+
+        return CheckResult.builder()
+                .isUp(false)
+                .responseTime(responseTime)
+                .message(message)
+                .errorDetails(error.getClass().getSimpleName() + ": " + error.getMessage())
+                .build();
+    }
+
+    public void applyTo(MonitorCheck check) {
+        check.setIsUp(isUp);
+        check.setResponseTime(responseTime);
+        check.setStatusCode(statusCode);
+        check.setMessage(message);
+        check.setErrorDetails(errorDetails);
+        check.setContentLength(contentLength);
+        check.setSslExpiry(sslExpiry);
+        check.setRedirectCount(redirectCount);
+        check.setFinalUrl(finalUrl);
+        check.setRedirectLatencies(redirectLatencies);
+        check.setProtocol(protocol);
+    }
+}
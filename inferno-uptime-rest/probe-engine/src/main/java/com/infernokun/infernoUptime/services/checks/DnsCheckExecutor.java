@@ -0,0 +1,60 @@
+package com.infernokun.infernoUptime.services.checks;
+
+import com.infernokun.infernoUptime.models.entity.Monitor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Component
+public class DnsCheckExecutor implements CheckExecutor {
+
+    @Value("${inferno.uptime.checks.dns.max-concurrency:20}")
+    private int maxConcurrency;
+
+    @Override
+    public Set<Monitor.MonitorType> supportedTypes() {
+        return EnumSet.of(Monitor.MonitorType.DNS);
+    }
+
+    @Override
+    public CheckExecutionMode executionMode() {
+        return CheckExecutionMode.BLOCKING;
+    }
+
+    @Override
+    public CheckResources resources() {
+        return CheckResources.of(maxConcurrency);
+    }
+
+    @Override
+    public Mono<CheckResult> execute(Monitor monitor) {
+        return Mono.fromCallable(() -> {
+            long startTime = System.currentTimeMillis();
+
+            try {
+                URI uri = URI.create(monitor.getUrl());
+                String host = uri.getHost();
+
+                InetAddress address = InetAddress.getByName(host);
+
+                return CheckResult.builder()
+                        .responseTime(System.currentTimeMillis() - startTime)
+                        .isUp(true)
+                        .message("DNS resolution successful: " + address.getHostAddress())
+                        .build();
+            } catch (Exception e) {
+                return CheckResult.builder()
+                        .responseTime(System.currentTimeMillis() - startTime)
+                        .isUp(false)
+                        .message("DNS resolution failed")
+                        .errorDetails(e.getMessage())
+                        .build();
+            }
+        });
+    }
+}
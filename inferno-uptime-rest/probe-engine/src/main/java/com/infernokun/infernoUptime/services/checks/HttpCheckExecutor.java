@@ -0,0 +1,209 @@
+package com.infernokun.infernoUptime.services.checks;
+
+import com.infernokun.infernoUptime.models.entity.Monitor;
+import com.infernokun.infernoUptime.services.HttpProbeClientService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+@RequiredArgsConstructor
+public class HttpCheckExecutor implements CheckExecutor {
+
+    private final HttpProbeClientService httpProbeClientService;
+
+    @Value("${inferno.uptime.user-agent:InfernoUptime/1.0}")
+    private String userAgent;
+
+    @Value("${inferno.uptime.retry-attempts:3}")
+    private int retryAttempts;
+
+    @Value("${inferno.uptime.max-redirects:5}")
+    private int defaultMaxRedirects;
+
+    @Value("${inferno.uptime.probe.max-connections:500}")
+    private int maxConnections;
+
+    @Override
+    public Set<Monitor.MonitorType> supportedTypes() {
+        return EnumSet.of(Monitor.MonitorType.HTTP, Monitor.MonitorType.HTTPS);
+    }
+
+    @Override
+    public CheckExecutionMode executionMode() {
+        return CheckExecutionMode.NON_BLOCKING;
+    }
+
+    @Override
+    public CheckResources resources() {
+        return CheckResources.of(maxConnections);
+    }
+
+    @Override
+    public Mono<CheckResult> execute(Monitor monitor) {
+        return Mono.defer(() -> {
+            long startTime = System.currentTimeMillis();
+            WebClient webClient = httpProbeClientService.client(monitor.getHttpVersion());
+            AtomicReference<String> protocol = new AtomicReference<>();
+
+            int maxRedirects = monitor.getMaxRedirects() != null ? monitor.getMaxRedirects() : defaultMaxRedirects;
+            RedirectChain chain = new RedirectChain(URI.create(monitor.getUrl()), maxRedirects);
+
+            // One deadline for the whole chain, retries included
+            return httpProbeClientService.captureProtocol(follow(monitor, webClient, chain), protocol)
+                    .timeout(Duration.ofSeconds(monitor.getTimeoutSeconds()))
+                    .onErrorResume(e -> Mono.just(CheckResult.failure(e, 0L)))
+                    .map(result -> {
+                        result.setResponseTime(System.currentTimeMillis() - startTime);
+                        result.setRedirectCount(chain.redirects);
+                        result.setFinalUrl(chain.current.toString());
+                        result.setRedirectLatencies(String.join(",", chain.hopLatencies));
+                        result.setProtocol(protocol.get());
+                        return result;
+                    });
+        });
+    }
+
+    /**
+     * Follows the redirect chain one hop at a time through the same pooled client, so a redirect back to
+     * an origin already visited reuses its connection. Loops and the redirect limit end the chain early
+     * instead of burning the whole timeout. With {@code maxRedirects} 0 redirects are not followed at all and
+     * the 3xx response is evaluated like any other.
+     */
+    private Mono<CheckResult> follow(Monitor monitor, WebClient webClient, RedirectChain chain) {
+        long hopStart = System.currentTimeMillis();
+
+        return exchange(webClient, chain.current).flatMap(hop -> {
+            chain.hopLatencies.add(String.valueOf(System.currentTimeMillis() - hopStart));
+
+            if (!hop.isRedirect() || chain.maxRedirects == 0) {
+                return Mono.just(evaluate(monitor, hop));
+            }
+
+            URI next = withoutFragment(chain.current.resolve(hop.location()));
+            if (!chain.visited.add(next)) {
+                return Mono.just(CheckResult.builder()
+                        .isUp(false)
+                        .statusCode(hop.statusCode())
+                        .message("Redirect loop detected")
+                        .errorDetails("Redirect loop: " + chain.current + " -> " + next)
+                        .build());
+            }
+
+            if (chain.redirects >= chain.maxRedirects) {
+                return Mono.just(CheckResult.builder()
+                        .isUp(false)
+                        .statusCode(hop.statusCode())
+                        .message("Too many redirects (max " + chain.maxRedirects + ")")
+                        .errorDetails("Redirect limit reached at " + chain.current + " -> " + next)
+                        .build());
+            }
+
+            chain.redirects++;
+            chain.current = next;
+            return follow(monitor, webClient, chain);
+        });
+    }
+
+    /**
+     * Performs a single request without following redirects. Transport errors are retried here; the timeout of
+     * the check covers the whole chain including these retries.
+     */
+    private Mono<HttpHop> exchange(WebClient webClient, URI uri) {
+        return webClient.get()
+                .uri(uri)
+                .header("User-Agent", userAgent)
+                .exchangeToMono(response -> {
+                    int statusCode = response.statusCode().value();
+                    String location = response.headers().asHttpHeaders().getFirst(HttpHeaders.LOCATION);
+
+                    if (response.statusCode().is3xxRedirection() && location != null) {
+                        return response.releaseBody().thenReturn(new HttpHop(statusCode, location, null));
+                    }
+
+                    return response.bodyToMono(String.class)
+                            .defaultIfEmpty("")
+                            .map(body -> new HttpHop(statusCode, null, body));
+                })
+                .retryWhen(Retry.fixedDelay(retryAttempts, Duration.ofMillis(500)));
+    }
+
+    private CheckResult evaluate(Monitor monitor, HttpHop hop) {
+        String body = hop.body();
+        CheckResult result = CheckResult.builder()
+                .statusCode(hop.statusCode())
+                .contentLength(body != null ? (long) body.length() : 0L)
+                .build();
+
+        if (!isSuccessStatusCode(hop.statusCode(), monitor.getExpectedStatusCodes())) {
+            result.setIsUp(false);
+            result.setMessage("HTTP " + hop.statusCode());
+            return result;
+        }
+
+        result.setIsUp(true);
+        result.setMessage("HTTP check successful");
+
+        // Keyword check
+        if (monitor.getKeywordCheck() != null && !monitor.getKeywordCheck().trim().isEmpty()) {
+            if (body == null || !body.contains(monitor.getKeywordCheck())) {
+                result.setIsUp(false);
+                result.setMessage("Keyword not found: " + monitor.getKeywordCheck());
+            }
+        }
+
+        return result;
+    }
+
+    private boolean isSuccessStatusCode(int statusCode, String expectedCodes) {
+        if (expectedCodes == null || expectedCodes.trim().isEmpty()) {
+            return statusCode >= 200 && statusCode < 300;
+        }
+
+        return Arrays.stream(expectedCodes.split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .anyMatch(code -> code == statusCode);
+    }
+
+    private static URI withoutFragment(URI uri) {
+        if (uri.getFragment() == null) {
+            return uri;
+        }
+        return URI.create(uri.toString().substring(0, uri.toString().indexOf('#')));
+    }
+
+    private record HttpHop(int statusCode, String location, String body) {
+        boolean isRedirect() {
+            return location != null;
+        }
+    }
+
+    private static final class RedirectChain {
+        private final int maxRedirects;
+        private final Set<URI> visited = new HashSet<>();
+        private final List<String> hopLatencies = new ArrayList<>();
+        private URI current;
+        private int redirects;
+
+        private RedirectChain(URI start, int maxRedirects) {
+            this.maxRedirects = maxRedirects;
+            this.current = withoutFragment(start);
+            this.visited.add(current);
+        }
+    }
+}
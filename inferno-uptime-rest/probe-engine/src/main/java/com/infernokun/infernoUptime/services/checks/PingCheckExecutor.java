@@ -0,0 +1,61 @@
+package com.infernokun.infernoUptime.services.checks;
+
+import com.infernokun.infernoUptime.models.entity.Monitor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Component
+public class PingCheckExecutor implements CheckExecutor {
+
+    @Value("${inferno.uptime.checks.ping.max-concurrency:20}")
+    private int maxConcurrency;
+
+    @Override
+    public Set<Monitor.MonitorType> supportedTypes() {
+        return EnumSet.of(Monitor.MonitorType.PING);
+    }
+
+    @Override
+    public CheckExecutionMode executionMode() {
+        return CheckExecutionMode.BLOCKING;
+    }
+
+    @Override
+    public CheckResources resources() {
+        return CheckResources.of(maxConcurrency);
+    }
+
+    @Override
+    public Mono<CheckResult> execute(Monitor monitor) {
+        return Mono.fromCallable(() -> {
+            long startTime = System.currentTimeMillis();
+
+            try {
+                URI uri = URI.create(monitor.getUrl());
+                String host = uri.getHost();
+
+                boolean reachable = InetAddress.getByName(host)
+                        .isReachable(monitor.getTimeoutSeconds() * 1000);
+
+                return CheckResult.builder()
+                        .responseTime(System.currentTimeMillis() - startTime)
+                        .isUp(reachable)
+                        .message(reachable ? "Host is reachable" : "Host is not reachable")
+                        .build();
+            } catch (Exception e) {
+                return CheckResult.builder()
+                        .responseTime(System.currentTimeMillis() - startTime)
+                        .isUp(false)
+                        .message("Ping failed")
+                        .errorDetails(e.getMessage())
+                        .build();
+            }
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package com.infernokun.infernoUptime.services.checks;
+
+import com.infernokun.infernoUptime.models.entity.Monitor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Component
+public class TcpCheckExecutor implements CheckExecutor {
+
+    @Value("${inferno.uptime.checks.tcp.max-concurrency:50}")
+    private int maxConcurrency;
+
+    @Override
+    public Set<Monitor.MonitorType> supportedTypes() {
+        return EnumSet.of(Monitor.MonitorType.TCP);
+    }
+
+    @Override
+    public CheckExecutionMode executionMode() {
+        return CheckExecutionMode.BLOCKING;
+    }
+
+    @Override
+    public CheckResources resources() {
+        return CheckResources.of(maxConcurrency);
+    }
+
+    @Override
+    public Mono<CheckResult> execute(Monitor monitor) {
+        return Mono.fromCallable(() -> {
+            long startTime = System.currentTimeMillis();
+
+            try {
+                URI uri = URI.create(monitor.getUrl());
+                String host = uri.getHost();
+                int port = uri.getPort() != -1 ? uri.getPort() : 80;
+
+                try (Socket socket = new Socket()) {
+                    socket.connect(new InetSocketAddress(host, port), monitor.getTimeoutSeconds() * 1000);
+
+                    return CheckResult.builder()
+                            .responseTime(System.currentTimeMillis() - startTime)
+                            .isUp(true)
+                            .message("TCP connection successful")
+                            .build();
+                }
+            } catch (Exception e) {
+                return CheckResult.builder()
+                        .responseTime(System.currentTimeMillis() - startTime)
+                        .isUp(false)
+                        .message("TCP connection failed")
+                        .errorDetails(e.getMessage())
+                        .build();
+            }
+        });
+    }
+}
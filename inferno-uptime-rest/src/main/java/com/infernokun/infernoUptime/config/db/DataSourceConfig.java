@@ -0,0 +1,131 @@
+package com.infernokun.infernoUptime.config.db;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Connection pools: one pool on the primary per {@link DatabaseWorkload}, built from the {@code spring.datasource}
+ * settings with the size and statement timeout of {@code inferno.uptime.datasource.<workload>}, plus one pool per
+ * configured read replica, all behind a {@link WorkloadRoutingDataSource}.
+ * <p>
+ * Every pool reports the Hikari metrics ({@code hikaricp.connections.acquire} is the time spent waiting for a
+ * connection, {@code hikaricp.connections.pending} the waiting threads) tagged with its pool name, and
+ * {@code inferno.db.pool.saturation}, the share of the pool's connections in use.
+ */
+@Slf4j
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Settings shared by the primary pools; {@code spring.datasource.hikari.maximum-pool-size} and
+     * {@code minimum-idle} are replaced by the per-workload sizes.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariConfig primaryPoolConfig(DataSourceProperties properties) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(properties.determineUrl());
+        config.setUsername(properties.determineUsername());
+        config.setPassword(properties.determinePassword());
+        return config;
+    }
+
+    @Bean
+    public WorkloadRoutingDataSource routingDataSource(HikariConfig primaryPoolConfig,
+                                                       DataSourceProperties properties,
+                                                       DataSourceRoutingProperties routing,
+                                                       MeterRegistry meterRegistry) {
+        Map<DatabaseWorkload, HikariDataSource> pools = new EnumMap<>(DatabaseWorkload.class);
+        for (DatabaseWorkload workload : DatabaseWorkload.values()) {
+            DataSourceRoutingProperties.Pool pool = routing.pool(workload);
+
+            HikariConfig config = new HikariConfig();
+            primaryPoolConfig.copyStateTo(config);
+            config.setPoolName(workload.getPoolName());
+            config.setMaximumPoolSize(pool.getMaximumPoolSize());
+            config.setMinimumIdle(pool.getMinimumIdle());
+            if (pool.getStatementTimeout() != null && !pool.getStatementTimeout().isZero()) {
+                config.setConnectionInitSql("SET statement_timeout = " + pool.getStatementTimeout().toMillis());
+            }
+            pools.put(workload, createPool(config, meterRegistry));
+
+            log.info("Connection pool {}: {} connections, statement timeout {}s",
+                    workload.getPoolName(), pool.getMaximumPoolSize(),
+                    pool.getStatementTimeout() != null ? pool.getStatementTimeout().toSeconds() : 0);
+        }
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (DataSourceRoutingProperties.Replica replica : routing.getReplicas()) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + replicas.size());
+            config.setJdbcUrl(replica.getUrl());
+            config.setUsername(replica.getUsername() != null ? replica.getUsername() : properties.determineUsername());
+            config.setPassword(replica.getPassword() != null ? replica.getPassword() : properties.determinePassword());
+            config.setMaximumPoolSize(replica.getMaximumPoolSize());
+            config.setReadOnly(true);
+            if (routing.getApi().getStatementTimeout() != null && !routing.getApi().getStatementTimeout().isZero()) {
+                config.setConnectionInitSql("SET statement_timeout = " + routing.getApi().getStatementTimeout().toMillis());
+            }
+            // Start even when a replica is down; the lag guard keeps it out of rotation
+            config.setInitializationFailTimeout(-1);
+            replicas.add(createPool(config, meterRegistry));
+        }
+
+        return new WorkloadRoutingDataSource(pools, replicas,
+                routing.getMaxReplicaLag(), routing.getLagCheckInterval(), meterRegistry);
+    }
+
+    /**
+     * Unpooled connections for Flyway, so migrations run without the workload statement timeouts.
+     */
+    @Bean
+    @FlywayDataSource
+    public DataSource migrationDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(SimpleDriverDataSource.class).build();
+    }
+
+    /**
+     * The data source used by JPA, JdbcTemplate and the transaction managers. The lazy proxy defers the
+     * physical connection to the first statement, when the workload and the transaction's read-only flag are known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(WorkloadRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private static HikariDataSource createPool(HikariConfig config, MeterRegistry meterRegistry) {
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        HikariDataSource dataSource = new HikariDataSource(config);
+
+        Gauge.builder("inferno.db.pool.saturation", dataSource, DataSourceConfig::saturation)
+                .description("Share of the pool's connections in use")
+                .tag("pool", config.getPoolName())
+                .register(meterRegistry);
+        return dataSource;
+    }
+
+    private static double saturation(HikariDataSource dataSource) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return pool != null ? (double) pool.getActiveConnections() / dataSource.getMaximumPoolSize() : 0;
+    }
+}
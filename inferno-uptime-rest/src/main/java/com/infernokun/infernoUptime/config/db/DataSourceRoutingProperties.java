@@ -0,0 +1,66 @@
+package com.infernokun.infernoUptime.config.db;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Connection pools behind {@link WorkloadRoutingDataSource}: one primary pool per {@link DatabaseWorkload}, all
+ * sharing the {@code spring.datasource} connection settings, and optional read replicas.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "inferno.uptime.datasource")
+public class DataSourceRoutingProperties {
+
+    private Pool ingest = new Pool(4, 1, Duration.ofSeconds(10));
+    private Pool api = new Pool(10, 2, Duration.ofSeconds(30));
+    private Pool analytics = new Pool(2, 0, Duration.ofMinutes(10));
+    private Pool stream = new Pool(2, 0, Duration.ofMinutes(5));
+
+    /**
+     * Replicas serving read-only API transactions, used round-robin.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Replicas further behind the primary than this are skipped until they catch up.
+     */
+    private Duration maxReplicaLag = Duration.ofSeconds(5);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+    public Pool pool(DatabaseWorkload workload) {
+        return switch (workload) {
+            case INGEST -> ingest;
+            case API -> api;
+            case ANALYTICS -> analytics;
+            case STREAM -> stream;
+        };
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pool {
+        private int maximumPoolSize;
+        private int minimumIdle;
+        // Zero disables the timeout
+        private Duration statementTimeout;
+    }
+
+    @Data
+    public static class Replica {
+        private String url;
+        // Default to the primary's credentials
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,72 @@
+package com.infernokun.infernoUptime.config.db;
+
+import java.util.function.Supplier;
+
+/**
+ * The kind of work the current thread does against the database. {@link WorkloadRoutingDataSource} hands out
+ * connections from the pool of the workload, so ingestion, interactive requests and long-running jobs cannot
+ * exhaust each other's connections. Code that sets no workload runs as {@link #API}.
+ */
+public enum DatabaseWorkload {
+
+    /**
+     * Check results, monitor status updates and the listeners of the ingestion batch.
+     */
+    INGEST("ingest"),
+
+    /**
+     * Interactive REST and WebSocket traffic.
+     */
+    API("api"),
+
+    /**
+     * Archiving, retention and partition maintenance.
+     */
+    ANALYTICS("analytics"),
+
+    /**
+     * History streams, which hold their connection while the client reads.
+     */
+    STREAM("stream");
+
+    private static final ThreadLocal<DatabaseWorkload> CURRENT = new ThreadLocal<>();
+
+    private final String poolName;
+
+    DatabaseWorkload(String poolName) {
+        this.poolName = poolName;
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public static DatabaseWorkload current() {
+        DatabaseWorkload workload = CURRENT.get();
+        return workload != null ? workload : API;
+    }
+
+    /**
+     * Runs the task as this workload. Connections already bound to a surrounding transaction are kept.
+     */
+    public void run(Runnable task) {
+        call(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public <T> T call(Supplier<T> task) {
+        DatabaseWorkload previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.infernokun.infernoUptime.config.db;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections from the pool of the current {@link DatabaseWorkload}, and sends read-only API
+ * transactions to the read replicas.
+ * <p>
+ * Routing happens when a transaction first touches the database, so this data source must sit behind a
+ * {@code LazyConnectionDataSourceProxy}: Spring marks the transaction read-only only after it has been started.
+ * Writes, reads outside a transaction, ingestion and analytics jobs stay on their primary pools.
+ * <p>
+ * A background thread measures each replica's replay lag every {@code lag-check-interval}. Replicas that are
+ * unreachable or further behind than {@code max-replica-lag} are skipped, and read-only transactions fall back to
+ * the primary while no replica qualifies.
+ */
+@Slf4j
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    // 0 when the standby has replayed everything it received, so an idle primary does not read as lag
+    private static final String LAG_SQL = """
+            SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0
+                        WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END::float8
+            """;
+
+    private static final class Replica {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile double lagSeconds;
+        private volatile boolean available;
+
+        private Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final Map<DatabaseWorkload, HikariDataSource> pools;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+    private final Counter fallbackReads;
+
+    private ScheduledExecutorService lagChecker;
+
+    public WorkloadRoutingDataSource(Map<DatabaseWorkload, HikariDataSource> pools,
+                                     List<HikariDataSource> replicaDataSources,
+                                     Duration maxLag,
+                                     Duration checkInterval,
+                                     MeterRegistry meterRegistry) {
+        this.pools = new EnumMap<>(pools);
+        this.replicas = replicaDataSources.stream()
+                .map(dataSource -> new Replica(dataSource.getPoolName(), dataSource))
+                .toList();
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+
+        Map<Object, Object> targets = new HashMap<>();
+        pools.forEach((workload, dataSource) -> targets.put(workload.getPoolName(), dataSource));
+        replicas.forEach(replica -> targets.put(replica.name, replica.dataSource));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(pools.get(DatabaseWorkload.API));
+
+        primaryReads = routedCounter(meterRegistry, "primary");
+        replicaReads = routedCounter(meterRegistry, "replica");
+        fallbackReads = routedCounter(meterRegistry, "fallback");
+        for (Replica replica : replicas) {
+            Gauge.builder("inferno.db.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replay lag of a read replica in seconds")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("inferno.db.replica.available", replica, r -> r.available ? 1 : 0)
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("inferno.db.routing")
+                .description("Read-only transactions routed to the primary or a replica")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        if (replicas.isEmpty()) {
+            return;
+        }
+
+        lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Replicas join the rotation once their first check passes
+        lagChecker.scheduleWithFixedDelay(this::checkLag, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Routing read-only transactions to {} replica(s) lagging at most {}s",
+                replicas.size(), maxLag.toSeconds());
+    }
+
+    @Override
+    public void destroy() {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        replicas.forEach(replica -> replica.dataSource.close());
+        pools.values().forEach(HikariDataSource::close);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        DatabaseWorkload workload = DatabaseWorkload.current();
+        if (workload != DatabaseWorkload.API || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return workload.getPoolName();
+        }
+
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.available) {
+                replicaReads.increment();
+                return replica.name;
+            }
+        }
+
+        (size > 0 ? fallbackReads : primaryReads).increment();
+        return workload.getPoolName();
+    }
+
+    // ======================== Lag Guard ========================
+
+    private void checkLag() {
+        for (Replica replica : replicas) {
+            boolean wasAvailable = replica.available;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(LAG_SQL)) {
+                rs.next();
+                replica.lagSeconds = rs.getDouble(1);
+                replica.available = replica.lagSeconds * 1000 <= maxLag.toMillis();
+            } catch (Exception e) {
+                replica.available = false;
+                if (wasAvailable) {
+                    log.warn("Replica {} unreachable, reading from the primary: {}", replica.name, e.getMessage());
+                }
+                continue;
+            }
+
+            if (wasAvailable != replica.available) {
+                if (replica.available) {
+                    log.info("Replica {} in rotation (lag {}s)", replica.name, String.format("%.1f", replica.lagSeconds));
+                } else {
+                    log.warn("Replica {} lags {}s behind the primary, taking it out of rotation",
+                            replica.name, String.format("%.1f", replica.lagSeconds));
+                }
+            }
+        }
+    }
+}
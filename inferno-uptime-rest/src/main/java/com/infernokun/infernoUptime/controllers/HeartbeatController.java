@@ -0,0 +1,26 @@
+package com.infernokun.infernoUptime.controllers;
+
+import com.infernokun.infernoUptime.services.HeartbeatService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/push")
+@RequiredArgsConstructor
+@Tag(name = "Heartbeats", description = "Ingest endpoint for PUSH monitors")
+public class HeartbeatController {
+
+    private final HeartbeatService heartbeatService;
+
+    // Hot path: no logging and an empty body so cron jobs and services can ping at high rates
+    @Operation(summary = "Send heartbeat", description = "Marks the PUSH monitor owning the token as alive")
+    @RequestMapping(value = "/{token}", method = {RequestMethod.GET, RequestMethod.POST, RequestMethod.HEAD})
+    public ResponseEntity<Void> ping(@PathVariable String token) {
+        return heartbeatService.ping(token)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
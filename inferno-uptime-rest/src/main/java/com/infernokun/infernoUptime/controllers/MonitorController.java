@@ -1,5 +1,6 @@
 package com.infernokun.infernoUptime.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.infernokun.infernoUptime.models.dto.*;
 import com.infernokun.infernoUptime.models.entity.Monitor;
 import com.infernokun.infernoUptime.models.entity.MonitorCheck;
@@ -14,13 +15,22 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -35,6 +45,14 @@ public class MonitorController {
     private final MonitorCheckService monitorCheckService;
     private final DashboardService dashboardService;
 
+    private ObjectMapper streamMapper;
+
+    // From the spring.jackson settings (ISO dates); the primary ObjectMapper bean adds the Redis type information
+    @Autowired
+    void configureStreamMapper(Jackson2ObjectMapperBuilder jacksonBuilder) {
+        this.streamMapper = jacksonBuilder.build();
+    }
+
     @Operation(summary = "Create a new monitor", description = "Creates a new uptime monitor")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Monitor created successfully"),
@@ -51,6 +69,53 @@ public class MonitorController {
                 .body(com.infernokun.infernoUptime.models.dto.ApiResponse.success("Monitor created successfully", response));
     }
 
+    @Operation(summary = "Create monitors in bulk",
+            description = "Validates the monitors in parallel, skips URLs that are already monitored and inserts the rest in batches")
+    @PostMapping("/bulk")
+    public ResponseEntity<com.infernokun.infernoUptime.models.dto.ApiResponse<BulkOperationResult>> createMonitorsBulk(
+            @Valid @RequestBody BulkMonitorRequest request) {
+
+        BulkOperationResult result = monitorService.createMonitorsBulk(request);
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(com.infernokun.infernoUptime.models.dto.ApiResponse.success("Bulk creation completed", result));
+    }
+
+    @Operation(summary = "Create monitors in bulk with progress",
+            description = "Same as /bulk, streaming newline-delimited JSON progress after every batch; "
+                    + "the last line (with completedAt) is the final result")
+    @PostMapping(value = "/bulk/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> createMonitorsBulkStream(@Valid @RequestBody BulkMonitorRequest request) {
+        StreamingResponseBody body = output -> {
+            BulkOperationResult result = monitorService.createMonitorsBulk(request, progress -> {
+                writeLine(output, progress);
+                flush(output);
+            });
+            writeLine(output, result);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @Operation(summary = "Apply an action to many monitors",
+            description = "Activates, deactivates, deletes, changes the interval or expected status codes of, "
+                    + "or runs checks for a set of monitors")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Action applied"),
+            @ApiResponse(responseCode = "400", description = "Missing or invalid action parameter")
+    })
+    @PostMapping("/bulk/action")
+    public ResponseEntity<com.infernokun.infernoUptime.models.dto.ApiResponse<BulkOperationResult>> applyBulkAction(
+            @Valid @RequestBody BulkActionRequest request) {
+
+        BulkOperationResult result = monitorService.applyBulkAction(request);
+
+        return ResponseEntity.ok(
+                com.infernokun.infernoUptime.models.dto.ApiResponse.success("Bulk action completed", result));
+    }
+
     @Operation(summary = "Get all monitors", description = "Retrieves all monitors with pagination and filtering")
     @GetMapping
     public ResponseEntity<com.infernokun.infernoUptime.models.dto.ApiResponse<Page<MonitorResponse>>> getAllMonitors(
@@ -147,19 +212,137 @@ public class MonitorController {
                 com.infernokun.infernoUptime.models.dto.ApiResponse.success("Monitor statistics retrieved successfully", stats));
     }
 
-    @Operation(summary = "Get monitor check history", description = "Retrieves recent check results for a monitor")
+    @Operation(summary = "Get incidents", description = "Retrieves the outages of all monitors, newest first")
+    @GetMapping("/incidents")
+    public ResponseEntity<com.infernokun.infernoUptime.models.dto.ApiResponse<List<IncidentSummary>>> getIncidents(
+            @Parameter(description = "Number of days to look back")
+            @RequestParam(defaultValue = "30") int days) {
+
+        List<IncidentSummary> incidents = monitorService.getIncidents(days);
+
+        return ResponseEntity.ok(
+                com.infernokun.infernoUptime.models.dto.ApiResponse.success("Incidents retrieved successfully", incidents));
+    }
+
+    @Operation(summary = "Get monitor incidents", description = "Retrieves the outages of a monitor, newest first")
+    @GetMapping("/{id}/incidents")
+    public ResponseEntity<com.infernokun.infernoUptime.models.dto.ApiResponse<List<IncidentSummary>>> getMonitorIncidents(
+            @Parameter(description = "Monitor ID") @PathVariable Long id,
+            @Parameter(description = "Number of days to look back")
+            @RequestParam(defaultValue = "30") int days) {
+
+        List<IncidentSummary> incidents = monitorService.getMonitorIncidents(id, days);
+
+        return ResponseEntity.ok(
+                com.infernokun.infernoUptime.models.dto.ApiResponse.success("Monitor incidents retrieved successfully", incidents));
+    }
+
+    @Operation(summary = "Get monitor uptime report",
+            description = "Uptime, downtime, longest outage, MTTR and MTBF of a monitor")
+    @GetMapping("/{id}/report")
+    public ResponseEntity<com.infernokun.infernoUptime.models.dto.ApiResponse<MonitorUptimeReport>> getUptimeReport(
+            @Parameter(description = "Monitor ID") @PathVariable Long id,
+            @Parameter(description = "Number of days to analyze")
+            @RequestParam(defaultValue = "30") int days) {
+
+        MonitorUptimeReport report = monitorService.getUptimeReport(id, days);
+
+        return ResponseEntity.ok(
+                com.infernokun.infernoUptime.models.dto.ApiResponse.success("Uptime report generated successfully", report));
+    }
+
+    @Operation(summary = "Get latency percentiles",
+            description = "Response time percentiles of successful checks for any time range and set of monitors, "
+                    + "merged from the rollup sketches (within 1% of the exact values)")
+    @GetMapping("/latency")
+    public ResponseEntity<com.infernokun.infernoUptime.models.dto.ApiResponse<LatencyPercentiles>> getLatencyPercentiles(
+            @Parameter(description = "Monitor IDs; all monitors when omitted")
+            @RequestParam(required = false) List<Long> ids,
+            @Parameter(description = "Start of the range (inclusive); defaults to the given number of days before the end")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End of the range (exclusive), defaults to now")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Number of days to analyze when no start is given")
+            @RequestParam(defaultValue = "30") int days) {
+
+        LocalDateTime since = from != null ? from : (to != null ? to : LocalDateTime.now()).minusDays(days);
+        LatencyPercentiles percentiles = monitorService.getLatencyPercentiles(ids, since, to);
+
+        return ResponseEntity.ok(
+                com.infernokun.infernoUptime.models.dto.ApiResponse.success("Latency percentiles retrieved successfully", percentiles));
+    }
+
+    @Operation(summary = "Get monitor check history",
+            description = "Retrieves recent check results for a monitor, or the checks of a time range including archived days")
     @GetMapping("/{id}/checks")
     public ResponseEntity<com.infernokun.infernoUptime.models.dto.ApiResponse<List<MonitorCheck>>> getMonitorChecks(
             @Parameter(description = "Monitor ID") @PathVariable Long id,
-            @Parameter(description = "Number of recent checks to retrieve")
-            @RequestParam(defaultValue = "100") int limit) {
+            @Parameter(description = "Number of checks to retrieve")
+            @RequestParam(defaultValue = "100") int limit,
+            @Parameter(description = "Start of the range (inclusive); without it the most recent checks are returned")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End of the range (exclusive), defaults to now")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
 
-        List<MonitorCheck> checks = monitorService.getMonitorChecks(id, limit);
+        List<MonitorCheck> checks = from != null
+                ? monitorService.getMonitorChecks(id, from, to, limit)
+                : monitorService.getMonitorChecks(id, limit);
 
         return ResponseEntity.ok(
                 com.infernokun.infernoUptime.models.dto.ApiResponse.success("Monitor checks retrieved successfully", checks));
     }
 
+    @Operation(summary = "Get latest monitor checks from memory",
+            description = "Timestamp, response time, status code and status of the latest checks, newest first, "
+                    + "from the in-memory buffer of the monitor, with the buffer's memory footprint")
+    @GetMapping("/{id}/checks/recent")
+    public ResponseEntity<com.infernokun.infernoUptime.models.dto.ApiResponse<RecentChecks>> getRecentChecks(
+            @Parameter(description = "Monitor ID") @PathVariable Long id,
+            @Parameter(description = "Number of checks to retrieve, at most the buffer capacity")
+            @RequestParam(defaultValue = "100") int limit) {
+
+        RecentChecks checks = monitorService.getRecentChecks(id, limit);
+
+        return ResponseEntity.ok(
+                com.infernokun.infernoUptime.models.dto.ApiResponse.success("Recent checks retrieved successfully", checks));
+    }
+
+    @Operation(summary = "Page through monitor check history",
+            description = "Returns checks newest first; pass the nextCursor of a page to get the next one")
+    @GetMapping("/{id}/checks/page")
+    public ResponseEntity<com.infernokun.infernoUptime.models.dto.ApiResponse<CursorPage<MonitorCheck>>> getMonitorCheckPage(
+            @Parameter(description = "Monitor ID") @PathVariable Long id,
+            @Parameter(description = "Number of checks per page")
+            @RequestParam(defaultValue = "100") int limit,
+            @Parameter(description = "Cursor returned with the previous page")
+            @RequestParam(required = false) String cursor) {
+
+        CursorPage<MonitorCheck> page = monitorService.getMonitorCheckPage(id, cursor, limit);
+
+        return ResponseEntity.ok(
+                com.infernokun.infernoUptime.models.dto.ApiResponse.success("Monitor checks retrieved successfully", page));
+    }
+
+    @Operation(summary = "Stream monitor check history",
+            description = "Streams every check of a time range, oldest first, as newline-delimited JSON")
+    @GetMapping(value = "/{id}/checks/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamMonitorChecks(
+            @Parameter(description = "Monitor ID") @PathVariable Long id,
+            @Parameter(description = "Start of the range (inclusive)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End of the range (exclusive), defaults to now")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        monitorService.getMonitor(id);
+
+        StreamingResponseBody body = output -> monitorService.streamMonitorChecks(id, from, to,
+                check -> writeLine(output, check));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @Operation(summary = "Run manual check", description = "Triggers an immediate health check for a monitor")
     @PostMapping("/{id}/check")
     public ResponseEntity<com.infernokun.infernoUptime.models.dto.ApiResponse<String>> runManualCheck(
@@ -184,4 +367,21 @@ public class MonitorController {
         return ResponseEntity.ok(
                 com.infernokun.infernoUptime.models.dto.ApiResponse.success("Dashboard summary retrieved successfully", summary));
     }
-}
\ No newline at end of file
+
+    private void flush(OutputStream output) {
+        try {
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(OutputStream output, Object value) {
+        try {
+            output.write(streamMapper.writeValueAsBytes(value));
+            output.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
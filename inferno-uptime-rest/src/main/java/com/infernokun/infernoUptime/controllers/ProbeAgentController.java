@@ -0,0 +1,55 @@
+package com.infernokun.infernoUptime.controllers;
+
+import com.infernokun.infernoUptime.models.dto.ProbeMonitorSpec;
+import com.infernokun.infernoUptime.services.ProbeAgentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/probe-agents")
+@RequiredArgsConstructor
+@Tag(name = "Probe Agents", description = "Monitor assignment and result ingestion for remote probe agents")
+public class ProbeAgentController {
+
+    public static final String TOKEN_HEADER = "X-Probe-Agent-Token";
+
+    private final ProbeAgentService probeAgentService;
+
+    @Operation(summary = "Get assigned monitors", description = "Returns the active monitors a probe agent should check")
+    @GetMapping("/{agentId}/monitors")
+    public ResponseEntity<com.infernokun.infernoUptime.models.dto.ApiResponse<List<ProbeMonitorSpec>>> getAssignedMonitors(
+            @PathVariable String agentId,
+            @RequestHeader(value = TOKEN_HEADER, required = false) String token) {
+
+        probeAgentService.authenticate(token);
+        List<ProbeMonitorSpec> monitors = probeAgentService.getAssignedMonitors(agentId);
+
+        return ResponseEntity.ok(
+                com.infernokun.infernoUptime.models.dto.ApiResponse.success("Assigned monitors retrieved successfully", monitors));
+    }
+
+    @Operation(summary = "Submit result batch", description = "Bulk-ingests a JSON (optionally gzip-encoded) batch of check results")
+    @PostMapping("/{agentId}/results")
+    public ResponseEntity<com.infernokun.infernoUptime.models.dto.ApiResponse<Integer>> submitResults(
+            @PathVariable String agentId,
+            @RequestHeader(value = TOKEN_HEADER, required = false) String token,
+            HttpServletRequest request) throws IOException {
+
+        probeAgentService.authenticate(token);
+        boolean gzip = "gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING));
+        int stored = probeAgentService.ingestResults(agentId, request.getInputStream(), gzip);
+
+        return ResponseEntity.ok(
+                com.infernokun.infernoUptime.models.dto.ApiResponse.success("Results ingested successfully", stored));
+    }
+}
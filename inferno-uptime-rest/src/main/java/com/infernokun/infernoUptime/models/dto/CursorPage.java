@@ -0,0 +1,24 @@
+package com.infernokun.infernoUptime.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of a keyset-paginated listing. Pass {@code nextCursor} back to fetch the following page; it is null on
+ * the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> content;
+    private Integer size;
+    private String nextCursor;
+    private Boolean hasNext;
+}
@@ -20,6 +20,7 @@ public class DashboardSummary {
     private Long monitorsPending;
     private Double overallUptime;
     private Double averageResponseTime;
+    private LatencyPercentiles latency; // all monitors, recent sliding window
     private Long totalChecksToday;
     private Long totalChecksThisWeek;
     private Long totalChecksThisMonth;
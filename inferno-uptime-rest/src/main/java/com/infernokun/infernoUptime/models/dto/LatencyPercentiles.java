@@ -0,0 +1,25 @@
+package com.infernokun.infernoUptime.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response time percentiles (milliseconds) of the successful checks in a window of {@code windowMinutes}: the
+ * recent sliding window of the in-memory histograms, or the requested range when merged from rollup sketches.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatencyPercentiles {
+
+    private Long p50;
+    private Long p90;
+    private Long p95;
+    private Long p99;
+    private Long max;
+    private Long count;
+    private Long windowMinutes;
+}
@@ -17,13 +17,14 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
+@UrlRequiredUnlessPush
 public class MonitorCreateRequest {
 
     @NotBlank(message = "Monitor name is required")
     @Size(min = 1, max = 255, message = "Monitor name must be between 1 and 255 characters")
     private String name;
 
-    @NotBlank(message = "URL is required")
+    // Required unless the type is PUSH, see @UrlRequiredUnlessPush
     @Pattern(regexp = "^https?://.*", message = "URL must start with http:// or https://")
     private String url;
 
@@ -42,6 +43,11 @@ public class MonitorCreateRequest {
     @Max(value = 10, message = "Max redirects cannot exceed 10")
     private Integer maxRedirects = 5;
 
+    private Monitor.HttpVersion httpVersion = Monitor.HttpVersion.HTTP_1_1;
+
+    @Size(max = 64, message = "Probe agent id cannot exceed 64 characters")
+    private String probeAgent;
+
     @Size(max = 1000, message = "Description cannot exceed 1000 characters")
     private String description;
 
@@ -54,4 +60,6 @@ public class MonitorCreateRequest {
     private String customHeaders;
 
     private Boolean isActive = true;
+
+    private Monitor.CheckStorage checkStorage = Monitor.CheckStorage.FULL;
 }
\ No newline at end of file
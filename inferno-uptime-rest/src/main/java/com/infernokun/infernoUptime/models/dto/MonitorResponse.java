@@ -24,11 +24,15 @@ public class MonitorResponse {
     private Integer checkInterval;
     private Integer timeoutSeconds;
     private Integer maxRedirects;
+    private Monitor.HttpVersion httpVersion;
+    private String probeAgent;
+    private String pushToken;
     private String description;
     private String expectedStatusCodes;
     private String keywordCheck;
     private String customHeaders;
     private Boolean isActive;
+    private Monitor.CheckStorage checkStorage;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime lastChecked;
@@ -38,5 +42,6 @@ public class MonitorResponse {
     private Integer lastStatusCode;
     private String lastCheckMessage;
     private Double uptimePercentage;
+    private LatencyPercentiles latency;
     private String statusDisplay;
 }
@@ -20,6 +20,7 @@ public class MonitorStats {
     private Long successfulChecks;
     private Double uptime; // percentage
     private Double averageResponseTime;
+    private LatencyPercentiles latency; // recent sliding window, not the whole period
     private Integer period; // days
     private LocalDateTime periodStart;
     private LocalDateTime periodEnd;
@@ -24,6 +24,8 @@ public class MonitorTestRequest {
     @Max(value = 60, message = "Test timeout cannot exceed 60 seconds")
     private Integer timeoutSeconds = 30;
 
+    private Monitor.HttpVersion httpVersion = Monitor.HttpVersion.HTTP_1_1;
+
     private String expectedStatusCodes = "200";
     private String keywordCheck;
     private String customHeaders;
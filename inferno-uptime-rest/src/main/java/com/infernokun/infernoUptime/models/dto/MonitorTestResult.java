@@ -24,4 +24,6 @@ public class MonitorTestResult {
     private Boolean keywordFound;
     private Integer redirectCount;
     private String finalUrl;
+    private String redirectLatencies;
+    private String protocol;
 }
@@ -1,6 +1,7 @@
 package com.infernokun.infernoUptime.models.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.infernokun.infernoUptime.models.entity.Monitor;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
@@ -33,6 +34,11 @@ public class MonitorUpdateRequest {
     @Max(value = 10, message = "Max redirects cannot exceed 10")
     private Integer maxRedirects;
 
+    private Monitor.HttpVersion httpVersion;
+
+    @Size(max = 64, message = "Probe agent id cannot exceed 64 characters")
+    private String probeAgent; // blank moves the monitor back to the core scheduler
+
     @Size(max = 1000, message = "Description cannot exceed 1000 characters")
     private String description;
 
@@ -45,4 +51,6 @@ public class MonitorUpdateRequest {
     private String customHeaders;
 
     private Boolean isActive;
+
+    private Monitor.CheckStorage checkStorage;
 }
@@ -26,4 +26,6 @@ public class MonitorUptimeReport {
     private LocalDateTime longestOutageStart;
     private LocalDateTime longestOutageEnd;
     private Long longestOutageDuration; // minutes
+    private Double meanTimeToRecoveryMinutes;
+    private Double meanTimeBetweenFailuresMinutes;
 }
@@ -0,0 +1,25 @@
+package com.infernokun.infernoUptime.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The latest checks of a monitor from its in-memory ring buffer, newest first, with the buffer's size and
+ * approximate heap footprint.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecentChecks {
+
+    private Long monitorId;
+    private Integer capacity;
+    private Integer size;
+    private Long memoryBytes;
+    private List<UptimeDataPoint> checks;
+}
@@ -0,0 +1,47 @@
+package com.infernokun.infernoUptime.models.dto;
+
+import com.infernokun.infernoUptime.models.entity.Monitor;
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requires a URL on every monitor except PUSH monitors, which are checked by incoming heartbeats and have nothing
+ * to probe. The violation is reported on the {@code url} property.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = UrlRequiredUnlessPush.Validator.class)
+public @interface UrlRequiredUnlessPush {
+
+    String message() default "URL is required";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+    class Validator implements ConstraintValidator<UrlRequiredUnlessPush, MonitorCreateRequest> {
+
+        @Override
+        public boolean isValid(MonitorCreateRequest request, ConstraintValidatorContext context) {
+            if (request == null || request.getType() == Monitor.MonitorType.PUSH
+                    || (request.getUrl() != null && !request.getUrl().isBlank())) {
+                return true;
+            }
+
+            context.disableDefaultConstraintViolation();
+            context.buildConstraintViolationWithTemplate(context.getDefaultConstraintMessageTemplate())
+                    .addPropertyNode("url")
+                    .addConstraintViolation();
+            return false;
+        }
+    }
+}
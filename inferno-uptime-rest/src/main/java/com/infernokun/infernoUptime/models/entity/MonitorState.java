@@ -0,0 +1,44 @@
+package com.infernokun.infernoUptime.models.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of a monitor's latest check. Written only by the ingestion path (MonitorStateWriter), read-only here.
+ */
+@Entity
+@Immutable
+@Getter
+@NoArgsConstructor
+@Table(name = "monitor_state")
+public class MonitorState {
+
+    @Id
+    @Column(name = "monitor_id")
+    private Long monitorId;
+
+    @Column(name = "last_check_id")
+    private Long lastCheckId;
+
+    @Column(name = "last_check_time", nullable = false)
+    private LocalDateTime lastCheckTime;
+
+    @Column(name = "is_up")
+    private Boolean isUp;
+
+    @Column(name = "response_time")
+    private Long responseTime;
+
+    @Column(name = "status_code")
+    private Integer statusCode;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+}
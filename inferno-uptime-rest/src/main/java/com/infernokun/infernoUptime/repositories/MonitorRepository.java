@@ -1,6 +1,7 @@
 package com.infernokun.infernoUptime.repositories;
 
 import com.infernokun.infernoUptime.models.entity.Monitor;
+import com.infernokun.infernoUptime.models.entity.MonitorState;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,10 +9,20 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MonitorRepository extends JpaRepository<Monitor, Long> {
 
+    /**
+     * A monitor with its latest check snapshot; {@code state} is null until the first check is written.
+     */
+    interface MonitorWithState {
+        Monitor getMonitor();
+
+        MonitorState getState();
+    }
+
     // ======================== Basic Finder Methods ========================
 
     List<Monitor> findByIsActiveTrue();
@@ -28,6 +39,8 @@ public interface MonitorRepository extends JpaRepository<Monitor, Long> {
 
     List<Monitor> findByTypeAndIsActiveTrue(Monitor.MonitorType type);
 
+    List<Monitor> findByProbeAgentAndIsActiveTrue(String probeAgent);
+
     // ======================== Search Methods ========================
 
     @Query("SELECT m FROM Monitor m WHERE m.name LIKE %:name% AND m.isActive = true")
@@ -55,36 +68,6 @@ public interface MonitorRepository extends JpaRepository<Monitor, Long> {
     @Query("SELECT m FROM Monitor m WHERE m.currentStatus = 'DOWN' AND m.isActive = true ORDER BY m.lastChecked DESC")
     List<Monitor> findRecentlyDownMonitors(Pageable pageable);
 
-    @Query(value = """
-        SELECT m.* FROM monitors m 
-        LEFT JOIN (
-            SELECT monitor_id, AVG(response_time) as avg_response 
-            FROM monitor_checks 
-            WHERE timestamp >= NOW() - INTERVAL '24 HOURS' 
-            AND is_up = true 
-            GROUP BY monitor_id
-        ) avg_times ON m.id = avg_times.monitor_id 
-        WHERE m.is_active = true 
-        ORDER BY avg_times.avg_response DESC NULLS LAST 
-        LIMIT :limit
-        """, nativeQuery = true)
-    List<Monitor> findSlowestMonitors(@Param("limit") int limit);
-
-    @Query(value = """
-        SELECT m.* FROM monitors m 
-        LEFT JOIN (
-            SELECT monitor_id, AVG(response_time) as avg_response 
-            FROM monitor_checks 
-            WHERE timestamp >= NOW() - INTERVAL '24 HOURS' 
-            AND is_up = true 
-            GROUP BY monitor_id
-        ) avg_times ON m.id = avg_times.monitor_id 
-        WHERE m.is_active = true AND avg_times.avg_response IS NOT NULL
-        ORDER BY avg_times.avg_response ASC 
-        LIMIT :limit
-        """, nativeQuery = true)
-    List<Monitor> findFastestMonitors(@Param("limit") int limit);
-
     // ======================== Advanced Search ========================
 
     @Query("SELECT m FROM Monitor m WHERE m.url = :url AND m.isActive = true")
@@ -118,6 +101,42 @@ public interface MonitorRepository extends JpaRepository<Monitor, Long> {
                                                   @Param("status") Monitor.MonitorStatus status,
                                                   Pageable pageable);
 
+    // ======================== Monitors With Latest Check ========================
+
+    @Query("SELECT m AS monitor, s AS state FROM Monitor m LEFT JOIN MonitorState s ON s.monitorId = m.id WHERE m.id = :id")
+    Optional<MonitorWithState> findWithStateById(@Param("id") Long id);
+
+    @Query(value = """
+        SELECT m AS monitor, s AS state FROM Monitor m
+        LEFT JOIN MonitorState s ON s.monitorId = m.id
+        WHERE m.isActive = true
+        ORDER BY m.name ASC
+        """,
+            countQuery = "SELECT COUNT(m) FROM Monitor m WHERE m.isActive = true")
+    Page<MonitorWithState> findActiveWithState(Pageable pageable);
+
+    @Query(value = """
+        SELECT m AS monitor, s AS state FROM Monitor m
+        LEFT JOIN MonitorState s ON s.monitorId = m.id
+        WHERE m.isActive = true
+        AND (:search IS NULL OR :search = '' OR
+             LOWER(m.name) LIKE LOWER(CONCAT('%', :search, '%')) OR
+             LOWER(m.url) LIKE LOWER(CONCAT('%', :search, '%')))
+        AND (:status IS NULL OR m.currentStatus = :status)
+        ORDER BY m.name ASC
+        """,
+            countQuery = """
+        SELECT COUNT(m) FROM Monitor m
+        WHERE m.isActive = true
+        AND (:search IS NULL OR :search = '' OR
+             LOWER(m.name) LIKE LOWER(CONCAT('%', :search, '%')) OR
+             LOWER(m.url) LIKE LOWER(CONCAT('%', :search, '%')))
+        AND (:status IS NULL OR m.currentStatus = :status)
+        """)
+    Page<MonitorWithState> findWithStateAndFilters(@Param("search") String search,
+                                                   @Param("status") Monitor.MonitorStatus status,
+                                                   Pageable pageable);
+
     // ======================== Maintenance Queries ========================
 
     @Query("SELECT m FROM Monitor m WHERE m.lastChecked < :cutoffTime AND m.isActive = true")
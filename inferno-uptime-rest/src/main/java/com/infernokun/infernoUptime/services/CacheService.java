@@ -10,6 +10,7 @@ import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -52,6 +53,20 @@ public class CacheService {
         redisTemplate.delete(key);
     }
 
+    /**
+     * Evicts many monitors with one Redis round trip, e.g. after a bulk update.
+     */
+    @CacheEvict(value = "monitors", allEntries = true)
+    public void evictMonitors(Collection<Long> ids) {
+        log.debug("Evicting {} monitors from cache", ids.size());
+
+        try {
+            redisTemplate.delete(ids.stream().map(id -> MONITOR_CACHE_PREFIX + id).toList());
+        } catch (Exception e) {
+            log.warn("Failed to evict monitors from cache: {}", e.getMessage());
+        }
+    }
+
     // Remove @Cacheable to avoid Spring cache conflicts and use manual Redis caching
     public List<Monitor> getActiveMonitors() {
         log.debug("Retrieving active monitors from cache");
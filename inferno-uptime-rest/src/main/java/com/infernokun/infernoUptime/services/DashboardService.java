@@ -3,15 +3,20 @@ package com.infernokun.infernoUptime.services;
 import com.infernokun.infernoUptime.models.dto.DashboardSummary;
 import com.infernokun.infernoUptime.models.dto.MonitorResponse;
 import com.infernokun.infernoUptime.models.entity.Monitor;
-import com.infernokun.infernoUptime.repositories.MonitorCheckRepository;
 import com.infernokun.infernoUptime.repositories.MonitorRepository;
+import com.infernokun.infernoUptime.services.rollup.CheckRollupService;
+import com.infernokun.infernoUptime.services.rollup.CheckRollupService.CheckTotals;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 @Slf4j
 @Service
@@ -19,9 +24,9 @@ import java.util.List;
 public class DashboardService {
 
     private final MonitorRepository monitorRepository;
-    private final MonitorCheckRepository monitorCheckRepository;
     private final MonitorMapperService monitorMapper; // Changed from MonitorMapper
     private final CacheService cacheService;
+    private final CheckRollupService checkRollupService;
 
     public DashboardSummary getDashboardSummary() {
         // Try to get from cache first
@@ -44,14 +49,9 @@ public class DashboardService {
         Double averageResponseTime = calculateAverageResponseTime(dayAgo);
 
         // Get total checks for different periods
-        LocalDateTime startOfDay = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0);
-        Long totalChecksToday = monitorCheckRepository.countChecksAfter(startOfDay);
-
-        LocalDateTime startOfWeek = LocalDateTime.now().minusDays(7);
-        Long totalChecksThisWeek = monitorCheckRepository.countChecksThisWeek(startOfWeek);
-
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        Long totalChecksThisMonth = monitorCheckRepository.countChecksThisMonth(startOfMonth);
+        Long totalChecksToday = countChecks(LocalDate.now().atStartOfDay());
+        Long totalChecksThisWeek = countChecks(LocalDateTime.now().minusDays(7));
+        Long totalChecksThisMonth = countChecks(LocalDate.now().withDayOfMonth(1).atStartOfDay());
 
         // Get recently down monitors (limit to 5)
         List<Monitor> recentlyDownMonitors = monitorRepository.findRecentlyDownMonitors(
@@ -60,10 +60,10 @@ public class DashboardService {
         List<MonitorResponse> recentlyDown = monitorMapper.toResponseList(recentlyDownMonitors);
 
         // Get slowest and fastest monitors
-        List<Monitor> slowestMonitorsList = monitorRepository.findSlowestMonitors(5);
+        List<Monitor> slowestMonitorsList = rankByAverageResponseTime(5, true);
         List<MonitorResponse> slowestMonitors = monitorMapper.toResponseList(slowestMonitorsList);
 
-        List<Monitor> fastestMonitorsList = monitorRepository.findFastestMonitors(5);
+        List<Monitor> fastestMonitorsList = rankByAverageResponseTime(5, false);
         List<MonitorResponse> fastestMonitors = monitorMapper.toResponseList(fastestMonitorsList);
 
         DashboardSummary summary = monitorMapper.createDashboardSummary(
@@ -79,36 +79,27 @@ public class DashboardService {
     }
 
     private Double calculateOverallUptime(LocalDateTime since) {
-        List<Monitor> activeMonitors = monitorRepository.findByIsActiveTrue();
-        if (activeMonitors.isEmpty()) {
+        List<Long> activeMonitorIds = activeMonitorIds();
+        if (activeMonitorIds.isEmpty()) {
             return 100.0;
         }
 
-        long totalChecks = 0;
-        long successfulChecks = 0;
-
-        for (Monitor monitor : activeMonitors) {
-            Long monitorTotal = monitorCheckRepository.countTotalChecks(monitor, since);
-            Long monitorSuccessful = monitorCheckRepository.countSuccessfulChecks(monitor, since);
-
-            totalChecks += monitorTotal;
-            successfulChecks += monitorSuccessful;
-        }
-
-        return totalChecks > 0 ? (successfulChecks / totalChecks) * 100 : 100.0;
+        Double uptime = checkRollupService.totals(activeMonitorIds, since, LocalDateTime.now()).uptimePercentage();
+        return uptime != null ? uptime : 100.0;
     }
 
     private Double calculateAverageResponseTime(LocalDateTime since) {
-        List<Monitor> activeMonitors = monitorRepository.findByIsActiveTrue();
-        if (activeMonitors.isEmpty()) {
+        List<Long> activeMonitorIds = activeMonitorIds();
+        if (activeMonitorIds.isEmpty()) {
             return 0.0;
         }
 
+        // Mean of the per-monitor averages, so busy monitors do not dominate
         double totalResponseTime = 0.0;
         int monitorCount = 0;
 
-        for (Monitor monitor : activeMonitors) {
-            Double avgResponseTime = monitorCheckRepository.findAverageResponseTime(monitor, since);
+        for (CheckTotals totals : checkRollupService.totalsByMonitor(activeMonitorIds, since, LocalDateTime.now()).values()) {
+            Double avgResponseTime = totals.averageResponseTime();
             if (avgResponseTime != null && avgResponseTime > 0) {
                 totalResponseTime += avgResponseTime;
                 monitorCount++;
@@ -118,6 +109,14 @@ public class DashboardService {
         return monitorCount > 0 ? totalResponseTime / monitorCount : 0.0;
     }
 
+    private List<Long> activeMonitorIds() {
+        return monitorRepository.findByIsActiveTrue().stream().map(Monitor::getId).toList();
+    }
+
+    private Long countChecks(LocalDateTime since) {
+        return checkRollupService.totals(since, LocalDateTime.now()).checks();
+    }
+
     // Additional helper methods for dashboard components
     public List<MonitorResponse> getRecentlyDownMonitors() {
         List<Monitor> downMonitors = monitorRepository.findByCurrentStatusAndIsActiveTrue(
@@ -130,15 +129,41 @@ public class DashboardService {
     }
 
     public List<MonitorResponse> getSlowestMonitors() {
-        List<Monitor> slowMonitors = monitorRepository.findSlowestMonitors(5);
+        List<Monitor> slowMonitors = rankByAverageResponseTime(5, true);
         return monitorMapper.toResponseList(slowMonitors);
     }
 
     public List<MonitorResponse> getFastestMonitors() {
-        List<Monitor> fastMonitors = monitorRepository.findFastestMonitors(5);
+        List<Monitor> fastMonitors = rankByAverageResponseTime(5, false);
         return monitorMapper.toResponseList(fastMonitors);
     }
 
+    /**
+     * Active monitors by their average response time of UP checks over the last 24 hours, from the rollups.
+     * Monitors without UP checks in that window come after the others when ranking the slowest and are left out
+     * when ranking the fastest.
+     */
+    public List<Monitor> rankByAverageResponseTime(int limit, boolean slowestFirst) {
+        List<Monitor> activeMonitors = monitorRepository.findByIsActiveTrue();
+        if (activeMonitors.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, CheckTotals> totals = checkRollupService.totalsByMonitor(
+                activeMonitors.stream().map(Monitor::getId).toList(), LocalDateTime.now().minusDays(1), LocalDateTime.now());
+        Function<Monitor, Double> average = monitor -> {
+            CheckTotals monitorTotals = totals.get(monitor.getId());
+            return monitorTotals != null ? monitorTotals.averageResponseTime() : null;
+        };
+        Comparator<Double> order = slowestFirst ? Comparator.reverseOrder() : Comparator.naturalOrder();
+
+        return activeMonitors.stream()
+                .filter(monitor -> slowestFirst || average.apply(monitor) != null)
+                .sorted(Comparator.comparing(average, Comparator.nullsLast(order)))
+                .limit(limit)
+                .toList();
+    }
+
     // Performance metrics
     public Double getOverallUptimeForPeriod(int days) {
         LocalDateTime since = LocalDateTime.now().minusDays(days);
@@ -152,13 +177,12 @@ public class DashboardService {
 
     // Count methods for dashboard widgets
     public Long getTotalChecksForPeriod(int days) {
-        LocalDateTime since = LocalDateTime.now().minusDays(days);
-        return monitorCheckRepository.countChecksAfter(since);
+        return countChecks(LocalDateTime.now().minusDays(days));
     }
 
     public Long getFailedChecksForPeriod(int days) {
-        LocalDateTime since = LocalDateTime.now().minusDays(days);
-        return monitorCheckRepository.countFailedChecks(since);
+        LocalDateTime now = LocalDateTime.now();
+        return checkRollupService.totals(now.minusDays(days), now).failedChecks();
     }
 
     // Real-time status counts
@@ -0,0 +1,217 @@
+package com.infernokun.infernoUptime.services;
+
+import com.infernokun.infernoUptime.models.entity.Monitor;
+import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+import com.infernokun.infernoUptime.repositories.MonitorRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks PUSH monitors in an in-memory last-seen table.
+ * <p>
+ * A ping only touches memory. A periodic sweep turns the table into check rows: one per monitor per
+ * check interval, plus one immediately when a heartbeat becomes late (DOWN) or resumes (UP).
+ */
+@Slf4j
+@Service
+public class HeartbeatService {
+
+    private static final SecureRandom TOKEN_RANDOM = new SecureRandom();
+
+    private final MonitorRepository monitorRepository;
+    private final MonitorCheckService monitorCheckService;
+
+    private final Map<String, HeartbeatState> statesByToken = new ConcurrentHashMap<>();
+    private final LongAdder totalPings = new LongAdder();
+
+    @Value("${inferno.uptime.heartbeat.grace-period:10s}")
+    private Duration gracePeriod;
+
+    public HeartbeatService(MonitorRepository monitorRepository,
+                            MonitorCheckService monitorCheckService,
+                            MeterRegistry meterRegistry) {
+        this.monitorRepository = monitorRepository;
+        this.monitorCheckService = monitorCheckService;
+
+        Gauge.builder("inferno.heartbeat.monitors", statesByToken, Map::size)
+                .description("PUSH monitors tracked in the last-seen table")
+                .register(meterRegistry);
+        FunctionCounter.builder("inferno.heartbeat.pings", totalPings, LongAdder::sum)
+                .description("Heartbeat pings received")
+                .register(meterRegistry);
+    }
+
+    // ======================== Ingest ========================
+
+    /**
+     * Records a heartbeat. Never touches the database.
+     *
+     * @return false when the token does not belong to an active PUSH monitor
+     */
+    public boolean ping(String token) {
+        HeartbeatState state = statesByToken.get(token);
+        if (state == null) {
+            return false;
+        }
+
+        state.lastSeen = System.currentTimeMillis();
+        state.pings.increment();
+        totalPings.increment();
+        return true;
+    }
+
+    // ======================== Registration ========================
+
+    public void assignToken(Monitor monitor) {
+        if (monitor.getType() == Monitor.MonitorType.PUSH && monitor.getPushToken() == null) {
+            byte[] bytes = new byte[24];
+            TOKEN_RANDOM.nextBytes(bytes);
+            monitor.setPushToken(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes));
+        }
+    }
+
+    /**
+     * Adds, refreshes or removes a monitor in the last-seen table after it was saved. Inside a transaction the
+     * change is applied on commit, so a rolled-back save never leaves a heartbeat for a missing monitor.
+     */
+    public void register(Monitor monitor) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyRegistration(monitor);
+                }
+            });
+            return;
+        }
+
+        applyRegistration(monitor);
+    }
+
+    private void applyRegistration(Monitor monitor) {
+        if (monitor.getType() != Monitor.MonitorType.PUSH || !Boolean.TRUE.equals(monitor.getIsActive())
+                || monitor.getPushToken() == null) {
+            unregister(monitor.getId());
+            return;
+        }
+
+        statesByToken.entrySet().removeIf(entry -> entry.getValue().monitor.getId().equals(monitor.getId())
+                && !entry.getKey().equals(monitor.getPushToken()));
+        statesByToken.compute(monitor.getPushToken(), (token, existing) -> new HeartbeatState(monitor, existing));
+    }
+
+    public void unregister(Long monitorId) {
+        statesByToken.values().removeIf(state -> state.monitor.getId().equals(monitorId));
+    }
+
+    /**
+     * Reloads the table from the database, keeping last-seen times for monitors already tracked.
+     */
+    @Scheduled(fixedRateString = "${inferno.uptime.heartbeat.refresh-interval:5m}")
+    public void refresh() {
+        try {
+            List<Monitor> monitors = monitorRepository.findByTypeAndIsActiveTrue(Monitor.MonitorType.PUSH);
+            statesByToken.keySet().retainAll(monitors.stream().map(Monitor::getPushToken).toList());
+            for (Monitor monitor : monitors) {
+                if (monitor.getPushToken() != null) {
+                    statesByToken.compute(monitor.getPushToken(), (token, existing) -> new HeartbeatState(monitor, existing));
+                }
+            }
+
+            log.debug("Heartbeat table refreshed with {} PUSH monitors", statesByToken.size());
+        } catch (Exception e) {
+            log.error("Error refreshing heartbeat table", e);
+        }
+    }
+
+    // ======================== Deadline Sweep ========================
+
+    @Scheduled(fixedDelayString = "${inferno.uptime.heartbeat.sweep-interval:5s}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        List<MonitorCheck> checks = new ArrayList<>();
+
+        for (HeartbeatState state : statesByToken.values()) {
+            long intervalMillis = state.monitor.getCheckInterval() * 1000L;
+            long silentSince = Math.max(state.lastSeen, state.trackedSince);
+            long deadline = silentSince + intervalMillis + gracePeriod.toMillis();
+            boolean late = now > deadline;
+
+            // Nothing to report until the first ping arrives or the deadline passes
+            if (state.lastSeen == 0 && !late) {
+                continue;
+            }
+
+            Monitor.MonitorStatus status = state.monitor.getCurrentStatus();
+            boolean wentDown = late && status != Monitor.MonitorStatus.DOWN;
+            boolean recovered = !late && status != Monitor.MonitorStatus.UP && state.lastSeen > state.lastRecordedAt;
+            boolean due = now - state.lastRecordedAt >= intervalMillis;
+
+            if (!wentDown && !recovered && !due) {
+                continue;
+            }
+
+            long pings = state.pings.sumThenReset();
+            MonitorCheck check = new MonitorCheck();
+            check.setMonitor(state.monitor);
+            check.setTimestamp(LocalDateTime.now());
+            check.setIsUp(!late);
+            check.setResponseTime(0L);
+            check.setMessage(late
+                    ? "No heartbeat received for " + (now - silentSince) / 1000 + "s"
+                    : "Heartbeat received (" + pings + " pings)");
+
+            state.lastRecordedAt = now;
+            checks.add(check);
+        }
+
+        if (checks.isEmpty()) {
+            return;
+        }
+
+        try {
+            monitorCheckService.recordChecks(checks);
+        } catch (Exception e) {
+            log.error("Error recording heartbeat checks", e);
+        }
+    }
+
+    private static final class HeartbeatState {
+        private final Monitor monitor;
+        private final LongAdder pings;
+        private final long trackedSince; // every monitor gets a full interval after (re)start before it is late
+        private volatile long lastSeen;  // last ping, 0 when none since tracking started
+        private long lastRecordedAt;
+
+        private HeartbeatState(Monitor monitor, HeartbeatState previous) {
+            this.monitor = monitor;
+            if (previous != null) {
+                this.pings = previous.pings;
+                this.trackedSince = previous.trackedSince;
+                this.lastSeen = previous.lastSeen;
+                this.lastRecordedAt = previous.lastRecordedAt;
+            } else {
+                this.pings = new LongAdder();
+                this.trackedSince = System.currentTimeMillis();
+                this.lastRecordedAt = trackedSince;
+            }
+        }
+    }
+}
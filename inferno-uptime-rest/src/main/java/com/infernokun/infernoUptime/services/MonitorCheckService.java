@@ -1,28 +1,27 @@
 package com.infernokun.infernoUptime.services;
 
+import com.infernokun.infernoUptime.config.db.DatabaseWorkload;
 import com.infernokun.infernoUptime.models.entity.Monitor;
 import com.infernokun.infernoUptime.models.entity.MonitorCheck;
 import com.infernokun.infernoUptime.repositories.MonitorCheckRepository;
 import com.infernokun.infernoUptime.repositories.MonitorRepository;
+import com.infernokun.infernoUptime.services.checks.CheckDispatcher;
+import com.infernokun.infernoUptime.services.ingest.CheckIngestionService;
+import com.infernokun.infernoUptime.services.latency.LatencyHistogramService;
+import com.infernokun.infernoUptime.services.recent.RecentCheckService;
+import com.infernokun.infernoUptime.services.rollup.CheckRollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
-import reactor.core.publisher.Mono;
-import reactor.util.retry.Retry;
+import reactor.core.scheduler.Schedulers;
 
 import javax.net.ssl.SSLSession;
-import java.net.URI;
-import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Service
@@ -33,49 +32,102 @@ public class MonitorCheckService {
     private final MonitorRepository monitorRepository;
     private final WebSocketNotificationService webSocketService;
     private final NotificationService notificationService;
-    private final WebClient.Builder webClientBuilder;
+    private final CheckDispatcher checkDispatcher;
+    private final CheckIngestionService checkIngestionService;
+    private final CheckRollupService checkRollupService;
+    private final RecentCheckService recentCheckService;
+    private final LatencyHistogramService latencyHistogramService;
 
-    @Value("${inferno.uptime.user-agent:InfernoUptime/1.0}")
-    private String userAgent;
-
-    @Value("${inferno.uptime.retry-attempts:3}")
-    private int retryAttempts;
-
-    @Async
+    /**
+     * Runs a check through the {@link CheckDispatcher} and persists the result. HTTP checks hold no thread
+     * while waiting for the target; persistence and notifications run on a worker afterwards.
+     */
     public CompletableFuture<MonitorCheck> performCheck(Monitor monitor) {
         log.debug("Performing check for monitor: {} ({})", monitor.getName(), monitor.getUrl());
 
-        long startTime = System.currentTimeMillis();
         MonitorCheck check = new MonitorCheck();
         check.setMonitor(monitor);
         check.setTimestamp(LocalDateTime.now());
 
-        try {
-            switch (monitor.getType()) {
-                case HTTP, HTTPS -> performHttpCheck(monitor, check, startTime);
-                case TCP -> performTcpCheck(monitor, check, startTime);
-                case PING -> performPingCheck(monitor, check, startTime);
-                case DNS -> performDnsCheck(monitor, check, startTime);
-                default -> throw new UnsupportedOperationException("Monitor type not supported: " + monitor.getType());
-            }
-        } catch (Exception e) {
-            log.error("Error performing check for monitor {}: {}", monitor.getName(), e.getMessage());
-            handleCheckError(check, e, startTime);
-        }
+        return checkDispatcher.dispatch(monitor)
+                .publishOn(Schedulers.boundedElastic())
+                .map(result -> {
+                    result.applyTo(check);
+                    return recordCheck(monitor, check);
+                })
+                .doOnError(e -> log.error("Failed to record check for monitor {}: {}", monitor.getName(), e.getMessage()))
+                .toFuture();
+    }
 
-        // Save check result
-        check = saveCheckResult(check);
+    /**
+     * Persists a completed check, updates the monitor status and sends notifications.
+     */
+    public MonitorCheck recordCheck(Monitor monitor, MonitorCheck check) {
+        return DatabaseWorkload.INGEST.call(() -> record(monitor, check));
+    }
 
-        // Update monitor status
-        updateMonitorStatus(monitor, check);
+    private MonitorCheck record(Monitor monitor, MonitorCheck check) {
+        // Hand the check to the write-behind buffer
+        MonitorCheck saved = saveCheckResult(check);
+        RecentCheckService.Transition transition = recentCheckService.record(saved);
+        latencyHistogramService.record(saved);
 
-        // Send notifications if status changed
-        notifyStatusChange(monitor, check);
+        // Update monitor status and send notifications, unless a newer check already did
+        if (transition != RecentCheckService.Transition.STALE) {
+            updateMonitorStatus(monitor, saved);
+            notifyStatusChange(monitor, saved, transition == RecentCheckService.Transition.CHANGED);
+        }
 
         log.debug("Completed check for monitor: {} - Status: {}, Response time: {}ms",
-                monitor.getName(), check.getIsUp() ? "UP" : "DOWN", check.getResponseTime());
+                monitor.getName(), saved.getIsUp() ? "UP" : "DOWN", saved.getResponseTime());
 
-        return CompletableFuture.completedFuture(check);
+        return saved;
+    }
+
+    /**
+     * Queues a batch of checks executed elsewhere (e.g. by a remote probe agent) for batched insertion,
+     * then applies status updates and notifications in timestamp order.
+     */
+    public List<MonitorCheck> recordChecks(List<MonitorCheck> checks) {
+        if (checks.isEmpty()) {
+            return checks;
+        }
+        DatabaseWorkload.INGEST.run(() -> recordAll(checks));
+        return checks;
+    }
+
+    private void recordAll(List<MonitorCheck> checks) {
+        checkIngestionService.submitAll(checks);
+
+        checks.stream()
+                .sorted(Comparator.comparing(MonitorCheck::getTimestamp))
+                .forEach(check -> {
+                    RecentCheckService.Transition transition = recentCheckService.record(check);
+                    latencyHistogramService.record(check);
+                    // Stored, but a late batch must not roll the status back or repeat old notifications
+                    if (transition != RecentCheckService.Transition.STALE) {
+                        updateMonitorStatus(check.getMonitor(), check);
+                        notifyStatusChange(check.getMonitor(), check, transition == RecentCheckService.Transition.CHANGED);
+                    }
+                });
+
+        log.debug("Recorded batch of {} checks", checks.size());
+    }
+
+    /**
+     * Runs a check without persisting it or notifying anyone, e.g. to test a monitor configuration.
+     */
+    public CompletableFuture<MonitorCheck> executeCheck(Monitor monitor) {
+        MonitorCheck check = new MonitorCheck();
+        check.setMonitor(monitor);
+        check.setTimestamp(LocalDateTime.now());
+
+        return checkDispatcher.dispatch(monitor)
+                .map(result -> {
+                    result.applyTo(check);
+                    return check;
+                })
+                .toFuture();
     }
 
     /**
@@ -91,6 +143,10 @@ public class MonitorCheckService {
             throw new RuntimeException("Cannot check inactive monitor: " + monitorId);
         }
 
+        if (monitor.getType() == Monitor.MonitorType.PUSH) {
+            throw new RuntimeException("PUSH monitors are checked by incoming heartbeats: " + monitorId);
+        }
+
         return performCheck(monitor);
     }
 
@@ -114,150 +170,21 @@ public class MonitorCheckService {
         List<Monitor> activeMonitors = monitorRepository.findByIsActiveTrue();
 
         return activeMonitors.stream()
+                .filter(monitor -> monitor.getType() != Monitor.MonitorType.PUSH)
                 .map(this::performCheck)
                 .toList();
     }
 
-    private void performHttpCheck(Monitor monitor, MonitorCheck check, long startTime) {
-        WebClient webClient = webClientBuilder
-                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024)) // 1MB limit
-                .build();
-
-        try {
-            String response = webClient.get()
-                    .uri(monitor.getUrl())
-                    .header("User-Agent", userAgent)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .timeout(Duration.ofSeconds(monitor.getTimeoutSeconds()))
-                    .retryWhen(Retry.fixedDelay(retryAttempts, Duration.ofMillis(500)))
-                    .doOnError(WebClientResponseException.class, ex -> {
-                        check.setStatusCode(ex.getStatusCode().value());
-                        check.setErrorDetails(ex.getMessage());
-                    })
-                    .block();
-
-            long responseTime = System.currentTimeMillis() - startTime;
-            check.setResponseTime(responseTime);
-            check.setStatusCode(200); // Success case
-            check.setIsUp(true);
-            check.setMessage("HTTP check successful");
-            check.setContentLength(response != null ? (long) response.length() : 0L);
-
-            // Keyword check
-            if (monitor.getKeywordCheck() != null && !monitor.getKeywordCheck().trim().isEmpty()) {
-                if (response == null || !response.contains(monitor.getKeywordCheck())) {
-                    check.setIsUp(false);
-                    check.setMessage("Keyword not found: " + monitor.getKeywordCheck());
-                }
-            }
-
-        } catch (WebClientResponseException e) {
-            long responseTime = System.currentTimeMillis() - startTime;
-            check.setResponseTime(responseTime);
-            check.setStatusCode(e.getStatusCode().value());
-            check.setIsUp(isSuccessStatusCode(e.getStatusCode().value(), monitor.getExpectedStatusCodes()));
-            check.setMessage("HTTP " + e.getStatusCode().value());
-            check.setErrorDetails(e.getMessage());
-        }
-    }
-
-    private void performTcpCheck(Monitor monitor, MonitorCheck check, long startTime) {
-        try {
-            URI uri = URI.create(monitor.getUrl());
-            String host = uri.getHost();
-            int port = uri.getPort() != -1 ? uri.getPort() : 80;
-
-            try (java.net.Socket socket = new java.net.Socket()) {
-                socket.connect(new java.net.InetSocketAddress(host, port), monitor.getTimeoutSeconds() * 1000);
-
-                long responseTime = System.currentTimeMillis() - startTime;
-                check.setResponseTime(responseTime);
-                check.setIsUp(true);
-                check.setMessage("TCP connection successful");
-            }
-        } catch (Exception e) {
-            long responseTime = System.currentTimeMillis() - startTime;
-            check.setResponseTime(responseTime);
-            check.setIsUp(false);
-            check.setMessage("TCP connection failed");
-            check.setErrorDetails(e.getMessage());
-        }
-    }
-
-    private void performPingCheck(Monitor monitor, MonitorCheck check, long startTime) {
-        try {
-            URI uri = URI.create(monitor.getUrl());
-            String host = uri.getHost();
-
-            boolean reachable = java.net.InetAddress.getByName(host)
-                    .isReachable(monitor.getTimeoutSeconds() * 1000);
-
-            long responseTime = System.currentTimeMillis() - startTime;
-            check.setResponseTime(responseTime);
-            check.setIsUp(reachable);
-            check.setMessage(reachable ? "Host is reachable" : "Host is not reachable");
-
-        } catch (Exception e) {
-            long responseTime = System.currentTimeMillis() - startTime;
-            check.setResponseTime(responseTime);
-            check.setIsUp(false);
-            check.setMessage("Ping failed");
-            check.setErrorDetails(e.getMessage());
-        }
-    }
-
-    private void performDnsCheck(Monitor monitor, MonitorCheck check, long startTime) {
-        try {
-            URI uri = URI.create(monitor.getUrl());
-            String host = uri.getHost();
-
-            java.net.InetAddress address = java.net.InetAddress.getByName(host);
-
-            long responseTime = System.currentTimeMillis() - startTime;
-            check.setResponseTime(responseTime);
-            check.setIsUp(true);
-            check.setMessage("DNS resolution successful: " + address.getHostAddress());
-
-        } catch (Exception e) {
-            long responseTime = System.currentTimeMillis() - startTime;
-            check.setResponseTime(responseTime);
-            check.setIsUp(false);
-            check.setMessage("DNS resolution failed");
-            check.setErrorDetails(e.getMessage());
-        }
-    }
-
-    private void handleCheckError(MonitorCheck check, Exception e, long startTime) {
-        long responseTime = System.currentTimeMillis() - startTime;
-        check.setResponseTime(responseTime);
-        check.setIsUp(false);
-        check.setMessage("Check failed: " + e.getMessage());
-        check.setErrorDetails(e.getClass().getSimpleName() + ": " + e.getMessage());
-
-        if (e instanceof TimeoutException) {
-            check.setMessage("Request timeout");
-        }
-    }
-
-    private boolean isSuccessStatusCode(int statusCode, String expectedCodes) {
-        if (expectedCodes == null || expectedCodes.trim().isEmpty()) {
-            return statusCode >= 200 && statusCode < 300;
-        }
-
-        return Arrays.stream(expectedCodes.split(","))
-                .map(String::trim)
-                .mapToInt(Integer::parseInt)
-                .anyMatch(code -> code == statusCode);
-    }
-
-    @Transactional
     private MonitorCheck saveCheckResult(MonitorCheck check) {
-        return monitorCheckRepository.save(check);
+        checkIngestionService.submit(check);
+        return check;
     }
 
     @Transactional
     private void updateMonitorStatus(Monitor monitor, MonitorCheck check) {
+        if (monitor.getLastChecked() != null && check.getTimestamp().isBefore(monitor.getLastChecked())) {
+            return;
+        }
         Monitor.MonitorStatus newStatus = check.getIsUp() ?
                 Monitor.MonitorStatus.UP : Monitor.MonitorStatus.DOWN;
 
@@ -268,29 +195,16 @@ public class MonitorCheckService {
         }
     }
 
-    private void notifyStatusChange(Monitor monitor, MonitorCheck check) {
+    private void notifyStatusChange(Monitor monitor, MonitorCheck check, boolean statusChanged) {
         // Send real-time WebSocket notification
         webSocketService.sendMonitorUpdate(monitor, check);
 
-        // Send email/webhook notifications if status changed
-        if (shouldSendNotification(monitor, check)) {
+        // Send email/webhook notifications if status changed (compared in memory by the recent check buffer)
+        if (statusChanged) {
             notificationService.sendStatusChangeNotification(monitor, check);
         }
     }
 
-    private boolean shouldSendNotification(Monitor monitor, MonitorCheck check) {
-        // Get the previous check to see if status actually changed
-        List<MonitorCheck> recentChecks = monitorCheckRepository.findRecentChecksByMonitorId(
-                monitor.getId(), 2);
-
-        if (recentChecks.size() < 2) {
-            return true; // First check
-        }
-
-        MonitorCheck previousCheck = recentChecks.get(1);
-        return !check.getIsUp().equals(previousCheck.getIsUp());
-    }
-
     // ======================== Statistics Methods ========================
 
     public Double calculateUptimePercentage(Monitor monitor, LocalDateTime since) {
@@ -298,22 +212,23 @@ public class MonitorCheckService {
     }
 
     public Double calculateOverallUptimePercentage(LocalDateTime since) {
-        return monitorCheckRepository.calculateOverallUptimePercentage(since);
+        return checkRollupService.totals(since, LocalDateTime.now()).uptimePercentage();
     }
 
     public Long getTotalChecksToday() {
-        LocalDateTime startOfDay = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0);
-        return monitorCheckRepository.countChecksAfter(startOfDay);
+        return countChecksSince(LocalDate.now().atStartOfDay());
     }
 
     public Long getTotalChecksThisWeek() {
-        LocalDateTime startOfWeek = LocalDateTime.now().minusDays(7);
-        return monitorCheckRepository.countChecksThisWeek(startOfWeek);
+        return countChecksSince(LocalDateTime.now().minusDays(7));
     }
 
     public Long getTotalChecksThisMonth() {
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        return monitorCheckRepository.countChecksThisMonth(startOfMonth);
+        return countChecksSince(LocalDate.now().withDayOfMonth(1).atStartOfDay());
+    }
+
+    private Long countChecksSince(LocalDateTime since) {
+        return checkRollupService.totals(since, LocalDateTime.now()).checks();
     }
 
     // ======================== Cleanup Methods ========================
@@ -3,6 +3,9 @@ package com.infernokun.infernoUptime.services;
 import com.infernokun.infernoUptime.models.dto.*;
 import com.infernokun.infernoUptime.models.entity.Monitor;
 import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+import com.infernokun.infernoUptime.models.entity.MonitorState;
+import com.infernokun.infernoUptime.services.incident.IncidentService.IncidentStats;
+import com.infernokun.infernoUptime.services.latency.LatencyHistogramService;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
@@ -16,6 +19,7 @@ import java.util.stream.Collectors;
 public class MonitorMapperService {
 
     private final ModelMapper modelMapper;
+    private final LatencyHistogramService latencyHistograms;
 
     // ======================== Monitor Entity Mapping ========================
 
@@ -26,6 +30,13 @@ public class MonitorMapperService {
         monitor.setUrl(normalizeUrl(request.getUrl()));
         monitor.setCurrentStatus(Monitor.MonitorStatus.PENDING);
         monitor.setIsActive(request.getIsActive() != null ? request.getIsActive() : true);
+        if (monitor.getCheckStorage() == null) {
+            monitor.setCheckStorage(Monitor.CheckStorage.FULL);
+        }
+
+        if (monitor.getProbeAgent() != null && monitor.getProbeAgent().isBlank()) {
+            monitor.setProbeAgent(null);
+        }
 
         return monitor;
     }
@@ -33,6 +44,17 @@ public class MonitorMapperService {
     public MonitorResponse toResponse(Monitor monitor) {
         MonitorResponse response = modelMapper.map(monitor, MonitorResponse.class);
         response.setStatusDisplay(getStatusDisplay(monitor));
+        response.setLatency(monitor.getId() != null ? latencyHistograms.percentiles(monitor.getId()) : null);
+        return response;
+    }
+
+    public MonitorResponse toResponse(Monitor monitor, MonitorState state) {
+        MonitorResponse response = toResponse(monitor);
+        if (state != null) {
+            response.setLastResponseTime(state.getResponseTime());
+            response.setLastStatusCode(state.getStatusCode());
+            response.setLastCheckMessage(state.getMessage());
+        }
         return response;
     }
 
@@ -43,6 +65,10 @@ public class MonitorMapperService {
         if (request.getUrl() != null) {
             monitor.setUrl(normalizeUrl(request.getUrl()));
         }
+
+        if (request.getProbeAgent() != null && request.getProbeAgent().isBlank()) {
+            monitor.setProbeAgent(null);
+        }
     }
 
     public List<MonitorResponse> toResponseList(List<Monitor> monitors) {
@@ -79,6 +105,7 @@ public class MonitorMapperService {
                 .successfulChecks(successfulChecks)
                 .uptime(uptime)
                 .averageResponseTime(averageResponseTime != null ? averageResponseTime : 0.0)
+                .latency(latencyHistograms.percentiles(monitorId))
                 .period(period)
                 .periodStart(LocalDateTime.now().minusDays(period))
                 .periodEnd(LocalDateTime.now())
@@ -110,6 +137,7 @@ public class MonitorMapperService {
                 .monitorsPending(monitorsPending)
                 .overallUptime(overallUptime != null ? overallUptime : 0.0)
                 .averageResponseTime(averageResponseTime != null ? averageResponseTime : 0.0)
+                .latency(latencyHistograms.overall())
                 .totalChecksToday(totalChecksToday)
                 .totalChecksThisWeek(totalChecksThisWeek)
                 .totalChecksThisMonth(totalChecksThisMonth)
@@ -144,11 +172,8 @@ public class MonitorMapperService {
 
     // ======================== Report Building ========================
 
-    public MonitorUptimeReport createUptimeReport(Monitor monitor, MonitorStats stats,
-                                                  List<IncidentSummary> incidents) {
-        IncidentSummary longestOutage = incidents.stream()
-                .max((i1, i2) -> Long.compare(i1.getDurationMinutes(), i2.getDurationMinutes()))
-                .orElse(null);
+    public MonitorUptimeReport createUptimeReport(Monitor monitor, MonitorStats stats, IncidentStats incidents) {
+        IncidentSummary longestOutage = incidents.longest();
 
         return MonitorUptimeReport.builder()
                 .monitorId(monitor.getId())
@@ -159,14 +184,20 @@ public class MonitorMapperService {
                 .successfulChecks(stats.getSuccessfulChecks())
                 .failedChecks(stats.getTotalChecks() - stats.getSuccessfulChecks())
                 .averageResponseTime(stats.getAverageResponseTime())
-                .totalDowntimeMinutes(stats.getTotalDowntime())
-                .incidentCount(incidents.size())
+                .totalDowntimeMinutes(incidents.downtimeMinutes())
+                .incidentCount(incidents.incidentCount())
                 .longestOutageStart(longestOutage != null ? longestOutage.getStartTime() : null)
                 .longestOutageEnd(longestOutage != null ? longestOutage.getEndTime() : null)
                 .longestOutageDuration(longestOutage != null ? longestOutage.getDurationMinutes() : 0L)
+                .meanTimeToRecoveryMinutes(toMinutes(incidents.meanTimeToRecoverySeconds()))
+                .meanTimeBetweenFailuresMinutes(toMinutes(incidents.meanTimeBetweenFailuresSeconds()))
                 .build();
     }
 
+    private static Double toMinutes(Double seconds) {
+        return seconds != null ? seconds / 60 : null;
+    }
+
     // ======================== Notification Building ========================
 
     public NotificationSettings createDefaultNotificationSettings(Long monitorId) {
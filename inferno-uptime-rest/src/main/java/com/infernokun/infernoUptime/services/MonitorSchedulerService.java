@@ -1,7 +1,11 @@
 package com.infernokun.infernoUptime.services;
 
+import com.infernokun.infernoUptime.config.db.DatabaseWorkload;
 import com.infernokun.infernoUptime.models.entity.Monitor;
 import com.infernokun.infernoUptime.repositories.MonitorRepository;
+import com.infernokun.infernoUptime.services.rollup.CheckRollupService;
+import com.infernokun.infernoUptime.services.storage.CheckPartitionService;
+import com.infernokun.infernoUptime.services.storage.CheckPurgeService;
 import jakarta.persistence.Cacheable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,8 +20,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 @Slf4j
@@ -28,6 +35,9 @@ public class MonitorSchedulerService {
     private final MonitorRepository monitorRepository;
     private final MonitorCheckService monitorCheckService;
     private final CacheService cacheService;
+    private final CheckPartitionService checkPartitionService;
+    private final CheckPurgeService checkPurgeService;
+    private final CheckRollupService checkRollupService;
 
     // Add default values to prevent null issues
     @Value("${inferno.uptime.concurrent-checks:50}")
@@ -36,6 +46,9 @@ public class MonitorSchedulerService {
     @Value("${inferno.uptime.thread-pool-size:20}")
     private int threadPoolSize;
 
+    @Value("${inferno.uptime.bulk.check-concurrency:20}")
+    private int bulkCheckConcurrency;
+
     @Value("${inferno.uptime.cleanup.enabled:true}")
     private boolean cleanupEnabled;
 
@@ -44,7 +57,9 @@ public class MonitorSchedulerService {
 
     private ScheduledExecutorService schedulerExecutor;
     private ThreadPoolTaskExecutor checkExecutor;
+    private ExecutorService bulkCheckFeeder;
     private final Map<Long, LocalDateTime> lastCheckTimes = new ConcurrentHashMap<>();
+    private Semaphore bulkCheckPermits;
     private volatile boolean shutdownRequested = false;
 
     @PostConstruct
@@ -95,6 +110,14 @@ public class MonitorSchedulerService {
 
             checkExecutor.initialize();
 
+            bulkCheckPermits = new Semaphore(Math.max(1, bulkCheckConcurrency));
+            // Bulk requests queue up behind each other, sharing the permits
+            bulkCheckFeeder = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "bulk-check-feeder");
+                t.setDaemon(true);
+                return t;
+            });
+
             log.info("Monitor Scheduler initialized successfully with {} core threads, max {} concurrent checks",
                     threadPoolSize, maxConcurrentChecks);
 
@@ -121,6 +144,10 @@ public class MonitorSchedulerService {
             }
         }
 
+        if (bulkCheckFeeder != null) {
+            bulkCheckFeeder.shutdownNow();
+        }
+
         if (checkExecutor != null) {
             checkExecutor.shutdown();
         }
@@ -142,6 +169,11 @@ public class MonitorSchedulerService {
             log.debug("Scheduling checks for {} active monitors", activeMonitors.size());
 
             for (Monitor monitor : activeMonitors) {
+                // Monitors assigned to a remote probe agent are checked there; PUSH monitors by heartbeat sweep
+                if (monitor.getProbeAgent() != null || monitor.getType() == Monitor.MonitorType.PUSH) {
+                    continue;
+                }
+
                 if (shouldCheckMonitor(monitor, now)) {
                     scheduleCheck(monitor);
                 }
@@ -153,22 +185,36 @@ public class MonitorSchedulerService {
     }
 
     /**
-     * Cleanup task that runs daily to remove old check data
+     * Cleanup task that runs daily to remove old check data. A partitioned table drops whole expired partitions;
+     * a plain table, and the legacy partition left by the conversion until it expires whole, are purged in
+     * throttled chunks in the background.
      */
     @Scheduled(cron = "${inferno.uptime.cleanup.schedule:0 0 2 * * ?}") // Daily at 2 AM
     public void cleanupOldData() {
         if (!isCleanupEnabled()) {
             return;
         }
+        DatabaseWorkload.ANALYTICS.run(this::cleanup);
+    }
 
+    private void cleanup() {
         try {
             log.info("Starting cleanup of old monitor check data");
 
             LocalDateTime cutoffDate = LocalDateTime.now()
                     .minusDays(getRetentionDays());
 
-            // This would be implemented in a cleanup service
-            // cleanupService.cleanupOldChecks(cutoffDate);
+            if (checkPartitionService.isPartitioned()) {
+                int dropped = checkPartitionService.dropExpiredPartitions(cutoffDate);
+                log.info("Dropped {} expired monitor_checks partitions", dropped);
+                // The pre-conversion rows reach past the cutoff for a while and cannot be dropped with their partition yet
+                if (checkPartitionService.legacyPartition().isPresent()) {
+                    checkPurgeService.purgeOlderThan(cutoffDate);
+                }
+            } else {
+                checkPurgeService.purgeOlderThan(cutoffDate);
+            }
+            checkRollupService.deleteExpired(cutoffDate);
 
             log.info("Completed cleanup of old monitor check data");
 
@@ -276,6 +322,39 @@ public class MonitorSchedulerService {
         }
     }
 
+    /**
+     * Runs checks for many monitors without flooding the check executor or the targets: the bulk feeder thread
+     * starts them as they complete, with at most {@code bulk.check-concurrency} in flight. Returns immediately.
+     */
+    public void triggerChecks(List<Monitor> monitors) {
+        if (monitors.isEmpty()) {
+            return;
+        }
+
+        bulkCheckFeeder.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                for (Monitor monitor : monitors) {
+                    if (shutdownRequested) {
+                        return;
+                    }
+                    bulkCheckPermits.acquire();
+                    lastCheckTimes.put(monitor.getId(), LocalDateTime.now());
+                    try {
+                        monitorCheckService.performCheck(monitor)
+                                .whenComplete((check, error) -> bulkCheckPermits.release());
+                    } catch (Exception e) {
+                        bulkCheckPermits.release();
+                        log.error("Failed to start check for monitor {}: {}", monitor.getName(), e.getMessage());
+                    }
+                }
+                log.info("Started {} bulk checks in {}ms", monitors.size(), (System.nanoTime() - start) / 1_000_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
     /**
      * Get scheduler status and statistics
      */
@@ -5,20 +5,28 @@ import com.infernokun.infernoUptime.models.dto.*;
 import com.infernokun.infernoUptime.models.entity.Monitor;
 import com.infernokun.infernoUptime.models.entity.MonitorCheck;
 import com.infernokun.infernoUptime.repositories.MonitorRepository;
+import com.infernokun.infernoUptime.repositories.MonitorRepository.MonitorWithState;
 import com.infernokun.infernoUptime.repositories.MonitorCheckRepository;
+import com.infernokun.infernoUptime.services.archive.CheckHistoryService;
+import com.infernokun.infernoUptime.services.bulk.MonitorBulkService;
+import com.infernokun.infernoUptime.services.incident.IncidentService;
+import com.infernokun.infernoUptime.services.incident.IncidentService.IncidentStats;
+import com.infernokun.infernoUptime.services.recent.RecentCheckService;
+import com.infernokun.infernoUptime.services.rollup.CheckRollupService;
+import com.infernokun.infernoUptime.services.rollup.CheckRollupService.CheckTotals;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
@@ -31,13 +39,22 @@ public class MonitorService {
     private final MonitorCheckService monitorCheckService;
     private final MonitorMapperService monitorMapper; // Changed to MonitorMapperService
     private final CacheService cacheService;
+    private final HeartbeatService heartbeatService;
+    private final CheckRollupService checkRollupService;
+    private final CheckHistoryService checkHistoryService;
+    private final IncidentService incidentService;
+    private final MonitorBulkService monitorBulkService;
+    private final RecentCheckService recentCheckService;
+    private final DashboardService dashboardService;
 
     @Transactional
     public MonitorResponse createMonitor(MonitorCreateRequest request) {
         log.info("Creating new monitor: {}", request.getName());
 
         Monitor monitor = monitorMapper.toEntity(request);
+        heartbeatService.assignToken(monitor);
         monitor = monitorRepository.save(monitor);
+        heartbeatService.register(monitor);
 
         // Cache the new monitor
         cacheService.cacheMonitor(monitor);
@@ -47,30 +64,24 @@ public class MonitorService {
     }
 
     public MonitorResponse getMonitor(Long id) {
-        Monitor monitor = findMonitorById(id);
-        MonitorResponse response = monitorMapper.toResponse(monitor);
-
-        // Add latest check info
-        addLatestCheckInfo(response, monitor);
+        // Monitor and latest check info in one query
+        MonitorWithState monitor = monitorRepository.findWithStateById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Monitor not found with ID: " + id));
 
-        return response;
+        return monitorMapper.toResponse(monitor.getMonitor(), monitor.getState());
     }
 
     public Page<MonitorResponse> getAllMonitors(Pageable pageable, String search, Monitor.MonitorStatus status) {
-        Page<Monitor> monitors;
+        Page<MonitorWithState> monitors;
 
         // Use the optimized query that handles both search and status filtering
         if ((search != null && !search.trim().isEmpty()) || status != null) {
-            monitors = monitorRepository.findMonitorsWithFilters(search, status, pageable);
+            monitors = monitorRepository.findWithStateAndFilters(search, status, pageable);
         } else {
-            monitors = monitorRepository.findByIsActiveTrueOrderByNameAsc(pageable);
+            monitors = monitorRepository.findActiveWithState(pageable);
         }
 
-        return monitors.map(monitor -> {
-            MonitorResponse response = monitorMapper.toResponse(monitor);
-            addLatestCheckInfo(response, monitor);
-            return response;
-        });
+        return monitors.map(monitor -> monitorMapper.toResponse(monitor.getMonitor(), monitor.getState()));
     }
 
     public List<MonitorResponse> getActiveMonitors() {
@@ -89,7 +100,9 @@ public class MonitorService {
 
         Monitor monitor = findMonitorById(id);
         monitorMapper.updateEntity(monitor, request);
+        heartbeatService.assignToken(monitor);
         monitor = monitorRepository.save(monitor);
+        heartbeatService.register(monitor);
 
         // Update cache
         cacheService.evictMonitor(id);
@@ -106,6 +119,7 @@ public class MonitorService {
         Monitor monitor = findMonitorById(id);
         monitor.setIsActive(false);
         monitorRepository.save(monitor);
+        heartbeatService.unregister(id);
 
         // Clear from cache
         cacheService.evictMonitor(id);
@@ -119,6 +133,7 @@ public class MonitorService {
         Monitor monitor = findMonitorById(id);
         monitor.setIsActive(!monitor.getIsActive());
         monitorRepository.save(monitor);
+        heartbeatService.register(monitor);
 
         cacheService.evictMonitor(id);
         cacheService.evictActiveMonitors();
@@ -128,18 +143,69 @@ public class MonitorService {
 
     public MonitorStats getMonitorStats(Long id, int days) {
         Monitor monitor = findMonitorById(id);
-        LocalDateTime since = LocalDateTime.now().minusDays(days);
+        LocalDateTime now = LocalDateTime.now();
+        CheckTotals totals = checkRollupService.totals(id, now.minusDays(days), now);
+
+        MonitorStats stats = monitorMapper.createMonitorStats(
+                id, monitor.getName(), totals.checks(), totals.upChecks(), totals.averageResponseTime(), days);
+        stats.setTotalDowntime(incidentService.stats(id, now.minusDays(days), now).downtimeMinutes());
+        return stats;
+    }
+
+    // ======================== Incidents ========================
+
+    public List<IncidentSummary> getIncidents(int days) {
+        LocalDateTime now = LocalDateTime.now();
+        return incidentService.findIncidents(now.minusDays(days), now);
+    }
+
+    public List<IncidentSummary> getMonitorIncidents(Long id, int days) {
+        findMonitorById(id);
+        LocalDateTime now = LocalDateTime.now();
+        return incidentService.findIncidents(id, now.minusDays(days), now);
+    }
+
+    public MonitorUptimeReport getUptimeReport(Long id, int days) {
+        Monitor monitor = findMonitorById(id);
+        LocalDateTime now = LocalDateTime.now();
+        CheckTotals totals = checkRollupService.totals(id, now.minusDays(days), now);
+        IncidentStats incidents = incidentService.stats(id, now.minusDays(days), now);
 
-        Long totalChecks = monitorCheckRepository.countTotalChecks(monitor, since);
-        Long successfulChecks = monitorCheckRepository.countSuccessfulChecks(monitor, since);
-        Double avgResponseTime = monitorCheckRepository.findAverageResponseTime(monitor, since);
+        MonitorStats stats = monitorMapper.createMonitorStats(
+                id, monitor.getName(), totals.checks(), totals.upChecks(), totals.averageResponseTime(), days);
+        return monitorMapper.createUptimeReport(monitor, stats, incidents);
+    }
 
-        return monitorMapper.createMonitorStats(
-                id, monitor.getName(), totalChecks, successfulChecks, avgResponseTime, days);
+    /**
+     * Response time percentiles of the given monitors together, or of all monitors without ids, over
+     * {@code [from, to)} from the rollup sketches.
+     */
+    public LatencyPercentiles getLatencyPercentiles(List<Long> monitorIds, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime until = to != null ? to : LocalDateTime.now();
+        if (!from.isBefore(until)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        return checkRollupService.percentiles(monitorIds == null || monitorIds.isEmpty() ? null : monitorIds, from, until);
     }
 
     public List<MonitorCheck> getMonitorChecks(Long id, int limit) {
-        return monitorCheckRepository.findRecentChecksByMonitorId(id, limit);
+        return checkHistoryService.findRecent(id, limit);
+    }
+
+    public List<MonitorCheck> getMonitorChecks(Long id, LocalDateTime from, LocalDateTime to, int limit) {
+        return checkHistoryService.findBetween(id, from, to != null ? to : LocalDateTime.now(), limit);
+    }
+
+    public RecentChecks getRecentChecks(Long id, int limit) {
+        return recentCheckService.recent(id, limit);
+    }
+
+    public CursorPage<MonitorCheck> getMonitorCheckPage(Long id, String cursor, int limit) {
+        return checkHistoryService.findPage(id, cursor, limit);
+    }
+
+    public void streamMonitorChecks(Long id, LocalDateTime from, LocalDateTime to, Consumer<MonitorCheck> consumer) {
+        checkHistoryService.stream(id, from, to != null ? to : LocalDateTime.now(), consumer);
     }
 
     // Manual check trigger
@@ -166,7 +232,7 @@ public class MonitorService {
         // Calculate metrics
         LocalDateTime dayAgo = LocalDateTime.now().minusDays(1);
         Double overallUptime = monitorCheckService.calculateOverallUptimePercentage(dayAgo);
-        Double averageResponseTime = monitorCheckRepository.findOverallAverageResponseTime(dayAgo);
+        Double averageResponseTime = checkRollupService.totals(dayAgo, LocalDateTime.now()).averageResponseTime();
 
         // Get check counts
         Long totalChecksToday = monitorCheckService.getTotalChecksToday();
@@ -177,10 +243,10 @@ public class MonitorService {
         List<Monitor> recentlyDownMonitors = monitorRepository.findRecentlyDownMonitors(Pageable.ofSize(5));
         List<MonitorResponse> recentlyDown = monitorMapper.toResponseList(recentlyDownMonitors);
 
-        List<Monitor> slowestMonitorsList = monitorRepository.findSlowestMonitors(5);
+        List<Monitor> slowestMonitorsList = dashboardService.rankByAverageResponseTime(5, true);
         List<MonitorResponse> slowestMonitors = monitorMapper.toResponseList(slowestMonitorsList);
 
-        List<Monitor> fastestMonitorsList = monitorRepository.findFastestMonitors(5);
+        List<Monitor> fastestMonitorsList = dashboardService.rankByAverageResponseTime(5, false);
         List<MonitorResponse> fastestMonitors = monitorMapper.toResponseList(fastestMonitorsList);
 
         return monitorMapper.createDashboardSummary(
@@ -203,9 +269,10 @@ public class MonitorService {
             testMonitor.setExpectedStatusCodes(request.getExpectedStatusCodes());
             testMonitor.setKeywordCheck(request.getKeywordCheck());
             testMonitor.setCustomHeaders(request.getCustomHeaders());
+            testMonitor.setHttpVersion(request.getHttpVersion());
 
             // Perform the test check
-            CompletableFuture<MonitorCheck> checkFuture = monitorCheckService.performCheck(testMonitor);
+            CompletableFuture<MonitorCheck> checkFuture = monitorCheckService.executeCheck(testMonitor);
             MonitorCheck result = checkFuture.get(request.getTimeoutSeconds() + 5, TimeUnit.SECONDS);
 
             return monitorMapper.checkToTestResult(result);
@@ -222,62 +289,25 @@ public class MonitorService {
     }
 
     // Bulk operations
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BulkOperationResult createMonitorsBulk(BulkMonitorRequest request) {
-        log.info("Creating {} monitors in bulk", request.getMonitors().size());
+        return createMonitorsBulk(request, progress -> { });
+    }
 
-        List<String> errors = new ArrayList<>();
-        List<MonitorResponse> createdMonitors = new ArrayList<>();
-        int successful = 0;
-        int failed = 0;
-        int skipped = 0;
-
-        for (MonitorCreateRequest monitorRequest : request.getMonitors()) {
-            try {
-                // Check for duplicates if requested
-                if (request.getSkipDuplicates()) {
-                    List<Monitor> existing = monitorRepository.findActiveMonitorsByUrl(monitorRequest.getUrl());
-                    if (!existing.isEmpty()) {
-                        skipped++;
-                        continue;
-                    }
-                }
-
-                // Validate URL if requested
-                if (request.getValidateUrls()) {
-                    if (!monitorMapper.isValidUrl(monitorRequest.getUrl())) {
-                        errors.add("Invalid URL: " + monitorRequest.getUrl());
-                        failed++;
-                        continue;
-                    }
-                }
-
-                MonitorResponse created = createMonitor(monitorRequest);
-                createdMonitors.add(created);
-                successful++;
-
-            } catch (Exception e) {
-                errors.add("Failed to create monitor '" + monitorRequest.getName() + "': " + e.getMessage());
-                failed++;
-            }
-        }
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkOperationResult createMonitorsBulk(BulkMonitorRequest request, Consumer<BulkOperationResult> progress) {
+        log.info("Creating {} monitors in bulk", request.getMonitors().size());
+        return monitorBulkService.createMonitors(request, progress);
+    }
 
-        return monitorMapper.createBulkResult(
-                request.getMonitors().size(), successful, failed, skipped, errors, createdMonitors
-        );
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkOperationResult applyBulkAction(BulkActionRequest request) {
+        log.info("Applying {} to {} monitors", request.getAction(), request.getMonitorIds().size());
+        return monitorBulkService.applyAction(request);
     }
 
     private Monitor findMonitorById(Long id) {
         return monitorRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Monitor not found with ID: " + id));
     }
-
-    private void addLatestCheckInfo(MonitorResponse response, Monitor monitor) {
-        Optional<MonitorCheck> latestCheck = monitorCheckRepository.findLatestCheckByMonitor(monitor);
-        latestCheck.ifPresent(check -> {
-            response.setLastResponseTime(check.getResponseTime());
-            response.setLastStatusCode(check.getStatusCode());
-            response.setLastCheckMessage(check.getMessage());
-        });
-    }
 }
\ No newline at end of file
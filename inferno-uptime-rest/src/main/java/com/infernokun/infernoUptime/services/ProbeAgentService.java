@@ -0,0 +1,138 @@
+package com.infernokun.infernoUptime.services;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.infernokun.infernoUptime.exceptions.TokenException;
+import com.infernokun.infernoUptime.models.dto.ProbeMonitorSpec;
+import com.infernokun.infernoUptime.models.dto.ProbeResult;
+import com.infernokun.infernoUptime.models.entity.Monitor;
+import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+import com.infernokun.infernoUptime.repositories.MonitorRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Serves monitor assignments to remote probe agents and bulk-ingests the result batches they send back.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProbeAgentService {
+
+    private final MonitorRepository monitorRepository;
+    private final MonitorCheckService monitorCheckService;
+
+    private final ObjectMapper batchMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Value("${inferno.uptime.probe-agents.token:}")
+    private String agentToken;
+
+    @Value("${inferno.uptime.probe-agents.max-batch-size:5000}")
+    private int maxBatchSize;
+
+    public void authenticate(String token) {
+        if (agentToken == null || agentToken.isEmpty()) {
+            return;
+        }
+
+        byte[] expected = agentToken.getBytes(StandardCharsets.UTF_8);
+        byte[] actual = token != null ? token.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new TokenException("Invalid probe agent token");
+        }
+    }
+
+    public List<ProbeMonitorSpec> getAssignedMonitors(String agentId) {
+        return monitorRepository.findByProbeAgentAndIsActiveTrue(agentId).stream()
+                .map(ProbeMonitorSpec::from)
+                .toList();
+    }
+
+    /**
+     * Decodes a (optionally gzip-compressed) JSON batch of {@link ProbeResult}s and stores it in one pass.
+     * Results for monitors that are unknown or no longer assigned to the agent, and results without a timestamp,
+     * are dropped before anything is queued. Timestamps are converted from the agent's instants to the core's
+     * local time.
+     *
+     * @return the number of checks stored
+     */
+    public int ingestResults(String agentId, InputStream body, boolean gzip) throws IOException {
+        List<ProbeResult> batch = new ArrayList<>();
+        try (InputStream in = gzip ? new GZIPInputStream(body) : body;
+             JsonParser parser = batchMapper.createParser(in)) {
+            // Element by element, so an oversized batch is rejected before the rest of it is inflated
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Result batch must be a JSON array");
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (batch.size() == maxBatchSize) {
+                    throw new IllegalArgumentException("Batch exceeds limit of " + maxBatchSize + " results");
+                }
+                batch.add(parser.readValueAs(ProbeResult.class));
+            }
+        }
+
+        List<Long> monitorIds = batch.stream()
+                .map(ProbeResult::getMonitorId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        Map<Long, Monitor> monitors = monitorRepository.findAllById(monitorIds).stream()
+                .filter(monitor -> agentId.equals(monitor.getProbeAgent()))
+                .collect(Collectors.toMap(Monitor::getId, Function.identity()));
+
+        List<MonitorCheck> checks = new ArrayList<>(batch.size());
+        int untimed = 0;
+        for (ProbeResult probeResult : batch) {
+            Monitor monitor = monitors.get(probeResult.getMonitorId());
+            if (monitor == null || probeResult.getResult() == null) {
+                continue;
+            }
+            if (probeResult.getTimestamp() == null) {
+                untimed++;
+                continue;
+            }
+
+            MonitorCheck check = new MonitorCheck();
+            check.setMonitor(monitor);
+            check.setTimestamp(LocalDateTime.ofInstant(probeResult.getTimestamp(), ZoneId.systemDefault()));
+            probeResult.getResult().applyTo(check);
+            checks.add(check);
+        }
+
+        if (untimed > 0) {
+            log.warn("Dropped {} results from probe agent {} without a timestamp", untimed, agentId);
+        }
+        int dropped = batch.size() - checks.size() - untimed;
+        if (dropped > 0) {
+            log.warn("Dropped {} results from probe agent {} for unassigned or unknown monitors", dropped, agentId);
+        }
+
+        monitorCheckService.recordChecks(checks);
+        log.debug("Ingested {} results from probe agent {}", checks.size(), agentId);
+
+        return checks.size();
+    }
+}
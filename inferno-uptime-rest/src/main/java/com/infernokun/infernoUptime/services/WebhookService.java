@@ -7,6 +7,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Slf4j
@@ -20,16 +21,16 @@ public class WebhookService {
         // This would send to configured webhook URLs
         log.info("WEBHOOK ALERT: {}", message);
 
-        Map<String, Object> payload = Map.of(
-                "monitor_id", monitor.getId(),
-                "monitor_name", monitor.getName(),
-                "monitor_url", monitor.getUrl(),
-                "status", check.getIsUp() ? "UP" : "DOWN",
-                "response_time", check.getResponseTime(),
-                "status_code", check.getStatusCode(),
-                "message", message,
-                "timestamp", check.getTimestamp().toString()
-        );
+        // Not Map.of: PUSH monitors have no URL, and failed checks no response time or status code
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("monitor_id", monitor.getId());
+        payload.put("monitor_name", monitor.getName());
+        payload.put("monitor_url", monitor.getUrl());
+        payload.put("status", check.getIsUp() ? "UP" : "DOWN");
+        payload.put("response_time", check.getResponseTime());
+        payload.put("status_code", check.getStatusCode());
+        payload.put("message", message);
+        payload.put("timestamp", check.getTimestamp().toString());
 
         // Example webhook call (would be configurable)
         try {
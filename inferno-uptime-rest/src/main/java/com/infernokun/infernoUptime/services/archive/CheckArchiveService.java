@@ -0,0 +1,358 @@
+package com.infernokun.infernoUptime.services.archive;
+
+import com.infernokun.infernoUptime.config.db.DatabaseWorkload;
+import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Cold archive for aged check history.
+ * <p>
+ * Once a day is older than {@code archive.after-days}, every monitor's checks of that day are encoded into one
+ * compressed columnar segment ({@link CheckSegmentCodec}) at {@code <directory>/<monitorId>/<yyyy-MM-dd>.ics}
+ * and then deleted from {@code monitor_checks}. A segment is written to a temporary file, synced, and moved into
+ * place (syncing the directory too) before any row is deleted, and rows found again for an archived day (e.g. after a crash between the two
+ * steps) are merged into the existing segment, so no check is lost or duplicated. The newest archived day is
+ * recorded in {@code <directory>/archived-through}.
+ * <p>
+ * Segments are read whole into the heap, as decoding needs all of them. Segments older than {@code archive.retention-days} are deleted.
+ */
+@Slf4j
+@Service
+public class CheckArchiveService {
+
+    static final String SEGMENT_SUFFIX = ".ics";
+    private static final String WATERMARK_FILE = "archived-through";
+
+    private static final String SELECT_DAY_SQL = CheckRowMapper.COLUMNS + """
+            WHERE monitor_id = ? AND timestamp >= ? AND timestamp < ?
+            ORDER BY timestamp, id
+            """;
+
+    private static final Comparator<MonitorCheck> CHECK_ORDER =
+            Comparator.comparing(MonitorCheck::getTimestamp).thenComparing(MonitorCheck::getId);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CheckRowMapper checkMapper;
+    private final Counter rowsArchived;
+    private final Counter bytesWritten;
+
+    @Value("${inferno.uptime.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${inferno.uptime.archive.directory:./data/check-archive}")
+    private Path directory;
+
+    @Value("${inferno.uptime.archive.after-days:30}")
+    private int afterDays;
+
+    @Value("${inferno.uptime.archive.retention-days:365}")
+    private int retentionDays;
+
+    @Value("${inferno.uptime.cleanup.retention-days:90}")
+    private int liveRetentionDays;
+
+    private volatile Thread worker;
+    private volatile boolean stopRequested;
+
+    public CheckArchiveService(JdbcTemplate jdbcTemplate, CheckRowMapper checkMapper, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.checkMapper = checkMapper;
+        this.rowsArchived = Counter.builder("inferno.archive.rows")
+                .description("Checks moved from monitor_checks into archive segments")
+                .register(meterRegistry);
+        this.bytesWritten = Counter.builder("inferno.archive.bytes")
+                .description("Bytes of archive segments written")
+                .register(meterRegistry);
+    }
+
+    // ======================== Archiving ========================
+
+    @Scheduled(cron = "${inferno.uptime.archive.schedule:0 30 3 * * ?}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archiveAgedDays();
+        }
+    }
+
+    /**
+     * Archives, in the background, every day older than {@code after-days} that is not archived yet.
+     *
+     * @return false when an archive run is already in progress
+     */
+    public synchronized boolean archiveAgedDays() {
+        if (worker != null && worker.isAlive()) {
+            log.info("Check archive run already in progress");
+            return false;
+        }
+        stopRequested = false;
+        worker = new Thread(() -> DatabaseWorkload.ANALYTICS.run(this::run), "check-archiver");
+        worker.setDaemon(true);
+        worker.start();
+        return true;
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopRequested = true;
+    }
+
+    private void run() {
+        LocalDate lastDay = LocalDate.now().minusDays(afterDays + 1L);
+        LocalDate day = readWatermark()
+                .map(archived -> archived.plusDays(1))
+                .orElse(LocalDate.now().minusDays(liveRetentionDays + 1L));
+
+        try {
+            List<Long> monitorIds = jdbcTemplate.queryForList("SELECT id FROM monitors ORDER BY id", Long.class);
+            for (; !day.isAfter(lastDay) && !stopRequested; day = day.plusDays(1)) {
+                long rows = 0;
+                for (Long monitorId : monitorIds) {
+                    rows += archiveDay(monitorId, day);
+                }
+                writeWatermark(day);
+                if (rows > 0) {
+                    log.info("Archived {} checks of {}", rows, day);
+                }
+            }
+            deleteExpiredSegments(LocalDate.now().minusDays(retentionDays));
+        } catch (Exception e) {
+            log.error("Check archive run stopped at {}", day, e);
+        }
+    }
+
+    /**
+     * Moves one monitor's checks of one day into its segment.
+     */
+    long archiveDay(long monitorId, LocalDate day) throws IOException {
+        Timestamp from = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp to = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+
+        List<MonitorCheck> live = jdbcTemplate.query(SELECT_DAY_SQL, checkMapper, monitorId, from, to);
+        if (live.isEmpty()) {
+            return 0;
+        }
+
+        Path segment = segmentPath(monitorId, day);
+        List<MonitorCheck> checks = merge(readSegment(segment), live);
+
+        byte[] encoded = CheckSegmentCodec.encode(monitorId, checks);
+        Files.createDirectories(segment.getParent());
+        // The rows are deleted next, so the segment must be on disk, not just in the page cache
+        writeDurably(segment, encoded);
+        bytesWritten.increment(encoded.length);
+
+        Object[] ids = live.stream().map(MonitorCheck::getId).toArray();
+        jdbcTemplate.update("DELETE FROM monitor_checks WHERE monitor_id = ? AND timestamp >= ? AND timestamp < ? "
+                + "AND id = ANY(?)", monitorId, from, to, new SqlArrayValue("bigint", ids));
+        rowsArchived.increment(live.size());
+        return live.size();
+    }
+
+    /**
+     * Replaces {@code target} atomically with {@code content} and syncs the file and its directory, so the new
+     * content survives a crash once this returns.
+     */
+    private static void writeDurably(Path target, byte[] content) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        try (FileChannel directory = FileChannel.open(target.getParent(), StandardOpenOption.READ)) {
+            directory.force(true);
+        }
+    }
+
+    private void deleteExpiredSegments(LocalDate before) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        int deleted = 0;
+        try (DirectoryStream<Path> monitors = Files.newDirectoryStream(directory, Files::isDirectory)) {
+            for (Path monitorDirectory : monitors) {
+                for (Map.Entry<LocalDate, Path> segment : listSegments(monitorDirectory).entrySet()) {
+                    if (segment.getKey().isBefore(before)) {
+                        Files.deleteIfExists(segment.getValue());
+                        deleted++;
+                    }
+                }
+            }
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} check archive segments older than {}", deleted, before);
+        }
+    }
+
+    // ======================== Reading ========================
+
+    /**
+     * Archived checks of a monitor within {@code [from, to)}, oldest first, at most {@code limit}.
+     */
+    public List<MonitorCheck> findBetween(long monitorId, LocalDateTime from, LocalDateTime to, int limit) {
+        List<MonitorCheck> result = new ArrayList<>();
+        forEachBetween(monitorId, from, to, check -> {
+            result.add(check);
+            return result.size() < limit;
+        });
+        return result;
+    }
+
+    /**
+     * Feeds the archived checks of a monitor within {@code [from, to)} to {@code consumer}, oldest first, one
+     * segment in memory at a time, until the consumer returns false.
+     *
+     * @return the last check passed to the consumer, or null
+     */
+    public MonitorCheck forEachBetween(long monitorId, LocalDateTime from, LocalDateTime to,
+                                       Predicate<MonitorCheck> consumer) {
+        MonitorCheck last = null;
+        for (Map.Entry<LocalDate, Path> segment : listSegments(monitorDirectory(monitorId)).entrySet()) {
+            LocalDate day = segment.getKey();
+            if (day.plusDays(1).atStartOfDay().isBefore(from) || !day.atStartOfDay().isBefore(to)) {
+                continue;
+            }
+            for (MonitorCheck check : readSegment(segment.getValue())) {
+                if (!check.getTimestamp().isBefore(from) && check.getTimestamp().isBefore(to)) {
+                    last = check;
+                    if (!consumer.test(check)) {
+                        return last;
+                    }
+                }
+            }
+        }
+        return last;
+    }
+
+    /**
+     * The newest archived checks of a monitor strictly before {@code before} (or overall when null), newest
+     * first, at most {@code limit}.
+     */
+    public List<MonitorCheck> findLatestBefore(long monitorId, CheckCursor before, int limit) {
+        List<MonitorCheck> result = new ArrayList<>();
+        for (Map.Entry<LocalDate, Path> segment : listSegments(monitorDirectory(monitorId)).descendingMap().entrySet()) {
+            if (before != null && segment.getKey().isAfter(before.timestamp().toLocalDate())) {
+                continue;
+            }
+            List<MonitorCheck> checks = readSegment(segment.getValue());
+            for (int i = checks.size() - 1; i >= 0; i--) {
+                MonitorCheck check = checks.get(i);
+                if (before == null || before.isAfter(check)) {
+                    result.add(check);
+                    if (result.size() >= limit) {
+                        return result;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private List<MonitorCheck> readSegment(Path segment) {
+        // Segments are decoded in full right away, so mapping them would only add page faults and munmap costs
+        try {
+            return CheckSegmentCodec.decode(ByteBuffer.wrap(Files.readAllBytes(segment)));
+        } catch (NoSuchFileException e) {
+            return List.of();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read check archive segment " + segment, e);
+        }
+    }
+
+    private TreeMap<LocalDate, Path> listSegments(Path monitorDirectory) {
+        TreeMap<LocalDate, Path> segments = new TreeMap<>();
+        if (!Files.isDirectory(monitorDirectory)) {
+            return segments;
+        }
+        try (Stream<Path> files = Files.list(monitorDirectory)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.endsWith(SEGMENT_SUFFIX)) {
+                    try {
+                        segments.put(LocalDate.parse(name.substring(0, name.length() - SEGMENT_SUFFIX.length())), file);
+                    } catch (DateTimeParseException ignored) {
+                        // not a segment
+                    }
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list check archive " + monitorDirectory, e);
+        }
+        return segments;
+    }
+
+    // ======================== Helpers ========================
+
+    private static List<MonitorCheck> merge(List<MonitorCheck> archived, List<MonitorCheck> live) {
+        if (archived.isEmpty()) {
+            return live;
+        }
+        Map<Long, MonitorCheck> byId = new TreeMap<>();
+        archived.forEach(check -> byId.put(check.getId(), check));
+        live.forEach(check -> byId.put(check.getId(), check));
+        List<MonitorCheck> merged = new ArrayList<>(byId.values());
+        merged.sort(CHECK_ORDER);
+        return merged;
+    }
+
+    private Path monitorDirectory(long monitorId) {
+        return directory.resolve(Long.toString(monitorId));
+    }
+
+    private Path segmentPath(long monitorId, LocalDate day) {
+        return monitorDirectory(monitorId).resolve(day + SEGMENT_SUFFIX);
+    }
+
+    private Optional<LocalDate> readWatermark() {
+        Path file = directory.resolve(WATERMARK_FILE);
+        try {
+            return Optional.of(LocalDate.parse(Files.readString(file).trim()));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException | DateTimeParseException e) {
+            log.warn("Ignoring unreadable archive watermark {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void writeWatermark(LocalDate day) throws IOException {
+        Files.createDirectories(directory);
+        writeDurably(directory.resolve(WATERMARK_FILE), day.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,51 @@
+package com.infernokun.infernoUptime.services.archive;
+
+import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Position in a monitor's check history, ordered by {@code (timestamp, id)}. Clients only see it as an opaque
+ * URL-safe token.
+ */
+public record CheckCursor(LocalDateTime timestamp, long id) {
+
+    private static final String VERSION = "c1";
+    private static final LocalDateTime EPOCH = LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC);
+
+    public static CheckCursor of(MonitorCheck check) {
+        return new CheckCursor(check.getTimestamp(), check.getId());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static CheckCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII).split(":");
+            if (parts.length != 3 || !parts[0].equals(VERSION)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new CheckCursor(EPOCH.plus(Long.parseLong(parts[1]), ChronoUnit.MICROS), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = VERSION + ":" + ChronoUnit.MICROS.between(EPOCH, timestamp) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Whether {@code check} comes strictly before this position.
+     */
+    public boolean isAfter(MonitorCheck check) {
+        int byTime = check.getTimestamp().compareTo(timestamp);
+        return byTime < 0 || (byTime == 0 && check.getId() < id);
+    }
+}
@@ -0,0 +1,183 @@
+package com.infernokun.infernoUptime.services.archive;
+
+import com.infernokun.infernoUptime.config.db.DatabaseWorkload;
+import com.infernokun.infernoUptime.models.dto.CursorPage;
+import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Check history of a monitor across {@code monitor_checks} and the cold archive, so callers do not need to know
+ * where a day of checks currently lives.
+ * <p>
+ * Pages seek on {@code (timestamp, id)} instead of using OFFSET, so every page costs the same however deep the
+ * client has walked. Streams read the live table through a forward-only cursor that fetches
+ * {@code history.stream-fetch-size} rows at a time, so memory stays flat for any range.
+ */
+@Service
+public class CheckHistoryService {
+
+    private static final String LATEST_SQL = CheckRowMapper.COLUMNS + """
+            WHERE monitor_id = ?
+            ORDER BY timestamp DESC, id DESC
+            LIMIT ?
+            """;
+
+    private static final String LATEST_BEFORE_SQL = CheckRowMapper.COLUMNS + """
+            WHERE monitor_id = ? AND timestamp <= ? AND (timestamp, id) < (?, ?)
+            ORDER BY timestamp DESC, id DESC
+            LIMIT ?
+            """;
+
+    private static final String RANGE_SQL = CheckRowMapper.COLUMNS + """
+            WHERE monitor_id = ? AND timestamp >= ? AND timestamp < ? AND (timestamp, id) > (?, ?)
+            ORDER BY timestamp, id
+            """;
+
+    private final CheckArchiveService checkArchiveService;
+    private final CheckRowMapper checkMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate streamTransaction;
+
+    @Value("${inferno.uptime.history.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Value("${inferno.uptime.history.stream-fetch-size:1000}")
+    private int streamFetchSize;
+
+    @Value("${inferno.uptime.history.stream-max-duration:5m}")
+    private Duration streamMaxDuration;
+
+    public CheckHistoryService(CheckArchiveService checkArchiveService,
+                               CheckRowMapper checkMapper,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager) {
+        this.checkArchiveService = checkArchiveService;
+        this.checkMapper = checkMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        // PostgreSQL only honours the fetch size inside a transaction
+        this.streamTransaction = new TransactionTemplate(transactionManager);
+        this.streamTransaction.setReadOnly(true);
+    }
+
+    // ======================== Pages ========================
+
+    /**
+     * The newest {@code limit} checks, newest first, continuing into the archive when the live table holds fewer.
+     */
+    public List<MonitorCheck> findRecent(long monitorId, int limit) {
+        return findBefore(monitorId, null, limit);
+    }
+
+    /**
+     * One page of history, newest first, starting after {@code cursor} (an opaque token from a previous page) or
+     * at the newest check when it is null.
+     */
+    public CursorPage<MonitorCheck> findPage(long monitorId, String cursor, int limit) {
+        int size = Math.clamp(limit, 1, maxPageSize);
+        List<MonitorCheck> checks = findBefore(monitorId, cursor != null ? CheckCursor.decode(cursor) : null, size + 1);
+
+        boolean hasNext = checks.size() > size;
+        List<MonitorCheck> content = hasNext ? checks.subList(0, size) : checks;
+        return CursorPage.<MonitorCheck>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? CheckCursor.of(content.get(size - 1)).encode() : null)
+                .build();
+    }
+
+    private List<MonitorCheck> findBefore(long monitorId, CheckCursor before, int limit) {
+        List<MonitorCheck> live = before == null
+                ? jdbcTemplate.query(LATEST_SQL, checkMapper, monitorId, limit)
+                : jdbcTemplate.query(LATEST_BEFORE_SQL, checkMapper, monitorId,
+                        Timestamp.valueOf(before.timestamp()), Timestamp.valueOf(before.timestamp()), before.id(), limit);
+        if (live.size() >= limit) {
+            return live;
+        }
+
+        CheckCursor oldest = live.isEmpty() ? before : CheckCursor.of(live.get(live.size() - 1));
+        List<MonitorCheck> checks = new ArrayList<>(live);
+        checks.addAll(checkArchiveService.findLatestBefore(monitorId, oldest, limit - live.size()));
+        return checks;
+    }
+
+    // ======================== Ranges ========================
+
+    /**
+     * Up to {@code limit} checks within {@code [from, to)}, oldest first.
+     */
+    public List<MonitorCheck> findBetween(long monitorId, LocalDateTime from, LocalDateTime to, int limit) {
+        List<MonitorCheck> archived = checkArchiveService.findBetween(monitorId, from, to, limit);
+        List<MonitorCheck> live = jdbcTemplate.query(RANGE_SQL + " LIMIT ?", checkMapper,
+                monitorId, Timestamp.valueOf(from), Timestamp.valueOf(to), Timestamp.valueOf(from), 0L, limit);
+
+        // A day being archived can briefly be in both places
+        Map<Long, MonitorCheck> byId = new LinkedHashMap<>();
+        archived.forEach(check -> byId.put(check.getId(), check));
+        live.forEach(check -> byId.putIfAbsent(check.getId(), check));
+
+        return byId.values().stream()
+                .sorted(Comparator.comparing(MonitorCheck::getTimestamp).thenComparing(MonitorCheck::getId))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Feeds every check within {@code [from, to)} to {@code consumer}, oldest first: archived days first, then
+     * the live table through a server-side cursor. Runs on the small {@link DatabaseWorkload#STREAM} pool, as
+     * the connection is held for as long as the consumer takes, and fails with a {@link QueryTimeoutException}
+     * once the stream has been open for {@code history.stream-max-duration}.
+     */
+    public void stream(long monitorId, LocalDateTime from, LocalDateTime to, Consumer<MonitorCheck> consumer) {
+        long deadline = System.nanoTime() + streamMaxDuration.toNanos();
+        Consumer<MonitorCheck> bounded = check -> {
+            if (System.nanoTime() - deadline > 0) {
+                throw new QueryTimeoutException("Check stream exceeded " + streamMaxDuration);
+            }
+            consumer.accept(check);
+        };
+        DatabaseWorkload.STREAM.run(() -> streamRange(monitorId, from, to, bounded));
+    }
+
+    private void streamRange(long monitorId, LocalDateTime from, LocalDateTime to, Consumer<MonitorCheck> consumer) {
+        MonitorCheck lastArchived = checkArchiveService.forEachBetween(monitorId, from, to, check -> {
+            consumer.accept(check);
+            return true;
+        });
+        // Continue strictly after the archived checks, skipping rows of a day that is being archived right now
+        CheckCursor after = lastArchived != null
+                ? CheckCursor.of(lastArchived)
+                : new CheckCursor(from, Long.MIN_VALUE);
+
+        RowCallbackHandler handler = rs -> consumer.accept(checkMapper.mapRow(rs, 0));
+        streamTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(RANGE_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(streamFetchSize);
+            ps.setLong(1, monitorId);
+            ps.setTimestamp(2, Timestamp.valueOf(from));
+            ps.setTimestamp(3, Timestamp.valueOf(to));
+            ps.setTimestamp(4, Timestamp.valueOf(after.timestamp()));
+            ps.setLong(5, after.id());
+            return ps;
+        }, handler));
+    }
+}
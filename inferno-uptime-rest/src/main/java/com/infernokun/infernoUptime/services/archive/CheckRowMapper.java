@@ -0,0 +1,49 @@
+package com.infernokun.infernoUptime.services.archive;
+
+import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Maps {@link #COLUMNS} of {@code monitor_checks} to checks. Message texts are looked up in {@code check_messages}
+ * by the same statement, so mapping a row never needs a second connection while the result set holds one. Rows
+ * the message backfill has not reached yet still carry their texts in the old {@code message} and
+ * {@code error_details} columns.
+ */
+@Component
+class CheckRowMapper implements RowMapper<MonitorCheck> {
+
+    static final String COLUMNS = """
+            SELECT id, timestamp, response_time, status_code, is_up, ssl_expiry, redirect_count, final_url,
+                   redirect_latencies, content_length, protocol,
+                   COALESCE((SELECT text FROM check_messages WHERE check_messages.id = monitor_checks.message_id),
+                            message) AS message,
+                   COALESCE((SELECT text FROM check_messages WHERE check_messages.id = monitor_checks.error_details_id),
+                            error_details) AS error_details
+            FROM monitor_checks
+            """;
+
+    @Override
+    public MonitorCheck mapRow(ResultSet rs, int rowNum) throws SQLException {
+        MonitorCheck check = new MonitorCheck();
+        check.setId(rs.getLong("id"));
+        check.setTimestamp(rs.getTimestamp("timestamp").toLocalDateTime());
+        check.setResponseTime(rs.getObject("response_time", Long.class));
+        check.setStatusCode(rs.getObject("status_code", Integer.class));
+        check.setIsUp(rs.getObject("is_up", Boolean.class));
+        check.setMessage(rs.getString("message"));
+        check.setErrorDetails(rs.getString("error_details"));
+        Timestamp sslExpiry = rs.getTimestamp("ssl_expiry");
+        check.setSslExpiry(sslExpiry != null ? sslExpiry.toLocalDateTime() : null);
+        check.setRedirectCount(rs.getObject("redirect_count", Integer.class));
+        check.setFinalUrl(rs.getString("final_url"));
+        check.setRedirectLatencies(rs.getString("redirect_latencies"));
+        check.setContentLength(rs.getObject("content_length", Long.class));
+        check.setProtocol(rs.getString("protocol"));
+        return check;
+    }
+}
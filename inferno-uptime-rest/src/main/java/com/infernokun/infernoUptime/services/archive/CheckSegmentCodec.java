@@ -0,0 +1,293 @@
+package com.infernokun.infernoUptime.services.archive;
+
+import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Columnar encoding of one monitor's checks for one day.
+ * <p>
+ * Layout: a fixed header (magic, version, monitor id, row count, body length) followed by the deflated body.
+ * The body stores each column contiguously: ids and timestamps (epoch microseconds) as a first value plus
+ * zig-zag varint deltas, {@code isUp} as two bitmaps (value, null), numeric columns as nullable zig-zag
+ * varints, and all text columns as varint indexes into one dictionary written ahead of them. Rows are sorted by
+ * timestamp and id.
+ */
+final class CheckSegmentCodec {
+
+    static final int MAGIC = 0x49435331; // "ICS1"
+    static final byte VERSION = 1;
+    static final int HEADER_BYTES = 4 + 1 + 8 + 4 + 4;
+
+    private CheckSegmentCodec() {
+    }
+
+    // ======================== Encoding ========================
+
+    static byte[] encode(long monitorId, List<MonitorCheck> checks) {
+        List<Function<MonitorCheck, String>> textColumns = List.of(
+                MonitorCheck::getMessage, MonitorCheck::getErrorDetails, MonitorCheck::getFinalUrl,
+                MonitorCheck::getRedirectLatencies, MonitorCheck::getProtocol);
+
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (MonitorCheck check : checks) {
+            for (Function<MonitorCheck, String> column : textColumns) {
+                String value = column.apply(check);
+                if (value != null) {
+                    dictionary.putIfAbsent(value, dictionary.size());
+                }
+            }
+        }
+
+        Output body = new Output(checks.size() * 16);
+
+        long previous = 0;
+        for (MonitorCheck check : checks) {
+            body.signed(check.getId() - previous);
+            previous = check.getId();
+        }
+        previous = 0;
+        for (MonitorCheck check : checks) {
+            long micros = toMicros(check.getTimestamp());
+            body.signed(micros - previous);
+            previous = micros;
+        }
+
+        byte[] up = new byte[(checks.size() + 7) / 8];
+        byte[] upNull = new byte[up.length];
+        for (int i = 0; i < checks.size(); i++) {
+            Boolean isUp = checks.get(i).getIsUp();
+            if (isUp == null) {
+                upNull[i >> 3] |= (byte) (1 << (i & 7));
+            } else if (isUp) {
+                up[i >> 3] |= (byte) (1 << (i & 7));
+            }
+        }
+        body.bytes(up);
+        body.bytes(upNull);
+
+        checks.forEach(check -> body.nullable(check.getResponseTime()));
+        checks.forEach(check -> body.nullable(check.getStatusCode()));
+        checks.forEach(check -> body.nullable(check.getRedirectCount()));
+        checks.forEach(check -> body.nullable(check.getContentLength()));
+        checks.forEach(check -> body.nullable(check.getSslExpiry() != null ? toMicros(check.getSslExpiry()) : null));
+
+        body.unsigned(dictionary.size());
+        for (String value : dictionary.keySet()) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            body.unsigned(utf8.length);
+            body.bytes(utf8);
+        }
+        for (Function<MonitorCheck, String> column : textColumns) {
+            for (MonitorCheck check : checks) {
+                String value = column.apply(check);
+                body.unsigned(value == null ? 0 : dictionary.get(value) + 1);
+            }
+        }
+
+        byte[] raw = body.toByteArray();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        ByteArrayOutputStream file = new ByteArrayOutputStream(raw.length / 4 + HEADER_BYTES);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC).put(VERSION).putLong(monitorId).putInt(checks.size()).putInt(raw.length);
+            file.write(header.array(), 0, HEADER_BYTES);
+
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                file.write(chunk, 0, deflater.deflate(chunk));
+            }
+        } finally {
+            deflater.end();
+        }
+        return file.toByteArray();
+    }
+
+    // ======================== Decoding ========================
+
+    static List<MonitorCheck> decode(ByteBuffer segment) {
+        ByteBuffer buffer = segment.duplicate();
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a check segment");
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported check segment version " + version);
+        }
+        buffer.getLong(); // monitor id, implied by the file location
+        int rows = buffer.getInt();
+        byte[] raw = new byte[buffer.getInt()];
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer);
+            int read = 0;
+            while (read < raw.length && !inflater.finished()) {
+                read += inflater.inflate(raw, read, raw.length - read);
+                if (inflater.needsInput()) {
+                    break;
+                }
+            }
+            if (read != raw.length) {
+                throw new IllegalArgumentException("Truncated check segment");
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt check segment", e);
+        } finally {
+            inflater.end();
+        }
+
+        Input body = new Input(raw);
+        List<MonitorCheck> checks = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            checks.add(new MonitorCheck());
+        }
+
+        long previous = 0;
+        for (MonitorCheck check : checks) {
+            previous += body.signed();
+            check.setId(previous);
+        }
+        previous = 0;
+        for (MonitorCheck check : checks) {
+            previous += body.signed();
+            check.setTimestamp(fromMicros(previous));
+        }
+
+        byte[] up = body.bytes((rows + 7) / 8);
+        byte[] upNull = body.bytes((rows + 7) / 8);
+        for (int i = 0; i < rows; i++) {
+            boolean isNull = (upNull[i >> 3] & (1 << (i & 7))) != 0;
+            checks.get(i).setIsUp(isNull ? null : (up[i >> 3] & (1 << (i & 7))) != 0);
+        }
+
+        checks.forEach(check -> check.setResponseTime(body.nullable()));
+        checks.forEach(check -> check.setStatusCode(toInteger(body.nullable())));
+        checks.forEach(check -> check.setRedirectCount(toInteger(body.nullable())));
+        checks.forEach(check -> check.setContentLength(body.nullable()));
+        checks.forEach(check -> {
+            Long sslExpiry = body.nullable();
+            check.setSslExpiry(sslExpiry != null ? fromMicros(sslExpiry) : null);
+        });
+
+        String[] dictionary = new String[(int) body.unsigned()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = new String(body.bytes((int) body.unsigned()), StandardCharsets.UTF_8);
+        }
+        checks.forEach(check -> check.setMessage(lookup(dictionary, body.unsigned())));
+        checks.forEach(check -> check.setErrorDetails(lookup(dictionary, body.unsigned())));
+        checks.forEach(check -> check.setFinalUrl(lookup(dictionary, body.unsigned())));
+        checks.forEach(check -> check.setRedirectLatencies(lookup(dictionary, body.unsigned())));
+        checks.forEach(check -> check.setProtocol(lookup(dictionary, body.unsigned())));
+
+        return checks;
+    }
+
+    private static String lookup(String[] dictionary, long index) {
+        return index == 0 ? null : dictionary[(int) index - 1];
+    }
+
+    private static Integer toInteger(Long value) {
+        return value != null ? Math.toIntExact(value) : null;
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), time);
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC).plus(micros, ChronoUnit.MICROS);
+    }
+
+    // ======================== Varints ========================
+
+    private static final class Output extends ByteArrayOutputStream {
+
+        Output(int size) {
+            super(size);
+        }
+
+        void unsigned(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void signed(long value) {
+            unsigned((value << 1) ^ (value >> 63));
+        }
+
+        /** 0 for null, otherwise the zig-zag value plus one. */
+        void nullable(Number value) {
+            if (value == null) {
+                unsigned(0);
+            } else {
+                long v = value.longValue();
+                unsigned(((v << 1) ^ (v >> 63)) + 1);
+            }
+        }
+
+        void bytes(byte[] bytes) {
+            write(bytes, 0, bytes.length);
+        }
+    }
+
+    private static final class Input {
+        private final byte[] data;
+        private int position;
+
+        Input(byte[] data) {
+            this.data = data;
+        }
+
+        long unsigned() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        long signed() {
+            long zigzag = unsigned();
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        Long nullable() {
+            long encoded = unsigned();
+            if (encoded == 0) {
+                return null;
+            }
+            long zigzag = encoded - 1;
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        byte[] bytes(int length) {
+            byte[] bytes = new byte[length];
+            System.arraycopy(data, position, bytes, 0, length);
+            position += length;
+            return bytes;
+        }
+    }
+}
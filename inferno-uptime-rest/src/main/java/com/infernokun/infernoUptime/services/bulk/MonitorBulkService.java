@@ -0,0 +1,378 @@
+package com.infernokun.infernoUptime.services.bulk;
+
+import com.infernokun.infernoUptime.models.dto.BulkAction;
+import com.infernokun.infernoUptime.models.dto.BulkActionRequest;
+import com.infernokun.infernoUptime.models.dto.BulkMonitorRequest;
+import com.infernokun.infernoUptime.models.dto.BulkOperationResult;
+import com.infernokun.infernoUptime.models.dto.MonitorCreateRequest;
+import com.infernokun.infernoUptime.models.dto.MonitorResponse;
+import com.infernokun.infernoUptime.models.entity.Monitor;
+import com.infernokun.infernoUptime.repositories.MonitorRepository;
+import com.infernokun.infernoUptime.services.CacheService;
+import com.infernokun.infernoUptime.services.HeartbeatService;
+import com.infernokun.infernoUptime.services.MonitorMapperService;
+import com.infernokun.infernoUptime.services.MonitorSchedulerService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Set-based bulk changes to {@code monitors}.
+ * <p>
+ * Bulk creation validates and normalizes the requests in parallel, finds existing active monitors with the same
+ * URL in one query and inserts the rest with JDBC batches of {@code chunk-size} rows, each chunk in its own
+ * transaction with ids pre-allocated from the table sequence. The active monitor cache and the heartbeat table are
+ * refreshed once at the end, and a progress result is reported after every chunk.
+ * <p>
+ * Bulk actions run as one {@code UPDATE ... WHERE id = ANY(?)} per chunk of ids, evicting the chunk from the cache
+ * with one call after it commits; the active monitor list and heartbeat table are invalidated once per request.
+ * {@link BulkAction#RUN_CHECK} hands the monitors to the scheduler, which runs them with bounded concurrency.
+ */
+@Slf4j
+@Service
+public class MonitorBulkService {
+
+    private static final String EXISTING_URLS_SQL = """
+            SELECT DISTINCT m.url
+            FROM monitors m
+            JOIN unnest(?) AS u(url) ON u.url = m.url
+            WHERE m.is_active AND m.type <> 'PUSH'
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO monitors (id, name, url, type, check_interval, is_active, created_at, updated_at,
+                                  current_status, expected_status_codes, timeout_seconds, max_redirects, http_version,
+                                  probe_agent, push_token, description, custom_headers, keyword_check, check_storage)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final Pattern STATUS_CODES = Pattern.compile("\\d{3}(,\\d{3})*");
+
+    /**
+     * A request after the parallel stage: either a monitor ready to insert or the reason it was rejected.
+     */
+    private record Candidate(Monitor monitor, String error) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MonitorRepository monitorRepository;
+    private final MonitorMapperService monitorMapper;
+    private final CacheService cacheService;
+    private final HeartbeatService heartbeatService;
+    private final Validator validator;
+    private final MonitorSchedulerService monitorSchedulerService;
+
+    @Value("${inferno.uptime.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    public MonitorBulkService(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              MonitorRepository monitorRepository,
+                              MonitorMapperService monitorMapper,
+                              CacheService cacheService,
+                              HeartbeatService heartbeatService,
+                              Validator validator,
+                              MonitorSchedulerService monitorSchedulerService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.monitorRepository = monitorRepository;
+        this.monitorMapper = monitorMapper;
+        this.cacheService = cacheService;
+        this.heartbeatService = heartbeatService;
+        this.validator = validator;
+        this.monitorSchedulerService = monitorSchedulerService;
+    }
+
+    // ======================== Bulk Creation ========================
+
+    /**
+     * Creates the monitors of the request. Chunks are committed one by one, so a failed chunk only fails its own
+     * monitors.
+     *
+     * @param progress receives the running counts after every chunk (without created monitors or completion time)
+     */
+    public BulkOperationResult createMonitors(BulkMonitorRequest request, Consumer<BulkOperationResult> progress) {
+        List<MonitorCreateRequest> requests = request.getMonitors();
+        boolean skipDuplicates = !Boolean.FALSE.equals(request.getSkipDuplicates());
+        boolean validateUrls = !Boolean.FALSE.equals(request.getValidateUrls());
+        long start = System.nanoTime();
+
+        List<Candidate> candidates = requests.parallelStream()
+                .map(monitorRequest -> prepare(monitorRequest, validateUrls))
+                .toList();
+
+        List<String> errors = new ArrayList<>();
+        List<Monitor> pending = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            if (candidate.error() != null) {
+                errors.add(candidate.error());
+            } else {
+                pending.add(candidate.monitor());
+            }
+        }
+        int failed = errors.size();
+
+        int skipped = 0;
+        if (skipDuplicates && !pending.isEmpty()) {
+            Set<String> seen = existingActiveUrls(pending);
+            List<Monitor> unique = new ArrayList<>(pending.size());
+            for (Monitor monitor : pending) {
+                // Inactive and PUSH monitors never block a URL, neither existing ones nor those in the request
+                if (Boolean.TRUE.equals(monitor.getIsActive()) && monitor.getType() != Monitor.MonitorType.PUSH
+                        && !seen.add(monitor.getUrl())) {
+                    skipped++;
+                } else {
+                    unique.add(monitor);
+                }
+            }
+            pending = unique;
+        }
+
+        List<Monitor> created = new ArrayList<>(pending.size());
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            List<Monitor> chunk = pending.subList(from, Math.min(pending.size(), from + chunkSize));
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(chunk));
+                created.addAll(chunk);
+            } catch (Exception e) {
+                chunk.forEach(monitor -> monitor.setId(null));
+                failed += chunk.size();
+                errors.add("Failed to create " + chunk.size() + " monitors starting with '"
+                        + chunk.get(0).getName() + "': " + e.getMessage());
+                log.warn("Bulk insert of {} monitors failed: {}", chunk.size(), e.getMessage());
+            }
+
+            progress.accept(BulkOperationResult.builder()
+                    .totalRequested(requests.size())
+                    .successful(created.size())
+                    .failed(failed)
+                    .skipped(skipped)
+                    .errors(List.copyOf(errors))
+                    .build());
+        }
+
+        if (!created.isEmpty()) {
+            refreshActiveMonitors(created);
+        }
+
+        log.info("Bulk created {} of {} monitors ({} skipped, {} failed) in {}ms",
+                created.size(), requests.size(), skipped, failed, (System.nanoTime() - start) / 1_000_000);
+
+        List<MonitorResponse> responses = created.stream().map(monitorMapper::toResponse).toList();
+        return monitorMapper.createBulkResult(requests.size(), created.size(), failed, skipped, errors, responses);
+    }
+
+    private Candidate prepare(MonitorCreateRequest request, boolean validateUrls) {
+        Set<ConstraintViolation<MonitorCreateRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String reasons = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            return new Candidate(null, "Invalid monitor '" + request.getName() + "': " + reasons);
+        }
+
+        // Only PUSH monitors get here without a URL
+        if (validateUrls && request.getUrl() != null && !monitorMapper.isValidUrl(request.getUrl())) {
+            return new Candidate(null, "Invalid URL: " + request.getUrl());
+        }
+
+        try {
+            Monitor monitor = monitorMapper.toEntity(request);
+            heartbeatService.assignToken(monitor);
+            return new Candidate(monitor, null);
+        } catch (Exception e) {
+            return new Candidate(null, "Failed to create monitor '" + request.getName() + "': " + e.getMessage());
+        }
+    }
+
+    private Set<String> existingActiveUrls(List<Monitor> monitors) {
+        String[] urls = monitors.stream()
+                .filter(monitor -> monitor.getType() != Monitor.MonitorType.PUSH)
+                .map(Monitor::getUrl)
+                .distinct()
+                .toArray(String[]::new);
+        return new HashSet<>(jdbcTemplate.queryForList(EXISTING_URLS_SQL, String.class, new SqlArrayValue("text", (Object[]) urls)));
+    }
+
+    private void insert(List<Monitor> chunk) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT nextval(pg_get_serial_sequence('monitors', 'id')) FROM generate_series(1, ?)",
+                Long.class, chunk.size());
+        LocalDateTime now = LocalDateTime.now();
+        IntStream.range(0, chunk.size()).forEach(i -> {
+            Monitor monitor = chunk.get(i);
+            monitor.setId(ids.get(i));
+            monitor.setCreatedAt(now);
+            monitor.setUpdatedAt(now);
+        });
+
+        Timestamp nowTs = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(INSERT_SQL, chunk, chunk.size(), (PreparedStatement ps, Monitor monitor) -> {
+            ps.setLong(1, monitor.getId());
+            ps.setString(2, monitor.getName());
+            ps.setString(3, monitor.getUrl());
+            ps.setString(4, monitor.getType().name());
+            ps.setObject(5, monitor.getCheckInterval(), Types.INTEGER);
+            ps.setObject(6, monitor.getIsActive(), Types.BOOLEAN);
+            ps.setTimestamp(7, nowTs);
+            ps.setTimestamp(8, nowTs);
+            ps.setString(9, monitor.getCurrentStatus().name());
+            ps.setString(10, monitor.getExpectedStatusCodes());
+            ps.setObject(11, monitor.getTimeoutSeconds(), Types.INTEGER);
+            ps.setObject(12, monitor.getMaxRedirects(), Types.INTEGER);
+            ps.setString(13, monitor.getHttpVersion() != null ? monitor.getHttpVersion().name() : null);
+            ps.setString(14, monitor.getProbeAgent());
+            ps.setString(15, monitor.getPushToken());
+            ps.setString(16, monitor.getDescription());
+            ps.setString(17, monitor.getCustomHeaders());
+            ps.setString(18, monitor.getKeywordCheck());
+            ps.setString(19, monitor.getCheckStorage().name());
+        });
+    }
+
+    // ======================== Bulk Actions ========================
+
+    /**
+     * Applies the action to every monitor of the request. Ids that do not exist count as failed; for
+     * {@link BulkAction#RUN_CHECK}, inactive, PUSH and agent-assigned monitors are skipped.
+     *
+     * @throws IllegalArgumentException if the parameter the action needs is missing or invalid
+     */
+    public BulkOperationResult applyAction(BulkActionRequest request) {
+        List<Long> ids = request.getMonitorIds().stream().filter(Objects::nonNull).distinct().toList();
+        long start = System.nanoTime();
+
+        String sql;
+        Object value;
+        switch (request.getAction()) {
+            case ACTIVATE, DEACTIVATE, DELETE -> {
+                // Deleting a monitor deactivates it, like MonitorService.deleteMonitor; its history is kept
+                sql = "UPDATE monitors SET is_active = ?, updated_at = ? WHERE id = ANY(?) RETURNING id";
+                value = request.getAction() == BulkAction.ACTIVATE;
+            }
+            case UPDATE_INTERVAL -> {
+                Integer interval = request.getNewCheckInterval();
+                if (interval == null || interval < 10 || interval > 3600) {
+                    throw new IllegalArgumentException("newCheckInterval must be between 10 and 3600 seconds");
+                }
+                sql = "UPDATE monitors SET check_interval = ?, updated_at = ? WHERE id = ANY(?) RETURNING id";
+                value = interval;
+            }
+            case UPDATE_STATUS_CODES -> {
+                String codes = request.getNewExpectedStatusCodes() != null
+                        ? request.getNewExpectedStatusCodes().replaceAll("\\s", "") : "";
+                if (!STATUS_CODES.matcher(codes).matches()) {
+                    throw new IllegalArgumentException("newExpectedStatusCodes must be a comma-separated list of status codes");
+                }
+                sql = "UPDATE monitors SET expected_status_codes = ?, updated_at = ? WHERE id = ANY(?) RETURNING id";
+                value = codes;
+            }
+            case RUN_CHECK -> {
+                return runChecks(ids, request.getMonitorIds().size(), start);
+            }
+            default -> throw new IllegalArgumentException("Unsupported bulk action: " + request.getAction());
+        }
+
+        List<String> errors = new ArrayList<>();
+        int successful = 0;
+        int failed = 0;
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + chunkSize));
+            try {
+                List<Long> updated = transactionTemplate.execute(status -> jdbcTemplate.queryForList(sql, Long.class,
+                        value, Timestamp.valueOf(LocalDateTime.now()), new SqlArrayValue("bigint", chunk.toArray())));
+                cacheService.evictMonitors(updated);
+                successful += updated.size();
+                failed += reportMissing(chunk, updated, errors);
+            } catch (Exception e) {
+                failed += chunk.size();
+                errors.add("Failed to " + request.getAction() + " " + chunk.size() + " monitors: " + e.getMessage());
+                log.warn("Bulk {} of {} monitors failed: {}", request.getAction(), chunk.size(), e.getMessage());
+            }
+        }
+
+        if (successful > 0) {
+            cacheService.evictActiveMonitors();
+            heartbeatService.refresh();
+        }
+
+        log.info("Bulk {} applied to {} of {} monitors in {}ms",
+                request.getAction(), successful, ids.size(), (System.nanoTime() - start) / 1_000_000);
+        return monitorMapper.createBulkResult(request.getMonitorIds().size(), successful, failed, 0, errors, null);
+    }
+
+    private BulkOperationResult runChecks(List<Long> ids, int totalRequested, long start) {
+        List<String> errors = new ArrayList<>();
+        List<Monitor> runnable = new ArrayList<>(ids.size());
+        int failed = 0;
+        int skipped = 0;
+
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + chunkSize));
+            List<Monitor> monitors = monitorRepository.findAllById(chunk);
+            failed += reportMissing(chunk, monitors.stream().map(Monitor::getId).toList(), errors);
+
+            for (Monitor monitor : monitors) {
+                if (!Boolean.TRUE.equals(monitor.getIsActive()) || monitor.getType() == Monitor.MonitorType.PUSH
+                        || monitor.getProbeAgent() != null) {
+                    skipped++;
+                } else {
+                    runnable.add(monitor);
+                }
+            }
+        }
+
+        monitorSchedulerService.triggerChecks(runnable);
+
+        log.info("Bulk RUN_CHECK queued {} of {} monitors in {}ms",
+                runnable.size(), ids.size(), (System.nanoTime() - start) / 1_000_000);
+        return monitorMapper.createBulkResult(totalRequested, runnable.size(), failed, skipped, errors, null);
+    }
+
+    private static int reportMissing(List<Long> requested, List<Long> found, List<String> errors) {
+        if (found.size() == requested.size()) {
+            return 0;
+        }
+        Set<Long> foundIds = new HashSet<>(found);
+        List<Long> missing = requested.stream().filter(id -> !foundIds.contains(id)).toList();
+        errors.add("Monitors not found: " + missing);
+        return missing.size();
+    }
+
+    // ======================== Cache and Registry ========================
+
+    private void refreshActiveMonitors(List<Monitor> changed) {
+        try {
+            cacheService.cacheActiveMonitors(monitorRepository.findByIsActiveTrueOrderByNameAsc());
+        } catch (Exception e) {
+            log.warn("Could not refresh the active monitor cache after a bulk change: {}", e.getMessage());
+            cacheService.evictActiveMonitors();
+        }
+
+        if (changed.stream().anyMatch(monitor -> monitor.getType() == Monitor.MonitorType.PUSH)) {
+            heartbeatService.refresh();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.infernokun.infernoUptime.services.incident;
+
+import com.infernokun.infernoUptime.services.storage.ChunkedBackfill;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Derives the incidents of the checks stored before the V8 migration, in monitor id windows. Every run of
+ * consecutive failing checks becomes an incident ending at the first check of the following run; like
+ * {@link IncidentWriter}, checks without a status are skipped. Only checks up to the largest id at migration time
+ * are replayed, since {@link IncidentWriter} has handled the later ones.
+ * <p>
+ * A run still failing at the end of that history is continued from the later checks: it ends at the first later
+ * successful check, stays open if there is none, and absorbs the incident {@link IncidentWriter} opened if the first
+ * later check failed again.
+ */
+@Service
+public class IncidentBackfillService extends ChunkedBackfill {
+
+    private static final String STATE_TABLE = "monitor_incident_backfill";
+
+    private static final String RUNS_SQL = """
+            WITH flagged AS (
+                SELECT monitor_id, id, timestamp, is_up, status_code, message_id, message, error_details_id,
+                       error_details,
+                       CASE WHEN is_up IS DISTINCT FROM lag(is_up) OVER w THEN 1 ELSE 0 END AS changed
+                FROM monitor_checks
+                WHERE monitor_id > ? AND monitor_id <= ? AND id <= ? AND is_up IS NOT NULL
+                WINDOW w AS (PARTITION BY monitor_id ORDER BY timestamp, id)
+            ), numbered AS (
+                SELECT *, sum(changed) OVER (PARTITION BY monitor_id ORDER BY timestamp, id) AS run
+                FROM flagged
+            ), runs AS (
+                SELECT monitor_id, run, bool_and(NOT is_up) AS down, min(timestamp) AS started_at, count(*) AS checks,
+                       (array_agg(id ORDER BY timestamp, id))[1] AS first_check_id,
+                       (array_agg(status_code ORDER BY timestamp, id))[1] AS status_code,
+                       (array_agg(message_id ORDER BY timestamp, id))[1] AS message_id,
+                       (array_agg(message ORDER BY timestamp, id))[1] AS message,
+                       (array_agg(error_details_id ORDER BY timestamp, id))[1] AS error_details_id,
+                       (array_agg(error_details ORDER BY timestamp, id))[1] AS error_details
+                FROM numbered
+                GROUP BY monitor_id, run
+            ), incidents AS (
+                SELECT *, lead(started_at) OVER (PARTITION BY monitor_id ORDER BY run) AS ended_at
+                FROM runs
+            )
+            SELECT monitor_id, started_at, ended_at, checks, first_check_id, status_code,
+                   COALESCE((SELECT text FROM check_messages WHERE check_messages.id = message_id), message,
+                            (SELECT text FROM check_messages WHERE check_messages.id = error_details_id),
+                            error_details) AS first_error
+            FROM incidents
+            WHERE down
+            ORDER BY monitor_id, started_at
+            """;
+
+    private static final String NEXT_CHECK_SQL = """
+            SELECT timestamp, is_up
+            FROM monitor_checks
+            WHERE monitor_id = ? AND id > ? AND timestamp >= ? AND is_up IS NOT NULL
+            ORDER BY timestamp, id
+            LIMIT 1
+            """;
+
+    private static final String FIRST_LIVE_SQL = """
+            SELECT id, ended_at
+            FROM monitor_incidents
+            WHERE monitor_id = ?
+            ORDER BY started_at
+            LIMIT 1
+            FOR UPDATE
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO monitor_incidents (monitor_id, started_at, ended_at, duration_seconds, first_check_id,
+                                           first_error, status_code, failed_checks, severity)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String MERGE_SQL = """
+            UPDATE monitor_incidents
+            SET started_at = ?, duration_seconds = ?, first_check_id = ?, first_error = ?, status_code = ?,
+                failed_checks = failed_checks + ?, severity = ?
+            WHERE id = ?
+            """;
+
+    private static final int[] INSERT_TYPES = {Types.BIGINT, Types.TIMESTAMP, Types.TIMESTAMP, Types.BIGINT,
+            Types.BIGINT, Types.VARCHAR, Types.INTEGER, Types.INTEGER, Types.VARCHAR};
+
+    private final IncidentService incidentService;
+
+    @Value("${inferno.uptime.backfill.incident-chunk-size:20}")
+    private int incidentChunkSize;
+
+    public IncidentBackfillService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry, IncidentService incidentService) {
+        super("incident backfill", STATE_TABLE, jdbcTemplate, transactionManager, meterRegistry);
+        this.incidentService = incidentService;
+    }
+
+    @Override
+    protected int chunkSize() {
+        return incidentChunkSize;
+    }
+
+    @Override
+    protected int backfill(long from, long to) {
+        long maxCheckId = jdbcTemplate.queryForObject(
+                "SELECT max_check_id FROM " + STATE_TABLE + " WHERE id = 1", Long.class);
+
+        List<Object[]> inserts = new ArrayList<>();
+        int merged = 0;
+        for (Map<String, Object> run : jdbcTemplate.queryForList(RUNS_SQL, from, to, maxCheckId)) {
+            long monitorId = ((Number) run.get("monitor_id")).longValue();
+            LocalDateTime startedAt = ((Timestamp) run.get("started_at")).toLocalDateTime();
+            Timestamp endedAt = (Timestamp) run.get("ended_at");
+            int checks = ((Number) run.get("checks")).intValue();
+
+            if (endedAt == null) {
+                List<Map<String, Object>> next = jdbcTemplate.queryForList(NEXT_CHECK_SQL, monitorId, maxCheckId,
+                        Timestamp.valueOf(startedAt));
+                if (!next.isEmpty() && Boolean.TRUE.equals(next.get(0).get("is_up"))) {
+                    endedAt = (Timestamp) next.get(0).get("timestamp");
+                } else if (!next.isEmpty() && merge(monitorId, startedAt, checks, run)) {
+                    merged++;
+                    continue;
+                }
+            }
+
+            LocalDateTime end = endedAt != null ? endedAt.toLocalDateTime() : null;
+            Duration duration = Duration.between(startedAt, end != null ? end : LocalDateTime.now());
+            inserts.add(new Object[]{monitorId, Timestamp.valueOf(startedAt), endedAt,
+                    end != null ? duration.toSeconds() : null, run.get("first_check_id"), run.get("first_error"),
+                    run.get("status_code"), checks, incidentService.severityOf(duration).name()});
+        }
+
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts, INSERT_TYPES);
+        }
+        return inserts.size() + merged;
+    }
+
+    /**
+     * Moves the start of the incident {@link IncidentWriter} opened after the migration back to the run that was
+     * already failing before it.
+     *
+     * @return false if there is no such incident
+     */
+    private boolean merge(long monitorId, LocalDateTime startedAt, int checks, Map<String, Object> run) {
+        List<Map<String, Object>> live = jdbcTemplate.queryForList(FIRST_LIVE_SQL, monitorId);
+        if (live.isEmpty()) {
+            return false;
+        }
+        Timestamp endedAt = (Timestamp) live.get(0).get("ended_at");
+        LocalDateTime end = endedAt != null ? endedAt.toLocalDateTime() : null;
+        Duration duration = Duration.between(startedAt, end != null ? end : LocalDateTime.now());
+
+        jdbcTemplate.update(MERGE_SQL, Timestamp.valueOf(startedAt), end != null ? duration.toSeconds() : null,
+                run.get("first_check_id"), run.get("first_error"), run.get("status_code"), checks,
+                incidentService.severityOf(duration).name(), live.get(0).get("id"));
+        return true;
+    }
+}
@@ -0,0 +1,151 @@
+package com.infernokun.infernoUptime.services.incident;
+
+import com.infernokun.infernoUptime.models.dto.IncidentSeverity;
+import com.infernokun.infernoUptime.models.dto.IncidentSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Reads the incidents maintained by {@link IncidentWriter}. Every query is an index range scan over
+ * {@code monitor_incidents}; incidents overlapping the edges of a window count only with the part inside it.
+ */
+@Service
+public class IncidentService {
+
+    private static final String SELECT_SQL = """
+            SELECT i.id, i.monitor_id, m.name, i.started_at, i.ended_at, i.first_error, i.severity
+            FROM monitor_incidents i
+            JOIN monitors m ON m.id = i.monitor_id
+            WHERE i.started_at < ? AND (i.ended_at IS NULL OR i.ended_at > ?)
+            """;
+
+    /**
+     * Incident figures of one or more monitors over a window. MTTR is the mean duration of the resolved incidents,
+     * MTBF the time up per incident; both are null without incidents.
+     */
+    public record IncidentStats(int incidentCount,
+                                long downtimeSeconds,
+                                IncidentSummary longest,
+                                Double meanTimeToRecoverySeconds,
+                                Double meanTimeBetweenFailuresSeconds) {
+
+        public long downtimeMinutes() {
+            return downtimeSeconds / 60;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${inferno.uptime.incidents.severity.medium-after:5m}")
+    private Duration mediumAfter;
+
+    @Value("${inferno.uptime.incidents.severity.high-after:30m}")
+    private Duration highAfter;
+
+    @Value("${inferno.uptime.incidents.severity.critical-after:2h}")
+    private Duration criticalAfter;
+
+    public IncidentService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public IncidentSeverity severityOf(Duration duration) {
+        if (duration.compareTo(criticalAfter) >= 0) {
+            return IncidentSeverity.CRITICAL;
+        }
+        if (duration.compareTo(highAfter) >= 0) {
+            return IncidentSeverity.HIGH;
+        }
+        if (duration.compareTo(mediumAfter) >= 0) {
+            return IncidentSeverity.MEDIUM;
+        }
+        return IncidentSeverity.LOW;
+    }
+
+    // ======================== Queries ========================
+
+    /**
+     * Incidents of all monitors overlapping {@code [from, to)}, newest first.
+     */
+    public List<IncidentSummary> findIncidents(LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(SELECT_SQL + " ORDER BY i.started_at DESC", mapper(),
+                Timestamp.valueOf(to), Timestamp.valueOf(from));
+    }
+
+    public List<IncidentSummary> findIncidents(Long monitorId, LocalDateTime from, LocalDateTime to) {
+        return findIncidents(List.of(monitorId), from, to);
+    }
+
+    public List<IncidentSummary> findIncidents(Collection<Long> monitorIds, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(SELECT_SQL + " AND i.monitor_id = ANY(?) ORDER BY i.started_at DESC", mapper(),
+                Timestamp.valueOf(to), Timestamp.valueOf(from), new SqlArrayValue("bigint", monitorIds.toArray()));
+    }
+
+    public IncidentStats stats(Long monitorId, LocalDateTime from, LocalDateTime to) {
+        return stats(findIncidents(monitorId, from, to), 1, from, to);
+    }
+
+    /**
+     * Figures for a list of incidents from {@link #findIncidents}; {@code monitorCount} scales the time available
+     * for MTBF when the incidents belong to several monitors.
+     */
+    public IncidentStats stats(List<IncidentSummary> incidents, int monitorCount, LocalDateTime from, LocalDateTime to) {
+        long downtime = 0;
+        long resolvedDuration = 0;
+        int resolved = 0;
+        List<IncidentSummary> byDuration = new ArrayList<>(incidents);
+
+        for (IncidentSummary incident : incidents) {
+            LocalDateTime start = incident.getStartTime().isBefore(from) ? from : incident.getStartTime();
+            LocalDateTime end = incident.getEndTime() == null || incident.getEndTime().isAfter(to) ? to : incident.getEndTime();
+            downtime += Math.max(0, Duration.between(start, end).toSeconds());
+            if (Boolean.TRUE.equals(incident.getResolved())) {
+                resolvedDuration += Duration.between(incident.getStartTime(), incident.getEndTime()).toSeconds();
+                resolved++;
+            }
+        }
+        byDuration.sort(Comparator.comparing(IncidentSummary::getDurationMinutes).reversed());
+
+        long window = Duration.between(from, to).toSeconds() * Math.max(monitorCount, 1);
+        return new IncidentStats(
+                incidents.size(),
+                downtime,
+                byDuration.isEmpty() ? null : byDuration.get(0),
+                resolved > 0 ? (double) resolvedDuration / resolved : null,
+                incidents.isEmpty() ? null : (double) Math.max(0, window - downtime) / incidents.size());
+    }
+
+    private RowMapper<IncidentSummary> mapper() {
+        LocalDateTime now = LocalDateTime.now();
+        return (rs, rowNum) -> {
+            LocalDateTime start = rs.getTimestamp("started_at").toLocalDateTime();
+            Timestamp endedAt = rs.getTimestamp("ended_at");
+            LocalDateTime end = endedAt != null ? endedAt.toLocalDateTime() : null;
+            Duration duration = Duration.between(start, end != null ? end : now);
+
+            return IncidentSummary.builder()
+                    .incidentId(String.valueOf(rs.getLong("id")))
+                    .monitorId(rs.getLong("monitor_id"))
+                    .monitorName(rs.getString("name"))
+                    .startTime(start)
+                    .endTime(end)
+                    .durationMinutes(duration.toMinutes())
+                    .cause(rs.getString("first_error"))
+                    // Open incidents escalate while they last
+                    .severity(end != null ? IncidentSeverity.valueOf(rs.getString("severity")) : severityOf(duration))
+                    .resolved(end != null)
+                    .build();
+        };
+    }
+}
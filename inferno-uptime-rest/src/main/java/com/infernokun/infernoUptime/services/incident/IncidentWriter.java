@@ -0,0 +1,154 @@
+package com.infernokun.infernoUptime.services.incident;
+
+import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+import com.infernokun.infernoUptime.services.ingest.CheckBatchListener;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Opens and closes {@code monitor_incidents} rows from the status transitions in each ingested batch. A failing
+ * check opens an incident unless one is already open for the monitor; the next successful check closes it. Checks
+ * older than the start of the open incident (a late probe agent batch) are ignored, and checks without a status
+ * neither open nor close incidents.
+ */
+@Component
+@RequiredArgsConstructor
+public class IncidentWriter implements CheckBatchListener {
+
+    private static final String OPEN_SQL = """
+            SELECT id, monitor_id, started_at
+            FROM monitor_incidents
+            WHERE ended_at IS NULL AND monitor_id = ANY(?)
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO monitor_incidents (monitor_id, started_at, ended_at, duration_seconds, first_check_id,
+                                           first_error, status_code, failed_checks, severity)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_SQL = """
+            UPDATE monitor_incidents
+            SET failed_checks = failed_checks + ?, ended_at = ?, duration_seconds = ?, severity = ?
+            WHERE id = ? AND ended_at IS NULL
+            """;
+
+    private static final Comparator<MonitorCheck> CHECK_ORDER =
+            Comparator.comparing(MonitorCheck::getTimestamp)
+                    .thenComparing(MonitorCheck::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private static final class Incident {
+        private Long id; // null until inserted
+        private long monitorId;
+        private LocalDateTime startedAt;
+        private LocalDateTime endedAt;
+        private MonitorCheck firstCheck;
+        private int newFailures;
+        private boolean changed;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IncidentService incidentService;
+
+    @Override
+    public void onBatchWritten(List<MonitorCheck> checks) {
+        Map<Long, List<MonitorCheck>> byMonitor = new TreeMap<>();
+        for (MonitorCheck check : checks) {
+            if (check.getIsUp() != null) {
+                byMonitor.computeIfAbsent(check.getMonitor().getId(), id -> new ArrayList<>()).add(check);
+            }
+        }
+        if (byMonitor.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Incident> open = new HashMap<>();
+        jdbcTemplate.query(OPEN_SQL, rs -> {
+            Incident incident = new Incident();
+            incident.id = rs.getLong("id");
+            incident.monitorId = rs.getLong("monitor_id");
+            incident.startedAt = rs.getTimestamp("started_at").toLocalDateTime();
+            open.put(incident.monitorId, incident);
+        }, new SqlArrayValue("bigint", byMonitor.keySet().toArray()));
+
+        List<Incident> changed = new ArrayList<>();
+        byMonitor.forEach((monitorId, monitorChecks) -> {
+            monitorChecks.sort(CHECK_ORDER);
+            Incident current = open.get(monitorId);
+
+            for (MonitorCheck check : monitorChecks) {
+                if (current != null && check.getTimestamp().isBefore(current.startedAt)) {
+                    continue;
+                }
+                if (!check.getIsUp()) {
+                    if (current == null) {
+                        current = new Incident();
+                        current.monitorId = monitorId;
+                        current.startedAt = check.getTimestamp();
+                        current.firstCheck = check;
+                    }
+                    current.newFailures++;
+                    markChanged(current, changed);
+                } else if (current != null) {
+                    current.endedAt = check.getTimestamp();
+                    markChanged(current, changed);
+                    current = null;
+                }
+            }
+        });
+
+        write(changed);
+    }
+
+    private static void markChanged(Incident incident, List<Incident> changed) {
+        if (!incident.changed) {
+            incident.changed = true;
+            changed.add(incident);
+        }
+    }
+
+    private void write(List<Incident> incidents) {
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (Incident incident : incidents) {
+            Duration duration = Duration.between(incident.startedAt, incident.endedAt != null ? incident.endedAt : now);
+            Timestamp endedAt = incident.endedAt != null ? Timestamp.valueOf(incident.endedAt) : null;
+            Long durationSeconds = incident.endedAt != null ? duration.toSeconds() : null;
+            String severity = incidentService.severityOf(duration).name();
+
+            if (incident.id == null) {
+                MonitorCheck first = incident.firstCheck;
+                inserts.add(new Object[]{incident.monitorId, Timestamp.valueOf(incident.startedAt), endedAt,
+                        durationSeconds, first.getId(),
+                        first.getMessage() != null ? first.getMessage() : first.getErrorDetails(),
+                        first.getStatusCode(), incident.newFailures, severity});
+            } else {
+                updates.add(new Object[]{incident.newFailures, endedAt, durationSeconds, severity, incident.id});
+            }
+        }
+
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts, new int[]{Types.BIGINT, Types.TIMESTAMP, Types.TIMESTAMP,
+                    Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.INTEGER, Types.INTEGER, Types.VARCHAR});
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates,
+                    new int[]{Types.INTEGER, Types.TIMESTAMP, Types.BIGINT, Types.VARCHAR, Types.BIGINT});
+        }
+    }
+}
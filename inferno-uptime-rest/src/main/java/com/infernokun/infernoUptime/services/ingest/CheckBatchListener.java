@@ -0,0 +1,15 @@
+package com.infernokun.infernoUptime.services.ingest;
+
+import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+
+import java.util.List;
+
+/**
+ * Derived state maintained from the check stream. Listeners run inside the transaction that writes the batch,
+ * after the {@link CheckBatchWriter}, so they commit or roll back together with the checks they saw. They see
+ * every check, including those the {@link CheckStoragePolicy} did not store; those have no id.
+ */
+public interface CheckBatchListener {
+
+    void onBatchWritten(List<MonitorCheck> checks);
+}
@@ -0,0 +1,14 @@
+package com.infernokun.infernoUptime.services.ingest;
+
+import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+
+import java.util.List;
+
+/**
+ * Persists a batch of checks drained from the {@link CheckIngestionService} buffer in as few round trips as
+ * the backend allows. Implementations assign ids to the checks they write.
+ */
+public interface CheckBatchWriter {
+
+    void write(List<MonitorCheck> checks);
+}
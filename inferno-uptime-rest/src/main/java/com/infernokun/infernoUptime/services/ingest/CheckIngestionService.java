@@ -0,0 +1,243 @@
+package com.infernokun.infernoUptime.services.ingest;
+
+import com.infernokun.infernoUptime.config.db.DatabaseWorkload;
+import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind stage for check results.
+ * <p>
+ * Checks are queued in a bounded buffer and a single flusher thread writes them through the
+ * {@link CheckBatchWriter} every {@code batch-size} rows or {@code flush-interval}, whichever comes first.
+ * When the database falls behind and the buffer is full, {@link #submit} blocks the calling check worker
+ * (backpressure) for up to {@code offer-timeout} before writing the row itself. The buffer is drained on
+ * shutdown. The {@link CheckStoragePolicy} picks the checks that are stored as rows; every check of the batch,
+ * stored or not, is passed to the {@link CheckBatchListener}s in the same transaction.
+ */
+@Slf4j
+@Service
+public class CheckIngestionService {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final CheckBatchWriter batchWriter;
+    private final List<CheckBatchListener> listeners;
+    private final CheckStoragePolicy storagePolicy;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${inferno.uptime.ingest.enabled:true}")
+    private boolean enabled;
+
+    @Value("${inferno.uptime.ingest.buffer-capacity:10000}")
+    private int bufferCapacity;
+
+    @Value("${inferno.uptime.ingest.batch-size:500}")
+    private int batchSize;
+
+    @Value("${inferno.uptime.ingest.flush-interval:200ms}")
+    private Duration flushInterval;
+
+    @Value("${inferno.uptime.ingest.offer-timeout:5s}")
+    private Duration offerTimeout;
+
+    private BlockingQueue<MonitorCheck> buffer;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private Counter rowsWritten;
+    private Counter rowsDropped;
+    private Counter backpressureWaits;
+    private Timer flushTimer;
+
+    public CheckIngestionService(CheckBatchWriter batchWriter,
+                                 List<CheckBatchListener> listeners,
+                                 CheckStoragePolicy storagePolicy,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry) {
+        this.batchWriter = batchWriter;
+        this.listeners = listeners;
+        this.storagePolicy = storagePolicy;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        buffer = new ArrayBlockingQueue<>(bufferCapacity);
+
+        Gauge.builder("inferno.ingest.buffer.size", buffer, BlockingQueue::size)
+                .description("Check results waiting to be written")
+                .register(meterRegistry);
+        rowsWritten = Counter.builder("inferno.ingest.rows.written").register(meterRegistry);
+        rowsDropped = Counter.builder("inferno.ingest.rows.dropped").register(meterRegistry);
+        backpressureWaits = Counter.builder("inferno.ingest.backpressure").register(meterRegistry);
+        flushTimer = Timer.builder("inferno.ingest.flush").register(meterRegistry);
+
+        if (!enabled) {
+            log.info("Write-behind ingestion disabled, checks are written synchronously");
+            return;
+        }
+
+        running = true;
+        flusher = new Thread(() -> DatabaseWorkload.INGEST.run(this::flushLoop), "check-ingest-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+
+        log.info("Write-behind ingestion started (buffer {}, batch {}, flush every {}ms) using {}",
+                bufferCapacity, batchSize, flushInterval.toMillis(), batchWriter.getClass().getSimpleName());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+
+        log.info("Flushing {} buffered checks before shutdown", buffer.size());
+        running = false;
+        try {
+            flusher.join(30000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ======================== Submission ========================
+
+    public void submit(MonitorCheck check) {
+        if (!running) {
+            write(List.of(check));
+            return;
+        }
+
+        try {
+            if (buffer.offer(check)) {
+                return;
+            }
+
+            backpressureWaits.increment();
+            if (!buffer.offer(check, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Ingestion buffer full for {}ms, writing check synchronously", offerTimeout.toMillis());
+                write(List.of(check));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            write(List.of(check));
+        }
+    }
+
+    public void submitAll(List<MonitorCheck> checks) {
+        checks.forEach(this::submit);
+    }
+
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    // ======================== Flushing ========================
+
+    private void flushLoop() {
+        List<MonitorCheck> batch = new ArrayList<>(batchSize);
+
+        while (running || !buffer.isEmpty()) {
+            try {
+                MonitorCheck first = buffer.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Fill the batch until it is full or the flush interval since the first row has elapsed
+                long deadline = System.nanoTime() + flushInterval.toNanos();
+                while (batch.size() < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    MonitorCheck next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (Exception e) {
+                log.error("Unexpected error in ingestion flusher", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<MonitorCheck> batch) {
+        List<MonitorCheck> rows = storagePolicy.select(batch);
+
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> persist(batch, rows)));
+                rowsWritten.increment(rows.size());
+                return;
+            } catch (Exception e) {
+                log.warn("Batch write of {} checks failed (attempt {}/{}): {}",
+                        batch.size(), attempt, MAX_ATTEMPTS, e.getMessage());
+                sleepQuietly(500L * attempt);
+            }
+        }
+
+        // Isolate the rows that cannot be written (e.g. monitor deleted in the meantime)
+        Set<MonitorCheck> stored = Collections.newSetFromMap(new IdentityHashMap<>());
+        stored.addAll(rows);
+        for (MonitorCheck check : batch) {
+            try {
+                List<MonitorCheck> single = List.of(check);
+                List<MonitorCheck> row = stored.contains(check) ? single : List.of();
+                transactionTemplate.executeWithoutResult(status -> persist(single, row));
+                rowsWritten.increment(row.size());
+            } catch (Exception e) {
+                rowsDropped.increment();
+                log.error("Dropping check for monitor {}: {}", check.getMonitor().getId(), e.getMessage());
+            }
+        }
+    }
+
+    private void persist(List<MonitorCheck> batch, List<MonitorCheck> rows) {
+        if (!rows.isEmpty()) {
+            batchWriter.write(rows);
+        }
+        for (CheckBatchListener listener : listeners) {
+            listener.onBatchWritten(batch);
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.infernokun.infernoUptime.services.ingest;
+
+import com.infernokun.infernoUptime.models.entity.Monitor;
+import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides which checks of a batch are stored as {@code monitor_checks} rows.
+ * <p>
+ * Monitors with {@link Monitor.CheckStorage#FULL} keep every row. For {@link Monitor.CheckStorage#SAMPLED}
+ * monitors a row is kept for the first check seen, every failure, every change of up/down state or status code,
+ * latency anomalies (more than {@code latency-anomaly-factor} times the moving average and at least
+ * {@code latency-anomaly-min} above it) and one healthy check per {@code sample-interval}. The other checks are
+ * still passed to the {@link CheckBatchListener}s, so rollups and the state snapshot see all of them.
+ */
+@Component
+public class CheckStoragePolicy {
+
+    private static final double LATENCY_EWMA_ALPHA = 0.1;
+    private static final int LATENCY_WARMUP_CHECKS = 10;
+
+    private static final class MonitorTrack {
+        Boolean lastUp;
+        Integer lastStatusCode;
+        double latencyAverage;
+        long latencySamples;
+        LocalDateTime lastStoredAt;
+    }
+
+    private final Map<Long, MonitorTrack> tracks = new ConcurrentHashMap<>();
+    private final Counter rowsSkipped;
+
+    @Value("${inferno.uptime.ingest.sampling.sample-interval:5m}")
+    private Duration sampleInterval;
+
+    @Value("${inferno.uptime.ingest.sampling.latency-anomaly-factor:3.0}")
+    private double anomalyFactor;
+
+    @Value("${inferno.uptime.ingest.sampling.latency-anomaly-min:100ms}")
+    private Duration anomalyMinimum;
+
+    public CheckStoragePolicy(MeterRegistry meterRegistry) {
+        this.rowsSkipped = Counter.builder("inferno.ingest.rows.sampled-out")
+                .description("Checks aggregated into rollups without storing a row")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The checks of {@code batch} to store as rows, in batch order. Call once per batch: the decision updates
+     * the per-monitor history it is based on.
+     */
+    public List<MonitorCheck> select(List<MonitorCheck> batch) {
+        List<MonitorCheck> rows = new ArrayList<>(batch.size());
+        for (MonitorCheck check : batch) {
+            if (check.getTimestamp() == null) {
+                check.setTimestamp(LocalDateTime.now());
+            }
+            if (shouldStore(check)) {
+                rows.add(check);
+            }
+        }
+        rowsSkipped.increment(batch.size() - rows.size());
+        return rows;
+    }
+
+    private boolean shouldStore(MonitorCheck check) {
+        Monitor monitor = check.getMonitor();
+        if (monitor.getCheckStorage() != Monitor.CheckStorage.SAMPLED) {
+            tracks.remove(monitor.getId());
+            return true;
+        }
+
+        MonitorTrack track = tracks.computeIfAbsent(monitor.getId(), id -> new MonitorTrack());
+        synchronized (track) {
+            boolean store = isNoteworthy(check, track);
+            if (store) {
+                track.lastStoredAt = check.getTimestamp();
+            }
+
+            track.lastUp = check.getIsUp();
+            track.lastStatusCode = check.getStatusCode();
+            if (Boolean.TRUE.equals(check.getIsUp()) && check.getResponseTime() != null) {
+                track.latencyAverage = track.latencySamples == 0
+                        ? check.getResponseTime()
+                        : track.latencyAverage + LATENCY_EWMA_ALPHA * (check.getResponseTime() - track.latencyAverage);
+                track.latencySamples++;
+            }
+            return store;
+        }
+    }
+
+    private boolean isNoteworthy(MonitorCheck check, MonitorTrack track) {
+        if (track.lastUp == null || !Boolean.TRUE.equals(check.getIsUp())) {
+            return true;
+        }
+        if (!check.getIsUp().equals(track.lastUp) || !Objects.equals(check.getStatusCode(), track.lastStatusCode)) {
+            return true;
+        }
+
+        Long responseTime = check.getResponseTime();
+        if (responseTime != null && track.latencySamples >= LATENCY_WARMUP_CHECKS
+                && responseTime > track.latencyAverage * anomalyFactor
+                && responseTime > track.latencyAverage + anomalyMinimum.toMillis()) {
+            return true;
+        }
+
+        return track.lastStoredAt == null || !check.getTimestamp().isBefore(track.lastStoredAt.plus(sampleInterval));
+    }
+}
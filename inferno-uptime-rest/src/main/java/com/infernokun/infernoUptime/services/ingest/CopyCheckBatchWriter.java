@@ -0,0 +1,174 @@
+package com.infernokun.infernoUptime.services.ingest;
+
+import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+import com.infernokun.infernoUptime.services.storage.CheckMessageDictionaryService;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams batches into {@code monitor_checks} with {@code COPY ... FROM STDIN (FORMAT binary)} through the
+ * pgjdbc {@code CopyManager}. Enabled with {@code inferno.uptime.ingest.backend=copy}; on a non-Postgres
+ * database it falls back to {@link JdbcCheckBatchWriter}.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "inferno.uptime.ingest.backend", havingValue = "copy")
+public class CopyCheckBatchWriter implements CheckBatchWriter {
+
+    static final String COPY_SQL = """
+            COPY monitor_checks (id, monitor_id, timestamp, response_time, status_code, is_up, message_id,
+                                 error_details_id, ssl_expiry, redirect_count, final_url, redirect_latencies,
+                                 content_length, protocol)
+            FROM STDIN (FORMAT binary)
+            """;
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final short FIELD_COUNT = 14;
+    private static final LocalDateTime POSTGRES_EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private final DataSource dataSource;
+    private final JdbcCheckBatchWriter fallback;
+    private final MonitorCheckIdAllocator idAllocator;
+    private final CheckMessageDictionaryService messageDictionary;
+    private volatile Boolean copySupported;
+
+    public CopyCheckBatchWriter(DataSource dataSource, JdbcCheckBatchWriter fallback, MonitorCheckIdAllocator idAllocator,
+                                CheckMessageDictionaryService messageDictionary) {
+        this.dataSource = dataSource;
+        this.fallback = fallback;
+        this.idAllocator = idAllocator;
+        this.messageDictionary = messageDictionary;
+    }
+
+    @Override
+    public void write(List<MonitorCheck> checks) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            if (!isCopySupported(connection)) {
+                fallback.write(checks);
+                return;
+            }
+
+            JdbcCheckBatchWriter.assignIds(checks, idAllocator);
+            byte[] payload = encode(checks, JdbcCheckBatchWriter.messageIds(checks, messageDictionary));
+            long rows = connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn(COPY_SQL, new ByteArrayInputStream(payload));
+
+            log.trace("Copied {} checks ({} bytes)", rows, payload.length);
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("COPY of " + checks.size() + " checks failed: " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private boolean isCopySupported(Connection connection) throws SQLException {
+        if (copySupported == null) {
+            copySupported = connection.isWrapperFor(PGConnection.class);
+            if (!copySupported) {
+                log.warn("COPY ingestion requires PostgreSQL, falling back to batched inserts");
+            }
+        }
+        return copySupported;
+    }
+
+    // ======================== Binary COPY Encoding ========================
+
+    static byte[] encode(List<MonitorCheck> checks, Map<String, Integer> messageIds) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(checks.size() * 160);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.write(SIGNATURE);
+        out.writeInt(0); // flags
+        out.writeInt(0); // header extension length
+
+        for (MonitorCheck check : checks) {
+            out.writeShort(FIELD_COUNT);
+            writeLong(out, check.getId());
+            writeLong(out, check.getMonitor().getId());
+            writeTimestamp(out, check.getTimestamp());
+            writeLong(out, check.getResponseTime());
+            writeInt(out, check.getStatusCode());
+            writeBoolean(out, check.getIsUp());
+            writeInt(out, JdbcCheckBatchWriter.messageId(messageIds, check.getMessage()));
+            writeInt(out, JdbcCheckBatchWriter.messageId(messageIds, check.getErrorDetails()));
+            writeTimestamp(out, check.getSslExpiry());
+            writeInt(out, check.getRedirectCount());
+            writeText(out, check.getFinalUrl());
+            writeText(out, check.getRedirectLatencies());
+            writeLong(out, check.getContentLength());
+            writeText(out, check.getProtocol());
+        }
+
+        out.writeShort(-1); // trailer
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(8);
+        out.writeLong(value);
+    }
+
+    private static void writeInt(DataOutputStream out, Integer value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(4);
+        out.writeInt(value);
+    }
+
+    private static void writeBoolean(DataOutputStream out, Boolean value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(1);
+        out.writeByte(value ? 1 : 0);
+    }
+
+    private static void writeText(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    /**
+     * {@code timestamp without time zone} is microseconds since 2000-01-01 00:00:00.
+     */
+    private static void writeTimestamp(DataOutputStream out, LocalDateTime value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(8);
+        out.writeLong(ChronoUnit.MICROS.between(POSTGRES_EPOCH, value));
+    }
+}
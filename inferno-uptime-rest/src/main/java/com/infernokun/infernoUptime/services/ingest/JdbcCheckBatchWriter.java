@@ -0,0 +1,96 @@
+package com.infernokun.infernoUptime.services.ingest;
+
+import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+import com.infernokun.infernoUptime.services.storage.CheckMessageDictionaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Writes checks with one JDBC batch of multi-row capable INSERTs (see {@code reWriteBatchedInserts} on the
+ * datasource URL), using ids pre-allocated from the table sequence. Messages and error details are stored as
+ * ids from the {@link CheckMessageDictionaryService}, interned for the whole batch with one query.
+ */
+@Component
+@RequiredArgsConstructor
+public class JdbcCheckBatchWriter implements CheckBatchWriter {
+
+    static final String INSERT_SQL = """
+            INSERT INTO monitor_checks (id, monitor_id, timestamp, response_time, status_code, is_up, message_id,
+                                        error_details_id, ssl_expiry, redirect_count, final_url, redirect_latencies,
+                                        content_length, protocol)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MonitorCheckIdAllocator idAllocator;
+    private final CheckMessageDictionaryService messageDictionary;
+
+    @Override
+    public void write(List<MonitorCheck> checks) {
+        assignIds(checks, idAllocator);
+        Map<String, Integer> messageIds = messageIds(checks, messageDictionary);
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                bind(ps, checks.get(i), messageIds);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return checks.size();
+            }
+        });
+    }
+
+    static void assignIds(List<MonitorCheck> checks, MonitorCheckIdAllocator idAllocator) {
+        long[] ids = idAllocator.allocate((int) checks.stream().filter(check -> check.getId() == null).count());
+        int next = 0;
+        for (MonitorCheck check : checks) {
+            if (check.getId() == null) {
+                check.setId(ids[next++]);
+            }
+            if (check.getTimestamp() == null) {
+                check.setTimestamp(LocalDateTime.now());
+            }
+        }
+    }
+
+    static Map<String, Integer> messageIds(List<MonitorCheck> checks, CheckMessageDictionaryService messageDictionary) {
+        return messageDictionary.idsOf(checks.stream()
+                .flatMap(check -> Stream.of(check.getMessage(), check.getErrorDetails()))
+                .toList());
+    }
+
+    static void bind(PreparedStatement ps, MonitorCheck check, Map<String, Integer> messageIds) throws SQLException {
+        ps.setLong(1, check.getId());
+        ps.setLong(2, check.getMonitor().getId());
+        ps.setTimestamp(3, Timestamp.valueOf(check.getTimestamp()));
+        ps.setObject(4, check.getResponseTime(), Types.BIGINT);
+        ps.setObject(5, check.getStatusCode(), Types.INTEGER);
+        ps.setObject(6, check.getIsUp(), Types.BOOLEAN);
+        ps.setObject(7, messageId(messageIds, check.getMessage()), Types.INTEGER);
+        ps.setObject(8, messageId(messageIds, check.getErrorDetails()), Types.INTEGER);
+        ps.setTimestamp(9, check.getSslExpiry() != null ? Timestamp.valueOf(check.getSslExpiry()) : null);
+        ps.setObject(10, check.getRedirectCount(), Types.INTEGER);
+        ps.setString(11, check.getFinalUrl());
+        ps.setString(12, check.getRedirectLatencies());
+        ps.setObject(13, check.getContentLength(), Types.BIGINT);
+        ps.setString(14, check.getProtocol());
+    }
+
+    static Integer messageId(Map<String, Integer> messageIds, String text) {
+        return text != null ? messageIds.get(text) : null;
+    }
+}
@@ -0,0 +1,60 @@
+package com.infernokun.infernoUptime.services.ingest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Hands out {@code monitor_checks} ids from the table's own sequence, fetching a whole block per round trip
+ * so batched inserts do not need one {@code nextval} (or one IDENTITY insert) per row.
+ */
+@Slf4j
+@Component
+public class MonitorCheckIdAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Deque<Long> pool = new ArrayDeque<>();
+    private volatile String sequenceName;
+
+    @Value("${inferno.uptime.ingest.id-block-size:1000}")
+    private int blockSize;
+
+    public MonitorCheckIdAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public synchronized long[] allocate(int count) {
+        if (pool.size() < count) {
+            refill(Math.max(blockSize, count - pool.size()));
+        }
+
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = pool.removeFirst();
+        }
+        return ids;
+    }
+
+    private void refill(int size) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT nextval('" + sequenceName() + "') FROM generate_series(1, ?)", Long.class, size);
+        pool.addAll(ids);
+    }
+
+    private String sequenceName() {
+        if (sequenceName == null) {
+            sequenceName = jdbcTemplate.queryForObject(
+                    "SELECT pg_get_serial_sequence('monitor_checks', 'id')", String.class);
+            if (sequenceName == null) {
+                throw new IllegalStateException("monitor_checks.id is not backed by a sequence");
+            }
+            log.info("Allocating monitor check ids from {} in blocks of {}", sequenceName, blockSize);
+        }
+        return sequenceName;
+    }
+}
@@ -0,0 +1,259 @@
+package com.infernokun.infernoUptime.services.latency;
+
+import com.infernokun.infernoUptime.config.db.DatabaseWorkload;
+import com.infernokun.infernoUptime.models.dto.LatencyPercentiles;
+import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+import com.infernokun.infernoUptime.services.latency.SlidingLatencyHistogram.Slot;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.IntCountsHistogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+
+/**
+ * Streaming response time percentiles per monitor. Every successful check is recorded into the monitor's
+ * {@link SlidingLatencyHistogram} ({@code latency.window} split into {@code latency.slots} slots), so p50 to max
+ * over the window cost a merge of a few small histograms instead of sorting {@code monitor_checks}.
+ * <p>
+ * Slots changed since the last run are written to {@code monitor_latency_histograms} every
+ * {@code latency.snapshot-interval} and on shutdown, and loaded again on start, so percentiles survive restarts.
+ */
+@Slf4j
+@Service
+public class LatencyHistogramService {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO monitor_latency_histograms (monitor_id, slot_start, histogram, updated_at)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (monitor_id, slot_start) DO UPDATE SET histogram = EXCLUDED.histogram,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, SlidingLatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Duration window;
+    private final long slotMillis;
+    private final int slotCount;
+    private final int significantDigits;
+
+    public LatencyHistogramService(JdbcTemplate jdbcTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${inferno.uptime.latency.window:1h}") Duration window,
+                                   @Value("${inferno.uptime.latency.slots:12}") int slots,
+                                   @Value("${inferno.uptime.latency.significant-digits:2}") int significantDigits) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.window = window;
+        this.slotCount = Math.max(1, slots);
+        this.slotMillis = Math.max(1000, window.toMillis() / slotCount);
+        this.significantDigits = Math.clamp(significantDigits, 1, 5);
+
+        Gauge.builder("inferno.latency.histograms", histograms, Map::size)
+                .description("Monitors with a latency histogram")
+                .register(meterRegistry);
+        Gauge.builder("inferno.latency.memory", this, LatencyHistogramService::footprintBytes)
+                .description("Approximate heap used by the latency histograms")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    // ======================== Recording ========================
+
+    /**
+     * Records the response time of a successful check; failures and checks without a response time are ignored.
+     */
+    public void record(MonitorCheck check) {
+        if (!Boolean.TRUE.equals(check.getIsUp()) || check.getResponseTime() == null) {
+            return;
+        }
+
+        long timestamp = toEpochMillis(check.getTimestamp());
+        // Inside compute, so the snapshot job cannot drop the histogram between lookup and record
+        histograms.compute(check.getMonitor().getId(), (id, histogram) -> {
+            SlidingLatencyHistogram target = histogram != null ? histogram : newHistogram();
+            synchronized (target) {
+                target.record(timestamp, check.getResponseTime());
+            }
+            return target;
+        });
+    }
+
+    // ======================== Queries ========================
+
+    /**
+     * Percentiles of one monitor over the window, null without successful checks in it.
+     */
+    public LatencyPercentiles percentiles(Long monitorId) {
+        SlidingLatencyHistogram histogram = histograms.get(monitorId);
+        return histogram != null ? merge(List.of(histogram)) : null;
+    }
+
+    /**
+     * Percentiles of the monitors together, null without successful checks in the window.
+     */
+    public LatencyPercentiles percentiles(Collection<Long> monitorIds) {
+        return merge(monitorIds.stream().map(histograms::get).filter(Objects::nonNull).toList());
+    }
+
+    /**
+     * Percentiles of all monitors together.
+     */
+    public LatencyPercentiles overall() {
+        return merge(histograms.values());
+    }
+
+    public long footprintBytes() {
+        long bytes = 0;
+        for (SlidingLatencyHistogram histogram : histograms.values()) {
+            synchronized (histogram) {
+                bytes += histogram.footprintBytes();
+            }
+        }
+        return bytes;
+    }
+
+    private LatencyPercentiles merge(Collection<SlidingLatencyHistogram> sources) {
+        long now = System.currentTimeMillis();
+        Histogram merged = new Histogram(significantDigits);
+        for (SlidingLatencyHistogram source : sources) {
+            synchronized (source) {
+                source.addTo(merged, now);
+            }
+        }
+
+        if (merged.getTotalCount() == 0) {
+            return null;
+        }
+        return LatencyPercentiles.builder()
+                .p50(merged.getValueAtPercentile(50))
+                .p90(merged.getValueAtPercentile(90))
+                .p95(merged.getValueAtPercentile(95))
+                .p99(merged.getValueAtPercentile(99))
+                .max(merged.getMaxValue())
+                .count(merged.getTotalCount())
+                .windowMinutes(window.toMinutes())
+                .build();
+    }
+
+    // ======================== Snapshots ========================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            long start = System.nanoTime();
+            Timestamp oldest = Timestamp.valueOf(toLocalDateTime(System.currentTimeMillis() - window.toMillis()));
+            int[] loaded = {0};
+
+            jdbcTemplate.query("SELECT monitor_id, slot_start, histogram FROM monitor_latency_histograms WHERE slot_start >= ?",
+                    rs -> {
+                        IntCountsHistogram snapshot = decode(rs.getBytes(3));
+                        long slotStart = toEpochMillis(rs.getTimestamp(2).toLocalDateTime());
+                        histograms.compute(rs.getLong(1), (id, histogram) -> {
+                            SlidingLatencyHistogram target = histogram != null ? histogram : newHistogram();
+                            synchronized (target) {
+                                target.restore(slotStart, snapshot);
+                            }
+                            return target;
+                        });
+                        loaded[0]++;
+                    }, oldest);
+
+            log.info("Loaded {} latency histogram slots for {} monitors in {}ms",
+                    loaded[0], histograms.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Could not load latency histogram snapshots", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inferno.uptime.latency.snapshot-interval:1m}",
+            initialDelayString = "${inferno.uptime.latency.snapshot-interval:1m}")
+    public void snapshot() {
+        DatabaseWorkload.INGEST.run(this::persist);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshot();
+    }
+
+    private void persist() {
+        try {
+            long now = System.currentTimeMillis();
+            Timestamp updatedAt = Timestamp.valueOf(toLocalDateTime(now));
+            List<Object[]> rows = new ArrayList<>();
+
+            histograms.forEach((monitorId, histogram) -> {
+                List<Slot> changed;
+                synchronized (histogram) {
+                    changed = histogram.takeDirty();
+                }
+                for (Slot slot : changed) {
+                    ByteBuffer buffer = ByteBuffer.allocate(slot.histogram().getNeededByteBufferCapacity());
+                    int length = slot.histogram().encodeIntoCompressedByteBuffer(buffer);
+                    byte[] bytes = new byte[length];
+                    buffer.flip();
+                    buffer.get(bytes);
+                    rows.add(new Object[]{monitorId, Timestamp.valueOf(toLocalDateTime(slot.startMillis())), bytes, updatedAt});
+                }
+            });
+
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+            }
+            int expired = jdbcTemplate.update("DELETE FROM monitor_latency_histograms WHERE slot_start < ?",
+                    Timestamp.valueOf(toLocalDateTime(now - window.toMillis() - slotMillis)));
+
+            for (Long monitorId : histograms.keySet()) {
+                histograms.computeIfPresent(monitorId, (id, histogram) -> {
+                    synchronized (histogram) {
+                        return histogram.isEmpty(now) ? null : histogram;
+                    }
+                });
+            }
+
+            log.debug("Persisted {} latency histogram slots, removed {} expired", rows.size(), expired);
+        } catch (Exception e) {
+            log.error("Could not persist latency histogram snapshots", e);
+        }
+    }
+
+    private static IntCountsHistogram decode(byte[] bytes) {
+        try {
+            return IntCountsHistogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(bytes), 0);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt latency histogram snapshot", e);
+        }
+    }
+
+    private SlidingLatencyHistogram newHistogram() {
+        return new SlidingLatencyHistogram(slotMillis, slotCount, significantDigits);
+    }
+
+    private static long toEpochMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
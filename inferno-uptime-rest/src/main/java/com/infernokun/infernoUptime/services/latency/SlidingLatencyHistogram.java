@@ -0,0 +1,125 @@
+package com.infernokun.infernoUptime.services.latency;
+
+import org.HdrHistogram.AbstractHistogram;
+import org.HdrHistogram.IntCountsHistogram;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Response times of one monitor over a sliding window, split into fixed time slots that each hold an
+ * auto-resizing HdrHistogram. A slot is reset when the window moves past it, so recording never scans or merges;
+ * queries merge the slots still inside the window. Not thread-safe; {@link LatencyHistogramService} synchronizes
+ * on the instance.
+ */
+final class SlidingLatencyHistogram {
+
+    /**
+     * A copy of one slot for persistence.
+     */
+    record Slot(long startMillis, IntCountsHistogram histogram) {
+    }
+
+    private final long slotMillis;
+    private final int significantDigits;
+    private final IntCountsHistogram[] slots; // allocated on first use
+    private final long[] slotStarts;          // epoch millis, -1 while empty
+    private final boolean[] dirty;            // changed since the last snapshot
+
+    SlidingLatencyHistogram(long slotMillis, int slotCount, int significantDigits) {
+        this.slotMillis = slotMillis;
+        this.significantDigits = significantDigits;
+        this.slots = new IntCountsHistogram[slotCount];
+        this.slotStarts = new long[slotCount];
+        this.dirty = new boolean[slotCount];
+        Arrays.fill(slotStarts, -1);
+    }
+
+    void record(long timestampMillis, long value) {
+        IntCountsHistogram slot = slotFor(timestampMillis);
+        if (slot != null) {
+            slot.recordValue(Math.max(0, value));
+        }
+    }
+
+    /**
+     * Adds a persisted slot, e.g. after a restart, to whatever was recorded for that slot since.
+     */
+    void restore(long startMillis, AbstractHistogram histogram) {
+        IntCountsHistogram slot = slotFor(startMillis);
+        if (slot != null) {
+            slot.add(histogram);
+        }
+    }
+
+    /**
+     * Adds the slots inside the window ending at {@code nowMillis} to {@code target}.
+     */
+    void addTo(AbstractHistogram target, long nowMillis) {
+        long oldest = windowStart(nowMillis);
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] != null && slotStarts[i] >= oldest) {
+                target.add(slots[i]);
+            }
+        }
+    }
+
+    /**
+     * Copies of the slots changed since the previous call.
+     */
+    List<Slot> takeDirty() {
+        List<Slot> changed = new ArrayList<>();
+        for (int i = 0; i < slots.length; i++) {
+            if (dirty[i]) {
+                changed.add(new Slot(slotStarts[i], slots[i].copy()));
+                dirty[i] = false;
+            }
+        }
+        return changed;
+    }
+
+    boolean isEmpty(long nowMillis) {
+        long oldest = windowStart(nowMillis);
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] != null && slotStarts[i] >= oldest) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long footprintBytes() {
+        long bytes = 0;
+        for (IntCountsHistogram slot : slots) {
+            if (slot != null) {
+                bytes += slot.getEstimatedFootprintInBytes();
+            }
+        }
+        return bytes;
+    }
+
+    private IntCountsHistogram slotFor(long timestampMillis) {
+        long start = timestampMillis - Math.floorMod(timestampMillis, slotMillis);
+        int index = (int) Math.floorMod(start / slotMillis, (long) slots.length);
+
+        if (slotStarts[index] != start) {
+            if (slotStarts[index] > start) {
+                return null; // older than the window the slot already moved on to
+            }
+            if (slots[index] == null) {
+                slots[index] = new IntCountsHistogram(significantDigits);
+            } else {
+                slots[index].reset();
+            }
+            slotStarts[index] = start;
+        }
+        dirty[index] = true;
+        return slots[index];
+    }
+
+    private long windowStart(long nowMillis) {
+        long currentStart = nowMillis - Math.floorMod(nowMillis, slotMillis);
+        return currentStart - (slots.length - 1) * slotMillis;
+    }
+}
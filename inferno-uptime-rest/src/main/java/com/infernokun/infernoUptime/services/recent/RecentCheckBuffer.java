@@ -0,0 +1,112 @@
+package com.infernokun.infernoUptime.services.recent;
+
+import com.infernokun.infernoUptime.models.dto.UptimeDataPoint;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-size ring of the most recent checks of one monitor, kept in parallel primitive arrays so that appending
+ * allocates nothing. Not thread-safe; {@link RecentCheckService} synchronizes on the buffer.
+ */
+final class RecentCheckBuffer {
+
+    static final byte UNKNOWN = -1;
+    static final byte STALE = -2;
+
+    // Object header plus the fields of this class, and the header of each of the four arrays
+    private static final int SHALLOW_SIZE = 32;
+    private static final int ARRAY_HEADER = 16;
+
+    private final long[] timestamps;    // epoch millis
+    private final long[] responseTimes; // -1 when the check has none
+    private final short[] statusCodes;  // 0 when the check has none
+    private final byte[] upFlags;       // 1 up, 0 down, UNKNOWN
+    private int head;                   // next write position
+    private int size;
+
+    RecentCheckBuffer(int capacity) {
+        timestamps = new long[capacity];
+        responseTimes = new long[capacity];
+        statusCodes = new short[capacity];
+        upFlags = new byte[capacity];
+    }
+
+    /**
+     * Appends a check, overwriting the oldest one when full. A check older than the latest one is not added.
+     *
+     * @return the up flag of the check that was the latest before, {@link #UNKNOWN} if there was none, or
+     * {@link #STALE} if the check is older than it
+     */
+    byte add(LocalDateTime timestamp, Long responseTime, Integer statusCode, Boolean isUp) {
+        long millis = toEpochMillis(timestamp);
+        if (size > 0 && millis < timestamps[(head - 1 + capacity()) % capacity()]) {
+            return STALE;
+        }
+        byte previous = latestUp();
+
+        timestamps[head] = millis;
+        responseTimes[head] = responseTime != null ? responseTime : -1;
+        statusCodes[head] = statusCode != null ? statusCode.shortValue() : 0;
+        upFlags[head] = isUp == null ? UNKNOWN : isUp ? (byte) 1 : (byte) 0;
+
+        head = (head + 1) % capacity();
+        size = Math.min(size + 1, capacity());
+        return previous;
+    }
+
+    byte latestUp() {
+        return size == 0 ? UNKNOWN : upFlags[(head - 1 + capacity()) % capacity()];
+    }
+
+    /**
+     * The latest checks, newest first.
+     */
+    List<UptimeDataPoint> latest(int limit) {
+        int count = Math.min(limit, size);
+        List<UptimeDataPoint> points = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            int slot = (head - i + capacity()) % capacity();
+            points.add(UptimeDataPoint.builder()
+                    .timestamp(toLocalDateTime(timestamps[slot]))
+                    .responseTime(responseTimes[slot] >= 0 ? responseTimes[slot] : null)
+                    .statusCode(statusCodes[slot] != 0 ? (int) statusCodes[slot] : null)
+                    .isUp(upFlags[slot] == UNKNOWN ? null : upFlags[slot] == 1)
+                    .build());
+        }
+        return points;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return timestamps.length;
+    }
+
+    /**
+     * Approximate heap size of the buffer and its arrays (compressed oops, 8-byte alignment).
+     */
+    long footprintBytes() {
+        return SHALLOW_SIZE
+                + align(ARRAY_HEADER + (long) capacity() * Long.BYTES) * 2
+                + align(ARRAY_HEADER + (long) capacity() * Short.BYTES)
+                + align(ARRAY_HEADER + capacity());
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private static long toEpochMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
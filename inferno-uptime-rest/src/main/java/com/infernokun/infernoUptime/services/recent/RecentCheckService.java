@@ -0,0 +1,128 @@
+package com.infernokun.infernoUptime.services.recent;
+
+import com.infernokun.infernoUptime.models.dto.RecentChecks;
+import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+import com.infernokun.infernoUptime.services.archive.CheckHistoryService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the last {@code capacity} checks of every monitor in a {@link RecentCheckBuffer}, filled as checks are
+ * recorded (stored as rows or not). Status-change detection and recent-history reads use the buffer instead of
+ * the database; a buffer is loaded from {@code monitor_checks} only the first time a monitor is seen after start.
+ */
+@Slf4j
+@Service
+public class RecentCheckService {
+
+    private final CheckHistoryService checkHistoryService;
+    private final Map<Long, RecentCheckBuffer> buffers = new ConcurrentHashMap<>();
+    private final int capacity;
+
+    public RecentCheckService(CheckHistoryService checkHistoryService,
+                              MeterRegistry meterRegistry,
+                              @Value("${inferno.uptime.recent-checks.capacity:100}") int capacity) {
+        this.checkHistoryService = checkHistoryService;
+        this.capacity = Math.max(2, capacity);
+
+        Gauge.builder("inferno.recent.buffers", buffers, Map::size)
+                .description("Monitors with an in-memory recent check buffer")
+                .register(meterRegistry);
+        Gauge.builder("inferno.recent.memory", this, RecentCheckService::footprintBytes)
+                .description("Approximate heap used by the recent check buffers")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * How a recorded check relates to the check that was its monitor's latest.
+     */
+    public enum Transition {
+        UNCHANGED,
+        CHANGED,  // different status, or the monitor's first check
+        STALE     // older than the latest check, e.g. a probe agent batch delivered late
+    }
+
+    /**
+     * Appends a check to its monitor's buffer, unless it is older than the buffer's latest check.
+     */
+    public Transition record(MonitorCheck check) {
+        RecentCheckBuffer buffer = buffer(check.getMonitor().getId(), check.getTimestamp());
+        byte previous;
+        synchronized (buffer) {
+            previous = buffer.add(check.getTimestamp(), check.getResponseTime(), check.getStatusCode(), check.getIsUp());
+        }
+
+        if (previous == RecentCheckBuffer.STALE) {
+            return Transition.STALE;
+        }
+        if (previous == RecentCheckBuffer.UNKNOWN || check.getIsUp() == null) {
+            return previous == RecentCheckBuffer.UNKNOWN ? Transition.CHANGED : Transition.UNCHANGED;
+        }
+        return (previous == 1) != check.getIsUp() ? Transition.CHANGED : Transition.UNCHANGED;
+    }
+
+    /**
+     * The latest checks of a monitor, newest first, at most {@code capacity} of them.
+     */
+    public RecentChecks recent(Long monitorId, int limit) {
+        RecentCheckBuffer buffer = buffer(monitorId, null);
+        RecentChecks.RecentChecksBuilder result = RecentChecks.builder()
+                .monitorId(monitorId)
+                .capacity(capacity);
+        if (buffer == null) {
+            return result.size(0).memoryBytes(0L).checks(List.of()).build();
+        }
+
+        synchronized (buffer) {
+            return result.size(buffer.size())
+                    .memoryBytes(buffer.footprintBytes())
+                    .checks(buffer.latest(Math.clamp(limit, 0, capacity)))
+                    .build();
+        }
+    }
+
+    public long footprintBytes() {
+        return buffers.values().stream().mapToLong(RecentCheckBuffer::footprintBytes).sum();
+    }
+
+    /**
+     * The monitor's buffer, loading it from the stored history if the monitor was not seen since start. Checks at
+     * or after {@code before} are left out of the load, as the caller is about to add them. Returns null for a
+     * read of a monitor without any history, so unknown ids do not allocate buffers.
+     */
+    private RecentCheckBuffer buffer(Long monitorId, LocalDateTime before) {
+        RecentCheckBuffer buffer = buffers.get(monitorId);
+        if (buffer != null) {
+            return buffer;
+        }
+
+        List<MonitorCheck> stored = checkHistoryService.findRecent(monitorId, capacity);
+        if (stored.isEmpty() && before == null) {
+            return null;
+        }
+
+        RecentCheckBuffer loaded = new RecentCheckBuffer(capacity);
+        for (int i = stored.size() - 1; i >= 0; i--) {
+            MonitorCheck check = stored.get(i);
+            if (before == null || check.getTimestamp().isBefore(before)) {
+                loaded.add(check.getTimestamp(), check.getResponseTime(), check.getStatusCode(), check.getIsUp());
+            }
+        }
+
+        RecentCheckBuffer existing = buffers.putIfAbsent(monitorId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        log.debug("Loaded {} recent checks for monitor {}", loaded.size(), monitorId);
+        return loaded;
+    }
+}
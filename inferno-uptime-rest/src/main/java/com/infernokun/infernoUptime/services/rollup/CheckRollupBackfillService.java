@@ -0,0 +1,66 @@
+package com.infernokun.infernoUptime.services.rollup;
+
+import com.infernokun.infernoUptime.services.storage.ChunkedBackfill;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Folds the checks written before the V4 migration into the rollups, one id window at a time. Windows are merged
+ * into existing buckets the same way {@link CheckRollupWriter} merges a batch, so buckets that also received checks
+ * after the migration add up. Latency sketches are left to {@link RollupSketchBackfillService}.
+ */
+@Service
+public class CheckRollupBackfillService extends ChunkedBackfill {
+
+    private static final String HISTOGRAM_SQL = IntStream.range(0, LatencyHistogram.BUCKETS)
+            .mapToObj(i -> "count(*) FILTER (WHERE is_up AND width_bucket(response_time, ARRAY"
+                    + Arrays.toString(LatencyHistogram.BOUNDS) + "::bigint[]) = " + i + ")")
+            .collect(Collectors.joining(", ", "ARRAY[", "]"));
+
+    private static final String BACKFILL_SQL = """
+            INSERT INTO %s AS r (monitor_id, bucket, check_count, up_count, response_time_sum,
+                                 response_time_min, response_time_max, latency_histogram)
+            SELECT monitor_id,
+                   date_trunc('%s', timestamp),
+                   count(*),
+                   count(*) FILTER (WHERE is_up),
+                   COALESCE(sum(response_time) FILTER (WHERE is_up), 0),
+                   min(response_time) FILTER (WHERE is_up),
+                   max(response_time) FILTER (WHERE is_up),
+                   %s
+            FROM monitor_checks
+            WHERE id > ? AND id <= ?
+            GROUP BY 1, 2
+            ORDER BY 1, 2
+            ON CONFLICT (monitor_id, bucket) DO UPDATE SET
+                check_count       = r.check_count + EXCLUDED.check_count,
+                up_count          = r.up_count + EXCLUDED.up_count,
+                response_time_sum = r.response_time_sum + EXCLUDED.response_time_sum,
+                response_time_min = LEAST(r.response_time_min, EXCLUDED.response_time_min),
+                response_time_max = GREATEST(r.response_time_max, EXCLUDED.response_time_max),
+                latency_histogram = ARRAY(SELECT a + b
+                                          FROM unnest(r.latency_histogram, EXCLUDED.latency_histogram) AS h(a, b))
+            """;
+
+    public CheckRollupBackfillService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry) {
+        super("check rollup backfill", "monitor_check_rollup_backfill", jdbcTemplate, transactionManager,
+                meterRegistry);
+    }
+
+    @Override
+    protected int backfill(long from, long to) {
+        int rows = 0;
+        for (RollupResolution resolution : RollupResolution.values()) {
+            rows += jdbcTemplate.update(BACKFILL_SQL.formatted(resolution.getTable(), resolution.getTruncField(),
+                    HISTOGRAM_SQL), from, to);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,282 @@
+package com.infernokun.infernoUptime.services.rollup;
+
+import com.infernokun.infernoUptime.models.dto.LatencyPercentiles;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Check statistics over arbitrary time windows, answered from the rollup tables.
+ * <p>
+ * A window is split into the coarsest rollup buckets it fully contains (whole days, then whole hours at the
+ * edges, then minutes), and all segments are summed in a single query. Its cost depends on the number of
+ * segments, not on the length of the window or the number of checks in it.
+ * <p>
+ * Partial minutes at either end are widened to their whole minute bucket instead of being read from
+ * {@code monitor_checks}, because monitors with sampled storage do not keep a row for every check. The bucket
+ * of the current minute already holds every check ingested so far, so a window ending now is exact; its start
+ * may include up to a minute of earlier checks.
+ * <p>
+ * Response time percentiles are answered the same way, by adding up the {@link LatencySketch} counts of the
+ * covered buckets per key, so they stay within the sketch's relative accuracy for any window and monitor set.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CheckRollupService {
+
+    private static final String ROLLUP_SEGMENT = """
+            SELECT monitor_id, check_count, up_count, response_time_sum, response_time_min, response_time_max
+            FROM %s WHERE bucket >= ? AND bucket < ?%s""";
+
+    private static final String RAW_SEGMENT = """
+            SELECT monitor_id, count(*) AS check_count, count(*) FILTER (WHERE is_up) AS up_count,
+                   COALESCE(sum(response_time) FILTER (WHERE is_up), 0)::bigint AS response_time_sum,
+                   min(response_time) FILTER (WHERE is_up) AS response_time_min,
+                   max(response_time) FILTER (WHERE is_up) AS response_time_max
+            FROM monitor_checks WHERE timestamp >= ? AND timestamp < ?%s GROUP BY monitor_id""";
+
+    private static final String ROLLUP_SKETCH_SEGMENT = """
+            SELECT s.key, s.count
+            FROM %s, unnest(latency_sketch_keys, latency_sketch_counts) AS s(key, count)
+            WHERE bucket >= ? AND bucket < ?%s""";
+
+    private static final String RAW_SKETCH_SEGMENT = """
+            SELECT latency_sketch_key(response_time) AS key, count(*) AS count
+            FROM monitor_checks WHERE is_up AND response_time IS NOT NULL AND timestamp >= ? AND timestamp < ?%s
+            GROUP BY 1""";
+
+    private static final String MONITOR_FILTER = " AND monitor_id = ANY(?)";
+
+    private static final RowMapper<CheckTotals> TOTALS_MAPPER = (rs, rowNum) -> new CheckTotals(
+            rs.getLong("check_count"),
+            rs.getLong("up_count"),
+            rs.getLong("response_time_sum"),
+            rs.getObject("response_time_min", Long.class),
+            rs.getObject("response_time_max", Long.class));
+
+    /**
+     * Summed checks of a window. Response time figures cover UP checks only.
+     */
+    public record CheckTotals(long checks, long upChecks, long responseTimeSum,
+                              Long minResponseTime, Long maxResponseTime) {
+
+        public static final CheckTotals EMPTY = new CheckTotals(0, 0, 0, null, null);
+
+        public long failedChecks() {
+            return checks - upChecks;
+        }
+
+        /**
+         * Percentage of UP checks, or {@code null} without checks.
+         */
+        public Double uptimePercentage() {
+            return checks > 0 ? upChecks * 100.0 / checks : null;
+        }
+
+        /**
+         * Average response time of UP checks, or {@code null} without any.
+         */
+        public Double averageResponseTime() {
+            return upChecks > 0 ? (double) responseTimeSum / upChecks : null;
+        }
+    }
+
+    private record Segment(String table, LocalDateTime from, LocalDateTime to) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${inferno.uptime.rollups.enabled:true}")
+    private boolean enabled;
+
+    @Value("${inferno.uptime.rollups.retention-days:400}")
+    private int coarseRetentionDays;
+
+    // ======================== Queries ========================
+
+    /**
+     * Totals over {@code [since, until)} across all monitors.
+     */
+    public CheckTotals totals(LocalDateTime since, LocalDateTime until) {
+        return totals((Collection<Long>) null, since, until);
+    }
+
+    public CheckTotals totals(Long monitorId, LocalDateTime since, LocalDateTime until) {
+        return totals(List.of(monitorId), since, until);
+    }
+
+    /**
+     * Totals over {@code [since, until)} for the given monitors, or for all monitors when {@code monitorIds} is
+     * {@code null}.
+     */
+    public CheckTotals totals(Collection<Long> monitorIds, LocalDateTime since, LocalDateTime until) {
+        if (monitorIds != null && monitorIds.isEmpty()) {
+            return CheckTotals.EMPTY;
+        }
+
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT " + sums() + " FROM ("
+                + segments(ROLLUP_SEGMENT, RAW_SEGMENT, monitorIds, since, until, args) + ") s";
+        return jdbcTemplate.queryForObject(sql, TOTALS_MAPPER, args.toArray());
+    }
+
+    /**
+     * Totals over {@code [since, until)} per monitor. Monitors without checks in the window are absent.
+     */
+    public Map<Long, CheckTotals> totalsByMonitor(Collection<Long> monitorIds, LocalDateTime since,
+                                                  LocalDateTime until) {
+        Map<Long, CheckTotals> totals = new HashMap<>();
+        if (monitorIds != null && monitorIds.isEmpty()) {
+            return totals;
+        }
+
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT monitor_id, " + sums() + " FROM ("
+                + segments(ROLLUP_SEGMENT, RAW_SEGMENT, monitorIds, since, until, args) + ") s GROUP BY monitor_id";
+        jdbcTemplate.query(sql, rs -> {
+            totals.put(rs.getLong("monitor_id"), TOTALS_MAPPER.mapRow(rs, 0));
+        }, args.toArray());
+        return totals;
+    }
+
+    /**
+     * Response time percentiles of the UP checks over {@code [since, until)} for the given monitors together, or
+     * for all monitors when {@code monitorIds} is {@code null}; null without any such check.
+     */
+    public LatencyPercentiles percentiles(Collection<Long> monitorIds, LocalDateTime since, LocalDateTime until) {
+        LatencySketch sketch = sketch(monitorIds, since, until);
+        if (sketch.isEmpty()) {
+            return null;
+        }
+        return LatencyPercentiles.builder()
+                .p50(sketch.quantile(0.50))
+                .p90(sketch.quantile(0.90))
+                .p95(sketch.quantile(0.95))
+                .p99(sketch.quantile(0.99))
+                .max(sketch.quantile(1))
+                .count(sketch.count())
+                .windowMinutes(Duration.between(since, until).toMinutes())
+                .build();
+    }
+
+    /**
+     * The merged latency sketch of the UP checks over {@code [since, until)} for the given monitors, or for all
+     * monitors when {@code monitorIds} is {@code null}.
+     */
+    public LatencySketch sketch(Collection<Long> monitorIds, LocalDateTime since, LocalDateTime until) {
+        LatencySketch sketch = new LatencySketch();
+        if (monitorIds != null && monitorIds.isEmpty()) {
+            return sketch;
+        }
+
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT key, sum(count)::bigint AS count FROM ("
+                + segments(ROLLUP_SKETCH_SEGMENT, RAW_SKETCH_SEGMENT, monitorIds, since, until, args) + ") s GROUP BY key";
+        jdbcTemplate.query(sql, rs -> {
+            sketch.add(rs.getInt("key"), rs.getLong("count"));
+        }, args.toArray());
+        return sketch;
+    }
+
+    private static String sums() {
+        return """
+                COALESCE(sum(check_count), 0)::bigint AS check_count, COALESCE(sum(up_count), 0)::bigint AS up_count,
+                COALESCE(sum(response_time_sum), 0)::bigint AS response_time_sum,
+                min(response_time_min) AS response_time_min, max(response_time_max) AS response_time_max""";
+    }
+
+    /**
+     * UNION ALL of {@code rollupSegment} per rollup segment of the window ({@code rawSegment} when rollups are
+     * disabled). Both templates end with a {@code %s} for the monitor filter; the rollup one starts with the table.
+     */
+    private String segments(String rollupSegment, String rawSegment, Collection<Long> monitorIds,
+                            LocalDateTime since, LocalDateTime until, List<Object> args) {
+        List<Segment> segments = new ArrayList<>();
+        if (enabled) {
+            plan(since, until, RollupResolution.values().length - 1, segments);
+        } else {
+            segments.add(new Segment(null, since, until));
+        }
+        if (segments.isEmpty()) {
+            segments.add(new Segment(null, since, since));
+        }
+
+        List<String> parts = new ArrayList<>();
+        for (Segment segment : segments) {
+            String filter = monitorIds != null ? MONITOR_FILTER : "";
+            parts.add(segment.table() == null
+                    ? rawSegment.formatted(filter)
+                    : rollupSegment.formatted(segment.table(), filter));
+            args.add(Timestamp.valueOf(segment.from()));
+            args.add(Timestamp.valueOf(segment.to()));
+            if (monitorIds != null) {
+                args.add(new SqlArrayValue("bigint", monitorIds.toArray()));
+            }
+        }
+        return String.join("\nUNION ALL\n", parts);
+    }
+
+    /**
+     * Covers {@code [from, to)} with the whole buckets of {@code level} it contains and recurses into the
+     * finer resolutions for the remainders on either side; minute buckets cover what is left, rounded outward.
+     */
+    private static void plan(LocalDateTime from, LocalDateTime to, int level, List<Segment> segments) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+
+        RollupResolution resolution = RollupResolution.values()[level];
+        if (level == 0) {
+            segments.add(new Segment(resolution.getTable(), resolution.floor(from), resolution.ceil(to)));
+            return;
+        }
+
+        LocalDateTime start = resolution.ceil(from);
+        LocalDateTime end = resolution.floor(to);
+        if (!start.isBefore(end)) {
+            plan(from, to, level - 1, segments);
+            return;
+        }
+
+        plan(from, start, level - 1, segments);
+        segments.add(new Segment(resolution.getTable(), start, end));
+        plan(end, to, level - 1, segments);
+    }
+
+    // ======================== Retention ========================
+
+    /**
+     * Drops minute buckets older than the raw check retention and hour and day buckets older than
+     * {@code rollups.retention-days}.
+     */
+    public void deleteExpired(LocalDateTime rawCutoff) {
+        LocalDateTime coarseCutoff = LocalDateTime.now().minusDays(coarseRetentionDays);
+        if (coarseCutoff.isAfter(rawCutoff)) {
+            coarseCutoff = rawCutoff;
+        }
+
+        int minutes = deleteBefore(RollupResolution.MINUTE, rawCutoff);
+        int hours = deleteBefore(RollupResolution.HOUR, coarseCutoff);
+        int days = deleteBefore(RollupResolution.DAY, coarseCutoff);
+        log.info("Deleted {} minute, {} hour and {} day rollup buckets", minutes, hours, days);
+    }
+
+    private int deleteBefore(RollupResolution resolution, LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM " + resolution.getTable() + " WHERE bucket < ?",
+                Timestamp.valueOf(resolution.floor(cutoff)));
+    }
+}
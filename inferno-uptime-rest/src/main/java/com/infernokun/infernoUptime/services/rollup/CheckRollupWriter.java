@@ -0,0 +1,148 @@
+package com.infernokun.infernoUptime.services.rollup;
+
+import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+import com.infernokun.infernoUptime.services.ingest.CheckBatchListener;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Folds every written batch into the minute, hour and day rollups. The batch is aggregated in memory first, so
+ * each table receives one upsert per (monitor, bucket) the batch touched. Rows are upserted in key order to keep
+ * concurrent writers (the flusher and a synchronous fallback write) from deadlocking on the same buckets.
+ * Latency sketches of an existing bucket are merged by adding the counts of equal keys.
+ */
+@Component
+@RequiredArgsConstructor
+public class CheckRollupWriter implements CheckBatchListener {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO %s AS r (monitor_id, bucket, check_count, up_count, response_time_sum,
+                                 response_time_min, response_time_max, latency_histogram,
+                                 latency_sketch_keys, latency_sketch_counts)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (monitor_id, bucket) DO UPDATE SET
+                check_count       = r.check_count + EXCLUDED.check_count,
+                up_count          = r.up_count + EXCLUDED.up_count,
+                response_time_sum = r.response_time_sum + EXCLUDED.response_time_sum,
+                response_time_min = LEAST(r.response_time_min, EXCLUDED.response_time_min),
+                response_time_max = GREATEST(r.response_time_max, EXCLUDED.response_time_max),
+                latency_histogram = ARRAY(SELECT a + b
+                                          FROM unnest(r.latency_histogram, EXCLUDED.latency_histogram) AS h(a, b)),
+                (latency_sketch_keys, latency_sketch_counts) = (
+                    SELECT COALESCE(array_agg(k ORDER BY k), '{}'), COALESCE(array_agg(c ORDER BY k), '{}')
+                    FROM (SELECT k, sum(c)::bigint AS c
+                          FROM (SELECT * FROM unnest(r.latency_sketch_keys, r.latency_sketch_counts)
+                                UNION ALL
+                                SELECT * FROM unnest(EXCLUDED.latency_sketch_keys, EXCLUDED.latency_sketch_counts)) AS s(k, c)
+                          GROUP BY k) AS merged)
+            """;
+
+    private static final Comparator<BucketKey> KEY_ORDER =
+            Comparator.comparingLong(BucketKey::monitorId).thenComparing(BucketKey::bucket);
+
+    private record BucketKey(long monitorId, LocalDateTime bucket) {
+    }
+
+    private static final class Bucket {
+        long checks;
+        long upChecks;
+        long responseTimeSum;
+        Long responseTimeMin;
+        Long responseTimeMax;
+        final Long[] histogram = new Long[LatencyHistogram.BUCKETS];
+        final LatencySketch sketch = new LatencySketch();
+
+        Bucket() {
+            Arrays.fill(histogram, 0L);
+        }
+
+        void add(MonitorCheck check) {
+            checks++;
+            if (!Boolean.TRUE.equals(check.getIsUp())) {
+                return;
+            }
+            upChecks++;
+
+            Long responseTime = check.getResponseTime();
+            if (responseTime == null) {
+                return;
+            }
+            responseTimeSum += responseTime;
+            responseTimeMin = responseTimeMin == null ? responseTime : Math.min(responseTimeMin, responseTime);
+            responseTimeMax = responseTimeMax == null ? responseTime : Math.max(responseTimeMax, responseTime);
+            histogram[LatencyHistogram.bucketOf(responseTime)]++;
+            sketch.add(responseTime);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${inferno.uptime.rollups.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void onBatchWritten(List<MonitorCheck> checks) {
+        if (!enabled || checks.isEmpty()) {
+            return;
+        }
+
+        for (RollupResolution resolution : RollupResolution.values()) {
+            Map<BucketKey, Bucket> buckets = new TreeMap<>(KEY_ORDER);
+            for (MonitorCheck check : checks) {
+                BucketKey key = new BucketKey(check.getMonitor().getId(), resolution.floor(check.getTimestamp()));
+                buckets.computeIfAbsent(key, k -> new Bucket()).add(check);
+            }
+            upsert(resolution, buckets);
+        }
+    }
+
+    private void upsert(RollupResolution resolution, Map<BucketKey, Bucket> buckets) {
+        List<Map.Entry<BucketKey, Bucket>> rows = new ArrayList<>(buckets.entrySet());
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL.formatted(resolution.getTable()), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                BucketKey key = rows.get(i).getKey();
+                Bucket bucket = rows.get(i).getValue();
+                ps.setLong(1, key.monitorId());
+                ps.setTimestamp(2, Timestamp.valueOf(key.bucket()));
+                ps.setLong(3, bucket.checks);
+                ps.setLong(4, bucket.upChecks);
+                ps.setLong(5, bucket.responseTimeSum);
+                setNullableLong(ps, 6, bucket.responseTimeMin);
+                setNullableLong(ps, 7, bucket.responseTimeMax);
+                ps.setArray(8, ps.getConnection().createArrayOf("bigint", bucket.histogram));
+                ps.setArray(9, ps.getConnection().createArrayOf("smallint", bucket.sketch.keys()));
+                ps.setArray(10, ps.getConnection().createArrayOf("bigint", bucket.sketch.counts()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+}
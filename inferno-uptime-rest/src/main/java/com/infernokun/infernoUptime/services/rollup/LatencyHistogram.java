@@ -0,0 +1,24 @@
+package com.infernokun.infernoUptime.services.rollup;
+
+/**
+ * Fixed latency buckets of the rollup {@code latency_histogram} column. The bounds are exclusive upper limits in
+ * milliseconds and the last bucket is open; they match the {@code width_bucket} arrays of {@link CheckRollupBackfillService}.
+ */
+public final class LatencyHistogram {
+
+    static final long[] BOUNDS = {10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    public static final int BUCKETS = BOUNDS.length + 1;
+
+    private LatencyHistogram() {
+    }
+
+    public static int bucketOf(long responseTimeMs) {
+        for (int i = 0; i < BOUNDS.length; i++) {
+            if (responseTimeMs < BOUNDS[i]) {
+                return i;
+            }
+        }
+        return BOUNDS.length;
+    }
+}
@@ -0,0 +1,135 @@
+package com.infernokun.infernoUptime.services.rollup;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable response time sketch of the rollup {@code latency_sketch_keys} / {@code latency_sketch_counts}
+ * columns, in the manner of DDSketch: a value v &gt; 0 is counted under key {@code 1 + ceil(log_gamma(v))} with
+ * {@code gamma = (1 + a) / (1 - a)}, and zero under key 0. Every quantile estimated from it is within the
+ * relative accuracy {@code a} of an actual value (plus rounding to whole milliseconds), however many sketches
+ * were merged, and merging is adding counts per key. Keys must match the expression in the V11 migration.
+ * <p>
+ * Counts are held densely between the lowest and highest key seen; a monitor's latencies rarely spread over
+ * more than a few dozen keys. Not thread-safe.
+ */
+public final class LatencySketch {
+
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private long[] counts = new long[0];
+    private int offset; // key of counts[0]
+    private long count;
+
+    public static int keyOf(long responseTimeMs) {
+        return responseTimeMs <= 0 ? 0 : 1 + (int) Math.ceil(Math.log(responseTimeMs) / LOG_GAMMA);
+    }
+
+    /**
+     * Estimate of the values counted under {@code key}, at most {@link #RELATIVE_ACCURACY} away from each of them.
+     */
+    public static long valueOf(int key) {
+        return key <= 0 ? 0 : Math.round(2 * Math.pow(GAMMA, key - 1) / (GAMMA + 1));
+    }
+
+    public void add(long responseTimeMs) {
+        add(keyOf(responseTimeMs), 1);
+    }
+
+    public void add(int key, long keyCount) {
+        if (keyCount <= 0) {
+            return;
+        }
+        ensure(key);
+        counts[key - offset] += keyCount;
+        count += keyCount;
+    }
+
+    public void merge(LatencySketch other) {
+        for (int i = 0; i < other.counts.length; i++) {
+            add(other.offset + i, other.counts[i]);
+        }
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * The value at {@code quantile} (0 to 1) as the lower quantile, i.e. the value of rank
+     * {@code floor(quantile * (count - 1))} in ascending order; null when empty.
+     */
+    public Long quantile(double quantile) {
+        if (count == 0) {
+            return null;
+        }
+
+        long rank = (long) (Math.clamp(quantile, 0, 1) * (count - 1));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return valueOf(offset + i);
+            }
+        }
+        return valueOf(offset + counts.length - 1);
+    }
+
+    /**
+     * The keys with a count, ascending, for the {@code latency_sketch_keys} column.
+     */
+    public Short[] keys() {
+        Short[] keys = new Short[populated()];
+        for (int i = 0, k = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                keys[k++] = (short) (offset + i);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * The counts of {@link #keys()}, for the {@code latency_sketch_counts} column.
+     */
+    public Long[] counts() {
+        Long[] values = new Long[populated()];
+        for (int i = 0, k = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                values[k++] = counts[i];
+            }
+        }
+        return values;
+    }
+
+    private int populated() {
+        int populated = 0;
+        for (long keyCount : counts) {
+            if (keyCount > 0) {
+                populated++;
+            }
+        }
+        return populated;
+    }
+
+    private void ensure(int key) {
+        if (counts.length == 0) {
+            counts = new long[8];
+            offset = key;
+        } else if (key < offset) {
+            int shift = offset - key;
+            long[] grown = new long[counts.length + Math.max(shift, 8)];
+            int extra = grown.length - counts.length;
+            System.arraycopy(counts, 0, grown, extra, counts.length);
+            counts = grown;
+            offset -= extra;
+        } else if (key - offset >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(key - offset + 1, counts.length + 8));
+        }
+    }
+}
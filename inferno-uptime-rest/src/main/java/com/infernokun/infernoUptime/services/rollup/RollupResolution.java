@@ -0,0 +1,49 @@
+package com.infernokun.infernoUptime.services.rollup;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Bucket widths of the {@code monitor_check_rollup_*} tables, finest first.
+ */
+public enum RollupResolution {
+    MINUTE("monitor_check_rollup_1m", ChronoUnit.MINUTES, "minute"),
+    HOUR("monitor_check_rollup_1h", ChronoUnit.HOURS, "hour"),
+    DAY("monitor_check_rollup_1d", ChronoUnit.DAYS, "day");
+
+    private final String table;
+    private final ChronoUnit unit;
+    private final String truncField;
+
+    RollupResolution(String table, ChronoUnit unit, String truncField) {
+        this.table = table;
+        this.unit = unit;
+        this.truncField = truncField;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * The {@code date_trunc} field that computes {@link #floor} in SQL.
+     */
+    public String getTruncField() {
+        return truncField;
+    }
+
+    /**
+     * Start of the bucket containing {@code time}.
+     */
+    public LocalDateTime floor(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+
+    /**
+     * Start of the first bucket that begins at or after {@code time}.
+     */
+    public LocalDateTime ceil(LocalDateTime time) {
+        LocalDateTime floor = floor(time);
+        return floor.equals(time) ? floor : floor.plus(1, unit);
+    }
+}
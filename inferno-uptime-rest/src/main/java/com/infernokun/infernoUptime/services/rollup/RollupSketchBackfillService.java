@@ -0,0 +1,55 @@
+package com.infernokun.infernoUptime.services.rollup;
+
+import com.infernokun.infernoUptime.services.storage.ChunkedBackfill;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Adds the checks stored before the V11 migration to the latency sketches of the rollups, one id window at a time.
+ * Only the sketch columns of a bucket are merged. A bucket {@link CheckRollupBackfillService} has not reached yet
+ * is created with zero counts for it to add to. Buckets older than the raw retention, and the healthy checks
+ * sampled monitors did not store, stay out of the sketches.
+ */
+@Service
+public class RollupSketchBackfillService extends ChunkedBackfill {
+
+    private static final String BACKFILL_SQL = """
+            INSERT INTO %1$s AS r (monitor_id, bucket, check_count, up_count, response_time_sum,
+                                   response_time_min, response_time_max, latency_histogram,
+                                   latency_sketch_keys, latency_sketch_counts)
+            SELECT monitor_id, bucket, 0, 0, 0, NULL, NULL, array_fill(0::bigint, ARRAY[%3$d]),
+                   array_agg(key ORDER BY key), array_agg(n ORDER BY key)
+            FROM (SELECT monitor_id, date_trunc('%2$s', timestamp) AS bucket,
+                         latency_sketch_key(response_time) AS key, count(*) AS n
+                  FROM monitor_checks
+                  WHERE id > ? AND id <= ? AND is_up AND response_time IS NOT NULL
+                  GROUP BY 1, 2, 3) k
+            GROUP BY 1, 2
+            ORDER BY 1, 2
+            ON CONFLICT (monitor_id, bucket) DO UPDATE SET
+                (latency_sketch_keys, latency_sketch_counts) = (
+                    SELECT COALESCE(array_agg(k ORDER BY k), '{}'), COALESCE(array_agg(c ORDER BY k), '{}')
+                    FROM (SELECT k, sum(c)::bigint AS c
+                          FROM (SELECT * FROM unnest(r.latency_sketch_keys, r.latency_sketch_counts)
+                                UNION ALL
+                                SELECT * FROM unnest(EXCLUDED.latency_sketch_keys, EXCLUDED.latency_sketch_counts)) AS s(k, c)
+                          GROUP BY k) AS merged)
+            """;
+
+    public RollupSketchBackfillService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                       MeterRegistry meterRegistry) {
+        super("rollup sketch backfill", "rollup_sketch_backfill", jdbcTemplate, transactionManager, meterRegistry);
+    }
+
+    @Override
+    protected int backfill(long from, long to) {
+        int rows = 0;
+        for (RollupResolution resolution : RollupResolution.values()) {
+            rows += jdbcTemplate.update(BACKFILL_SQL.formatted(resolution.getTable(), resolution.getTruncField(),
+                    LatencyHistogram.BUCKETS), from, to);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,137 @@
+package com.infernokun.infernoUptime.services.storage;
+
+import com.infernokun.infernoUptime.config.db.DatabaseWorkload;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns {@code message_id} and {@code error_details_id} to the checks written before the V9 migration, whose
+ * texts are still in the {@code message} and {@code error_details} columns. Walks id windows up to the largest id
+ * at migration time in short transactions, interning each window's texts through the
+ * {@link CheckMessageDictionaryService} first, and stores its cursor in {@code check_message_backfill} after every
+ * chunk so a restart resumes where it stopped. Reads fall back to the text columns for rows it has not reached.
+ */
+@Slf4j
+@Service
+public class CheckMessageBackfillService {
+
+    private static final String STATE_TABLE = "check_message_backfill";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CheckMessageDictionaryService messageDictionary;
+    private final Counter rowsBackfilled;
+
+    @Value("${inferno.uptime.messages.backfill.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${inferno.uptime.messages.backfill.pause:200ms}")
+    private Duration pause;
+
+    private volatile Thread worker;
+    private volatile boolean stopRequested;
+
+    public CheckMessageBackfillService(JdbcTemplate jdbcTemplate,
+                                       CheckMessageDictionaryService messageDictionary,
+                                       MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.messageDictionary = messageDictionary;
+        this.rowsBackfilled = Counter.builder("inferno.messages.backfill.rows")
+                .description("Checks whose message texts were moved to dictionary ids")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            List<Map<String, Object>> state = jdbcTemplate.queryForList(
+                    "SELECT last_id, max_id FROM " + STATE_TABLE + " WHERE id = 1 AND finished_at IS NULL");
+            if (state.isEmpty()) {
+                return;
+            }
+            long lastId = ((Number) state.get(0).get("last_id")).longValue();
+            long maxId = ((Number) state.get(0).get("max_id")).longValue();
+            log.info("Backfilling check message ids from id {} up to {}", lastId, maxId);
+
+            stopRequested = false;
+            worker = new Thread(() -> DatabaseWorkload.ANALYTICS.run(() -> run(lastId, maxId)), "check-message-backfill");
+            worker.setDaemon(true);
+            worker.start();
+        } catch (Exception e) {
+            log.error("Could not read the check message backfill state", e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopRequested = true;
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    // ======================== Backfill Loop ========================
+
+    private void run(long lastId, long maxId) {
+        long rows = 0;
+        try {
+            while (lastId < maxId && !stopRequested) {
+                long from = lastId;
+                long to = Math.min(maxId, from + chunkSize);
+
+                List<String> texts = jdbcTemplate.queryForList("""
+                        SELECT message FROM monitor_checks WHERE id > ? AND id <= ? AND message_id IS NULL
+                        UNION
+                        SELECT error_details FROM monitor_checks WHERE id > ? AND id <= ? AND error_details_id IS NULL
+                        """, String.class, from, to, from, to);
+                if (texts.stream().anyMatch(text -> text != null)) {
+                    messageDictionary.idsOf(texts);
+                    int updated = jdbcTemplate.update("""
+                            UPDATE monitor_checks
+                            SET message_id       = COALESCE(message_id,
+                                    (SELECT m.id FROM check_messages m WHERE m.text_hash = md5(message)::uuid)),
+                                error_details_id = COALESCE(error_details_id,
+                                    (SELECT m.id FROM check_messages m WHERE m.text_hash = md5(error_details)::uuid))
+                            WHERE id > ? AND id <= ?
+                              AND ((message IS NOT NULL AND message_id IS NULL)
+                                   OR (error_details IS NOT NULL AND error_details_id IS NULL))
+                            """, from, to);
+                    rows += updated;
+                    rowsBackfilled.increment(updated);
+                }
+
+                lastId = to;
+                jdbcTemplate.update("UPDATE " + STATE_TABLE + " SET last_id = ?, updated_at = ? WHERE id = 1",
+                        lastId, Timestamp.valueOf(LocalDateTime.now()));
+                Thread.sleep(pause.toMillis());
+            }
+
+            if (!stopRequested) {
+                jdbcTemplate.update("UPDATE " + STATE_TABLE + " SET finished_at = ? WHERE id = 1",
+                        Timestamp.valueOf(LocalDateTime.now()));
+                log.info("Check message backfill finished ({} rows this run); the message and error_details "
+                        + "columns can be dropped", rows);
+            } else {
+                log.info("Check message backfill stopped at id {}, will resume on restart", lastId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Check message backfill interrupted at id {}, will resume on restart", lastId);
+        } catch (Exception e) {
+            log.error("Check message backfill failed at id {}, will resume on restart", lastId, e);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.infernokun.infernoUptime.services.storage;
+
+import com.infernokun.infernoUptime.models.entity.CheckMessageDictionary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The {@code check_messages} dictionary behind {@code monitor_checks.message_id} and {@code error_details_id}.
+ * <p>
+ * Recently used texts are held in a bounded two-way LRU cache of {@code messages.cache-size} entries, so ingestion
+ * and reads resolve them without a query. New texts are interned with {@code INSERT ... ON CONFLICT DO NOTHING};
+ * inside a transaction they only enter the cache once it commits, so a rolled back batch cannot leave ids in the
+ * cache that do not exist.
+ */
+@Service
+public class CheckMessageDictionaryService implements CheckMessageDictionary {
+
+    // Inserting in hash order makes concurrent batches wait on each other's new texts in the same order, not deadlock
+    private static final String INTERN_SQL = """
+            WITH input AS (SELECT DISTINCT unnest(?::text[]) AS text),
+            inserted AS (
+                INSERT INTO check_messages (text)
+                SELECT text FROM input ORDER BY md5(text)
+                ON CONFLICT (text_hash) DO NOTHING
+                RETURNING id, text
+            )
+            SELECT id, text FROM inserted
+            UNION ALL
+            SELECT m.id, m.text FROM check_messages m JOIN input i ON m.text_hash = md5(i.text)::uuid
+            """;
+
+    // A text interned concurrently by another transaction is invisible to the statement above that waited for it
+    private static final String LOOKUP_SQL = """
+            SELECT id, text FROM check_messages
+            WHERE text_hash IN (SELECT md5(t)::uuid FROM unnest(?::text[]) t)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter misses;
+    private final int cacheSize;
+
+    // Both directions share one lock and one eviction order
+    private final Object lock = new Object();
+    private final LinkedHashMap<String, Integer> idsByText;
+    private final Map<Integer, String> textsById = new HashMap<>();
+
+    public CheckMessageDictionaryService(JdbcTemplate jdbcTemplate,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${inferno.uptime.messages.cache-size:10000}") int cacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheSize = cacheSize;
+        this.idsByText = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+                if (size() > CheckMessageDictionaryService.this.cacheSize) {
+                    textsById.remove(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.misses = Counter.builder("inferno.messages.cache.misses")
+                .description("Check message lookups that went to check_messages")
+                .register(meterRegistry);
+        Gauge.builder("inferno.messages.cache.size", this, service -> service.cachedCount())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Integer idOf(String text) {
+        return text != null ? idsOf(List.of(text)).get(text) : null;
+    }
+
+    @Override
+    public String textOf(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        synchronized (lock) {
+            String text = textsById.get(id);
+            if (text != null) {
+                idsByText.get(text); // refresh the LRU position
+                return text;
+            }
+        }
+
+        misses.increment();
+        List<String> texts = jdbcTemplate.queryForList("SELECT text FROM check_messages WHERE id = ?", String.class, id);
+        if (texts.isEmpty()) {
+            return null;
+        }
+        // Read rows are committed, so they can be cached right away
+        cache(Map.of(texts.get(0), id));
+        return texts.get(0);
+    }
+
+    /**
+     * Ids of the given texts, interning new ones with one statement. Null texts are skipped.
+     */
+    public Map<String, Integer> idsOf(Collection<String> texts) {
+        Map<String, Integer> ids = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        synchronized (lock) {
+            for (String text : texts) {
+                if (text == null) {
+                    continue;
+                }
+                Integer id = idsByText.get(text);
+                if (id != null) {
+                    ids.put(text, id);
+                } else {
+                    missing.add(text);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return ids;
+        }
+
+        misses.increment(missing.size());
+        Map<String, Integer> interned = new HashMap<>();
+        jdbcTemplate.query(INTERN_SQL, rs -> {
+            interned.put(rs.getString("text"), rs.getInt("id"));
+        }, new SqlArrayValue("text", missing.toArray()));
+        if (interned.size() < missing.size()) {
+            jdbcTemplate.query(LOOKUP_SQL, rs -> {
+                interned.put(rs.getString("text"), rs.getInt("id"));
+            }, new SqlArrayValue("text", missing.stream().filter(text -> !interned.containsKey(text)).toArray()));
+        }
+        ids.putAll(interned);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache(interned);
+                }
+            });
+        } else {
+            cache(interned);
+        }
+        return ids;
+    }
+
+    public int cachedCount() {
+        synchronized (lock) {
+            return idsByText.size();
+        }
+    }
+
+    private void cache(Map<String, Integer> entries) {
+        synchronized (lock) {
+            entries.forEach((text, id) -> {
+                idsByText.put(text, id);
+                textsById.put(id, text);
+            });
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package com.infernokun.infernoUptime.services.storage;
+
+import com.infernokun.infernoUptime.config.db.DatabaseWorkload;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps {@code monitor_checks} range-partitioned by check timestamp. A plain table is converted once, in the
+ * background after startup (existing rows stay where they are as a {@code MINVALUE} partition), partitions are
+ * created ahead of time, and retention drops whole expired partitions instead of deleting rows. The legacy
+ * partition ends after the conversion, so until it expires as a whole its expired rows are purged by
+ * {@link CheckPurgeService}.
+ * <p>
+ * Everything that has to read the existing rows during the conversion (the {@code (id, timestamp)} key and the
+ * check proving the partition bound) is built while ingestion keeps writing; the exclusive lock is only taken
+ * for catalog changes afterwards.
+ */
+@Slf4j
+@Service
+public class CheckPartitionService {
+
+    private static final String TABLE = "monitor_checks";
+    private static final String LEGACY_PARTITION = "monitor_checks_legacy";
+    private static final String DEFAULT_PARTITION = "monitor_checks_default";
+    private static final String SEQUENCE = "monitor_checks_id_seq";
+    private static final String LEGACY_KEY_INDEX = "monitor_checks_legacy_pkey";
+    private static final String LEGACY_BOUND_CHECK = "monitor_checks_legacy_bound";
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Pattern LEGACY_TABLE_REFERENCE = Pattern.compile(" ON (\\S+\\.)?" + LEGACY_PARTITION + " ");
+    private static final Pattern BOUND_PATTERN = Pattern.compile("FROM \\((.+?)\\) TO \\((.+?)\\)");
+
+    public enum PartitionPeriod {
+        DAY, WEEK, MONTH;
+
+        LocalDate floor(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+
+        LocalDate next(LocalDate start) {
+            return switch (this) {
+                case DAY -> start.plusDays(1);
+                case WEEK -> start.plusWeeks(1);
+                case MONTH -> start.plusMonths(1);
+            };
+        }
+    }
+
+    private record PartitionRange(String name, LocalDateTime from, LocalDateTime to) {
+        // null from/to stand for MINVALUE/MAXVALUE
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${inferno.uptime.partitions.enabled:true}")
+    private boolean enabled;
+
+    @Value("${inferno.uptime.partitions.period:DAY}")
+    private PartitionPeriod period;
+
+    @Value("${inferno.uptime.partitions.premake:7}")
+    private int premake;
+
+    @Value("${inferno.uptime.partitions.lock-timeout:5s}")
+    private String lockTimeout;
+
+    public CheckPartitionService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Runs after the migrations, on a background thread: a large table takes a while to convert.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            log.info("monitor_checks partitioning disabled");
+            return;
+        }
+
+        Thread worker = new Thread(() -> DatabaseWorkload.ANALYTICS.run(() -> {
+            try {
+                convertIfNeeded();
+                createFuturePartitions();
+            } catch (Exception e) {
+                log.error("Could not partition monitor_checks, retention falls back to row deletes", e);
+            }
+        }), "check-partitioning");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public boolean isPartitioned() {
+        return "p".equals(relkind());
+    }
+
+    /**
+     * The partition holding the rows of the table before it was converted, while it is still attached.
+     */
+    public Optional<String> legacyPartition() {
+        return listPartitions().stream()
+                .map(PartitionRange::name)
+                .filter(LEGACY_PARTITION::equals)
+                .findFirst();
+    }
+
+    /**
+     * Makes sure a partition exists for the current period and the configured number of periods ahead.
+     */
+    @Scheduled(fixedRateString = "${inferno.uptime.partitions.maintenance-interval:1h}",
+            initialDelayString = "${inferno.uptime.partitions.maintenance-interval:1h}")
+    public void scheduledMaintenance() {
+        DatabaseWorkload.ANALYTICS.run(this::createFuturePartitions);
+    }
+
+    public void createFuturePartitions() {
+        if (!enabled || !isPartitioned()) {
+            return;
+        }
+
+        List<PartitionRange> existing = listPartitions();
+        LocalDate start = period.floor(LocalDate.now());
+
+        for (int i = 0; i <= premake; i++) {
+            LocalDate end = period.next(start);
+            LocalDateTime from = start.atStartOfDay();
+            LocalDateTime to = end.atStartOfDay();
+
+            if (existing.stream().noneMatch(range -> overlaps(range, from, to))) {
+                String name = TABLE + "_p" + start.format(DateTimeFormatter.BASIC_ISO_DATE);
+                try {
+                    createPartition(name, from, to);
+                } catch (Exception e) {
+                    log.error("Failed to create partition {}: {}", name, e.getMessage());
+                }
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * Detaches and drops every partition whose upper bound is at or before the cutoff. Rows newer than the cutoff
+     * are never touched, so a partition straddling it lives until the next run after it fully expires.
+     *
+     * @return number of partitions dropped
+     */
+    public int dropExpiredPartitions(LocalDateTime cutoff) {
+        int dropped = 0;
+
+        for (PartitionRange partition : listPartitions()) {
+            if (partition.to() == null || partition.to().isAfter(cutoff)) {
+                continue;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.execute("SET LOCAL lock_timeout = '" + lockTimeout + "'");
+                    jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition.name());
+                });
+                jdbcTemplate.execute("DROP TABLE " + partition.name());
+                dropped++;
+                log.info("Dropped expired partition {} (up to {})", partition.name(), partition.to());
+            } catch (Exception e) {
+                log.warn("Could not drop partition {}, will retry next run: {}", partition.name(), e.getMessage());
+            }
+        }
+
+        // Stray rows outside every range land in the default partition, which is small enough to delete from
+        int strays = jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE timestamp < ?", Timestamp.valueOf(cutoff));
+        if (strays > 0) {
+            log.info("Deleted {} expired checks from {}", strays, DEFAULT_PARTITION);
+        }
+
+        return dropped;
+    }
+
+    /**
+     * Creates a range partition. Rows of the range that already landed in the default partition (e.g. from
+     * agents with a skewed clock) would make that fail, so they are moved into the new partition with the default
+     * partition detached for the duration.
+     */
+    private void createPartition(String name, LocalDateTime from, LocalDateTime to) {
+        String create = "CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + TABLE
+                + " FOR VALUES FROM ('" + BOUND_FORMAT.format(from) + "') TO ('" + BOUND_FORMAT.format(to) + "')";
+        Boolean conflicting = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + " WHERE timestamp >= ? AND timestamp < ?)",
+                Boolean.class, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        if (!Boolean.TRUE.equals(conflicting)) {
+            jdbcTemplate.execute(create);
+            log.info("Created partition {} for [{}, {})", name, from, to);
+            return;
+        }
+
+        int moved = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '" + lockTimeout + "'");
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + DEFAULT_PARTITION);
+            jdbcTemplate.execute(create);
+            int rows = jdbcTemplate.update("INSERT INTO " + TABLE + " SELECT * FROM " + DEFAULT_PARTITION
+                    + " WHERE timestamp >= ? AND timestamp < ?", Timestamp.valueOf(from), Timestamp.valueOf(to));
+            jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE timestamp >= ? AND timestamp < ?",
+                    Timestamp.valueOf(from), Timestamp.valueOf(to));
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT");
+            return rows;
+        });
+        log.info("Created partition {} for [{}, {}) and moved {} checks into it from {}",
+                name, from, to, moved, DEFAULT_PARTITION);
+    }
+
+    // ======================== Conversion ========================
+
+    private void convertIfNeeded() {
+        String relkind = relkind();
+        if (relkind == null) {
+            log.warn("Table {} does not exist yet, skipping partitioning", TABLE);
+            return;
+        }
+        if ("p".equals(relkind)) {
+            return;
+        }
+
+        // The legacy partition ends a period after the later of its newest row and the next period, so that checks
+        // ingested until the switch still fit under its bound
+        Timestamp newest = jdbcTemplate.queryForObject("SELECT MAX(timestamp) FROM " + TABLE, Timestamp.class);
+        LocalDate legacyEnd = period.next(period.next(period.floor(LocalDate.now())));
+        if (newest != null) {
+            LocalDate newestEnd = period.next(period.floor(newest.toLocalDateTime().toLocalDate()));
+            legacyEnd = newestEnd.isAfter(legacyEnd) ? newestEnd : legacyEnd;
+        }
+
+        log.info("Preparing {} for partitioning: building the (id, timestamp) key and the bound check", TABLE);
+        long start = System.nanoTime();
+        prepareLegacyPartition(legacyEnd);
+        log.info("Prepared {} in {}s", TABLE, (System.nanoTime() - start) / 1_000_000_000);
+
+        LocalDate bound = legacyEnd;
+        transactionTemplate.executeWithoutResult(status -> swap(newest != null, bound));
+    }
+
+    /**
+     * Builds, without blocking writes, what attaching the existing table as a partition would otherwise scan it
+     * for: a unique index on the partition key and a validated check that every row lies below its bound.
+     */
+    private void prepareLegacyPartition(LocalDate legacyEnd) {
+        withoutStatementTimeout(
+                // An index left invalid by an interrupted earlier build cannot be reused
+                "DO $$ BEGIN IF EXISTS (SELECT 1 FROM pg_index WHERE indexrelid = to_regclass('" + LEGACY_KEY_INDEX
+                        + "') AND NOT indisvalid) THEN DROP INDEX " + LEGACY_KEY_INDEX + "; END IF; END $$",
+                "CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS " + LEGACY_KEY_INDEX + " ON " + TABLE + " (id, timestamp)",
+                "ALTER TABLE " + TABLE + " DROP CONSTRAINT IF EXISTS " + LEGACY_BOUND_CHECK,
+                "ALTER TABLE " + TABLE + " ADD CONSTRAINT " + LEGACY_BOUND_CHECK + " CHECK (timestamp < '"
+                        + BOUND_FORMAT.format(legacyEnd.atStartOfDay()) + "') NOT VALID",
+                "ALTER TABLE " + TABLE + " VALIDATE CONSTRAINT " + LEGACY_BOUND_CHECK);
+    }
+
+    /**
+     * Runs statements one by one in autocommit mode (as {@code CONCURRENTLY} requires) with no statement timeout,
+     * restoring the connection's timeout afterwards.
+     */
+    private void withoutStatementTimeout(String... statements) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                String timeout;
+                try (var rs = statement.executeQuery("SHOW statement_timeout")) {
+                    rs.next();
+                    timeout = rs.getString(1);
+                }
+                statement.execute("SET statement_timeout = 0");
+                try {
+                    for (String sql : statements) {
+                        statement.execute(sql);
+                    }
+                } finally {
+                    statement.execute("SET statement_timeout = '" + timeout + "'");
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Replaces the table by a partitioned one with the old table as its first partition. Only catalog changes
+     * happen under the exclusive lock: the key and the bound were prepared by {@link #prepareLegacyPartition}.
+     */
+    private void swap(boolean hasRows, LocalDate legacyEnd) {
+        jdbcTemplate.execute("SET LOCAL lock_timeout = '" + lockTimeout + "'");
+        jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+        if (!"r".equals(relkind())) {
+            return; // converted by another instance meanwhile
+        }
+
+        // Continue numbering after both existing rows and ids already handed out to the ingest allocator
+        String oldSequence = jdbcTemplate.queryForObject("SELECT pg_get_serial_sequence(?, 'id')", String.class, TABLE);
+        long nextId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + TABLE, Long.class) + 1;
+        if (oldSequence != null) {
+            nextId = Math.max(nextId, jdbcTemplate.queryForObject("SELECT last_value FROM " + oldSequence, Long.class) + 1);
+        }
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + LEGACY_PARTITION);
+        // A partition can only carry the parent's (id, timestamp) key; the prepared index becomes it
+        jdbcTemplate.queryForList("SELECT conname FROM pg_constraint WHERE conrelid = to_regclass(?) AND contype = 'p'",
+                        String.class, LEGACY_PARTITION)
+                .forEach(pkey -> jdbcTemplate.execute("ALTER TABLE " + LEGACY_PARTITION + " DROP CONSTRAINT " + pkey));
+        jdbcTemplate.execute("ALTER TABLE " + LEGACY_PARTITION + " ADD CONSTRAINT " + LEGACY_KEY_INDEX
+                + " PRIMARY KEY USING INDEX " + LEGACY_KEY_INDEX);
+
+        // Secondary indexes move to the parent under their own names; the legacy copies are adopted on attach
+        List<Map.Entry<String, String>> indexes = jdbcTemplate.query("""
+                SELECT c.relname, pg_get_indexdef(i.indexrelid)
+                FROM pg_index i
+                JOIN pg_class c ON c.oid = i.indexrelid
+                WHERE i.indrelid = to_regclass(?) AND NOT i.indisprimary
+                """, (rs, rowNum) -> Map.entry(rs.getString(1), rs.getString(2)), LEGACY_PARTITION);
+        for (Map.Entry<String, String> index : indexes) {
+            jdbcTemplate.execute("ALTER INDEX " + index.getKey() + " RENAME TO " + legacyIndexName(index.getKey()));
+        }
+
+        jdbcTemplate.execute("ALTER TABLE " + LEGACY_PARTITION + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        jdbcTemplate.execute("ALTER TABLE " + LEGACY_PARTITION + " ALTER COLUMN id DROP DEFAULT");
+        if (oldSequence != null) {
+            jdbcTemplate.execute("DROP SEQUENCE IF EXISTS " + oldSequence);
+        }
+
+        jdbcTemplate.execute("CREATE SEQUENCE " + SEQUENCE + " START WITH " + nextId);
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + LEGACY_PARTITION + ") PARTITION BY RANGE (timestamp)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ALTER COLUMN id SET DEFAULT nextval('" + SEQUENCE + "')");
+        jdbcTemplate.execute("ALTER SEQUENCE " + SEQUENCE + " OWNED BY " + TABLE + ".id");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD PRIMARY KEY (id, timestamp)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD FOREIGN KEY (monitor_id) REFERENCES monitors (id)");
+
+        if (!hasRows) {
+            jdbcTemplate.execute("DROP TABLE " + LEGACY_PARTITION);
+        } else {
+            // The validated bound check proves the partition constraint, so attaching does not scan the rows
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + LEGACY_PARTITION
+                    + " FOR VALUES FROM (MINVALUE) TO ('" + BOUND_FORMAT.format(legacyEnd.atStartOfDay()) + "')");
+            jdbcTemplate.execute("ALTER TABLE " + LEGACY_PARTITION + " DROP CONSTRAINT " + LEGACY_BOUND_CHECK);
+            log.info("Kept existing checks as partition {} up to {}", LEGACY_PARTITION, legacyEnd);
+        }
+
+        for (Map.Entry<String, String> index : indexes) {
+            jdbcTemplate.execute(LEGACY_TABLE_REFERENCE.matcher(index.getValue()).replaceFirst(" ON " + TABLE + " "));
+        }
+
+        jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF " + TABLE + " DEFAULT");
+        log.info("Converted {} to a partitioned table ({} partitions, ids continue at {})", TABLE, period, nextId);
+    }
+
+    private static String legacyIndexName(String name) {
+        String suffix = "_legacy";
+        return name.substring(0, Math.min(name.length(), 63 - suffix.length())) + suffix;
+    }
+
+    private String relkind() {
+        return jdbcTemplate.queryForObject(
+                "SELECT (SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?))", String.class, TABLE);
+    }
+
+    private List<PartitionRange> listPartitions() {
+        return jdbcTemplate.query("""
+                SELECT c.relname, pg_get_expr(c.relpartbound, c.oid)
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = to_regclass(?)
+                ORDER BY c.relname
+                """, (rs, rowNum) -> {
+            Matcher matcher = BOUND_PATTERN.matcher(rs.getString(2));
+            if (!matcher.find()) {
+                return null; // DEFAULT partition
+            }
+            return new PartitionRange(rs.getString(1), parseBound(matcher.group(1)), parseBound(matcher.group(2)));
+        }, TABLE).stream().filter(Objects::nonNull).toList();
+    }
+
+    private static LocalDateTime parseBound(String bound) {
+        if (bound.equals("MINVALUE") || bound.equals("MAXVALUE")) {
+            return null;
+        }
+        return LocalDateTime.parse(bound.replace("'", ""), BOUND_FORMAT);
+    }
+
+    private static boolean overlaps(PartitionRange range, LocalDateTime from, LocalDateTime to) {
+        boolean startsBeforeEnd = range.from() == null || range.from().isBefore(to);
+        boolean endsAfterStart = range.to() == null || range.to().isAfter(from);
+        return startsBeforeEnd && endsAfterStart;
+    }
+}
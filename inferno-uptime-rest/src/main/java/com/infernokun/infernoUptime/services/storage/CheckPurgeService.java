@@ -0,0 +1,306 @@
+package com.infernokun.infernoUptime.services.storage;
+
+import com.infernokun.infernoUptime.config.db.DatabaseWorkload;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Retention for an unpartitioned {@code monitor_checks} table, and for the legacy partition a conversion by
+ * {@link CheckPartitionService} leaves behind until that partition can be dropped whole. Each run purges whichever
+ * of the two exists when it starts (or resumes). Expired rows are deleted in short transactions
+ * walking the primary key upwards in id windows, up to the largest id when the run started, so no statement
+ * holds locks or produces WAL for long.
+ * <p>
+ * Between chunks the purger pauses, and it adapts the window size and pause to how long the last delete took and
+ * to the replication lag reported by {@code pg_stat_replication}: slow chunks or lagging replicas halve the window
+ * and double the pause, healthy ones grow it back. The cursor is stored in {@code monitor_check_purge} after every
+ * chunk, so a run interrupted by a restart resumes where it stopped.
+ */
+@Slf4j
+@Service
+public class CheckPurgeService {
+
+    private static final String STATE_TABLE = "monitor_check_purge";
+
+    @Data
+    @Builder
+    public static class PurgeProgress {
+        private boolean running;
+        private LocalDateTime cutoff;
+        private LocalDateTime startedAt;
+        private long lastId;
+        private long rowsDeleted;
+        private double rowsPerSecond;
+        private int chunkSize;
+        private long pauseMillis;
+        private double replicationLagSeconds;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CheckPartitionService checkPartitionService;
+    private final Counter rowsPurged;
+
+    @Value("${inferno.uptime.cleanup.purge.chunk-size:5000}")
+    private int initialChunkSize;
+
+    @Value("${inferno.uptime.cleanup.purge.min-chunk-size:500}")
+    private int minChunkSize;
+
+    @Value("${inferno.uptime.cleanup.purge.max-chunk-size:50000}")
+    private int maxChunkSize;
+
+    @Value("${inferno.uptime.cleanup.purge.pause:200ms}")
+    private Duration basePause;
+
+    @Value("${inferno.uptime.cleanup.purge.max-pause:10s}")
+    private Duration maxPause;
+
+    @Value("${inferno.uptime.cleanup.purge.target-chunk-latency:500ms}")
+    private Duration targetLatency;
+
+    @Value("${inferno.uptime.cleanup.purge.max-replication-lag:10s}")
+    private Duration maxReplicationLag;
+
+    @Value("${inferno.uptime.cleanup.purge.progress-interval:30s}")
+    private Duration progressInterval;
+
+    private volatile Thread worker;
+    private volatile boolean stopRequested;
+    private volatile PurgeProgress progress = PurgeProgress.builder().build();
+
+    public CheckPurgeService(JdbcTemplate jdbcTemplate, CheckPartitionService checkPartitionService,
+                             MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.checkPartitionService = checkPartitionService;
+        this.rowsPurged = Counter.builder("inferno.retention.purge.rows")
+                .description("Expired checks deleted by the chunked purge")
+                .register(meterRegistry);
+
+        Gauge.builder("inferno.retention.purge.rate", this, service -> service.progress.getRowsPerSecond())
+                .description("Rows per second deleted by the running purge")
+                .register(meterRegistry);
+        Gauge.builder("inferno.retention.purge.chunk.size", this, service -> service.progress.getChunkSize())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Resumes a purge that was still running when the application stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinished() {
+        try {
+            List<LocalDateTime> unfinished = jdbcTemplate.queryForList(
+                    "SELECT cutoff FROM " + STATE_TABLE + " WHERE id = 1 AND finished_at IS NULL", Timestamp.class)
+                    .stream().map(Timestamp::toLocalDateTime).toList();
+            if (!unfinished.isEmpty()) {
+                log.info("Resuming interrupted monitor check purge (cutoff {})", unfinished.get(0));
+                startWorker(unfinished.get(0), false);
+            }
+        } catch (Exception e) {
+            log.error("Could not check for an interrupted purge", e);
+        }
+    }
+
+    /**
+     * Starts purging checks older than the cutoff in the background. A run that is already in progress keeps its
+     * own cutoff.
+     *
+     * @return false when a purge is already running
+     */
+    public synchronized boolean purgeOlderThan(LocalDateTime cutoff) {
+        if (worker != null && worker.isAlive()) {
+            log.info("Monitor check purge already running (cutoff {})", progress.getCutoff());
+            return false;
+        }
+        startWorker(cutoff, true);
+        return true;
+    }
+
+    public PurgeProgress getProgress() {
+        return progress;
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopRequested = true;
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    private synchronized void startWorker(LocalDateTime cutoff, boolean fresh) {
+        stopRequested = false;
+        worker = new Thread(() -> DatabaseWorkload.ANALYTICS.run(() -> run(cutoff, fresh)), "check-retention-purge");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // ======================== Purge Loop ========================
+
+    private void run(LocalDateTime cutoff, boolean fresh) {
+        Timestamp cutoffTs = Timestamp.valueOf(cutoff);
+        LocalDateTime now = LocalDateTime.now();
+
+        long lastId = 0;
+        long rowsDeleted = 0;
+        LocalDateTime startedAt = now;
+        int chunkSize = Math.clamp(initialChunkSize, minChunkSize, maxChunkSize);
+        long pauseMillis = basePause.toMillis();
+
+        try {
+            if (fresh) {
+                jdbcTemplate.update("""
+                        INSERT INTO monitor_check_purge (id, cutoff, last_id, rows_deleted, started_at, updated_at)
+                        VALUES (1, ?, 0, 0, ?, ?)
+                        ON CONFLICT (id) DO UPDATE SET cutoff = EXCLUDED.cutoff, last_id = 0, rows_deleted = 0,
+                            started_at = EXCLUDED.started_at, updated_at = EXCLUDED.updated_at, finished_at = NULL
+                        """, cutoffTs, Timestamp.valueOf(now), Timestamp.valueOf(now));
+            }
+
+            Map<String, Object> state = jdbcTemplate.queryForMap(
+                    "SELECT last_id, rows_deleted, started_at FROM " + STATE_TABLE + " WHERE id = 1");
+            lastId = ((Number) state.get("last_id")).longValue();
+            rowsDeleted = ((Number) state.get("rows_deleted")).longValue();
+            startedAt = ((Timestamp) state.get("started_at")).toLocalDateTime();
+
+            long runStart = System.nanoTime();
+            long rowsThisRun = 0;
+            long lastReport = runStart;
+
+            // A conversion keeps the ids, so a cursor into the plain table stays valid for its legacy partition
+            String table = purgeTable();
+            if (table == null) {
+                log.info("Nothing left to purge: monitor_checks is partitioned and its legacy partition is gone");
+            }
+
+            // Rows written after this are newer than the cutoff; the walk ends here rather than at the first
+            // surviving row, as backfilled or clock-skewed checks can have old timestamps behind newer ones
+            Long maxId = table != null ? jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class) : null;
+            long endId = maxId != null ? maxId : 0;
+
+            if (table != null) {
+                log.info("Purging checks in {} older than {} from id {} to {} in chunks of {}", table, cutoff, lastId,
+                        endId, chunkSize);
+            }
+
+            while (!stopRequested && lastId < endId) {
+                // Skip gaps left by earlier purges or archiving
+                Long nextId = jdbcTemplate.queryForObject(
+                        "SELECT MIN(id) FROM " + table + " WHERE id > ? AND id <= ?", Long.class, lastId, endId);
+                if (nextId == null) {
+                    break;
+                }
+
+                long from = nextId - 1;
+                long to = Math.min(endId, from + chunkSize);
+                long chunkStart = System.nanoTime();
+                int deleted = jdbcTemplate.update(
+                        "DELETE FROM " + table + " WHERE id > ? AND id <= ? AND timestamp < ?", from, to, cutoffTs);
+                long latencyMillis = (System.nanoTime() - chunkStart) / 1_000_000;
+
+                lastId = to;
+                rowsDeleted += deleted;
+                rowsThisRun += deleted;
+                rowsPurged.increment(deleted);
+                jdbcTemplate.update("UPDATE " + STATE_TABLE + " SET last_id = ?, rows_deleted = ?, updated_at = ? WHERE id = 1",
+                        lastId, rowsDeleted, Timestamp.valueOf(LocalDateTime.now()));
+
+                // Back off multiplicatively when the database or its replicas struggle, recover gradually
+                double lagSeconds = replicationLagSeconds();
+                boolean lagging = lagSeconds * 1000 > maxReplicationLag.toMillis();
+                if (lagging || latencyMillis > targetLatency.toMillis()) {
+                    chunkSize = Math.max(minChunkSize, chunkSize / 2);
+                    pauseMillis = Math.min(maxPause.toMillis(), pauseMillis * 2);
+                } else {
+                    chunkSize = Math.min(maxChunkSize, chunkSize + chunkSize / 4);
+                    pauseMillis = Math.max(basePause.toMillis(), pauseMillis / 2);
+                }
+
+                double elapsedSeconds = Math.max(0.001, (System.nanoTime() - runStart) / 1e9);
+                progress = PurgeProgress.builder()
+                        .running(true)
+                        .cutoff(cutoff)
+                        .startedAt(startedAt)
+                        .lastId(lastId)
+                        .rowsDeleted(rowsDeleted)
+                        .rowsPerSecond(rowsThisRun / elapsedSeconds)
+                        .chunkSize(chunkSize)
+                        .pauseMillis(pauseMillis)
+                        .replicationLagSeconds(lagSeconds)
+                        .build();
+
+                if (System.nanoTime() - lastReport >= progressInterval.toNanos()) {
+                    lastReport = System.nanoTime();
+                    log.info("Purge progress: {} rows deleted, up to id {}, {} rows/s, chunk {}, pause {}ms, replica lag {}s",
+                            rowsDeleted, lastId, Math.round(progress.getRowsPerSecond()), chunkSize, pauseMillis,
+                            String.format("%.1f", lagSeconds));
+                }
+
+                Thread.sleep(pauseMillis);
+            }
+
+            if (!stopRequested) {
+                jdbcTemplate.update("UPDATE " + STATE_TABLE + " SET finished_at = ? WHERE id = 1",
+                        Timestamp.valueOf(LocalDateTime.now()));
+                log.info("Purge finished: {} rows older than {} deleted", rowsDeleted, cutoff);
+            } else {
+                log.info("Purge stopped at id {} after {} rows, will resume on restart", lastId, rowsDeleted);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Purge interrupted at id {} after {} rows, will resume on restart", lastId, rowsDeleted);
+        } catch (Exception e) {
+            log.error("Purge failed at id {}, will resume on restart", lastId, e);
+        } finally {
+            progress = PurgeProgress.builder()
+                    .running(false)
+                    .cutoff(cutoff)
+                    .startedAt(startedAt)
+                    .lastId(lastId)
+                    .rowsDeleted(rowsDeleted)
+                    .chunkSize(chunkSize)
+                    .pauseMillis(pauseMillis)
+                    .build();
+        }
+    }
+
+    /**
+     * The plain table, or the legacy partition of a partitioned one; null when a partitioned table has none left.
+     */
+    private String purgeTable() {
+        if (!checkPartitionService.isPartitioned()) {
+            return "monitor_checks";
+        }
+        return checkPartitionService.legacyPartition().orElse(null);
+    }
+
+    /**
+     * Largest replay lag across connected standbys, 0 when there are none or the view is not readable.
+     */
+    private double replicationLagSeconds() {
+        try {
+            Double lag = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(EXTRACT(EPOCH FROM MAX(replay_lag)), 0)::float8 FROM pg_stat_replication", Double.class);
+            return lag != null ? lag : 0;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+}
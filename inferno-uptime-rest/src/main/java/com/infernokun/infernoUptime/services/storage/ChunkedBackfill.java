@@ -0,0 +1,162 @@
+package com.infernokun.infernoUptime.services.storage;
+
+import com.infernokun.infernoUptime.config.db.DatabaseWorkload;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Background part of a migration that would otherwise rewrite a large table inside the startup transaction. The
+ * migration only creates the schema and a one-row state table ({@code id = 1}, {@code last_id}, {@code max_id},
+ * {@code started_at}, {@code updated_at}, {@code finished_at}) recording the key range to backfill, typically up to
+ * the largest check id at migration time; everything written afterwards is maintained by the application itself.
+ * <p>
+ * After startup the range is walked in windows {@code (from, to]} of {@link #chunkSize()} keys. Each window and the
+ * cursor update commit together, so a window is applied exactly once even across restarts, and the next start
+ * resumes after the last committed window. A failing window is retried a few times before the backfill gives up
+ * until the next restart.
+ */
+@Slf4j
+public abstract class ChunkedBackfill {
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    protected final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String name;
+    private final String stateTable;
+    private final Counter rowsBackfilled;
+
+    @Value("${inferno.uptime.backfill.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${inferno.uptime.backfill.pause:200ms}")
+    private Duration pause;
+
+    @Value("${inferno.uptime.backfill.retry-delay:30s}")
+    private Duration retryDelay;
+
+    private volatile Thread worker;
+    private volatile boolean stopRequested;
+
+    /**
+     * @param name       used for the worker thread, the log and the {@code backfill} tag of the row counter
+     * @param stateTable the state table created by the migration
+     */
+    protected ChunkedBackfill(String name, String stateTable, JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.stateTable = stateTable;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rowsBackfilled = Counter.builder("inferno.backfill.rows")
+                .description("Rows written by the background parts of migrations")
+                .tag("backfill", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Applies the window {@code (from, to]} of the key range, in the transaction that also advances the cursor.
+     *
+     * @return the number of rows written, for the log and the row counter
+     */
+    protected abstract int backfill(long from, long to);
+
+    /**
+     * Keys per window; check ids unless a subclass walks something coarser.
+     */
+    protected int chunkSize() {
+        return chunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            List<Map<String, Object>> state = jdbcTemplate.queryForList(
+                    "SELECT last_id, max_id FROM " + stateTable + " WHERE id = 1 AND finished_at IS NULL");
+            if (state.isEmpty()) {
+                return;
+            }
+            long lastId = ((Number) state.get(0).get("last_id")).longValue();
+            long maxId = ((Number) state.get(0).get("max_id")).longValue();
+            log.info("Starting the {} after id {} up to {}", name, lastId, maxId);
+
+            stopRequested = false;
+            worker = new Thread(() -> DatabaseWorkload.ANALYTICS.run(() -> run(lastId, maxId)), name.replace(' ', '-'));
+            worker.setDaemon(true);
+            worker.start();
+        } catch (Exception e) {
+            log.error("Could not read the {} state", name, e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopRequested = true;
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    // ======================== Backfill Loop ========================
+
+    private void run(long lastId, long maxId) {
+        long rows = 0;
+        int failures = 0;
+        try {
+            while (lastId < maxId && !stopRequested) {
+                long from = lastId;
+                long to = Math.min(maxId, from + chunkSize());
+
+                try {
+                    Integer written = transactionTemplate.execute(status -> {
+                        int count = backfill(from, to);
+                        jdbcTemplate.update("UPDATE " + stateTable + " SET last_id = ?, updated_at = ? WHERE id = 1",
+                                to, Timestamp.valueOf(LocalDateTime.now()));
+                        return count;
+                    });
+                    rows += written;
+                    rowsBackfilled.increment(written);
+                    lastId = to;
+                    failures = 0;
+                    Thread.sleep(pause.toMillis());
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    if (++failures == MAX_ATTEMPTS) {
+                        throw e;
+                    }
+                    log.warn("The {} failed after id {}, retrying in {}s: {}", name, lastId, retryDelay.toSeconds(), e.getMessage());
+                    Thread.sleep(retryDelay.toMillis());
+                }
+            }
+
+            if (!stopRequested) {
+                jdbcTemplate.update("UPDATE " + stateTable + " SET finished_at = ? WHERE id = 1",
+                        Timestamp.valueOf(LocalDateTime.now()));
+                log.info("Finished the {} ({} rows this run)", name, rows);
+            } else {
+                log.info("Stopped the {} at id {}, will resume on restart", name, lastId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Interrupted the {} at id {}, will resume on restart", name, lastId);
+        } catch (Exception e) {
+            log.error("The {} failed after id {}, will resume on restart", name, lastId, e);
+        }
+    }
+}
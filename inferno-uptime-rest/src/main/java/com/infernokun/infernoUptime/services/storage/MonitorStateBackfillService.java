@@ -0,0 +1,57 @@
+package com.infernokun.infernoUptime.services.storage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Seeds {@code monitor_state} for the monitors that existed before the V5 migration, in monitor id windows. Each
+ * monitor's latest check is a single descent of the {@code (monitor_id, timestamp DESC, id DESC)} index. A state
+ * row {@link MonitorStateWriter} already wrote for a newer check is left alone.
+ */
+@Service
+public class MonitorStateBackfillService extends ChunkedBackfill {
+
+    private static final String BACKFILL_SQL = """
+            INSERT INTO monitor_state AS s (monitor_id, last_check_id, last_check_time, is_up, response_time,
+                                            status_code, message)
+            SELECT m.id, c.id, c.timestamp, c.is_up, c.response_time, c.status_code,
+                   COALESCE((SELECT text FROM check_messages WHERE check_messages.id = c.message_id), c.message)
+            FROM monitors m
+            CROSS JOIN LATERAL (SELECT id, timestamp, is_up, response_time, status_code, message_id, message
+                                FROM monitor_checks
+                                WHERE monitor_id = m.id
+                                ORDER BY timestamp DESC, id DESC
+                                LIMIT 1) c
+            WHERE m.id > ? AND m.id <= ?
+            ORDER BY m.id
+            ON CONFLICT (monitor_id) DO UPDATE SET
+                last_check_id   = EXCLUDED.last_check_id,
+                last_check_time = EXCLUDED.last_check_time,
+                is_up           = EXCLUDED.is_up,
+                response_time   = EXCLUDED.response_time,
+                status_code     = EXCLUDED.status_code,
+                message         = EXCLUDED.message
+            WHERE s.last_check_time < EXCLUDED.last_check_time
+            """;
+
+    @Value("${inferno.uptime.backfill.monitor-chunk-size:500}")
+    private int monitorChunkSize;
+
+    public MonitorStateBackfillService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                       MeterRegistry meterRegistry) {
+        super("monitor state backfill", "monitor_state_backfill", jdbcTemplate, transactionManager, meterRegistry);
+    }
+
+    @Override
+    protected int chunkSize() {
+        return monitorChunkSize;
+    }
+
+    @Override
+    protected int backfill(long from, long to) {
+        return jdbcTemplate.update(BACKFILL_SQL, from, to);
+    }
+}
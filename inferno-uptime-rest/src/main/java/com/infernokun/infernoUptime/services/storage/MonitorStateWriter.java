@@ -0,0 +1,77 @@
+package com.infernokun.infernoUptime.services.storage;
+
+import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+import com.infernokun.infernoUptime.services.ingest.CheckBatchListener;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps {@code monitor_state} pointing at each monitor's newest check. Only the newest check per monitor in a
+ * batch is upserted, and an older check (e.g. a delayed probe agent report) never replaces a newer one.
+ */
+@Component
+@RequiredArgsConstructor
+public class MonitorStateWriter implements CheckBatchListener {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO monitor_state AS s (monitor_id, last_check_id, last_check_time, is_up, response_time,
+                                            status_code, message)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (monitor_id) DO UPDATE SET
+                last_check_id   = EXCLUDED.last_check_id,
+                last_check_time = EXCLUDED.last_check_time,
+                is_up           = EXCLUDED.is_up,
+                response_time   = EXCLUDED.response_time,
+                status_code     = EXCLUDED.status_code,
+                message         = EXCLUDED.message
+            WHERE s.last_check_time <= EXCLUDED.last_check_time
+            """;
+
+    private static final Comparator<MonitorCheck> CHECK_ORDER =
+            Comparator.comparing(MonitorCheck::getTimestamp)
+                    .thenComparing(MonitorCheck::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void onBatchWritten(List<MonitorCheck> checks) {
+        // Keyed by monitor id so rows are locked in the same order by every writer
+        Map<Long, MonitorCheck> latest = new TreeMap<>();
+        for (MonitorCheck check : checks) {
+            latest.merge(check.getMonitor().getId(), check,
+                    (current, candidate) -> CHECK_ORDER.compare(candidate, current) > 0 ? candidate : current);
+        }
+        List<MonitorCheck> rows = new ArrayList<>(latest.values());
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                MonitorCheck check = rows.get(i);
+                ps.setLong(1, check.getMonitor().getId());
+                ps.setObject(2, check.getId(), Types.BIGINT); // null when the check was not stored as a row
+                ps.setTimestamp(3, Timestamp.valueOf(check.getTimestamp()));
+                ps.setObject(4, check.getIsUp(), Types.BOOLEAN);
+                ps.setObject(5, check.getResponseTime(), Types.BIGINT);
+                ps.setObject(6, check.getStatusCode(), Types.INTEGER);
+                ps.setString(7, check.getMessage());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+}
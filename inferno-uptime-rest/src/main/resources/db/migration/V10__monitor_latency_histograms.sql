@@ -0,0 +1,9 @@
+-- Sliding-window response time histograms per monitor (LatencyHistogramService). Each row is one time slot of
+-- the window as a compressed HdrHistogram; rows older than the window are deleted by the snapshot job.
+CREATE TABLE IF NOT EXISTS monitor_latency_histograms (
+    monitor_id BIGINT    NOT NULL REFERENCES monitors (id),
+    slot_start TIMESTAMP NOT NULL,
+    histogram  BYTEA     NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (monitor_id, slot_start)
+);
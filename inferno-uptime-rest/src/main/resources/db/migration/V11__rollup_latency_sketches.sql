@@ -0,0 +1,41 @@
+-- Mergeable response time sketches in the rollups (LatencySketch): UP checks counted per logarithmic key with 1%
+-- relative accuracy, stored sparsely as ascending keys and their counts. Percentiles of any window and monitor set
+-- add up the counts per key of the buckets it covers. latency_sketch_key must match LatencySketch.keyOf.
+
+CREATE FUNCTION latency_sketch_key(response_time BIGINT) RETURNS SMALLINT
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE AS
+$$
+SELECT CASE
+           WHEN response_time <= 0 THEN 0
+           ELSE 1 + ceil(ln(response_time::double precision) / ln((1 + 0.01::double precision) / (1 - 0.01::double precision)))
+       END::smallint
+$$;
+
+ALTER TABLE monitor_check_rollup_1m
+    ADD COLUMN latency_sketch_keys   SMALLINT[] NOT NULL DEFAULT '{}',
+    ADD COLUMN latency_sketch_counts BIGINT[]   NOT NULL DEFAULT '{}';
+
+ALTER TABLE monitor_check_rollup_1h
+    ADD COLUMN latency_sketch_keys   SMALLINT[] NOT NULL DEFAULT '{}',
+    ADD COLUMN latency_sketch_counts BIGINT[]   NOT NULL DEFAULT '{}';
+
+ALTER TABLE monitor_check_rollup_1d
+    ADD COLUMN latency_sketch_keys   SMALLINT[] NOT NULL DEFAULT '{}',
+    ADD COLUMN latency_sketch_counts BIGINT[]   NOT NULL DEFAULT '{}';
+
+-- The checks that are still stored are added to the sketches after startup by RollupSketchBackfillService, in id
+-- windows up to the largest id at this point; later checks reach them at ingest. Cursor as in
+-- check_message_backfill.
+
+CREATE TABLE rollup_sketch_backfill (
+    id          INTEGER   PRIMARY KEY CHECK (id = 1),
+    last_id     BIGINT    NOT NULL,
+    max_id      BIGINT    NOT NULL,
+    started_at  TIMESTAMP NOT NULL,
+    updated_at  TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP
+);
+
+INSERT INTO rollup_sketch_backfill (id, last_id, max_id, started_at, updated_at)
+SELECT 1, 0, COALESCE(MAX(id), 0), now(), now()
+FROM monitor_checks;
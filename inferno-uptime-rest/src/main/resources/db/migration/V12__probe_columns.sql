@@ -0,0 +1,26 @@
+-- Columns the entities gained alongside the migrations: HTTP version, probe agent and push token of a monitor,
+-- and the redirect chain and negotiated protocol of a check. Databases baselined at V1 never ran them as DDL,
+-- while databases Hibernate updated in the meantime may already have them.
+
+ALTER TABLE monitors
+    ADD COLUMN IF NOT EXISTS http_version VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS probe_agent  VARCHAR(64),
+    ADD COLUMN IF NOT EXISTS push_token   VARCHAR(64);
+
+DO
+$$
+BEGIN
+    IF NOT EXISTS (SELECT 1
+                   FROM pg_index i
+                   JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = i.indkey[0]
+                   WHERE i.indrelid = 'monitors'::regclass AND i.indisunique AND i.indnatts = 1
+                     AND a.attname = 'push_token') THEN
+        ALTER TABLE monitors ADD CONSTRAINT monitors_push_token_key UNIQUE (push_token);
+    END IF;
+END
+$$;
+
+ALTER TABLE monitor_checks
+    ADD COLUMN IF NOT EXISTS final_url          TEXT,
+    ADD COLUMN IF NOT EXISTS redirect_latencies VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS protocol           VARCHAR(16);
@@ -0,0 +1,7 @@
+-- Hibernate added CHECK constraints listing the enum values to the enum columns it created, and ddl-auto never
+-- widens them, so new values such as MonitorType.PUSH fail on databases created before the migrations. Enum
+-- columns are validated by the application instead.
+
+ALTER TABLE monitors DROP CONSTRAINT IF EXISTS monitors_type_check;
+ALTER TABLE monitors DROP CONSTRAINT IF EXISTS monitors_current_status_check;
+ALTER TABLE monitors DROP CONSTRAINT IF EXISTS monitors_http_version_check;
@@ -0,0 +1,3 @@
+-- PUSH monitors are checked by incoming heartbeats and are created without a URL.
+
+ALTER TABLE monitors ALTER COLUMN url DROP NOT NULL;
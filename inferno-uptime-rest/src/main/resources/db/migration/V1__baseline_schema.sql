@@ -0,0 +1,37 @@
+-- Schema as previously created by Hibernate (ddl-auto). Existing databases are baselined at this
+-- version (spring.flyway.baseline-on-migrate) and skip it; empty databases start here.
+-- Keep it identical to what Hibernate generated, including the CHECK constraints on enum columns; columns added
+-- since then belong in later migrations.
+
+CREATE TABLE IF NOT EXISTS monitors (
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name                  VARCHAR(255) NOT NULL,
+    url                   VARCHAR(255) NOT NULL,
+    type                  VARCHAR(255) NOT NULL CHECK (type IN ('HTTP', 'HTTPS', 'TCP', 'PING', 'DNS')),
+    check_interval        INTEGER CHECK (check_interval >= 10),
+    is_active             BOOLEAN,
+    created_at            TIMESTAMP(6),
+    updated_at            TIMESTAMP(6),
+    last_checked          TIMESTAMP(6),
+    current_status        VARCHAR(255) CHECK (current_status IN ('UP', 'DOWN', 'PENDING', 'MAINTENANCE')),
+    expected_status_codes VARCHAR(255),
+    timeout_seconds       INTEGER,
+    max_redirects         INTEGER,
+    description           TEXT,
+    custom_headers        TEXT,
+    keyword_check         VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS monitor_checks (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    monitor_id         BIGINT       NOT NULL REFERENCES monitors (id),
+    timestamp          TIMESTAMP(6) NOT NULL,
+    response_time      BIGINT,
+    status_code        INTEGER,
+    is_up              BOOLEAN,
+    message            TEXT,
+    error_details      TEXT,
+    ssl_expiry         TIMESTAMP(6),
+    redirect_count     INTEGER,
+    content_length     BIGINT
+);
@@ -0,0 +1,18 @@
+-- Indexes for the MonitorCheckRepository queries, built with CONCURRENTLY so ingestion keeps writing while they
+-- build; V2__monitor_check_indexes.sql.conf runs this script outside a transaction, as CONCURRENTLY requires.
+-- Migrations run before CheckPartitionService converts the table, which moves the indexes to the partitioned
+-- parent. Plans are verified by PlanRegressionCheckTest in the load harness (`gradle check`).
+
+-- Per-monitor history: latest check, recent checks, time ranges (monitor_id = ? ORDER BY timestamp DESC). The id
+-- lets keyset pagination (CheckHistoryService) seek on (timestamp, id) < (?, ?) and order the ties by id DESC
+-- without sorting.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_monitor_checks_monitor_time_id
+    ON monitor_checks (monitor_id, timestamp DESC, id DESC);
+
+-- Per-monitor stats (count, uptime, average response time) answered by index-only scans
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_monitor_checks_monitor_time_stats
+    ON monitor_checks (monitor_id, timestamp DESC) INCLUDE (is_up, response_time);
+
+-- Dashboard-wide time windows; rows arrive in timestamp order, so a BRIN summary stays tiny and selective
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_monitor_checks_timestamp_brin
+    ON monitor_checks USING BRIN (timestamp) WITH (pages_per_range = 32);
@@ -0,0 +1,10 @@
+-- Cursor of the chunked retention purge (CheckPurgeService), single row with id = 1
+CREATE TABLE IF NOT EXISTS monitor_check_purge (
+    id           SMALLINT PRIMARY KEY,
+    cutoff       TIMESTAMP NOT NULL,
+    last_id      BIGINT    NOT NULL,
+    rows_deleted BIGINT    NOT NULL,
+    started_at   TIMESTAMP NOT NULL,
+    updated_at   TIMESTAMP NOT NULL,
+    finished_at  TIMESTAMP
+);
@@ -0,0 +1,27 @@
+-- Latest check per monitor, upserted at ingest by MonitorStateWriter so list and detail views join one row
+-- per monitor instead of querying monitor_checks for each of them.
+CREATE TABLE monitor_state (
+    monitor_id      BIGINT PRIMARY KEY REFERENCES monitors (id),
+    last_check_id   BIGINT       NOT NULL,
+    last_check_time TIMESTAMP(6) NOT NULL,
+    is_up           BOOLEAN,
+    response_time   BIGINT,
+    status_code     INTEGER,
+    message         TEXT
+);
+
+-- Monitors that already have checks are seeded after startup by MonitorStateBackfillService, in monitor id
+-- windows up to the largest id at this point. Cursor as in check_message_backfill.
+
+CREATE TABLE monitor_state_backfill (
+    id          INTEGER   PRIMARY KEY CHECK (id = 1),
+    last_id     BIGINT    NOT NULL,
+    max_id      BIGINT    NOT NULL,
+    started_at  TIMESTAMP NOT NULL,
+    updated_at  TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP
+);
+
+INSERT INTO monitor_state_backfill (id, last_id, max_id, started_at, updated_at)
+SELECT 1, 0, COALESCE(MAX(id), 0), now(), now()
+FROM monitors;
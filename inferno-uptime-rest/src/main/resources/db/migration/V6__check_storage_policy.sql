@@ -0,0 +1,5 @@
+-- Per-monitor storage policy for check rows (Monitor.CheckStorage). SAMPLED monitors skip most healthy checks,
+-- so the state snapshot may point at a check that was aggregated but never stored as a row.
+ALTER TABLE monitors ADD COLUMN check_storage VARCHAR(255) NOT NULL DEFAULT 'FULL';
+
+ALTER TABLE monitor_state ALTER COLUMN last_check_id DROP NOT NULL;
@@ -0,0 +1,3 @@
+-- Keyset pagination over check history (CheckHistoryService) needs (monitor_id, timestamp DESC, id DESC). V2
+-- creates that index with its final column list, so there is nothing left to rebuild here; the version is kept
+-- so databases that already applied it stay valid.
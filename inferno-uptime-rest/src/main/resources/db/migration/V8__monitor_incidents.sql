@@ -0,0 +1,39 @@
+-- Outages derived from status transitions: IncidentWriter opens a row on a monitor's first failing check and closes
+-- it on the next successful one, so incident lists, longest outage and MTTR/MTBF read this table instead of
+-- monitor_checks. ended_at and duration_seconds are NULL while the incident is open.
+CREATE TABLE monitor_incidents (
+    id               BIGSERIAL PRIMARY KEY,
+    monitor_id       BIGINT       NOT NULL REFERENCES monitors (id),
+    started_at       TIMESTAMP(6) NOT NULL,
+    ended_at         TIMESTAMP(6),
+    duration_seconds BIGINT,
+    first_check_id   BIGINT,
+    first_error      TEXT,
+    status_code      INTEGER,
+    failed_checks    INTEGER      NOT NULL,
+    severity         VARCHAR(16)  NOT NULL
+);
+
+CREATE INDEX idx_monitor_incidents_monitor_start ON monitor_incidents (monitor_id, started_at DESC);
+CREATE INDEX idx_monitor_incidents_start ON monitor_incidents (started_at);
+
+-- At most one open incident per monitor
+CREATE UNIQUE INDEX idx_monitor_incidents_open ON monitor_incidents (monitor_id) WHERE ended_at IS NULL;
+
+-- Incidents of the stored history are derived after startup by IncidentBackfillService, in monitor id windows up
+-- to the largest monitor id at this point, replaying the checks up to max_check_id. Cursor as in
+-- check_message_backfill.
+
+CREATE TABLE monitor_incident_backfill (
+    id           INTEGER   PRIMARY KEY CHECK (id = 1),
+    last_id      BIGINT    NOT NULL,
+    max_id       BIGINT    NOT NULL,
+    max_check_id BIGINT    NOT NULL,
+    started_at   TIMESTAMP NOT NULL,
+    updated_at   TIMESTAMP NOT NULL,
+    finished_at  TIMESTAMP
+);
+
+INSERT INTO monitor_incident_backfill (id, last_id, max_id, max_check_id, started_at, updated_at)
+SELECT 1, 0, COALESCE((SELECT MAX(id) FROM monitors), 0), COALESCE((SELECT MAX(id) FROM monitor_checks), 0), now(),
+       now();
@@ -0,0 +1,30 @@
+-- Check messages and error details repeat from a small set of texts, so monitor_checks stores the id of an
+-- interned text instead of the text itself (CheckMessageDictionaryService). Texts are looked up by their md5,
+-- which keeps the unique index small however long an error text is.
+CREATE TABLE check_messages (
+    id        SERIAL PRIMARY KEY,
+    text      TEXT NOT NULL,
+    text_hash UUID GENERATED ALWAYS AS (md5(text)::uuid) STORED,
+    CONSTRAINT uq_check_messages_text_hash UNIQUE (text_hash)
+);
+
+-- Nullable columns without a default only change the catalog. Existing rows get their ids from
+-- CheckMessageBackfillService in short chunks, and reads fall back to the text columns until then; the text
+-- columns are dropped by a later release once the backfill has finished everywhere.
+ALTER TABLE monitor_checks
+    ADD COLUMN message_id       INTEGER,
+    ADD COLUMN error_details_id INTEGER;
+
+-- Cursor of the backfill: ids up to last_id are done, rows above max_id were written with ids only
+CREATE TABLE check_message_backfill (
+    id          INTEGER PRIMARY KEY CHECK (id = 1),
+    last_id     BIGINT    NOT NULL,
+    max_id      BIGINT    NOT NULL,
+    started_at  TIMESTAMP NOT NULL,
+    updated_at  TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP
+);
+
+INSERT INTO check_message_backfill (id, last_id, max_id, started_at, updated_at)
+SELECT 1, 0, COALESCE(MAX(id), 0), now(), now()
+FROM monitor_checks;
@@ -0,0 +1,120 @@
+package com.infernokun.infernoUptime.services.archive;
+
+import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CheckSegmentCodecTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 10, 19, 0, 0);
+
+    @Test
+    void roundTripsEveryColumn() {
+        MonitorCheck full = check(1_000_000_000_001L, DAY.plusSeconds(30).plusNanos(123_456_000));
+        full.setResponseTime(187L);
+        full.setStatusCode(200);
+        full.setIsUp(true);
+        full.setMessage("OK");
+        full.setErrorDetails("détails");
+        full.setSslExpiry(LocalDateTime.of(2027, 1, 1, 0, 0));
+        full.setRedirectCount(2);
+        full.setFinalUrl("https://example.com/é");
+        full.setRedirectLatencies("12,30");
+        full.setContentLength(5_368_709_120L);
+        full.setProtocol("HTTP/2.0");
+
+        MonitorCheck down = check(1_000_000_000_005L, DAY.plusSeconds(90));
+        down.setResponseTime(0L);
+        down.setStatusCode(503);
+        down.setIsUp(false);
+        down.setMessage("OK");
+        down.setErrorDetails("OK");
+        down.setSslExpiry(LocalDateTime.of(1999, 12, 31, 23, 59, 59));
+
+        MonitorCheck empty = check(1_000_000_000_003L, DAY.plusSeconds(90));
+
+        assertRoundTrips(List.of(full, down, empty));
+    }
+
+    @Test
+    void roundTripsBitmapsAcrossBytes() {
+        List<MonitorCheck> checks = new ArrayList<>();
+        for (int i = 0; i < 21; i++) {
+            MonitorCheck check = check(100 + i, DAY.plusMinutes(i));
+            check.setIsUp(i % 3 == 0 ? null : i % 3 == 1);
+            check.setResponseTime(i % 5 == 0 ? null : (long) i * 40);
+            checks.add(check);
+        }
+
+        assertRoundTrips(checks);
+    }
+
+    @Test
+    void roundTripsEmptySegment() {
+        byte[] segment = CheckSegmentCodec.encode(7L, List.of());
+
+        assertThat(CheckSegmentCodec.decode(ByteBuffer.wrap(segment))).isEmpty();
+    }
+
+    @Test
+    void storesDuplicateTextsOnce() {
+        List<MonitorCheck> checks = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            MonitorCheck check = check(i + 1, DAY.plusSeconds(i * 60L));
+            check.setMessage("Connection refused by upstream " + (i % 2));
+            checks.add(check);
+        }
+
+        byte[] segment = CheckSegmentCodec.encode(7L, checks);
+
+        int rawLength = ByteBuffer.wrap(segment, CheckSegmentCodec.HEADER_BYTES - 4, 4).getInt();
+        int textLength = checks.stream().mapToInt(check -> check.getMessage().length()).sum();
+        assertThat(rawLength).isLessThan(textLength / 2);
+        assertRoundTrips(checks);
+    }
+
+    @Test
+    void rejectsForeignAndUnsupportedData() {
+        byte[] segment = CheckSegmentCodec.encode(7L, List.of(check(1, DAY)));
+
+        byte[] foreign = segment.clone();
+        foreign[0] = 'X';
+        assertThatThrownBy(() -> CheckSegmentCodec.decode(ByteBuffer.wrap(foreign)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Not a check segment");
+
+        byte[] future = segment.clone();
+        future[4] = CheckSegmentCodec.VERSION + 1;
+        assertThatThrownBy(() -> CheckSegmentCodec.decode(ByteBuffer.wrap(future)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Unsupported check segment version");
+
+        byte[] truncated = Arrays.copyOf(segment, CheckSegmentCodec.HEADER_BYTES + 2);
+        assertThatThrownBy(() -> CheckSegmentCodec.decode(ByteBuffer.wrap(truncated)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertRoundTrips(List<MonitorCheck> checks) {
+        byte[] segment = CheckSegmentCodec.encode(7L, checks);
+
+        List<MonitorCheck> decoded = CheckSegmentCodec.decode(ByteBuffer.wrap(segment));
+
+        assertThat(decoded).usingRecursiveFieldByFieldElementComparatorIgnoringFields("monitor")
+                .containsExactlyElementsOf(checks);
+    }
+
+    private static MonitorCheck check(long id, LocalDateTime timestamp) {
+        MonitorCheck check = new MonitorCheck();
+        check.setId(id);
+        check.setTimestamp(timestamp);
+        return check;
+    }
+}
@@ -0,0 +1,143 @@
+package com.infernokun.infernoUptime.services.ingest;
+
+import com.infernokun.infernoUptime.models.entity.Monitor;
+import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckStoragePolicyTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 10, 19, 12, 0);
+
+    private SimpleMeterRegistry meterRegistry;
+    private CheckStoragePolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        policy = new CheckStoragePolicy(meterRegistry);
+        ReflectionTestUtils.setField(policy, "sampleInterval", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(policy, "anomalyFactor", 3.0);
+        ReflectionTestUtils.setField(policy, "anomalyMinimum", Duration.ofMillis(100));
+    }
+
+    @Test
+    void fullMonitorsKeepEveryCheck() {
+        Monitor monitor = monitor(1L, Monitor.CheckStorage.FULL);
+        List<MonitorCheck> batch = List.of(
+                check(monitor, 0, true, 200, 50L),
+                check(monitor, 30, true, 200, 50L),
+                check(monitor, 60, true, 200, 50L));
+
+        assertThat(policy.select(batch)).containsExactlyElementsOf(batch);
+        assertThat(skipped()).isZero();
+    }
+
+    @Test
+    void sampledMonitorsKeepOneHealthyCheckPerInterval() {
+        Monitor monitor = monitor(1L, Monitor.CheckStorage.SAMPLED);
+        List<MonitorCheck> batch = new ArrayList<>();
+        for (int i = 0; i <= 20; i++) {
+            batch.add(check(monitor, i * 30, true, 200, 50L));
+        }
+
+        // First check, then every 10th (300s at a 30s interval)
+        assertThat(policy.select(batch)).containsExactly(batch.get(0), batch.get(10), batch.get(20));
+        assertThat(skipped()).isEqualTo(18);
+    }
+
+    @Test
+    void sampledMonitorsKeepFailuresAndChanges() {
+        Monitor monitor = monitor(1L, Monitor.CheckStorage.SAMPLED);
+        MonitorCheck first = check(monitor, 0, true, 200, 50L);
+        MonitorCheck healthy = check(monitor, 30, true, 200, 50L);
+        MonitorCheck down = check(monitor, 60, false, 503, 50L);
+        MonitorCheck stillDown = check(monitor, 90, false, 503, 50L);
+        MonitorCheck recovered = check(monitor, 120, true, 200, 50L);
+        MonitorCheck redirected = check(monitor, 150, true, 301, 50L);
+        MonitorCheck unchanged = check(monitor, 180, true, 301, 50L);
+
+        assertThat(policy.select(List.of(first, healthy, down, stillDown, recovered, redirected, unchanged)))
+                .containsExactly(first, down, stillDown, recovered, redirected);
+    }
+
+    @Test
+    void sampledMonitorsKeepLatencyAnomaliesAfterWarmup() {
+        Monitor monitor = monitor(1L, Monitor.CheckStorage.SAMPLED);
+        List<MonitorCheck> warmup = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            warmup.add(check(monitor, i * 30, true, 200, 50L));
+        }
+        policy.select(warmup);
+
+        MonitorCheck slowButClose = check(monitor, 300 - 10, true, 200, 140L); // 2.8x the average
+        MonitorCheck anomaly = check(monitor, 300 - 5, true, 200, 400L);
+
+        assertThat(policy.select(List.of(slowButClose, anomaly))).containsExactly(anomaly);
+    }
+
+    @Test
+    void anomaliesNeedTheMinimumDistanceFromTheAverage() {
+        Monitor monitor = monitor(1L, Monitor.CheckStorage.SAMPLED);
+        List<MonitorCheck> warmup = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            warmup.add(check(monitor, i * 10, true, 200, 10L));
+        }
+        policy.select(warmup);
+
+        // 5x the average, but only 40ms above it
+        assertThat(policy.select(List.of(check(monitor, 100, true, 200, 50L)))).isEmpty();
+    }
+
+    @Test
+    void monitorsAreTrackedSeparately() {
+        Monitor a = monitor(1L, Monitor.CheckStorage.SAMPLED);
+        Monitor b = monitor(2L, Monitor.CheckStorage.SAMPLED);
+        MonitorCheck firstA = check(a, 0, true, 200, 50L);
+        MonitorCheck firstB = check(b, 10, true, 200, 50L);
+
+        assertThat(policy.select(List.of(firstA, firstB, check(a, 30, true, 200, 50L))))
+                .containsExactly(firstA, firstB);
+    }
+
+    @Test
+    void fillsInMissingTimestamps() {
+        Monitor monitor = monitor(1L, Monitor.CheckStorage.FULL);
+        MonitorCheck check = check(monitor, 0, true, 200, 50L);
+        check.setTimestamp(null);
+
+        policy.select(List.of(check));
+
+        assertThat(check.getTimestamp()).isNotNull();
+    }
+
+    private double skipped() {
+        return meterRegistry.counter("inferno.ingest.rows.sampled-out").count();
+    }
+
+    private static Monitor monitor(long id, Monitor.CheckStorage storage) {
+        Monitor monitor = new Monitor();
+        monitor.setId(id);
+        monitor.setCheckStorage(storage);
+        return monitor;
+    }
+
+    private static MonitorCheck check(Monitor monitor, int secondsAfterStart, boolean up, int statusCode, Long responseTime) {
+        MonitorCheck check = new MonitorCheck();
+        check.setMonitor(monitor);
+        check.setTimestamp(START.plusSeconds(secondsAfterStart));
+        check.setIsUp(up);
+        check.setStatusCode(statusCode);
+        check.setResponseTime(responseTime);
+        return check;
+    }
+}
@@ -0,0 +1,110 @@
+package com.infernokun.infernoUptime.services.ingest;
+
+import com.infernokun.infernoUptime.models.entity.Monitor;
+import com.infernokun.infernoUptime.models.entity.MonitorCheck;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CopyCheckBatchWriterTest {
+
+    private static final LocalDateTime POSTGRES_EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    @Test
+    void encodesHeaderRowsAndTrailer() throws IOException {
+        MonitorCheck full = check(41L, LocalDateTime.of(2026, 10, 19, 8, 30, 15, 123_456_000));
+        full.setResponseTime(187L);
+        full.setStatusCode(200);
+        full.setIsUp(true);
+        full.setMessage("OK");
+        full.setErrorDetails("détails");
+        full.setSslExpiry(LocalDateTime.of(2027, 1, 1, 0, 0));
+        full.setRedirectCount(2);
+        full.setFinalUrl("https://example.com/é");
+        full.setRedirectLatencies("12,30");
+        full.setContentLength(5120L);
+        full.setProtocol("HTTP/2.0");
+
+        MonitorCheck empty = check(42L, POSTGRES_EPOCH.minusSeconds(1));
+
+        byte[] payload = CopyCheckBatchWriter.encode(List.of(full, empty), Map.of("OK", 3, "détails", 9));
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+
+        byte[] signature = new byte[11];
+        in.readFully(signature);
+        assertThat(signature).containsExactly('P', 'G', 'C', 'O', 'P', 'Y', '\n', 0xFF, '\r', '\n', 0);
+        assertThat(in.readInt()).isZero();
+        assertThat(in.readInt()).isZero();
+
+        assertThat(in.readShort()).isEqualTo((short) 14);
+        assertThat(readLong(in)).isEqualTo(41L);
+        assertThat(readLong(in)).isEqualTo(7L);
+        assertThat(readLong(in)).isEqualTo(845_713_815_123_456L);
+        assertThat(readLong(in)).isEqualTo(187L);
+        assertThat(readInt(in)).isEqualTo(200);
+        assertThat(in.readInt()).isEqualTo(1);
+        assertThat(in.readByte()).isEqualTo((byte) 1);
+        assertThat(readInt(in)).isEqualTo(3);
+        assertThat(readInt(in)).isEqualTo(9);
+        assertThat(readLong(in)).isEqualTo(852_076_800_000_000L);
+        assertThat(readInt(in)).isEqualTo(2);
+        assertThat(readText(in)).isEqualTo("https://example.com/é");
+        assertThat(readText(in)).isEqualTo("12,30");
+        assertThat(readLong(in)).isEqualTo(5120L);
+        assertThat(readText(in)).isEqualTo("HTTP/2.0");
+
+        assertThat(in.readShort()).isEqualTo((short) 14);
+        assertThat(readLong(in)).isEqualTo(42L);
+        assertThat(readLong(in)).isEqualTo(7L);
+        assertThat(readLong(in)).isEqualTo(-1_000_000L);
+        for (int field = 3; field < 14; field++) {
+            assertThat(in.readInt()).as("length of field %d", field).isEqualTo(-1);
+        }
+
+        assertThat(in.readShort()).isEqualTo((short) -1);
+        assertThat(in.available()).isZero();
+    }
+
+    @Test
+    void encodesEmptyBatch() throws IOException {
+        byte[] payload = CopyCheckBatchWriter.encode(List.of(), Map.of());
+
+        assertThat(payload).hasSize(11 + 4 + 4 + 2);
+        assertThat(payload[payload.length - 2]).isEqualTo((byte) 0xFF);
+        assertThat(payload[payload.length - 1]).isEqualTo((byte) 0xFF);
+    }
+
+    private static MonitorCheck check(long id, LocalDateTime timestamp) {
+        Monitor monitor = new Monitor();
+        monitor.setId(7L);
+        MonitorCheck check = new MonitorCheck();
+        check.setId(id);
+        check.setMonitor(monitor);
+        check.setTimestamp(timestamp);
+        return check;
+    }
+
+    private static long readLong(DataInputStream in) throws IOException {
+        assertThat(in.readInt()).isEqualTo(8);
+        return in.readLong();
+    }
+
+    private static int readInt(DataInputStream in) throws IOException {
+        assertThat(in.readInt()).isEqualTo(4);
+        return in.readInt();
+    }
+
+    private static String readText(DataInputStream in) throws IOException {
+        byte[] utf8 = new byte[in.readInt()];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,106 @@
+package com.infernokun.infernoUptime.services.latency;
+
+import org.HdrHistogram.IntCountsHistogram;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingLatencyHistogramTest {
+
+    private static final long MINUTE = 60_000;
+    private static final long START = 1_760_860_800_000L; // a whole minute
+
+    @Test
+    void mergesSlotsInsideWindow() {
+        SlidingLatencyHistogram histogram = new SlidingLatencyHistogram(MINUTE, 5, 3);
+        for (int minute = 0; minute < 5; minute++) {
+            histogram.record(START + minute * MINUTE + 1_000, 100L * (minute + 1));
+        }
+
+        IntCountsHistogram merged = window(histogram, START + 4 * MINUTE + 59_000);
+
+        assertThat(merged.getTotalCount()).isEqualTo(5);
+        assertThat(merged.getMinValue()).isEqualTo(100);
+        assertThat(merged.getValueAtPercentile(50)).isEqualTo(300);
+        assertThat(merged.getMaxValue()).isEqualTo(500);
+    }
+
+    @Test
+    void dropsSlotsThatLeftWindow() {
+        SlidingLatencyHistogram histogram = new SlidingLatencyHistogram(MINUTE, 5, 3);
+        histogram.record(START, 100);
+        histogram.record(START + 2 * MINUTE, 200);
+
+        assertThat(window(histogram, START + 5 * MINUTE).getTotalCount()).isEqualTo(1);
+        assertThat(histogram.isEmpty(START + 6 * MINUTE)).isFalse();
+        assertThat(histogram.isEmpty(START + 7 * MINUTE)).isTrue();
+    }
+
+    @Test
+    void reusesSlotForLaterWindow() {
+        SlidingLatencyHistogram histogram = new SlidingLatencyHistogram(MINUTE, 5, 3);
+        histogram.record(START, 100);
+        histogram.record(START + 5 * MINUTE, 700);
+
+        IntCountsHistogram merged = window(histogram, START + 5 * MINUTE);
+
+        assertThat(merged.getTotalCount()).isEqualTo(1);
+        assertThat(merged.getMaxValue()).isEqualTo(700);
+    }
+
+    @Test
+    void ignoresValuesOlderThanSlot() {
+        SlidingLatencyHistogram histogram = new SlidingLatencyHistogram(MINUTE, 5, 3);
+        histogram.record(START + 5 * MINUTE, 700);
+        histogram.record(START, 100);
+
+        assertThat(window(histogram, START + 5 * MINUTE).getTotalCount()).isEqualTo(1);
+    }
+
+    @Test
+    void clampsNegativeValues() {
+        SlidingLatencyHistogram histogram = new SlidingLatencyHistogram(MINUTE, 5, 3);
+        histogram.record(START, -5);
+
+        assertThat(window(histogram, START).getMaxValue()).isZero();
+    }
+
+    @Test
+    void takesChangedSlotsOnce() {
+        SlidingLatencyHistogram histogram = new SlidingLatencyHistogram(MINUTE, 5, 3);
+        histogram.record(START + 10, 100);
+        histogram.record(START + MINUTE + 10, 200);
+
+        assertThat(histogram.takeDirty()).extracting(SlidingLatencyHistogram.Slot::startMillis)
+                .containsExactlyInAnyOrder(START, START + MINUTE);
+        assertThat(histogram.takeDirty()).isEmpty();
+
+        histogram.record(START + MINUTE + 20, 300);
+        assertThat(histogram.takeDirty()).singleElement().satisfies(slot -> {
+            assertThat(slot.startMillis()).isEqualTo(START + MINUTE);
+            assertThat(slot.histogram().getTotalCount()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    void restoreAddsToRecordedValues() {
+        SlidingLatencyHistogram histogram = new SlidingLatencyHistogram(MINUTE, 5, 3);
+        histogram.record(START + 10, 100);
+        IntCountsHistogram persisted = new IntCountsHistogram(3);
+        persisted.recordValue(400);
+        persisted.recordValue(500);
+
+        histogram.restore(START, persisted);
+
+        IntCountsHistogram merged = window(histogram, START + MINUTE);
+        assertThat(merged.getTotalCount()).isEqualTo(3);
+        assertThat(merged.getMaxValue()).isEqualTo(500);
+        assertThat(histogram.footprintBytes()).isPositive();
+    }
+
+    private static IntCountsHistogram window(SlidingLatencyHistogram histogram, long nowMillis) {
+        IntCountsHistogram target = new IntCountsHistogram(3);
+        histogram.addTo(target, nowMillis);
+        return target;
+    }
+}
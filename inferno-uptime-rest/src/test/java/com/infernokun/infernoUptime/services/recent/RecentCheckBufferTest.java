@@ -0,0 +1,82 @@
+package com.infernokun.infernoUptime.services.recent;
+
+import com.infernokun.infernoUptime.models.dto.UptimeDataPoint;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecentCheckBufferTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 10, 19, 8, 0);
+
+    @Test
+    void returnsLatestChecksNewestFirst() {
+        RecentCheckBuffer buffer = new RecentCheckBuffer(4);
+        buffer.add(START, 120L, 200, true);
+        buffer.add(START.plusSeconds(30), 2500L, 503, false);
+
+        assertThat(buffer.latest(10)).containsExactly(
+                point(START.plusSeconds(30), false, 2500L, 503),
+                point(START, true, 120L, 200));
+        assertThat(buffer.latest(1)).containsExactly(point(START.plusSeconds(30), false, 2500L, 503));
+        assertThat(buffer.size()).isEqualTo(2);
+    }
+
+    @Test
+    void overwritesOldestWhenFull() {
+        RecentCheckBuffer buffer = new RecentCheckBuffer(3);
+        for (int i = 0; i < 7; i++) {
+            buffer.add(START.plusMinutes(i), (long) i, 200, true);
+        }
+
+        assertThat(buffer.size()).isEqualTo(3);
+        assertThat(buffer.latest(10)).extracting(UptimeDataPoint::getResponseTime).containsExactly(6L, 5L, 4L);
+    }
+
+    @Test
+    void keepsMissingValuesMissing() {
+        RecentCheckBuffer buffer = new RecentCheckBuffer(2);
+        buffer.add(START, null, null, null);
+
+        assertThat(buffer.latest(1)).containsExactly(point(START, null, null, null));
+        assertThat(buffer.latestUp()).isEqualTo(RecentCheckBuffer.UNKNOWN);
+    }
+
+    @Test
+    void reportsPreviousStatus() {
+        RecentCheckBuffer buffer = new RecentCheckBuffer(2);
+
+        assertThat(buffer.add(START, 100L, 200, true)).isEqualTo(RecentCheckBuffer.UNKNOWN);
+        assertThat(buffer.add(START.plusMinutes(1), null, 500, false)).isEqualTo((byte) 1);
+        assertThat(buffer.add(START.plusMinutes(2), 90L, 200, true)).isEqualTo((byte) 0);
+        assertThat(buffer.latestUp()).isEqualTo((byte) 1);
+    }
+
+    @Test
+    void rejectsChecksOlderThanLatest() {
+        RecentCheckBuffer buffer = new RecentCheckBuffer(4);
+        buffer.add(START.plusMinutes(5), 100L, 200, true);
+
+        assertThat(buffer.add(START, 900L, 500, false)).isEqualTo(RecentCheckBuffer.STALE);
+        assertThat(buffer.add(START.plusMinutes(5), 110L, 200, true)).isEqualTo((byte) 1);
+        assertThat(buffer.latest(10)).extracting(UptimeDataPoint::getResponseTime).containsExactly(110L, 100L);
+    }
+
+    @Test
+    void estimatesFootprintFromCapacity() {
+        assertThat(new RecentCheckBuffer(100).footprintBytes()).isEqualTo(32 + 816 * 2 + 216 + 120);
+        assertThat(new RecentCheckBuffer(200).footprintBytes())
+                .isGreaterThan(new RecentCheckBuffer(100).footprintBytes());
+    }
+
+    private static UptimeDataPoint point(LocalDateTime timestamp, Boolean isUp, Long responseTime, Integer statusCode) {
+        return UptimeDataPoint.builder()
+                .timestamp(timestamp)
+                .isUp(isUp)
+                .responseTime(responseTime)
+                .statusCode(statusCode)
+                .build();
+    }
+}
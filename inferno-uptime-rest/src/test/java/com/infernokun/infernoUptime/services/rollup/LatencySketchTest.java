@@ -0,0 +1,92 @@
+package com.infernokun.infernoUptime.services.rollup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencySketchTest {
+
+    @Test
+    void keyValuesStayWithinRelativeAccuracy() {
+        for (long value = 1; value <= 1_000_000; value = value < 1000 ? value + 1 : value * 11 / 10) {
+            long estimate = LatencySketch.valueOf(LatencySketch.keyOf(value));
+
+            assertThat((double) estimate).as("estimate of %d", value)
+                    .isCloseTo(value, within(value * LatencySketch.RELATIVE_ACCURACY + 0.5));
+        }
+    }
+
+    @Test
+    void countsZeroAndNegativeUnderKeyZero() {
+        assertThat(LatencySketch.keyOf(0)).isZero();
+        assertThat(LatencySketch.keyOf(-3)).isZero();
+        assertThat(LatencySketch.keyOf(1)).isEqualTo(1);
+        assertThat(LatencySketch.valueOf(0)).isZero();
+    }
+
+    @Test
+    void quantilesMatchExactValuesWithinAccuracy() {
+        Random random = new Random(42);
+        long[] values = new long[10_000];
+        LatencySketch sketch = new LatencySketch();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(3 + random.nextGaussian() * 1.5);
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double quantile : new double[]{0, 0.25, 0.5, 0.9, 0.99, 1}) {
+            long exact = values[(int) (quantile * (values.length - 1))];
+            assertThat((double) sketch.quantile(quantile)).as("quantile %s", quantile)
+                    .isCloseTo(exact, within(exact * LatencySketch.RELATIVE_ACCURACY + 0.5));
+        }
+        assertThat(sketch.count()).isEqualTo(values.length);
+    }
+
+    @Test
+    void mergeEqualsAddingEverything() {
+        LatencySketch low = new LatencySketch();
+        LatencySketch high = new LatencySketch();
+        LatencySketch all = new LatencySketch();
+        for (long value = 1; value < 5000; value += 7) {
+            (value < 300 ? low : high).add(value);
+            all.add(value);
+        }
+
+        high.merge(low);
+
+        assertThat(high.keys()).containsExactly(all.keys());
+        assertThat(high.counts()).containsExactly(all.counts());
+        assertThat(high.count()).isEqualTo(all.count());
+        assertThat(high.quantile(0.5)).isEqualTo(all.quantile(0.5));
+    }
+
+    @Test
+    void exportsPopulatedKeysAscending() {
+        LatencySketch sketch = new LatencySketch();
+        sketch.add(5000);
+        sketch.add(0);
+        sketch.add(5000);
+        sketch.add(20);
+        sketch.add(LatencySketch.keyOf(20), 0);
+
+        assertThat(sketch.keys()).containsExactly((short) 0, (short) LatencySketch.keyOf(20),
+                (short) LatencySketch.keyOf(5000));
+        assertThat(sketch.counts()).containsExactly(1L, 1L, 2L);
+        assertThat(sketch.quantile(0)).isZero();
+        assertThat(sketch.quantile(1)).isEqualTo(LatencySketch.valueOf(LatencySketch.keyOf(5000)));
+    }
+
+    @Test
+    void emptySketchHasNoQuantile() {
+        LatencySketch sketch = new LatencySketch();
+
+        assertThat(sketch.isEmpty()).isTrue();
+        assertThat(sketch.quantile(0.5)).isNull();
+        assertThat(sketch.keys()).isEmpty();
+    }
+}
@@ -8,11 +8,14 @@ export interface Monitor {
   id: number;
   name: string;
   url: string;
-  type: 'HTTP' | 'HTTPS' | 'TCP' | 'PING' | 'DNS';
+  type: 'HTTP' | 'HTTPS' | 'TCP' | 'PING' | 'DNS' | 'PUSH';
   currentStatus: 'UP' | 'DOWN' | 'PENDING' | 'MAINTENANCE';
   checkInterval: number;
   timeoutSeconds: number;
   maxRedirects: number;
+  httpVersion?: 'HTTP_1_1' | 'HTTP_2' | 'H2C';
+  probeAgent?: string;
+  pushToken?: string;
   description?: string;
   expectedStatusCodes: string;
   keywordCheck?: string;
@@ -31,10 +34,12 @@ export interface Monitor {
 export interface MonitorCreateRequest {
   name: string;
   url: string;
-  type: 'HTTP' | 'HTTPS' | 'TCP' | 'PING' | 'DNS';
+  type: 'HTTP' | 'HTTPS' | 'TCP' | 'PING' | 'DNS' | 'PUSH';
   checkInterval?: number;
   timeoutSeconds?: number;
   maxRedirects?: number;
+  httpVersion?: 'HTTP_1_1' | 'HTTP_2' | 'H2C';
+  probeAgent?: string;
   description?: string;
   expectedStatusCodes?: string;
   keywordCheck?: string;
@@ -72,12 +77,17 @@ export interface MonitorCheck {
   isUp: boolean;
   message: string;
   errorDetails?: string;
+  protocol?: string;
+  redirectCount?: number;
+  finalUrl?: string;
+  redirectLatencies?: string;
 }
 
 export interface MonitorTestRequest {
   url: string;
-  type: 'HTTP' | 'HTTPS' | 'TCP' | 'PING' | 'DNS';
+  type: 'HTTP' | 'HTTPS' | 'TCP' | 'PING' | 'DNS' | 'PUSH';
   timeoutSeconds?: number;
+  httpVersion?: 'HTTP_1_1' | 'HTTP_2' | 'H2C';
   expectedStatusCodes?: string;
   keywordCheck?: string;
   customHeaders?: string;
@@ -95,6 +105,8 @@ export interface MonitorTestResult {
   keywordFound?: boolean;
   redirectCount?: number;
   finalUrl?: string;
+  redirectLatencies?: string;
+  protocol?: string;
 }
 
 export interface ApiResponse<T> {